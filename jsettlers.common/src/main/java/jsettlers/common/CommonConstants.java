@@ -94,6 +94,12 @@ public abstract class CommonConstants {
 	 */
 	public static boolean USE_SAVEGAME_COMPRESSION = false;
 
+	/**
+	 * Game time in minutes between two savegame keyframes embedded into the replay log. Replays can be started at a keyframe instead of the
+	 * beginning of the game. Set to 0 to disable keyframes.
+	 */
+	public static int REPLAY_KEYFRAME_INTERVAL_MINUTES = 10;
+
 	/**
 	 * Option to disable the loading of original maps.
 	 */
@@ -64,6 +64,23 @@ public class StatisticsStopWatch extends StopWatch {
 		return measurements.get(measurements.size() - 1);
 	}
 
+	public int getNumberOfMeasurements() {
+		return measurements.size();
+	}
+
+	/**
+	 * @return the sum of all measurements.
+	 */
+	public long getTotal() {
+		long total = 0;
+		synchronized (measurements) {
+			for (Long measurement : measurements) {
+				total += measurement;
+			}
+		}
+		return total;
+	}
+
 	private double calculateAverage(List<Long> measurements) {
 		long sum = 0;
 		if(!measurements.isEmpty()) {
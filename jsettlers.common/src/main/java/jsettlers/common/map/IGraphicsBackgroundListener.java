@@ -33,5 +33,20 @@ public interface IGraphicsBackgroundListener {
 	 */
 	void backgroundLineChangedAt(int x, int y, int length);
 
+	/**
+	 * This method is called if the background has changed in the given rectangular area. It is used for changes of many lines, so that the listener can handle the
+	 * whole area at once instead of single lines.
+	 *
+	 * @param x
+	 *            x coordinate of the first changed position of every line
+	 * @param y
+	 *            y coordinate of the first changed line
+	 * @param width
+	 *            the amount of positions starting at x that have changed in every line
+	 * @param height
+	 *            the amount of lines starting at y that have changed
+	 */
+	void backgroundAreaChangedAt(int x, int y, int width, int height);
+
 	void fogOfWarEnabledStatusChanged(boolean enabled);
 }
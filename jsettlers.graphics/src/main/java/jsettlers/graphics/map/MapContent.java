@@ -167,7 +167,7 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 	private final IGraphicsMovable[] movableGrid;
 	private final BitSet borderGrid;
 	private final byte[][] heightGrid;
-	private final byte[][] visibleGrid;
+	private final byte[] visibleGrid;
 	private final short width, height;
 	private final boolean isVisibleGridAvailable;
 
@@ -600,7 +600,7 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 	private void drawTile(int x, int y) {
 		int tileIndex = x+y*width;
 
-		byte fow = visibleGrid != null && ((IDirectGridProvider)map).isFoWEnabled() ? visibleGrid[x][y] : map.getVisibleStatus(x, y);
+		byte fow = visibleGrid != null && ((IDirectGridProvider)map).isFoWEnabled() ? visibleGrid[tileIndex] : map.getVisibleStatus(x, y);
 		boolean fogClear = fow > CommonConstants.FOG_OF_WAR_EXPLORED;
 
 		IMapObject object = objectsGrid != null && fogClear ? objectsGrid[tileIndex] : map.getVisibleMapObjectsAt(x, y);
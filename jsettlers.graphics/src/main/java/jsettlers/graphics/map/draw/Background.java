@@ -1335,6 +1335,20 @@ public class Background implements IGraphicsBackgroundListener {
 		if (y < bufferHeight - 1) updateLine(y + 1, x, x2);
 	}
 
+	@Override
+	public void backgroundAreaChangedAt(int x, int y, int width, int height) {
+		int x2 = x + width;
+		if(x != 0) x = x-1;
+		if(x2 < bufferWidth) x2 = x2+1;
+		if(x2 > bufferWidth) x2 = bufferWidth;
+
+		int y1 = y > 0 ? y - 1 : 0;
+		int y2 = Math.min(y + height + 1, bufferHeight);
+		for(int line = y1; line < y2; line++) {
+			updateLine(line, x, x2);
+		}
+	}
+
 	@Override
 	public void fogOfWarEnabledStatusChanged(boolean enabled) {
 		fowEnabled = hasdgp && enabled;
@@ -30,7 +30,7 @@ public class MountTowerModule extends ArmyModule {
 	private void occupyMilitaryBuildings(Set<Integer> soldiersWithOrders) {
 		for (ShortPoint2D militaryBuildingPosition : parent.aiStatistics.getBuildingPositionsOfTypesForPlayer(EBuildingType.MILITARY_BUILDINGS, parent.getPlayerId())) {
 			OccupyingBuilding militaryBuilding = (OccupyingBuilding) parent.aiStatistics.getBuildingAt(militaryBuildingPosition);
-			if (!militaryBuilding.isOccupied()) {
+			if (militaryBuilding != null && !militaryBuilding.isOccupied()) {
 				ShortPoint2D door = militaryBuilding.getDoor();
 				ILogicMovable soldier = parent.aiStatistics.getNearestSwordsmanOf(door, parent.getPlayerId());
 				if (soldier != null && militaryBuilding.getPosition().getOnGridDistTo(soldier.getPosition()) > TOWER_SEARCH_SOLDIERS_RADIUS) {
@@ -118,6 +118,8 @@ public class RegroupArmyModule extends ArmyModule {
 
 	private List<ShortPoint2D> getAvailableSoldiers(Set<Integer> soldiersWithOrders) {
 		List<ShortPoint2D> allSoldiers = parent.aiStatistics.getPositionsOfMovablesWithTypesForPlayer(parent.getPlayerId(), EMovableType.SOLDIERS);
+		// the soldiers might have moved since the last statistics update
+		allSoldiers.removeIf(pos -> parent.movableGrid.getMovableAt(pos.x, pos.y) == null);
 		Stream.of(soldiersWithOrders.stream(), groups.listMembers().stream())
 				.flatMap(id -> id)
 				.map(MovableManager::getMovableByID)
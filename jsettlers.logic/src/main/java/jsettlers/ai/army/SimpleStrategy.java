@@ -6,6 +6,8 @@ import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.buildings.Building;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -80,7 +82,11 @@ public abstract class SimpleStrategy extends ArmyModule {
 		ShortPoint2D myBaseAveragePoint = AiStatistics.calculateAveragePointFromList(myMilitaryBuildings);
 		List<ShortPoint2D> enemyMilitaryBuildings = parent.aiStatistics.getBuildingPositionsOfTypesForPlayer(EBuildingType.MILITARY_BUILDINGS, enemyToAttack.getPlayerId());
 		// ignore unfinished buildings
-		enemyMilitaryBuildings.removeIf(shortPoint2D -> !parent.aiStatistics.getBuildingAt(shortPoint2D).isConstructionFinished());
+		// ignore unfinished buildings and buildings destroyed since the last statistics update
+		enemyMilitaryBuildings.removeIf(shortPoint2D -> {
+			Building building = parent.aiStatistics.getBuildingAt(shortPoint2D);
+			return building == null || !building.isConstructionFinished();
+		});
 
 		ShortPoint2D nearestEnemyBuildingPosition = AiStatistics.detectNearestPointFromList(myBaseAveragePoint, enemyMilitaryBuildings);
 		if(nearestEnemyBuildingPosition == null) return null;
@@ -108,9 +114,11 @@ public abstract class SimpleStrategy extends ArmyModule {
 			List<ShortPoint2D> soldierPositions = new ArrayList<>();
 			for(EMovableType soldierType : soldierTypes) {
 				parent.aiStatistics.getPositionsOfMovablesWithTypeForPlayer(playerId, soldierType)
-						.stream().filter(pos -> !soldiersWithOrders.contains(
-								parent.movableGrid.getMovableAt(pos.x, pos.y).getID()))
-								.forEach(soldierPositions::add);
+						.stream().filter(pos -> {
+							ILogicMovable soldier = parent.movableGrid.getMovableAt(pos.x, pos.y);
+							return soldier != null && !soldiersWithOrders.contains(soldier.getID());
+						})
+						.forEach(soldierPositions::add);
 			}
 			return soldierPositions;
 		}
@@ -15,12 +15,16 @@
 package jsettlers.ai.highlevel;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import jsettlers.common.logging.StatisticsStopWatch;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.player.PlayerSetting;
@@ -28,19 +32,22 @@ import jsettlers.network.client.interfaces.ITaskScheduler;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 
 /**
- * The AiExecutor holds all IWhatToDoAi high level KIs and executes them when NetworkTimer notifies it.
+ * The AiExecutor holds all IWhatToDoAi high level KIs and executes them when NetworkTimer notifies it. The light rules are applied every second, the
+ * steps of the heavy rules are distributed over the seconds by the {@link AiScheduler}.
  * 
  * @author codingberlin
  */
 public class AiExecutor implements INetworkTimerable {
 
 	private final List<Callable<Void>> lightWhatToDoAis;
-	private final List<Callable<Void>> heavyWhatToDoAis;
+	private final AiScheduler heavyRulesScheduler = new AiScheduler();
 	private final AiStatistics aiStatistics;
 	private final StatisticsStopWatch updateStatisticsStopWatch = new StatisticsStopWatch();
 	private final StatisticsStopWatch applyLightRulesStopWatch = new StatisticsStopWatch();
 	private final StatisticsStopWatch applyHeavyRulesStopWatch = new StatisticsStopWatch();
+	private final Map<Byte, StatisticsStopWatch> playerStopWatches = new LinkedHashMap<>();
 	private final ExecutorService statisticsUpdaterPool;
+	private final GameContext context = GameContext.current();
 
 	public AiExecutor(PlayerSetting[] playerSettings, MainGrid mainGrid, ITaskScheduler taskScheduler) {
 		ExecutorService re;
@@ -52,10 +59,9 @@ public class AiExecutor implements INetworkTimerable {
 		}
 		statisticsUpdaterPool = re;
 
-		aiStatistics = new AiStatistics(mainGrid, statisticsUpdaterPool);
+		aiStatistics = new AiStatistics(mainGrid);
 		aiStatistics.updateStatistics();
 		this.lightWhatToDoAis = new ArrayList<>();
-		this.heavyWhatToDoAis = new ArrayList<>();
 		WhatToDoAiFactory aiFactory = new WhatToDoAiFactory();
 		for (byte playerId = 0; playerId < playerSettings.length; playerId++) {
 			PlayerSetting playerSetting = playerSettings[playerId];
@@ -69,21 +75,39 @@ public class AiExecutor implements INetworkTimerable {
 						mainGrid.getMovableGrid(),
 						taskScheduler);
 
-				lightWhatToDoAis.add(() -> {
-					whatToDoAi.applyLightRules();
-					return null;
-				});
-
-				heavyWhatToDoAis.add(() -> {
-					whatToDoAi.applyHeavyRules();
-					return null;
-				});
+				StatisticsStopWatch playerStopWatch = new StatisticsStopWatch();
+				playerStopWatches.put(playerId, playerStopWatch);
+				lightWhatToDoAis.add(inContext(whatToDoAi::applyLightRules, playerStopWatch));
+				heavyRulesScheduler.addAi(whatToDoAi, playerStopWatch);
 			}
 		}
 	}
 
+	private Callable<Void> inContext(Runnable rules, StatisticsStopWatch playerStopWatch) {
+		return () -> {
+			GameContext previous = context.bind();
+			try {
+				playerStopWatch.restart();
+				rules.run();
+				playerStopWatch.stop("computerplayer:applyLightRules()");
+			} finally {
+				GameContext.restore(previous);
+			}
+			return null;
+		};
+	}
+
 	@Override
 	public void timerEvent() {
+		GameContext previous = context.bind();
+		try {
+			applyRules();
+		} finally {
+			GameContext.restore(previous);
+		}
+	}
+
+	private void applyRules() {
 		// every second
 		applyLightRulesStopWatch.restart();
 		try {
@@ -94,17 +118,16 @@ public class AiExecutor implements INetworkTimerable {
 		applyLightRulesStopWatch.stop("computerplayer:applyLightRules()");
 
 		// every ten seconds
-		if((MatchConstants.clock().getTime()/1000)%10 == 0) {
+		int tick = (int) (MatchConstants.clock().getTime() / 1000);
+		if (tick % AiScheduler.HEAVY_RULES_INTERVAL == 0) {
 			updateStatisticsStopWatch.restart();
 			aiStatistics.updateStatistics();
 			updateStatisticsStopWatch.stop("computerplayer:updateStatistics()");
+		}
 
-			applyHeavyRulesStopWatch.restart();
-			try {
-				statisticsUpdaterPool.invokeAll(heavyWhatToDoAis);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
+		// the steps of the heavy rules that are due this second
+		applyHeavyRulesStopWatch.restart();
+		if (heavyRulesScheduler.applyHeavyRules(tick)) {
 			applyHeavyRulesStopWatch.stop("computerplayer:applyHeavyRules()");
 		}
 	}
@@ -120,4 +143,11 @@ public class AiExecutor implements INetworkTimerable {
 	public StatisticsStopWatch getApplyHeavyRulesStopWatch() {
 		return applyHeavyRulesStopWatch;
 	}
+
+	/**
+	 * @return The stop watches measuring the light rules and the steps of the heavy rules of each computer player, by the id of the player.
+	 */
+	public Map<Byte, StatisticsStopWatch> getPlayerStopWatches() {
+		return Collections.unmodifiableMap(playerStopWatches);
+	}
 }
@@ -24,6 +24,10 @@ import java.util.Iterator;
 
 /**
  * This is a set of points on the map. It is optimized for range queries.
+ * <p />
+ * Nearest point queries on big sets use a grid of buckets that is built on the first query and kept up to date by {@link #add(int, int)} and
+ * {@link #remove(int, int)}. The buckets are searched ring by ring around the center until no point of the remaining rings can be nearer than the
+ * best point found so far.
  * 
  * @author Michael Zangl
  *
@@ -31,6 +35,9 @@ import java.util.Iterator;
 public class AiPositions implements IMapArea {
 	private static final int MIN_SIZE = 16;
 	private static final int SHORT_MASK = 0x7fff;
+	private static final int MAX_SIZE_FOR_LINEAR_SEARCH = 64;
+	private static final int BUCKET_BITS = 4;
+	private static final int BUCKET_SIZE = 1 << BUCKET_BITS;
 	/**
 	 * 
 	 */
@@ -103,9 +110,55 @@ public class AiPositions implements IMapArea {
 		}
 	}
 
+	/**
+	 * Buckets of {@link #BUCKET_SIZE} x {@link #BUCKET_SIZE} positions containing the packed points of this set in no specific order.
+	 */
+	private static final class BucketIndex {
+		private final int bucketsWidth;
+		private final int bucketsHeight;
+		private final int[][] buckets;
+		private final int[] bucketSizes;
+
+		BucketIndex(int bucketsWidth, int bucketsHeight) {
+			this.bucketsWidth = bucketsWidth;
+			this.bucketsHeight = bucketsHeight;
+			this.buckets = new int[bucketsWidth * bucketsHeight][];
+			this.bucketSizes = new int[bucketsWidth * bucketsHeight];
+		}
+
+		boolean isInside(int x, int y) {
+			return (x >> BUCKET_BITS) < bucketsWidth && (y >> BUCKET_BITS) < bucketsHeight;
+		}
+
+		void add(int x, int y, int packed) {
+			int bucket = (x >> BUCKET_BITS) + (y >> BUCKET_BITS) * bucketsWidth;
+			int[] bucketPoints = buckets[bucket];
+			if (bucketPoints == null) {
+				bucketPoints = buckets[bucket] = new int[4];
+			} else if (bucketPoints.length == bucketSizes[bucket]) {
+				bucketPoints = buckets[bucket] = Arrays.copyOf(bucketPoints, bucketPoints.length * 2);
+			}
+			bucketPoints[bucketSizes[bucket]++] = packed;
+		}
+
+		void remove(int x, int y, int packed) {
+			int bucket = (x >> BUCKET_BITS) + (y >> BUCKET_BITS) * bucketsWidth;
+			int[] bucketPoints = buckets[bucket];
+			int bucketSize = bucketSizes[bucket];
+			for (int i = 0; i < bucketSize; i++) {
+				if (bucketPoints[i] == packed) {
+					bucketPoints[i] = bucketPoints[bucketSize - 1];
+					bucketSizes[bucket] = bucketSize - 1;
+					return;
+				}
+			}
+		}
+	}
+
 	private boolean sorted = false;
 	private int[] points = new int[MIN_SIZE];
 	private int size = 0;
+	private transient BucketIndex bucketIndex;
 
 	public void add(int x, int y) {
 		if (!contains(x, y)) {
@@ -127,6 +180,14 @@ public class AiPositions implements IMapArea {
 		points[size] = pos;
 		size++;
 		sorted = false;
+
+		if (bucketIndex != null) {
+			if (bucketIndex.isInside(unpackX(pos), unpackY(pos))) {
+				bucketIndex.add(unpackX(pos), unpackY(pos), pos);
+			} else {
+				bucketIndex = null;
+			}
+		}
 	}
 
 	public void addAllNoCollision(AiPositions otherAiPositions) {
@@ -137,18 +198,22 @@ public class AiPositions implements IMapArea {
 		System.arraycopy(otherAiPositions.points, 0, points, size, otherAiPositions.size);
 		size = newSize;
 		sorted = false;
+		bucketIndex = null;
 	}
 
 	public void remove(int x, int y) {
 		ensureSorted();
 		int index = indexOf(x, y);
 		if (index >= 0) {
-			if (index < size - 1) {
-				points[index] = points[size - 1];
-				sorted = false;
-			}
+			// keep the points sorted, so the next query does not need to sort them again
+			System.arraycopy(points, index + 1, points, index, size - index - 1);
 			// TODO: shrink array.
 			size--;
+
+			if (bucketIndex != null) {
+				int pos = pack(x, y);
+				bucketIndex.remove(unpackX(pos), unpackY(pos), pos);
+			}
 		}
 	}
 
@@ -199,13 +264,150 @@ public class AiPositions implements IMapArea {
 	public void clear() {
 		size = 0;
 		points = new int[MIN_SIZE];
+		bucketIndex = null;
 	}
 
 	public ShortPoint2D getNearestPoint(ShortPoint2D center, int maxDistance) {
 		return getNearestPoint(center, maxDistance, null);
 	}
 
+	/**
+	 * Finds the point with the smallest on grid distance to the center that is accepted by the filter.
+	 * <p />
+	 * If several points have the same distance, the point with the smallest x distance is returned. If there still is more than one, points left of
+	 * the center are preferred.
+	 * 
+	 * @param center
+	 *            The center to search around.
+	 * @param maxDistance
+	 *            Only points with a distance smaller than this are returned.
+	 * @param filter
+	 *            The filter or <code>null</code> to accept all points.
+	 * @return The nearest point or <code>null</code> if there is none.
+	 */
 	public ShortPoint2D getNearestPoint(ShortPoint2D center, int maxDistance, AiPositionFilter filter) {
+		if (size <= MAX_SIZE_FOR_LINEAR_SEARCH) {
+			return getNearestPointLinear(center, maxDistance, filter);
+		}
+
+		ensureSorted();
+		ensureBucketIndex();
+		int medianPoint = points[Math.min(findClosestIndex(center.x, center.y), size - 1)];
+
+		int centerBucketX = center.x >> BUCKET_BITS;
+		int centerBucketY = center.y >> BUCKET_BITS;
+		int maxRing = Math.max(Math.max(centerBucketX, bucketIndex.bucketsWidth - 1 - centerBucketX),
+				Math.max(centerBucketY, bucketIndex.bucketsHeight - 1 - centerBucketY));
+
+		int bestPoint = -1;
+		int bestDistance = maxDistance;
+		long bestOrder = Long.MAX_VALUE;
+
+		for (int ring = 0; ring <= maxRing; ring++) {
+			// every point in this ring is at least this far away in x or y direction
+			int ringDistance = ring == 0 ? 0 : (ring - 1) * BUCKET_SIZE + 1;
+			if (ringDistance >= maxDistance || ringDistance > bestDistance) {
+				break;
+			}
+
+			int minBucketY = Math.max(0, centerBucketY - ring);
+			int maxBucketY = Math.min(bucketIndex.bucketsHeight - 1, centerBucketY + ring);
+			for (int bucketY = minBucketY; bucketY <= maxBucketY; bucketY++) {
+				boolean fullRow = bucketY == centerBucketY - ring || bucketY == centerBucketY + ring;
+				int step = fullRow || ring == 0 ? 1 : 2 * ring;
+				for (int bucketX = centerBucketX - ring; bucketX <= centerBucketX + ring; bucketX += step) {
+					if (bucketX < 0 || bucketX >= bucketIndex.bucketsWidth) {
+						continue;
+					}
+
+					int bucketDistance = getMinBucketDistance(center, bucketX, bucketY);
+					if (bucketDistance >= maxDistance || bucketDistance > bestDistance) {
+						continue;
+					}
+
+					int bucket = bucketX + bucketY * bucketIndex.bucketsWidth;
+					int[] bucketPoints = bucketIndex.buckets[bucket];
+					for (int i = bucketIndex.bucketSizes[bucket] - 1; i >= 0; i--) {
+						int current = bucketPoints[i];
+						int x = unpackX(current);
+						int y = unpackY(current);
+
+						if (bestPoint < 0) {
+							// until a point is found, every point needs to be filtered and the filter is the better pre-check
+							if (filter == null || filter.contains(x, y)) {
+								int distance = ShortPoint2D.getOnGridDist(center.x - x, center.y - y);
+								if (distance < maxDistance) {
+									bestPoint = current;
+									bestDistance = distance;
+									bestOrder = getLinearSearchOrder(current, center.x, medianPoint);
+								}
+							}
+							continue;
+						}
+
+						int distance = ShortPoint2D.getOnGridDist(center.x - x, center.y - y);
+						if (distance <= bestDistance) {
+							long order = distance == bestDistance ? getLinearSearchOrder(current, center.x, medianPoint) : Long.MIN_VALUE;
+							if (order < bestOrder && (filter == null || filter.contains(x, y))) {
+								bestPoint = current;
+								bestDistance = distance;
+								bestOrder = order != Long.MIN_VALUE ? order : getLinearSearchOrder(current, center.x, medianPoint);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		return bestPoint >= 0 ? new ShortPoint2D(unpackX(bestPoint), unpackY(bestPoint)) : null;
+	}
+
+	/**
+	 * Calculates a lower bound of the on grid distance between the center and the positions of the given bucket.
+	 */
+	private static int getMinBucketDistance(ShortPoint2D center, int bucketX, int bucketY) {
+		int minDx = (bucketX << BUCKET_BITS) - center.x;
+		int maxDx = minDx + BUCKET_SIZE - 1;
+		int minDy = (bucketY << BUCKET_BITS) - center.y;
+		int maxDy = minDy + BUCKET_SIZE - 1;
+		int absDx = minDx > 0 ? minDx : (maxDx < 0 ? -maxDx : 0);
+		int absDy = minDy > 0 ? minDy : (maxDy < 0 ? -maxDy : 0);
+
+		if ((minDx > 0 && maxDy < 0) || (maxDx < 0 && minDy > 0)) {
+			return absDx + absDy; // the signs of dx and dy differ for all positions
+		} else {
+			return Math.max(absDx, absDy);
+		}
+	}
+
+	/**
+	 * Calculates the position of the given point in the order {@link #getNearestPointLinear(ShortPoint2D, int, AiPositionFilter)} visits the
+	 * points. This order is used to choose between points with the same distance.
+	 */
+	private static long getLinearSearchOrder(int point, int centerX, int medianPoint) {
+		if (point <= medianPoint) {
+			return ((long) (centerX - unpackX(point)) << 33) + (Integer.MAX_VALUE - point);
+		} else {
+			return ((long) (unpackX(point) - centerX) << 33) + (1L << 32) + point;
+		}
+	}
+
+	private void ensureBucketIndex() {
+		if (bucketIndex == null) {
+			int maxX = 0, maxY = 0;
+			for (int i = 0; i < size; i++) {
+				maxX = Math.max(maxX, unpackX(points[i]));
+				maxY = Math.max(maxY, unpackY(points[i]));
+			}
+
+			bucketIndex = new BucketIndex((maxX >> BUCKET_BITS) + 1, (maxY >> BUCKET_BITS) + 1);
+			for (int i = 0; i < size; i++) {
+				bucketIndex.add(unpackX(points[i]), unpackY(points[i]), points[i]);
+			}
+		}
+	}
+
+	ShortPoint2D getNearestPointLinear(ShortPoint2D center, int maxDistance, AiPositionFilter filter) {
 		ensureSorted();
 		int resX = -1, resY = -1;
 		int median = findClosestIndex(center.x, center.y);
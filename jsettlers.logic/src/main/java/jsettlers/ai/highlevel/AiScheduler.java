@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import jsettlers.common.logging.StatisticsStopWatch;
+
+/**
+ * Spreads the heavy rules of the computer players over the ticks of the {@link AiExecutor}.
+ * <p />
+ * Every player starts a new cycle of its heavy rules every {@link #HEAVY_RULES_INTERVAL} ticks. The start of the players is staggered over the
+ * interval. Each tick, the steps of the started cycles are applied in the order the cycles were started until the {@link #WORK_UNITS_PER_TICK}
+ * are used up. The remaining steps are applied in the next ticks. As only the tick number and the work units of the steps are used, the
+ * scheduling is the same on every machine.
+ */
+final class AiScheduler {
+	static final int HEAVY_RULES_INTERVAL = 10;
+	static final int WORK_UNITS_PER_TICK = 12;
+
+	private static final class ScheduledAi {
+		private final IWhatToDoAi whatToDoAi;
+		private final StatisticsStopWatch stopWatch;
+		private int nextStep = -1;
+
+		ScheduledAi(IWhatToDoAi whatToDoAi, StatisticsStopWatch stopWatch) {
+			this.whatToDoAi = whatToDoAi;
+			this.stopWatch = stopWatch;
+		}
+	}
+
+	private final List<ScheduledAi> scheduledAis = new ArrayList<>();
+	private final ArrayDeque<ScheduledAi> startedCycles = new ArrayDeque<>();
+
+	/**
+	 * Adds a computer player. All players need to be added before the first tick.
+	 *
+	 * @param whatToDoAi
+	 *            The AI of the player.
+	 * @param stopWatch
+	 *            The stop watch measuring the time needed for the steps of this player.
+	 */
+	void addAi(IWhatToDoAi whatToDoAi, StatisticsStopWatch stopWatch) {
+		scheduledAis.add(new ScheduledAi(whatToDoAi, stopWatch));
+	}
+
+	/**
+	 * Starts the cycles due in the given tick and applies steps until the work units of this tick are used up.
+	 *
+	 * @param tick
+	 *            The number of the tick.
+	 * @return true if at least one step has been applied.
+	 */
+	boolean applyHeavyRules(int tick) {
+		for (int i = 0; i < scheduledAis.size(); i++) {
+			ScheduledAi scheduledAi = scheduledAis.get(i);
+			int startTick = i * HEAVY_RULES_INTERVAL / scheduledAis.size();
+			if (tick % HEAVY_RULES_INTERVAL == startTick && scheduledAi.nextStep < 0) { // a cycle that is not finished yet is not started again
+				scheduledAi.nextStep = 0;
+				startedCycles.add(scheduledAi);
+			}
+		}
+
+		int workUnits = WORK_UNITS_PER_TICK;
+		while (!startedCycles.isEmpty()) {
+			ScheduledAi scheduledAi = startedCycles.peek();
+			EHeavyRuleStep step = EHeavyRuleStep.VALUES[scheduledAi.nextStep];
+			if (step.workUnits > workUnits && workUnits < WORK_UNITS_PER_TICK) {
+				break; // every step is applied when all work units are available, so big steps cannot block the AIs
+			}
+			workUnits -= step.workUnits;
+
+			scheduledAi.stopWatch.restart();
+			boolean continueCycle = scheduledAi.whatToDoAi.applyHeavyRuleStep(step);
+			scheduledAi.stopWatch.stop("computerplayer:applyHeavyRuleStep()");
+
+			scheduledAi.nextStep++;
+			if (!continueCycle || scheduledAi.nextStep == EHeavyRuleStep.VALUES.length) {
+				scheduledAi.nextStep = -1;
+				startedCycles.poll();
+			}
+		}
+		return workUnits < WORK_UNITS_PER_TICK;
+	}
+}
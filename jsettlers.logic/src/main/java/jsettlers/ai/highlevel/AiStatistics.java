@@ -16,6 +16,7 @@ package jsettlers.ai.highlevel;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
@@ -25,8 +26,6 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Vector;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
 
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -80,6 +79,10 @@ import static jsettlers.common.movable.EMovableType.SWORDSMAN_L3;
 /**
  * This class calculates statistics based on the grids which are used by highlevel and lowlevel KI. The statistics are calculated once and read multiple times within one AiExecutor step triggerd by
  * the game clock.
+ * <p />
+ * The grids inform the statistics about changed positions. Only these positions are evaluated again on an update, the statistics are then assembled
+ * from the stored evaluations. The assembly has to visit the owned positions, because merges and divides of partitions and the reference positions of
+ * the players change the partition to build on without changing the positions.
  *
  * @author codingberlin
  */
@@ -95,6 +98,30 @@ public class AiStatistics {
 
 	private static final int NEAR_STONE_DISTANCE = 5;
 
+	private static final int RESOURCE_MASK = 0x7; // resource type ordinal + 1 or 0 if there are no resources
+	private static final int FISH_WATER = 1 << 3;
+	private static final int GRASS = 1 << 4;
+	private static final int USABLE_SWAMP = 1 << 5;
+	private static final int RIVER = 1 << 6;
+	private static final int CUTTABLE_TREE = 1 << 7;
+	private static final int CUTTABLE_STONE = 1 << 8;
+	private static final int STONE_OBJECT = 1 << 9;
+	private static final int TREE_OBJECT = 1 << 10;
+	private static final int WINE = 1 << 11;
+	private static final int PROTECTED = 1 << 12;
+	private static final int CUTTABLE_BY_OWNER = 1 << 13;
+	private static final int INGESTIBLE_BORDER = 1 << 14;
+
+	/**
+	 * Positions whose evaluation reads the player of a changed position: the position itself, its neighbors and the positions checking it in
+	 * {@link #isCuttableByPlayer(short, short, byte)}.
+	 */
+	private static final int PLAYER_CHANGE_RADIUS = 2;
+	/**
+	 * Positions whose evaluation reads the blocked state of a changed position: the position itself and its neighbors.
+	 */
+	private static final int BLOCKED_CHANGE_RADIUS = 1;
+
 	private final MainGrid mainGrid;
 	private final Queue<Building> buildings;
 	private final PlayerStatistic[] playerStatistics;
@@ -111,11 +138,25 @@ public class AiStatistics {
 	private final AiPartitionResources defaultPartitionResources;
 	private final List<Player> players;
 
-	private final ExecutorService statisticsUpdaterPool;
-	private final Set<Callable<Void>> parallelStatisticsUpdater;
-
-	public AiStatistics(MainGrid mainGrid, ExecutorService threadPool) {
+	private final short width;
+	private final short height;
+	/**
+	 * The evaluated flags of every position, indexed by x * height + y to iterate in the order of {@link AiPositions}.
+	 */
+	private final int[] positionFlags;
+	/**
+	 * Positions (indexed like {@link #positionFlags}) whose flags need to be evaluated again before the next update.
+	 */
+	private final BitSet changedPositions;
+	/**
+	 * Indexes of the movable grid that might hold a movable.
+	 */
+	private final BitSet movablePositions;
+
+	public AiStatistics(MainGrid mainGrid) {
 		this.mainGrid = mainGrid;
+		width = mainGrid.getWidth();
+		height = mainGrid.getHeight();
 		buildings = Building.getAllBuildings();
 		landscapeGrid = mainGrid.getLandscapeGrid();
 		objectsGrid = mainGrid.getObjectsGrid();
@@ -137,8 +178,22 @@ public class AiStatistics {
 		}
 		players = Arrays.stream(partitionsGrid.getPlayers()).filter(Objects::nonNull).collect(Collectors.toList());
 
-		statisticsUpdaterPool = threadPool;
-		parallelStatisticsUpdater = Set.of(this::mainMapStatUpdater, this::freeLandMapStatUpdater, this::playerLandMapStatUpdater, this::movableMapStatUpdater, this::surfaceMapStatUpdater, this::pioneerMapStatUpdater);
+		positionFlags = new int[width * height];
+		changedPositions = new BitSet(width * height);
+		changedPositions.set(0, width * height);
+		movablePositions = new BitSet(width * height);
+		ILogicMovable[] movables = movableGrid.getMovableArray();
+		for (int index = 0; index < movables.length; index++) {
+			if (movables[index] != null) {
+				movablePositions.set(index);
+			}
+		}
+
+		landscapeGrid.addPositionChangedListener((x, y) -> invalidatePositions(x, y, 0));
+		objectsGrid.addPositionChangedListener((x, y) -> invalidatePositions(x, y, 0));
+		flagsGrid.addPositionChangedListener((x, y) -> invalidatePositions(x, y, BLOCKED_CHANGE_RADIUS));
+		partitionsGrid.addPositionChangedListener((x, y) -> invalidatePositions(x, y, PLAYER_CHANGE_RADIUS));
+		movableGrid.addPositionChangedListener((x, y) -> movablePositions.set(x + y * width));
 	}
 
 	public byte getFlatternEffortAtPositionForBuilding(final ShortPoint2D position, final BuildingVariant buildingType) {
@@ -213,139 +268,161 @@ public class AiStatistics {
 		}
 	}
 
-	private Void mainMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
+	private void updateMapStatistics() {
+		updatePartitionIdsToBuildOn();
+		updateChangedPositions();
+		updateMovableStatistics();
 
+		int index = 0;
 		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-
-
-				if (landscapeGrid.getResourceAmountAt(x, y) > 0) {
-					AiPartitionResources partition = getPartitionFor(x, y);
-
-					EResourceType resourceType = landscapeGrid.getResourceTypeAt(x, y);
-					sortedResourceTypes[resourceType.ordinal].addNoCollission(x, y);
-					if (resourceType != EResourceType.FISH) {
-						partition.resourceCount[resourceType.ordinal]++;
-					} else if (landscapeGrid.getLandscapeTypeAt(x, y) == ELandscapeType.WATER1) {
-						AiPartitionResources fishPartition = partition;
-
-						for(RelativePoint pt : FISH_PARTITION_OFFSET) {
-							if(!defaultPartitionResources.equals(fishPartition)) break;
+			for (short y = 0; y < height; y++, index++) {
+				int flags = positionFlags[index];
+				byte playerId = partitionsGrid.getPlayerIdAt(x, y);
+				if (flags == 0 && playerId == -1) {
+					continue;
+				}
 
-							fishPartition = getPartitionFor(pt.calculateX(x), pt.calculateY(y));
-						}
+				AiPartitionResources partitionResources = playerId == -1 ? defaultPartitionResources : playerStatistics[playerId].partitionResources;
+				updateResources(x, y, flags, partitionResources);
+				if ((flags & GRASS) != 0) {
+					partitionResources.grassCount++;
+				} else if ((flags & USABLE_SWAMP) != 0) {
+					partitionResources.usableSwampCount++;
+				}
 
-						fishPartition.resourceCount[resourceType.ordinal]++;
-					}
+				if (playerId == -1) {
+					updateFreeLand(x, y, flags);
+				} else {
+					updatePlayerLand(x, y, flags, playerId);
 				}
 			}
 		}
-		return null;
 	}
 
-	private Void surfaceMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
+	private void updateChangedPositions() {
+		for (int index = changedPositions.nextSetBit(0); index >= 0; index = changedPositions.nextSetBit(index + 1)) {
+			positionFlags[index] = evaluatePosition((short) (index / height), (short) (index % height));
+		}
+		changedPositions.clear();
+	}
 
-		for(short x = 0; x < width; x++) {
-			for(short y = 0; y < height; y++) {
-				ELandscapeType type = landscapeGrid.getLandscapeTypeAt(x, y);
+	private void invalidatePositions(int x, int y, int radius) {
+		int minY = Math.max(0, y - radius);
+		int maxY = Math.min(height, y + radius + 1);
+		if (minY >= maxY) {
+			return;
+		}
 
-				if(type.isGrass()) {
-					getPartitionFor(x, y).grassCount++;
-				} else if(!type.isBlocking && type.isMoor()) {
-					getPartitionFor(x, y).usableSwampCount++;
-				}
-			}
+		for (int currX = Math.max(0, x - radius), maxX = Math.min(width - 1, x + radius); currX <= maxX; currX++) {
+			changedPositions.set(currX * height + minY, currX * height + maxY);
 		}
-		return null;
 	}
 
-	private Void movableMapStatUpdater() {
-		for(ILogicMovable movable : movableGrid.getMovableArray()) {
-			if (movable == null) continue;
-			ShortPoint2D movablePosition = movable.getPosition();
-			Player player = partitionsGrid.getPlayerAt(movablePosition.x, movablePosition.y);
+	/**
+	 * Evaluates everything the statistics need to know about a position that does not depend on the partition to build on of a player.
+	 * 
+	 * @return the flags of the position
+	 */
+	private int evaluatePosition(short x, short y) {
+		int flags = 0;
+		if (landscapeGrid.getResourceAmountAt(x, y) > 0) {
+			flags |= landscapeGrid.getResourceTypeAt(x, y).ordinal + 1;
+		}
 
-			Player movablePlayer = movable.getPlayer();
-			byte movablePlayerId = movablePlayer.playerId;
-			PlayerStatistic movablePlayerStatistic = playerStatistics[movablePlayerId];
-			EMovableType movableType = movable.getMovableType();
-			movablePlayerStatistic.movablePositions.computeIfAbsent(movableType, key -> new ArrayList<>()).add(movablePosition);
+		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
+		if (landscape == ELandscapeType.WATER1) {
+			flags |= FISH_WATER;
+		}
+		if (landscape.isGrass()) {
+			flags |= GRASS;
+		} else if (!landscape.isBlocking && landscape.isMoor()) {
+			flags |= USABLE_SWAMP;
+		}
+		if (landscape.isRiver()) {
+			flags |= RIVER;
+		}
 
-			if (movableType == BEARER && movable.getAction() == EMovableAction.NO_ACTION) {
-				playerStatistics[movablePlayerId].joblessBearerPositions.add(movable.getPosition());
+		AbstractHexMapObject objects = objectsGrid.getObjectsAt(x, y);
+		if (objects != null) {
+			if (objects.hasCuttableObject(TREE_ADULT)) {
+				flags |= CUTTABLE_TREE;
 			}
-			if (player != null && player.playerId != movablePlayerId && movableType.isSoldier() && getEnemiesOf(player).contains(movablePlayer)) {
-				playerStatistics[player.playerId].enemyTroopsInTown.addNoCollission(movablePosition.x, movablePosition.y);
+			if (objects.hasCuttableObject(STONE)) {
+				flags |= CUTTABLE_STONE;
+			}
+			if (objects.hasMapObjectTypes(STONE, CUT_OFF_STONE)) {
+				flags |= STONE_OBJECT;
+			}
+			if (objects.hasMapObjectTypes(TREE_GROWING, TREE_ADULT)) {
+				flags |= TREE_OBJECT;
+			}
+			if (objects.hasMapObjectTypes(EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE)) {
+				flags |= WINE;
 			}
 		}
-		return null;
-	}
-
-	private Void freeLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
+		if (flagsGrid.isProtected(x, y)) {
+			flags |= PROTECTED;
+		}
 
-				if (player == null) {
-					updateFreeLand(x, y);
-				}
+		Player player = partitionsGrid.getPlayerAt(x, y);
+		if (player != null) {
+			if ((flags & (CUTTABLE_STONE | TREE_OBJECT)) != 0 && isCuttableByPlayer(x, y, player.playerId)) {
+				flags |= CUTTABLE_BY_OWNER;
+			}
+			if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
+				flags |= INGESTIBLE_BORDER;
 			}
 		}
-		return null;
+		return flags;
 	}
 
-	private Void playerLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if(player == null) continue;
-
-				if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-					updatePlayerLand(x, y, player);
-				}
-			}
+	private void updateResources(short x, short y, int flags, AiPartitionResources partition) {
+		int resource = flags & RESOURCE_MASK;
+		if (resource == 0) {
+			return;
 		}
-		return null;
-	}
 
-	private Void pioneerMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
+		EResourceType resourceType = EResourceType.VALUES[resource - 1];
+		sortedResourceTypes[resourceType.ordinal].addNoCollission(x, y);
+		if (resourceType != EResourceType.FISH) {
+			partition.resourceCount[resourceType.ordinal]++;
+		} else if ((flags & FISH_WATER) != 0) {
+			AiPartitionResources fishPartition = partition;
 
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if (player == null) continue;
-				if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
-					if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-						playerStatistics[player.playerId].borderIngestibleByPioneers.add(x, y);
-					} else {
-						playerStatistics[player.playerId].otherPartitionBorder.add(x, y);
-					}
+			for (RelativePoint pt : FISH_PARTITION_OFFSET) {
+				if (!defaultPartitionResources.equals(fishPartition)) break;
 
-				}
+				fishPartition = getPartitionFor(pt.calculateX(x), pt.calculateY(y));
 			}
+
+			fishPartition.resourceCount[resourceType.ordinal]++;
 		}
-		return null;
 	}
 
-	private void updateMapStatistics() {
-		updatePartitionIdsToBuildOn();
+	private void updateMovableStatistics() {
+		ILogicMovable[] movables = movableGrid.getMovableArray();
+		for (int index = movablePositions.nextSetBit(0); index >= 0; index = movablePositions.nextSetBit(index + 1)) {
+			ILogicMovable movable = movables[index];
+			if (movable == null) {
+				movablePositions.clear(index);
+				continue;
+			}
+
+			ShortPoint2D movablePosition = movable.getPosition();
+			Player player = partitionsGrid.getPlayerAt(movablePosition.x, movablePosition.y);
+
+			Player movablePlayer = movable.getPlayer();
+			byte movablePlayerId = movablePlayer.playerId;
+			PlayerStatistic movablePlayerStatistic = playerStatistics[movablePlayerId];
+			EMovableType movableType = movable.getMovableType();
+			movablePlayerStatistic.movablePositions.computeIfAbsent(movableType, key -> new ArrayList<>()).add(movablePosition);
 
-		try {
-			statisticsUpdaterPool.invokeAll(parallelStatisticsUpdater);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
+			if (movableType == BEARER && movable.getAction() == EMovableAction.NO_ACTION) {
+				playerStatistics[movablePlayerId].joblessBearerPositions.add(movable.getPosition());
+			}
+			if (player != null && player.playerId != movablePlayerId && movableType.isSoldier() && getEnemiesOf(player).contains(movablePlayer)) {
+				playerStatistics[player.playerId].enemyTroopsInTown.addNoCollission(movablePosition.x, movablePosition.y);
+			}
 		}
 	}
 
@@ -384,71 +461,66 @@ public class AiStatistics {
 				&& !partitionsGrid.isEnforcedByTower(x, y);
 	}
 
-	private void updatePlayerLand(short x, short y, Player player) {
-		byte playerId = player.playerId;
+	private void updatePlayerLand(short x, short y, int flags, byte playerId) {
 		PlayerStatistic playerStatistic = playerStatistics[playerId];
-		if (mainGrid.getFlagsGrid().isProtected(x, y)) {
-			AbstractHexMapObject o = objectsGrid.getObjectsAt(x, y);
-			if (o != null) {
-				if (o.hasCuttableObject(STONE) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.stones.addNoCollission(x, y);
-				} else if (o.hasMapObjectTypes(TREE_GROWING, TREE_ADULT) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.trees.addNoCollission(x, y);
+		boolean inPartitionToBuildOn = partitionsGrid.getPartitionIdAt(x, y) == playerStatistic.partitionIdToBuildOn;
+
+		if (inPartitionToBuildOn) {
+			if ((flags & PROTECTED) != 0) {
+				if ((flags & CUTTABLE_BY_OWNER) != 0) {
+					if ((flags & CUTTABLE_STONE) != 0) {
+						playerStatistic.stones.addNoCollission(x, y);
+					} else if ((flags & TREE_OBJECT) != 0) {
+						playerStatistic.trees.addNoCollission(x, y);
+					}
 				}
 
-				if(o.hasMapObjectTypes(STONE, CUT_OFF_STONE)) {
+				if ((flags & STONE_OBJECT) != 0) {
 					playerStatistic.partitionResources.stoneCount++;
 				}
+			} else {
+				playerStatistic.landToBuildOn.addNoCollission(x, y);
+			}
+			if ((flags & RIVER) != 0) {
+				playerStatistic.rivers.addNoCollission(x, y);
+			}
+			if ((flags & WINE) != 0) {
+				playerStatistic.wineCount++;
 			}
-		} else {
-			playerStatistic.landToBuildOn.addNoCollission(x, y);
-		}
-		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
-		if (landscape.isRiver()) {
-			playerStatistic.rivers.addNoCollission(x, y);
 		}
-		if (objectsGrid.hasMapObjectType(x, y, EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE)) {
-			playerStatistic.wineCount++;
+
+		if ((flags & INGESTIBLE_BORDER) != 0) {
+			if (inPartitionToBuildOn) {
+				playerStatistic.borderIngestibleByPioneers.addNoCollission(x, y);
+			} else {
+				playerStatistic.otherPartitionBorder.addNoCollission(x, y);
+			}
 		}
 	}
 
 	private boolean isCuttableByPlayer(short x, short y, byte playerId) {
-		byte[] playerIds = new byte[4];
-		playerIds[0] = partitionsGrid.getPlayerIdAt(x - 2, y - 2);
-		playerIds[1] = partitionsGrid.getPlayerIdAt(x - 2, y + 2);
-		playerIds[2] = partitionsGrid.getPlayerIdAt(x + 2, y - 2);
-		playerIds[3] = partitionsGrid.getPlayerIdAt(x + 2, y + 2);
-		for (byte positionPlayerId : playerIds) {
-			if (positionPlayerId != playerId) {
-				return false;
-			}
-		}
-		return true;
+		return isPlayerAt(x - 2, y - 2, playerId)
+				&& isPlayerAt(x - 2, y + 2, playerId)
+				&& isPlayerAt(x + 2, y - 2, playerId)
+				&& isPlayerAt(x + 2, y + 2, playerId);
 	}
 
-	private void updateFreeLand(short x, short y) {
-		if (objectsGrid.hasCuttableObject(x, y, TREE_ADULT)) {
-			AiPositions trees = sortedCuttableObjectsInDefaultPartition.get(TREE_ADULT);
-			if (trees == null) {
-				trees = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(TREE_ADULT, trees);
-			}
-			trees.addNoCollission(x, y);
+	private boolean isPlayerAt(int x, int y, byte playerId) {
+		return mainGrid.isInBounds(x, y) && partitionsGrid.getPlayerIdAt(x, y) == playerId;
+	}
+
+	private void updateFreeLand(short x, short y, int flags) {
+		if ((flags & CUTTABLE_TREE) != 0) {
+			sortedCuttableObjectsInDefaultPartition.computeIfAbsent(TREE_ADULT, type -> new AiPositions()).addNoCollission(x, y);
 		}
-		if (objectsGrid.hasCuttableObject(x, y, STONE)) {
-			AiPositions stones = sortedCuttableObjectsInDefaultPartition.get(STONE);
-			if (stones == null) {
-				stones = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(STONE, stones);
-			}
-			stones.addNoCollission(x, y);
+		if ((flags & CUTTABLE_STONE) != 0) {
+			sortedCuttableObjectsInDefaultPartition.computeIfAbsent(STONE, type -> new AiPositions()).addNoCollission(x, y);
 			updateNearStones(x, y);
 		}
-		if (objectsGrid.hasMapObjectType(x, y, STONE, CUT_OFF_STONE)) {
+		if ((flags & STONE_OBJECT) != 0) {
 			defaultPartitionResources.stoneCount++;
 		}
-		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
-		if (landscape.isRiver()) {
+		if ((flags & RIVER) != 0) {
 			sortedRiversInDefaultPartition.addNoCollission(x, y);
 		}
 	}
@@ -459,7 +531,7 @@ public class AiStatistics {
 			int currY = dir.getNextTileY(y, NEAR_STONE_DISTANCE);
 			if (mainGrid.isInBounds(currX, currY)) {
 				byte playerId = partitionsGrid.getPlayerIdAt(currX, currY);
-				if (playerId != -1 && hasPlayersBlockedPartition(playerId, x, y)) {
+				if (playerId != -1 && playerStatistics[playerId].referencePosition != null && hasPlayersBlockedPartition(playerId, x, y)) {
 					playerStatistics[playerId].stonesNearBy.addNoCollission(x, y);
 				}
 			}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+/**
+ * The steps of the heavy rules of an {@link IWhatToDoAi} in the order they are applied. The work units are a rough estimation of the relative
+ * costs of the steps. They are used by the {@link AiScheduler} to spread the steps over several ticks without depending on the speed of the
+ * machine.
+ */
+enum EHeavyRuleStep {
+	UPDATE_ECONOMY(1),
+	DESTROY_BUILDINGS(1),
+	COMMAND_PIONEERS(3),
+	BUILD_BUILDINGS(4),
+	COMMAND_ARMY(3),
+	SEND_GEOLOGISTS(1);
+
+	static final EHeavyRuleStep[] VALUES = values();
+
+	final int workUnits;
+
+	EHeavyRuleStep(int workUnits) {
+		this.workUnits = workUnits;
+	}
+}
@@ -25,5 +25,14 @@ package jsettlers.ai.highlevel;
 interface IWhatToDoAi {
 
 	void applyLightRules();
-	void applyHeavyRules();
+
+	/**
+	 * Applies one step of the heavy rules. The steps of one cycle are applied in the order of {@link EHeavyRuleStep}, but not necessarily in the
+	 * same tick. So the statistics might be some seconds old.
+	 *
+	 * @param step
+	 *            The step to apply.
+	 * @return false if the remaining steps of this cycle shall be skipped.
+	 */
+	boolean applyHeavyRuleStep(EHeavyRuleStep step);
 }
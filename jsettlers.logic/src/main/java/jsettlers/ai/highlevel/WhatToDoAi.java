@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -136,18 +137,34 @@ class WhatToDoAi implements IWhatToDoAi {
 	}
 
 	@Override
-	public void applyHeavyRules() {
-		if (aiStatistics.isAlive(playerId)) {
+	public boolean applyHeavyRuleStep(EHeavyRuleStep step) {
+		switch (step) {
+		case UPDATE_ECONOMY:
+			if (!aiStatistics.isAlive(playerId)) {
+				return false;
+			}
 			economyMinister.update();
 			isEndGame = economyMinister.isEndGame();
 			failedConstructingBuildings = new ArrayList<>();
+			break;
+		case DESTROY_BUILDINGS:
 			destroyBuildings();
+			break;
+		case COMMAND_PIONEERS:
 			commandPioneers();
+			break;
+		case BUILD_BUILDINGS:
 			buildBuildings();
+			break;
+		case COMMAND_ARMY:
 			Set<Integer> soldiersWithOrders = new HashSet<>();
 			armyGeneral.applyHeavyRules(soldiersWithOrders);
+			break;
+		case SEND_GEOLOGISTS:
 			sendGeologists();
+			break;
 		}
+		return true;
 	}
 
 	private List<EResourceType> getNeededResources() {
@@ -178,10 +195,13 @@ class WhatToDoAi implements IWhatToDoAi {
 			int bearerIndex = 0;
 			for(EResourceType neededResource : neededResources) {
 				ILogicMovable targetBearer = getBearerAt(bearersPositions.get(bearerIndex));
+				bearerIndex++;
+				if (targetBearer == null) { // the bearer moved since the last statistics update
+					continue;
+				}
 				targetGeologists.put(neededResource, targetBearer);
 
 				convertBearers.add(targetBearer.getID());
-				bearerIndex++;
 			}
 
 			taskScheduler.scheduleTask(new ConvertGuiTask(playerId, convertBearers, EMovableType.GEOLOGIST));
@@ -220,7 +240,8 @@ class WhatToDoAi implements IWhatToDoAi {
 
 		// destroy stonecutters or set their work areas
 		for (ShortPoint2D stoneCutterPosition : aiStatistics.getBuildingPositionsOfTypeForPlayer(STONECUTTER, playerId)) {
-			if (aiStatistics.getBuildingAt(stoneCutterPosition).cannotWork()) {
+			Building stoneCutter = aiStatistics.getBuildingAt(stoneCutterPosition);
+			if (stoneCutter != null && stoneCutter.cannotWork()) {
 				int numberOfStoneCutters = aiStatistics.getNumberOfBuildingTypeForPlayer(STONECUTTER, playerId);
 
 				ShortPoint2D nearestStone = aiStatistics.getStonesForPlayer(playerId)
@@ -259,7 +280,10 @@ class WhatToDoAi implements IWhatToDoAi {
 			}
 
 			aiStatistics.getBuildingPositionsOfTypeForPlayer(LUMBERJACK, playerId).stream()
-					.filter(lumberJackPosition -> aiStatistics.getBuildingAt(lumberJackPosition).cannotWork())
+					.filter(lumberJackPosition -> {
+						Building lumberJack = aiStatistics.getBuildingAt(lumberJackPosition);
+						return lumberJack != null && lumberJack.cannotWork();
+					})
 					.forEach(lumberJackPosition -> taskScheduler.scheduleTask(new SimpleBuildingGuiTask(EGuiAction.DESTROY_BUILDING, playerId, lumberJackPosition)));
 
 			if ((aiStatistics.getNumberOfBuildingTypeForPlayer(SAWMILL, playerId) * 3 - 2) > aiStatistics.getNumberOfBuildingTypeForPlayer(LUMBERJACK, playerId)) {
@@ -274,7 +298,8 @@ class WhatToDoAi implements IWhatToDoAi {
 
 	private boolean destroyLivingHouse(EBuildingType livingHouseType) {
 		for (ShortPoint2D livingHousePosition : aiStatistics.getBuildingPositionsOfTypeForPlayer(livingHouseType, playerId)) {
-			if (aiStatistics.getBuildingAt(livingHousePosition).cannotWork()) {
+			Building livingHouse = aiStatistics.getBuildingAt(livingHousePosition);
+			if (livingHouse != null && livingHouse.cannotWork()) {
 				taskScheduler.scheduleTask(new SimpleBuildingGuiTask(EGuiAction.DESTROY_BUILDING, playerId, livingHousePosition));
 				return true;
 			}
@@ -308,7 +333,7 @@ class WhatToDoAi implements IWhatToDoAi {
 	private boolean buildTower() {
 		for (ShortPoint2D towerPosition : aiStatistics.getBuildingPositionsOfTypeForPlayer(TOWER, playerId)) {
 			Building tower = aiStatistics.getBuildingAt(towerPosition);
-			if (!tower.isConstructionFinished() || !tower.isOccupied()) {
+			if (tower != null && (!tower.isConstructionFinished() || !tower.isOccupied())) {
 				return false;
 			}
 		}
@@ -444,7 +469,9 @@ class WhatToDoAi implements IWhatToDoAi {
 		if (!pioneers.isEmpty()) {
 			List<Integer> pioneerIds = pioneers.stream()
 					.limit(numberOfPioneers)
-					.map(pioneerPosition -> mainGrid.getMovableGrid().getMovableAt(pioneerPosition.x, pioneerPosition.y).getID())
+					.map(pioneerPosition -> mainGrid.getMovableGrid().getMovableAt(pioneerPosition.x, pioneerPosition.y))
+					.filter(Objects::nonNull)
+					.map(ILogicMovable::getID)
 					.collect(Collectors.toList());
 			taskScheduler.scheduleTask(new ConvertGuiTask(playerId, pioneerIds, EMovableType.BEARER));
 			if (numberOfPioneers == Integer.MAX_VALUE) {
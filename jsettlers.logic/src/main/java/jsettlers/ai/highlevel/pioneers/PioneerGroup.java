@@ -17,6 +17,7 @@ package jsettlers.ai.highlevel.pioneers;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import jsettlers.ai.highlevel.AiStatistics;
@@ -77,6 +78,7 @@ public class PioneerGroup {
 		List<Integer> newPioneerIds = joblessBearers.stream()
 				.limit(newPioneers)
 				.map(position -> movableGrid.getMovableAt(position.x, position.y))
+				.filter(Objects::nonNull) // the bearer moved since the last statistics update
 				.map(ILogicMovable::getID)
 				.collect(Collectors.toList());
 
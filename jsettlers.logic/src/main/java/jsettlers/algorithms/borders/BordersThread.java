@@ -18,6 +18,7 @@ import jsettlers.common.movable.EDirection;
 import jsettlers.common.position.ShortPoint2D;
 
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This thread calculates the positions that represent the border between the areas occupied by different players.
@@ -30,6 +31,7 @@ public class BordersThread implements Runnable {
 	private final IBordersThreadGrid grid;
 	private final LinkedBlockingQueue<ShortPoint2D> positionsQueue = new LinkedBlockingQueue<>();
 	private final Thread bordersThread;
+	private final AtomicInteger pendingPositions = new AtomicInteger();
 
 	private boolean canceled = false;
 
@@ -58,6 +60,26 @@ public class BordersThread implements Runnable {
 			}
 			if (!canceled) {
 				calculateForPosition(position);
+				positionCalculated();
+			}
+		}
+	}
+
+	private void positionCalculated() {
+		if (pendingPositions.decrementAndGet() == 0) {
+			synchronized (pendingPositions) {
+				pendingPositions.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Blocks until all positions checked so far have been calculated or the thread has been canceled. Returns immediately if the thread has not been started.
+	 */
+	public void awaitIdle() throws InterruptedException {
+		synchronized (pendingPositions) {
+			while (pendingPositions.get() > 0 && !canceled && bordersThread.isAlive()) {
+				pendingPositions.wait();
 			}
 		}
 	}
@@ -109,6 +131,7 @@ public class BordersThread implements Runnable {
 	}
 
 	public void checkPosition(ShortPoint2D position) {
+		pendingPositions.incrementAndGet();
 		this.positionsQueue.offer(position);
 	}
 
@@ -118,6 +141,7 @@ public class BordersThread implements Runnable {
 
 		for (; y < endY; y += 2) {
 			for (int currX = x; currX < endX; currX += 2) {
+				pendingPositions.incrementAndGet();
 				this.positionsQueue.offer(new ShortPoint2D(currX, y));
 			}
 		}
@@ -126,6 +150,9 @@ public class BordersThread implements Runnable {
 	public void cancel() {
 		this.canceled = true;
 		bordersThread.interrupt();
+		synchronized (pendingPositions) {
+			pendingPositions.notifyAll();
+		}
 	}
 
 	public void start() {
@@ -14,13 +14,17 @@
  *******************************************************************************/
 package jsettlers.algorithms.fogofwar;
 
+import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import jsettlers.common.CommonConstants;
 import jsettlers.common.landscape.ELandscapeType;
@@ -28,6 +32,7 @@ import jsettlers.common.map.IGraphicsBackgroundListener;
 import jsettlers.common.mapobject.IMapObject;
 import jsettlers.common.position.ShortPoint2D;
 import go.graphics.FramerateComputer;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
@@ -39,6 +44,9 @@ import jsettlers.logic.movable.MovableManager;
 
 /**
  * This class holds the fog of war for a given map and team.
+ * <p />
+ * All per tile data is stored in flat arrays indexed with x + y * width. The references of the view circles are counted with one unsigned byte per tile and reference index. Counters
+ * reaching {@link #REF_OVERFLOW} continue in a small overflow table, which is only needed if more than 254 circles with the same reference index overlap on one tile.
  * 
  * @author Andreas Eberle
  */
@@ -50,20 +58,49 @@ public final class FogOfWar implements Serializable {
 	public static final byte MAX_VIEW_DISTANCE = 65;
 	public static final int PADDING = 10;
 
-	public final byte team;
+	/**
+	 * Number of reference indexes of a tile. The indexes of a {@link CachedViewCircle} range from 0 to {@link #PADDING}.
+	 */
+	static final int REF_INDEXES = PADDING + 1;
+	/**
+	 * Value of a reference counter whose additional references are stored in the overflow table.
+	 */
+	static final int REF_OVERFLOW = 0xFF;
+	private static final byte NO_HIDDEN_LANDSCAPE = -1;
 
-	public final short width;
-	public final short height;
-	public final byte[][] sight;
-	public final ELandscapeType[][] hiddenLandscape;
-	public final byte[][] hiddenHeight;
-	public final IMapObject[][] hiddenMapObjects;
-	public final short[][][] visibleRefs;
-	public final HashMap<Byte, LinkedList<Object>>[][] namedRefs;
+	/**
+	 * The fields of the old format, which used jagged arrays. They are kept to be able to load old savegames. The new format writes the legacy arrays as null and appends the flat
+	 * arrays.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("team", byte.class),
+			new ObjectStreamField("width", short.class),
+			new ObjectStreamField("height", short.class),
+			new ObjectStreamField("sight", byte[][].class),
+			new ObjectStreamField("hiddenLandscape", ELandscapeType[][].class),
+			new ObjectStreamField("hiddenHeight", byte[][].class),
+			new ObjectStreamField("hiddenMapObjects", IMapObject[][].class),
+			new ObjectStreamField("visibleRefs", short[][][].class),
+			new ObjectStreamField("namedRefs", HashMap[][].class),
+			new ObjectStreamField("landscapeGrid", LandscapeGrid.class),
+			new ObjectStreamField("objectsGrid", ObjectsGrid.class)
+	};
+
+	public byte team;
+
+	public short width;
+	public short height;
+	private byte[] sight;
+	private byte[] hiddenLandscape;
+	private byte[] hiddenHeight;
+	private IMapObject[] hiddenMapObjects;
+	private byte[] visibleRefs;
+	private HashMap<Integer, Integer> overflowRefs;
+	private HashMap<Byte, LinkedList<Object>>[] namedRefs;
 	public transient FowDimThread dimThread;
 	public transient FoWRefThread refThread;
-	private final LandscapeGrid landscapeGrid;
-	private final ObjectsGrid objectsGrid;
+	private LandscapeGrid landscapeGrid;
+	private ObjectsGrid objectsGrid;
 
 	public transient CircleDrawer circleDrawer;
 	private transient IGraphicsBackgroundListener backgroundListener;
@@ -71,33 +108,44 @@ public final class FogOfWar implements Serializable {
 	public transient boolean canceled;
 
 	public FogOfWar(MainGrid root, byte teamId) {
-		this.width = root.getWidth();
-		this.height = root.getHeight();
+		this(root.getWidth(), root.getHeight(), teamId, root.getLandscapeGrid(), root.getObjectsGrid());
+	}
+
+	FogOfWar(short width, short height, byte teamId, LandscapeGrid landscapeGrid, ObjectsGrid objectsGrid) {
+		this.width = width;
+		this.height = height;
 		this.team = teamId;
-		this.sight = new byte[width][height];
-		this.hiddenLandscape = new ELandscapeType[width][height];
-		this.hiddenHeight = new byte[width][height];
-		this.hiddenMapObjects = new IMapObject[width][height];
-		this.visibleRefs = new short[width][height][0];
-		this.landscapeGrid = root.getLandscapeGrid();
-		this.objectsGrid = root.getObjectsGrid();
+		this.sight = new byte[width * height];
+		this.hiddenLandscape = new byte[width * height];
+		this.hiddenHeight = new byte[width * height];
+		this.hiddenMapObjects = new IMapObject[width * height];
+		this.visibleRefs = new byte[width * height * REF_INDEXES];
+		this.overflowRefs = new HashMap<>();
+		this.landscapeGrid = landscapeGrid;
+		this.objectsGrid = objectsGrid;
+
+		Arrays.fill(hiddenLandscape, NO_HIDDEN_LANDSCAPE);
 
 		if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
-			this.namedRefs = new HashMap[width][height];
-			for (HashMap<Byte, LinkedList<Object>>[] a : namedRefs) {
-				for (int i = 0; i < a.length; i++) {
-					a[i] = new HashMap<>();
-				}
-			}
+			this.namedRefs = createNamedRefs();
 		} else {
 			namedRefs = null;
 		}
 
-		readObject(null);
+		initTransientFields();
+	}
+
+	@SuppressWarnings("unchecked")
+	private HashMap<Byte, LinkedList<Object>>[] createNamedRefs() {
+		HashMap<Byte, LinkedList<Object>>[] namedRefs = new HashMap[width * height];
+		for (int i = 0; i < namedRefs.length; i++) {
+			namedRefs[i] = new HashMap<>();
+		}
+		return namedRefs;
 	}
 
 	public void start() {
-		instance = this;
+		GameContext.current().setFogOfWar(this);
 		refThread.start();
 		dimThread.start();
 	}
@@ -107,10 +155,15 @@ public final class FogOfWar implements Serializable {
 		foWTask.from = from;
 		foWTask.to = to;
 		foWTask.at = at;
-		instance.refThread.nextTasks.add(foWTask);
+		get().refThread.nextTasks.add(foWTask);
 	}
 
-	public static FogOfWar instance;
+	/**
+	 * @return the fog of war of the current {@link GameContext}, null if it has not been started.
+	 */
+	public static FogOfWar get() {
+		return GameContext.current().getFogOfWar();
+	}
 
 	public void setBackgroundListener(IGraphicsBackgroundListener backgroundListener) {
 		if (backgroundListener != null) {
@@ -120,14 +173,84 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
-	private void readObject(ObjectInputStream ois) {
-		if(ois != null) {
-			try {
-				ois.defaultReadObject();
-			} catch (Exception e) {
-				e.printStackTrace();
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("team", team);
+		fields.put("width", width);
+		fields.put("height", height);
+		fields.put("landscapeGrid", landscapeGrid);
+		fields.put("objectsGrid", objectsGrid);
+		oos.writeFields();
+
+		oos.writeObject(sight);
+		oos.writeObject(hiddenLandscape);
+		oos.writeObject(hiddenHeight);
+		oos.writeObject(hiddenMapObjects);
+		oos.writeObject(visibleRefs);
+		oos.writeObject(overflowRefs);
+		oos.writeObject(namedRefs);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = ois.readFields();
+		team = fields.get("team", (byte) 0);
+		width = fields.get("width", (short) 0);
+		height = fields.get("height", (short) 0);
+		landscapeGrid = (LandscapeGrid) fields.get("landscapeGrid", null);
+		objectsGrid = (ObjectsGrid) fields.get("objectsGrid", null);
+
+		byte[][] legacySight = (byte[][]) fields.get("sight", null);
+		if (legacySight != null) {
+			readLegacyGrids(fields, legacySight);
+		} else {
+			sight = (byte[]) ois.readObject();
+			hiddenLandscape = (byte[]) ois.readObject();
+			hiddenHeight = (byte[]) ois.readObject();
+			hiddenMapObjects = (IMapObject[]) ois.readObject();
+			visibleRefs = (byte[]) ois.readObject();
+			overflowRefs = (HashMap<Integer, Integer>) ois.readObject();
+			namedRefs = (HashMap<Byte, LinkedList<Object>>[]) ois.readObject();
+		}
+
+		initTransientFields();
+	}
+
+	private void readLegacyGrids(ObjectInputStream.GetField fields, byte[][] legacySight) throws IOException {
+		ELandscapeType[][] legacyHiddenLandscape = (ELandscapeType[][]) fields.get("hiddenLandscape", null);
+		byte[][] legacyHiddenHeight = (byte[][]) fields.get("hiddenHeight", null);
+		IMapObject[][] legacyHiddenMapObjects = (IMapObject[][]) fields.get("hiddenMapObjects", null);
+		short[][][] legacyVisibleRefs = (short[][][]) fields.get("visibleRefs", null);
+
+		sight = new byte[width * height];
+		hiddenLandscape = new byte[width * height];
+		hiddenHeight = new byte[width * height];
+		hiddenMapObjects = new IMapObject[width * height];
+		visibleRefs = new byte[width * height * REF_INDEXES];
+		overflowRefs = new HashMap<>();
+		namedRefs = CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES ? createNamedRefs() : null;
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int index = x + y * width;
+				ELandscapeType landscape = legacyHiddenLandscape[x][y];
+
+				sight[index] = legacySight[x][y];
+				hiddenLandscape[index] = landscape != null ? (byte) landscape.ordinal() : NO_HIDDEN_LANDSCAPE;
+				hiddenHeight[index] = legacyHiddenHeight[x][y];
+				hiddenMapObjects[index] = legacyHiddenMapObjects[x][y];
+
+				short[] refs = legacyVisibleRefs[x][y];
+				for (int refIndex = 0; refIndex < refs.length; refIndex++) {
+					for (int i = 0; i < refs[refIndex]; i++) {
+						addRef(index * REF_INDEXES + refIndex);
+					}
+				}
 			}
 		}
+	}
+
+	private void initTransientFields() {
 		refThread = new FoWRefThread();
 		dimThread = new FowDimThread();
 		circleDrawer = new CircleDrawer();
@@ -137,11 +260,20 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public boolean isHidden(int x, int y) {
-		return enabled && hiddenLandscape[x][y] != null;
+		return enabled && hiddenLandscape[x + y * width] != NO_HIDDEN_LANDSCAPE;
 	}
 
 	public ELandscapeType getLandscapeTypeAt(int x, int y) {
-		return hiddenLandscape[x][y];
+		byte landscape = hiddenLandscape[x + y * width];
+		return landscape != NO_HIDDEN_LANDSCAPE ? ELandscapeType.VALUES[landscape] : null;
+	}
+
+	public byte getHiddenHeightAt(int x, int y) {
+		return hiddenHeight[x + y * width];
+	}
+
+	public IMapObject getHiddenMapObjectsAt(int x, int y) {
+		return hiddenMapObjects[x + y * width];
 	}
 
 	public static class BuildingFoWTask implements FoWTask {
@@ -168,10 +300,13 @@ public final class FogOfWar implements Serializable {
 	 * @return The status from 0 to visible.
 	 */
 	public final byte getVisibleStatus(int x, int y) {
-		return enabled ? sight[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		return enabled ? sight[x + y * width] : CommonConstants.FOG_OF_WAR_VISIBLE;
 	}
 
-	public byte[][] getVisibleStatusArray() {
+	/**
+	 * @return The visible status of all positions. The status of a position is stored at index x + y * width.
+	 */
+	public byte[] getVisibleStatusArray() {
 		return sight;
 	}
 
@@ -185,19 +320,19 @@ public final class FogOfWar implements Serializable {
 		this.enabled = enabled;
 
 		backgroundListener.fogOfWarEnabledStatusChanged(enabled);
-		for(int y = 0; y != height;y++) backgroundListener.backgroundLineChangedAt(0, y, width);
+		backgroundListener.backgroundAreaChangedAt(0, 0, width, height);
 	}
 
 	public void showMap() {
 		ShowHideFoWTask foWTask = new ShowHideFoWTask();
 		foWTask.addRef = true;
-		instance.refThread.nextTasks.add(foWTask);
+		refThread.nextTasks.add(foWTask);
 	}
 
 	public void hideMap() {
 		ShowHideFoWTask foWTask = new ShowHideFoWTask();
 		foWTask.addRef = false;
-		instance.refThread.nextTasks.add(foWTask);
+		refThread.nextTasks.add(foWTask);
 	}
 
 	public static final int CIRCLE_REMOVE = 1;
@@ -276,25 +411,86 @@ public final class FogOfWar implements Serializable {
 		return enabled;
 	}
 
+	/**
+	 * Dims the sight of all positions that have been marked by the {@link CircleDrawer} towards their target sight.
+	 * <p />
+	 * The map is split into blocks of {@link #BLOCK_SIZE}x{@link #BLOCK_SIZE} positions. The {@link CircleDrawer} marks positions and their blocks in atomic bit sets without locking.
+	 * The dim thread moves the marked positions into its own bit set and keeps a list of the blocks that are still dimming. A block leaves this list as soon as all of its
+	 * positions reached their target sight. Therefore, the work per frame only depends on the area that is currently changing. The changed positions of a frame are reported
+	 * to the {@link IGraphicsBackgroundListener} as one area per run of horizontally adjacent blocks.
+	 */
 	public class FowDimThread extends FoWThread {
+		static final int BLOCK_BITS = 4;
+		static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+		private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+		private static final int WORDS_PER_BLOCK = BLOCK_SIZE * BLOCK_SIZE / Long.SIZE;
+
+		private final int blocksWidth;
+
+		private final AtomicLongArray pendingPositions;
+		private final AtomicLongArray pendingBlocks;
+
+		private final long[]    dimmingPositions;
+		private final boolean[] dimmingBlock;
+		private final int[]     dimmingBlocks;
+		private int             dimmingBlocksCount;
+
+		private final long[] changedBlocks;
+		private final short[] changedMinX;
+		private final short[] changedMaxX;
+		private final short[] changedMinY;
+		private final short[] changedMaxY;
+
 		FowDimThread() {
 			super("FOW-dimmer");
-			size = width*height;
-			nextUpdate = new BitSet(size);
-			update = new BitSet(size);
+			blocksWidth = (width + BLOCK_MASK) >> BLOCK_BITS;
+			int blocks = blocksWidth * ((height + BLOCK_MASK) >> BLOCK_BITS);
+			int blockWords = (blocks + Long.SIZE - 1) / Long.SIZE;
+
+			pendingPositions = new AtomicLongArray(blocks * WORDS_PER_BLOCK);
+			pendingBlocks = new AtomicLongArray(blockWords);
+
+			dimmingPositions = new long[blocks * WORDS_PER_BLOCK];
+			dimmingBlock = new boolean[blocks];
+			dimmingBlocks = new int[blocks];
+
+			changedBlocks = new long[blockWords];
+			changedMinX = new short[blocks];
+			changedMaxX = new short[blocks];
+			changedMinY = new short[blocks];
+			changedMaxY = new short[blocks];
 		}
 
-		public final BitSet nextUpdate;
-		public final BitSet update;
-		private final int size;
+		/**
+		 * Marks the given position to be dimmed. This method may be called from any thread.
+		 */
+		final void markForDimming(int x, int y) {
+			int block = (x >> BLOCK_BITS) + (y >> BLOCK_BITS) * blocksWidth;
+			int blockPosition = (x & BLOCK_MASK) + ((y & BLOCK_MASK) << BLOCK_BITS);
+
+			setBit(pendingPositions, block * WORDS_PER_BLOCK + (blockPosition >> 6), 1L << blockPosition);
+			setBit(pendingBlocks, block >> 6, 1L << block);
+		}
+
+		private void setBit(AtomicLongArray bits, int word, long mask) {
+			long current;
+			do {
+				current = bits.get(word);
+				if ((current & mask) != 0) {
+					return;
+				}
+			} while (!bits.compareAndSet(word, current, current | mask));
+		}
+
+		/**
+		 * @return The number of blocks that have not yet reached their target sight.
+		 */
+		final int getDimmingBlocksCount() {
+			return dimmingBlocksCount;
+		}
 
 		@Override
 		public void taskProcessor() {
-			synchronized (nextUpdate) {
-				update.or(nextUpdate);
-				nextUpdate.clear();
-			}
-
 			double sync_factor = fc.getTime();
 			if (sync_factor == 0) sync_factor = 1.0 / CommonConstants.FOG_OF_WAR_DIM_FRAMERATE;
 			byte dim = 0;
@@ -302,88 +498,174 @@ public final class FogOfWar implements Serializable {
 				dim = (byte) Math.round(sync_factor * CommonConstants.FOG_OF_WAR_DIM * MatchConstants.clock().getGameSpeed());
 			}
 
+			dimStep(dim);
 
-			int last = 0;
-			do {
-				int first = update.nextSetBit(last);
-				if (first == -1) break;
+			if(MatchConstants.clock() != null) {
+				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
 
-				last = update.nextClearBit(first);
-				if (last == -1) last = size;
+				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
+					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
+				}
+			} else {
+				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+			}
+		}
 
-				int beginX = first % width;
-				int beginY = (first - beginX) / width;
+		/**
+		 * Dims all marked positions by the given value and reports the changed areas.
+		 */
+		final void dimStep(byte dim) {
+			takePendingPositions();
 
-				int endX = last % width;
-				int endY = (last - endX) / width;
+			for (int i = 0; i < dimmingBlocksCount;) {
+				int block = dimmingBlocks[i];
+				if (dimBlock(block, dim)) {
+					i++;
+				} else {
+					dimmingBlock[block] = false;
+					dimmingBlocks[i] = dimmingBlocks[--dimmingBlocksCount];
+				}
+			}
 
-				for (int y = beginY; y <= endY; y++) {
-					int firstUpdate = -1;
-					int lastUpdate = -1;
+			reportChangedBlocks();
+		}
 
-					int x = y == beginY ? beginX : 0;
-					int x2 = y == endY ? endX : width;
-					for(; x < x2; x++) {
-						final byte refSight = refSight(x, y);
-						final byte dimTo = targetSight(x, y, refSight);
-						final byte oldSight = sight[x][y];
+		private void takePendingPositions() {
+			for (int word = 0; word < pendingBlocks.length(); word++) {
+				if (pendingBlocks.get(word) == 0) {
+					continue;
+				}
 
-						final byte newSight = dim(sight[x][y], dimTo, dim);
+				long blocks = pendingBlocks.getAndSet(word, 0);
+				while (blocks != 0) {
+					int block = (word << 6) + Long.numberOfTrailingZeros(blocks);
+					blocks &= blocks - 1;
 
-						if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
-							clearHidden(x, y);
-						} else if((oldSight > CommonConstants.FOG_OF_WAR_EXPLORED && newSight <= CommonConstants.FOG_OF_WAR_EXPLORED) ||
-								(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < oldSight)) {
-							recordHidden(x, y);
+					for (int i = block * WORDS_PER_BLOCK; i < (block + 1) * WORDS_PER_BLOCK; i++) {
+						if (pendingPositions.get(i) != 0) {
+							dimmingPositions[i] |= pendingPositions.getAndSet(i, 0);
 						}
+					}
+
+					if (!dimmingBlock[block]) {
+						dimmingBlock[block] = true;
+						dimmingBlocks[dimmingBlocksCount++] = block;
+					}
+				}
+			}
+		}
 
-						sight[x][y] = newSight;
+		/**
+		 * @return true if the block still contains positions that have not reached their target sight.
+		 */
+		private boolean dimBlock(int block, byte dim) {
+			int blockX = (block % blocksWidth) << BLOCK_BITS;
+			int blockY = (block / blocksWidth) << BLOCK_BITS;
+			boolean dimming = false;
+
+			for (int word = 0; word < WORDS_PER_BLOCK; word++) {
+				int wordIndex = block * WORDS_PER_BLOCK + word;
+				long positions = dimmingPositions[wordIndex];
+
+				while (positions != 0) {
+					int blockPosition = (word << 6) + Long.numberOfTrailingZeros(positions);
+					long positionBit = positions & -positions;
+					positions &= positions - 1;
+
+					int x = blockX + (blockPosition & BLOCK_MASK);
+					int y = blockY + (blockPosition >> BLOCK_BITS);
+					int index = x + y * width;
+
+					final byte refSight = refSight(x, y);
+					final byte dimTo = targetSight(x, y, refSight);
+					final byte oldSight = sight[index];
+
+					final byte newSight = dim(oldSight, dimTo, dim);
+
+					if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
+						clearHidden(x, y);
+					} else if((oldSight > CommonConstants.FOG_OF_WAR_EXPLORED && newSight <= CommonConstants.FOG_OF_WAR_EXPLORED) ||
+							(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < oldSight)) {
+						recordHidden(x, y);
+					}
 
-						if(dimTo != oldSight) {
-							if(lastUpdate + 1 != x) {
-								if(firstUpdate != -1) update(y, firstUpdate, lastUpdate);
-								firstUpdate = lastUpdate = x;
-							} else {
-								if(firstUpdate == -1) firstUpdate = x;
-								lastUpdate = x;
-							}
+					sight[index] = newSight;
 
-							if(sight[x][y] == dimTo) update.clear(y * width + x);
-						} else {
-							update.set(y * width + x, false);
-						}
+					if(dimTo != oldSight) {
+						positionChanged(block, x, y);
 					}
-					if (firstUpdate != -1) {
-						update(y, firstUpdate, lastUpdate);
+
+					if(newSight == dimTo) {
+						dimmingPositions[wordIndex] &= ~positionBit;
 					}
 				}
-			} while (last < size);
-			if(MatchConstants.clock() != null) {
-				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
 
-				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
-					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
-				}
+				dimming |= dimmingPositions[wordIndex] != 0;
+			}
+			return dimming;
+		}
+
+		private void positionChanged(int block, int x, int y) {
+			long blockBit = 1L << block;
+			if ((changedBlocks[block >> 6] & blockBit) == 0) {
+				changedBlocks[block >> 6] |= blockBit;
+				changedMinX[block] = changedMaxX[block] = (short) x;
+				changedMinY[block] = changedMaxY[block] = (short) y;
 			} else {
-				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+				changedMinX[block] = (short) Math.min(changedMinX[block], x);
+				changedMaxX[block] = (short) Math.max(changedMaxX[block], x);
+				changedMinY[block] = (short) Math.min(changedMinY[block], y);
+				changedMaxY[block] = (short) Math.max(changedMaxY[block], y);
 			}
 		}
 
-		private void update(int y, int from, int to) {
-			backgroundListener.backgroundLineChangedAt(from, y, to-from);
+		private void reportChangedBlocks() {
+			int lastBlock = -1;
+			int minX = 0, maxX = 0, minY = 0, maxY = 0;
+
+			for (int word = 0; word < changedBlocks.length; word++) {
+				long blocks = changedBlocks[word];
+				changedBlocks[word] = 0;
+
+				while (blocks != 0) {
+					int block = (word << 6) + Long.numberOfTrailingZeros(blocks);
+					blocks &= blocks - 1;
+
+					if (lastBlock != -1 && block == lastBlock + 1 && block % blocksWidth != 0) {
+						maxX = changedMaxX[block];
+						minY = Math.min(minY, changedMinY[block]);
+						maxY = Math.max(maxY, changedMaxY[block]);
+					} else {
+						if (lastBlock != -1) {
+							backgroundListener.backgroundAreaChangedAt(minX, minY, maxX - minX + 1, maxY - minY + 1);
+						}
+						minX = changedMinX[block];
+						maxX = changedMaxX[block];
+						minY = changedMinY[block];
+						maxY = changedMaxY[block];
+					}
+					lastBlock = block;
+				}
+			}
+
+			if (lastBlock != -1) {
+				backgroundListener.backgroundAreaChangedAt(minX, minY, maxX - minX + 1, maxY - minY + 1);
+			}
 		}
 	}
 
 	private void clearHidden(int x, int y) {
-		hiddenLandscape[x][y] = null;
-		hiddenHeight[x][y] = -1;
-		hiddenMapObjects[x][y] = null;
+		int index = x + y * width;
+		hiddenLandscape[index] = NO_HIDDEN_LANDSCAPE;
+		hiddenHeight[index] = -1;
+		hiddenMapObjects[index] = null;
 	}
 
 	private void recordHidden(int x, int y) {
-		hiddenLandscape[x][y] = landscapeGrid.getLandscapeTypeAt(x, y);
-		hiddenHeight[x][y] = landscapeGrid.getHeightAt(x, y);
-		hiddenMapObjects[x][y] = recordMapObjects(objectsGrid.getObjectsAt(x, y));
+		int index = x + y * width;
+		hiddenLandscape[index] = (byte) landscapeGrid.getLandscapeTypeAt(x, y).ordinal();
+		hiddenHeight[index] = landscapeGrid.getHeightAt(x, y);
+		hiddenMapObjects[index] = recordMapObjects(objectsGrid.getObjectsAt(x, y));
 	}
 
 	private IMapObject recordMapObjects(AbstractHexMapObject objects) {
@@ -421,7 +703,7 @@ public final class FogOfWar implements Serializable {
 
 	final byte targetSight(int x, int y, byte refValue) {
 
-		byte currentValue = sight[x][y];
+		byte currentValue = sight[x + y * width];
 
 		if(currentValue >= CommonConstants.FOG_OF_WAR_EXPLORED && refValue < CommonConstants.FOG_OF_WAR_EXPLORED) {
 			return CommonConstants.FOG_OF_WAR_EXPLORED;
@@ -435,17 +717,57 @@ public final class FogOfWar implements Serializable {
 	}
 
 	final byte refSight(int x, int y) {
-		short[] refs = instance.visibleRefs[x][y];
-		if(refs.length == 0) return 0;
+		int firstRef = (x + y * width) * REF_INDEXES;
 
 		byte value = CommonConstants.FOG_OF_WAR_VISIBLE;
 
-		for(int i = 0;i != refs.length;i++) {
-			if(refs[i] > 0) break;
+		for(int i = 0;i != REF_INDEXES;i++) {
+			if(visibleRefs[firstRef + i] != 0) return value;
 			value -= 10;
 		}
 
-		return value;
+		return 0;
+	}
+
+	/**
+	 * @return The number of references stored at the given index of {@link #visibleRefs}.
+	 */
+	final int getRefCount(int refIndex) {
+		int count = visibleRefs[refIndex] & 0xFF;
+		if(count == REF_OVERFLOW) {
+			count += overflowRefs.getOrDefault(refIndex, 0);
+		}
+		return count;
+	}
+
+	private void addRef(int refIndex) {
+		int count = visibleRefs[refIndex] & 0xFF;
+		if(count < REF_OVERFLOW) {
+			visibleRefs[refIndex] = (byte) (count + 1);
+		} else {
+			overflowRefs.merge(refIndex, 1, Integer::sum);
+		}
+	}
+
+	private boolean removeRef(int refIndex) {
+		int count = visibleRefs[refIndex] & 0xFF;
+		if(count == 0) {
+			return false;
+		}
+
+		if(count == REF_OVERFLOW) {
+			Integer overflow = overflowRefs.get(refIndex);
+			if(overflow != null) {
+				if(overflow == 1) {
+					overflowRefs.remove(refIndex);
+				} else {
+					overflowRefs.put(refIndex, overflow - 1);
+				}
+				return true;
+			}
+		}
+		visibleRefs[refIndex] = (byte) (count - 1);
+		return true;
 	}
 
 	public abstract class FoWThread extends Thread {
@@ -483,13 +805,10 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public int maxIndex(int x, int y) {
-		short[] array = instance.visibleRefs[x][y];
-		int lastEntry = array.length-1;
+		int firstRef = (x + y * width) * REF_INDEXES;
 
-		if(array.length == 0) return 0;
-
-		for(int i = lastEntry;i >= 0;i--) {
-			if(array[i] > 0) return i+1;
+		for(int i = REF_INDEXES - 1;i >= 0;i--) {
+			if(visibleRefs[firstRef + i] != 0) return i+1;
 		}
 		return 0;
 	}
@@ -537,7 +856,7 @@ public final class FogOfWar implements Serializable {
 	}
 
 	private LinkedList<Object> getNamedRefList(int x, int y, byte index) {
-		return instance.namedRefs[x][y].computeIfAbsent(index, i -> new LinkedList<>());
+		return namedRefs[x + y * width].computeIfAbsent(index, i -> new LinkedList<>());
 	}
 
 	final class CircleDrawer {
@@ -560,38 +879,27 @@ public final class FogOfWar implements Serializable {
 
 				if (x >= 0 && x < width && y > 0 && y < height) {
 					byte tmpIndex = iterator.getRefIndex();
+					int index = x + y * width;
+					int refIndex = index * REF_INDEXES + tmpIndex;
 
 					if((state&CIRCLE_ADD) > 0) {
-						if(instance.visibleRefs[x][y].length <= tmpIndex) { // enlarge ref index array
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[tmpIndex+1];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, tmpRef.length);
-						}
-
 						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
 							getNamedRefList(x, y, tmpIndex).add(reference);
 						}
-						instance.visibleRefs[x][y][tmpIndex]++;
+						addRef(refIndex);
 					}
 					if((state&CIRCLE_REMOVE) > 0) {
 						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES &&
 								!getNamedRefList(x, y, tmpIndex).removeLastOccurrence(reference)) {
 							System.err.println("Fog of war reference error on " + reference);
 						}
-						instance.visibleRefs[x][y][tmpIndex]--;
-						if(instance.visibleRefs[x][y][tmpIndex] == 0 && instance.visibleRefs[x][y].length == tmpIndex+1) { // minimize ref index array size
-							int newLength = maxIndex(x, y);
-
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[newLength];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, newLength);
+						if(!removeRef(refIndex)) {
+							System.err.println("Fog of war reference underflow at " + x + "|" + y + " on " + reference);
 						}
 					}
 
-					if((state&CIRCLE_DIM) > 0 && sight[x][y] != refSight(x, y)) {
-						synchronized (instance.dimThread.nextUpdate) {
-							instance.dimThread.nextUpdate.set(y*width+x);
-						}
+					if((state&CIRCLE_DIM) > 0 && sight[index] != refSight(x, y)) {
+						dimThread.markForDimming(x, y);
 					}
 				}
 			}
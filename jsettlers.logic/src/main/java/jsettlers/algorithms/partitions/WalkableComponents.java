@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.partitions;
+
+import java.util.Arrays;
+
+import jsettlers.common.movable.EDirection;
+
+/**
+ * Connected components of the positions that are not blocked. Two positions that are not blocked are connected, if a path that only uses positions that are not blocked exists
+ * between them.
+ * <p />
+ * The components are calculated on the first request and afterwards updated with every change reported to {@link #blockingChanged(int, int)}:
+ * <ul>
+ * <li>A position that is no longer blocked joins the components of its neighbors.</li>
+ * <li>A position that gets blocked can only split its component, if the positions around it that are not blocked form more than one arc. In this case, the arcs are flood filled
+ * in parallel until they meet or all but one of them are exhausted. The exhausted arcs get new components.</li>
+ * </ul>
+ * Components are merged with a union find structure, so that a component id may have to be resolved with {@link #findRoot(int)}.
+ */
+public final class WalkableComponents {
+	private static final int NO_COMPONENT = 0;
+	private static final int MAX_ARCS = EDirection.NUMBER_OF_DIRECTIONS / 2;
+
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	private final IBlockingProvider blockingProvider;
+	private final short width;
+	private final short height;
+
+	private int[] components;
+	private int[] parents;
+	private int nextComponent;
+
+	private int[] visitedMarks;
+	private int visitGeneration;
+	private final IntQueue[] arcQueues = new IntQueue[MAX_ARCS];
+	private final int[] arcGroups = new int[MAX_ARCS];
+
+	public WalkableComponents(IBlockingProvider blockingProvider, short width, short height) {
+		this.blockingProvider = blockingProvider;
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * @return true if both positions are not blocked and are connected by a path over positions that are not blocked.
+	 */
+	public boolean isConnected(int x1, int y1, int x2, int y2) {
+		if (components == null) {
+			calculateComponents();
+		}
+		int component1 = components[x1 + y1 * width];
+		int component2 = components[x2 + y2 * width];
+		return component1 != NO_COMPONENT && component2 != NO_COMPONENT && findRoot(component1) == findRoot(component2);
+	}
+
+	/**
+	 * Updates the components after the blocking of the given position changed. Changes before the first request are ignored, because the components are not calculated yet.
+	 */
+	public void blockingChanged(int x, int y) {
+		if (components == null) {
+			return;
+		}
+
+		int idx = x + y * width;
+		if (blockingProvider.isBlocked(x, y)) {
+			if (components[idx] != NO_COMPONENT) {
+				components[idx] = NO_COMPONENT;
+				splitAround(x, y);
+			}
+		} else if (components[idx] == NO_COMPONENT) {
+			joinNeighbors(x, y, idx);
+		}
+	}
+
+	private void calculateComponents() {
+		components = new int[width * height];
+		parents = new int[64];
+		nextComponent = NO_COMPONENT + 1;
+		visitedMarks = new int[width * height];
+		visitGeneration = 0;
+
+		IntQueue queue = new IntQueue();
+		for (int idx = 0; idx < components.length; idx++) {
+			if (components[idx] == NO_COMPONENT && !blockingProvider.isBlocked(idx % width, idx / width)) {
+				int component = createComponent();
+				components[idx] = component;
+				queue.clear();
+				queue.add(idx);
+
+				while (queue.hasNext()) {
+					int current = queue.next();
+					int currX = current % width;
+					int currY = current / width;
+					for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+						int neighborX = currX + xDeltaArray[direction];
+						int neighborY = currY + yDeltaArray[direction];
+						if (isWalkable(neighborX, neighborY)) {
+							int neighborIdx = neighborX + neighborY * width;
+							if (components[neighborIdx] == NO_COMPONENT) {
+								components[neighborIdx] = component;
+								queue.add(neighborIdx);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void joinNeighbors(int x, int y, int idx) {
+		int root = NO_COMPONENT;
+		for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+			int neighborX = x + xDeltaArray[direction];
+			int neighborY = y + yDeltaArray[direction];
+			if (isInBounds(neighborX, neighborY)) {
+				int neighborComponent = components[neighborX + neighborY * width];
+				if (neighborComponent != NO_COMPONENT) {
+					int neighborRoot = findRoot(neighborComponent);
+					if (root == NO_COMPONENT) {
+						root = neighborRoot;
+					} else if (neighborRoot != root) {
+						parents[neighborRoot] = root;
+					}
+				}
+			}
+		}
+		components[idx] = root == NO_COMPONENT ? createComponent() : root;
+	}
+
+	private void splitAround(int x, int y) {
+		int arcs = 0;
+		boolean previousWalkable = isWalkableNeighbor(x, y, EDirection.NUMBER_OF_DIRECTIONS - 1);
+		for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+			boolean walkable = isWalkableNeighbor(x, y, direction);
+			if (walkable && !previousWalkable) { // a new arc starts at this neighbor
+				startArc(arcs++, x + xDeltaArray[direction], y + yDeltaArray[direction]);
+			}
+			previousWalkable = walkable;
+		}
+
+		if (arcs > 1) { // with at most one arc, every path over the blocked position can use the arc instead
+			floodArcs(arcs);
+		}
+	}
+
+	private void startArc(int arc, int x, int y) {
+		if (arc == 0) {
+			visitGeneration++;
+			if (visitGeneration >= Integer.MAX_VALUE / MAX_ARCS) {
+				Arrays.fill(visitedMarks, 0);
+				visitGeneration = 1;
+			}
+		}
+		if (arcQueues[arc] == null) {
+			arcQueues[arc] = new IntQueue();
+		}
+
+		int idx = x + y * width;
+		arcQueues[arc].clear();
+		arcQueues[arc].add(idx);
+		arcGroups[arc] = arc;
+		visitedMarks[idx] = getMark(arc);
+	}
+
+	/**
+	 * Flood fills the arcs in parallel. Arcs that meet are joined to a group. The flood fill stops, as soon as only one group is left, that is still growing. All other groups are
+	 * complete components and get new component ids.
+	 */
+	private void floodArcs(int arcs) {
+		int growingGroups = arcs;
+
+		while (growingGroups > 1) {
+			for (int arc = 0; arc < arcs && growingGroups > 1; arc++) {
+				if (!isGrowing(arc, arcs)) {
+					continue;
+				}
+
+				IntQueue queue = arcQueues[arc];
+				if (queue.hasNext()) {
+					int current = queue.next();
+					int currX = current % width;
+					int currY = current / width;
+					for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+						int neighborX = currX + xDeltaArray[direction];
+						int neighborY = currY + yDeltaArray[direction];
+						if (isWalkable(neighborX, neighborY)) {
+							int neighborIdx = neighborX + neighborY * width;
+							int mark = visitedMarks[neighborIdx];
+							if (mark / MAX_ARCS != visitGeneration) {
+								visitedMarks[neighborIdx] = getMark(arc);
+								queue.add(neighborIdx);
+							} else if (findGroup(mark % MAX_ARCS) != findGroup(arc)) { // two arcs met
+								arcGroups[findGroup(mark % MAX_ARCS)] = findGroup(arc);
+								growingGroups = countGrowingGroups(arcs);
+							}
+						}
+					}
+				}
+
+				if (!isGrowing(arc, arcs)) { // the group of this arc is complete and gets a new component
+					relabelGroup(findGroup(arc), arcs);
+					growingGroups = countGrowingGroups(arcs);
+				}
+			}
+		}
+	}
+
+	private boolean isGrowing(int arc, int arcs) {
+		int group = findGroup(arc);
+		for (int other = 0; other < arcs; other++) {
+			if (findGroup(other) == group && arcQueues[other].hasNext()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int countGrowingGroups(int arcs) {
+		int count = 0;
+		for (int arc = 0; arc < arcs; arc++) {
+			if (findGroup(arc) == arc && isGrowing(arc, arcs)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void relabelGroup(int group, int arcs) {
+		int component = createComponent();
+		for (int arc = 0; arc < arcs; arc++) {
+			if (findGroup(arc) == group) {
+				IntQueue queue = arcQueues[arc];
+				for (int i = 0; i < queue.size(); i++) {
+					components[queue.get(i)] = component;
+				}
+				queue.clear();
+			}
+		}
+	}
+
+	private int findGroup(int arc) {
+		while (arcGroups[arc] != arc) {
+			arc = arcGroups[arc];
+		}
+		return arc;
+	}
+
+	private int getMark(int arc) {
+		return visitGeneration * MAX_ARCS + arc;
+	}
+
+	private int createComponent() {
+		if (nextComponent >= parents.length) {
+			parents = Arrays.copyOf(parents, parents.length * 2);
+		}
+		parents[nextComponent] = nextComponent;
+		return nextComponent++;
+	}
+
+	/**
+	 * @return the root of the given component, all merged components have the same root.
+	 */
+	private int findRoot(int component) {
+		int root = component;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		while (parents[component] != root) { // path compression
+			int parent = parents[component];
+			parents[component] = root;
+			component = parent;
+		}
+		return root;
+	}
+
+	private boolean isWalkableNeighbor(int x, int y, int direction) {
+		return isWalkable(x + xDeltaArray[direction], y + yDeltaArray[direction]);
+	}
+
+	private boolean isWalkable(int x, int y) {
+		return isInBounds(x, y) && !blockingProvider.isBlocked(x, y);
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	/**
+	 * A queue of ints, that keeps all added elements until it is cleared.
+	 */
+	private static final class IntQueue {
+		private int[] elements = new int[16];
+		private int head;
+		private int tail;
+
+		void clear() {
+			head = 0;
+			tail = 0;
+		}
+
+		void add(int element) {
+			if (tail == elements.length) {
+				elements = Arrays.copyOf(elements, elements.length * 2);
+			}
+			elements[tail++] = element;
+		}
+
+		boolean hasNext() {
+			return head < tail;
+		}
+
+		int next() {
+			return elements[head++];
+		}
+
+		int size() {
+			return tail;
+		}
+
+		int get(int index) {
+			return elements[index];
+		}
+	}
+}
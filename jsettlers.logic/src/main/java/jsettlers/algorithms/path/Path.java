@@ -15,77 +15,35 @@
 package jsettlers.algorithms.path;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 import jsettlers.common.position.ShortPoint2D;
 
 /**
  * A path a movable can follow.
+ * <p />
+ * The steps are packed into a single int array in reverse order: The target is stored at index 0 and the first step at index {@link #getLength()} - 1. This way, the
+ * movable can replace the steps it already went with a new prefix (see {@link #prepend(Path)}) without copying the remaining steps.
  * 
  * @author Andreas Eberle
  * 
  */
 public class Path implements Serializable {
-	private static final long serialVersionUID = 1869164120660594918L;
-
-	private final short[] pathX;
-	private final short[] pathY;
-
-	private int idx = -1;
-
-	public Path(int length) {
-		pathX = new short[length];
-		pathY = new short[length];
-	}
+	private static final long serialVersionUID = -2915469713207290237L;
 
 	/**
-	 * Concatenates two paths
-	 *
-	 * @param oldPath
-	 *            The path to be appended to the prefix.
-	 * @param pathPrefix
-	 *            The path prefix. NOTE: The prefix must start with the current position of the movable!
+	 * Number of steps that can be prepended to a new path without growing the array.
 	 */
-	public Path(Path oldPath, Path pathPrefix) {
-		int length = oldPath.getRemainingSteps() + pathPrefix.getRemainingSteps();
-		pathX = new short[length];
-		pathY = new short[length];
-
-		int i = 0;
-		while(pathPrefix.hasNextStep()) {
-			insertAt(i, pathPrefix.nextX(), pathPrefix.nextY());
-			pathPrefix.goToNextStep();
-			i++;
-		}
+	private static final int PREFIX_CAPACITY = 4;
 
-		while(oldPath.hasNextStep()) {
-			insertAt(i, oldPath.nextX(), oldPath.nextY());
-			oldPath.goToNextStep();
-			i++;
-		}
-	}
+	private int[]        steps;
+	private int          length;
+	private int          idx = -1;
+	private ShortPoint2D targetPosition;
 
-	/**
-	 * Concatenates a path and a prefix of {@link ShortPoint2D} objects.
-	 *
-	 * @param oldPath
-	 *            The path to be appended to the prefix.
-	 * @param pathPrefix
-	 *            The path prefix. NOTE: The prefix must start with the current position of the movable!
-	 */
-	public Path(Path oldPath, ShortPoint2D... pathPrefix) {
-		int length = (oldPath.getLength() - (oldPath.idx + 1)) + pathPrefix.length;
-		pathX = new short[length];
-		pathY = new short[length];
-
-		int i;
-		for (i = 0; i < pathPrefix.length; i++) {
-			insertAt(i, pathPrefix[i].x, pathPrefix[i].y);
-		}
-
-		for (; i < length; i++) {
-			insertAt(i, oldPath.nextX(), oldPath.nextY());
-			oldPath.goToNextStep();
-		}
+	public Path(int length) {
+		steps = new int[length + PREFIX_CAPACITY];
+		this.length = length;
 	}
 
 	/**
@@ -99,6 +57,19 @@ public class Path implements Serializable {
 		insertAt(0, position.x, position.y);
 	}
 
+	/**
+	 * Clears this path so that it can be filled with {@link #insertAt(int, short, short)} again. The array of the steps is only replaced if it is too small.
+	 *
+	 * @param length
+	 *            The new length of the path.
+	 */
+	public void reset(int length) {
+		ensureCapacity(length);
+		this.length = length;
+		this.idx = -1;
+		this.targetPosition = null;
+	}
+
 	/**
 	 * sets the given position to the given index of the path
 	 *
@@ -110,24 +81,70 @@ public class Path implements Serializable {
 	 *            y position of the step
 	 */
 	public final void insertAt(int idx, short x, short y) {
-		pathX[idx] = x;
-		pathY[idx] = y;
+		steps[length - 1 - idx] = pack(x, y);
+	}
+
+	/**
+	 * Replaces the steps that have already been gone by the remaining steps of the given prefix. Afterwards, the next step of this path is the next step of the prefix and
+	 * the prefix is followed by the remaining steps of this path. The remaining steps of this path are not copied and the prefix is not changed.
+	 *
+	 * @param pathPrefix
+	 *            The path prefix. NOTE: The prefix must start with the current position of the movable!
+	 */
+	public void prepend(Path pathPrefix) {
+		int prefixLength = Math.max(0, pathPrefix.getRemainingSteps());
+		int newLength = dropGoneSteps() + prefixLength;
+		ensureCapacity(newLength);
+
+		System.arraycopy(pathPrefix.steps, 0, steps, newLength - prefixLength, prefixLength);
+		length = newLength;
+	}
+
+	/**
+	 * Replaces the steps that have already been gone by the given position. Afterwards, the given position is the next step of this path.
+	 *
+	 * @param x
+	 *            x position of the new next step
+	 * @param y
+	 *            y position of the new next step
+	 */
+	public void prepend(short x, short y) {
+		int newLength = dropGoneSteps() + 1;
+		ensureCapacity(newLength);
+
+		steps[newLength - 1] = pack(x, y);
+		length = newLength;
+	}
+
+	private int dropGoneSteps() {
+		length = Math.max(0, getRemainingSteps());
+		idx = -1;
+		if (length == 0) { // the target will change
+			targetPosition = null;
+		}
+		return length;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (steps.length < capacity) {
+			steps = Arrays.copyOf(steps, capacity + PREFIX_CAPACITY);
+		}
 	}
 
 	public int getRemainingSteps() {
-		return pathX.length - idx - 1;
+		return length - idx - 1;
 	}
 
 	public boolean hasNextStep() {
-		return idx + 1 < pathX.length;
+		return idx + 1 < length;
 	}
 
 	public final short nextX() {
-		return pathX[idx + 1];
+		return getX(idx + 1);
 	}
 
 	public final short nextY() {
-		return pathY[idx + 1];
+		return getY(idx + 1);
 	}
 
 	public final ShortPoint2D getNextPos() {
@@ -135,40 +152,40 @@ public class Path implements Serializable {
 	}
 
 	public final ShortPoint2D getNextPos(int index) {
-		return new ShortPoint2D(pathX[idx + index], pathY[idx + index]);
+		return new ShortPoint2D(getX(idx + index), getY(idx + index));
 	}
 
 	public final boolean isFinished() {
-		return idx >= pathX.length;
+		return idx >= length;
 	}
 
 	@Override
 	public final String toString() {
-		StringBuffer res = new StringBuffer();
-		for (short idx = 0; idx < pathX.length; idx++) {
-			res.append("(" + pathX[idx] + "|" + pathY[idx] + ")");
+		StringBuilder res = new StringBuilder();
+		for (int idx = 0; idx < length; idx++) {
+			res.append("(").append(getX(idx)).append("|").append(getY(idx)).append(")");
 		}
 		return res.toString();
 	}
 
 	public final short getFirstX() {
-		return pathX[0];
+		return getX(0);
 	}
 
 	public final short getFirstY() {
-		return pathY[0];
+		return getY(0);
 	}
 
 	public final short getTargetX() {
-		return pathX[pathX.length - 1];
+		return unpackX(steps[0]);
 	}
 
 	public final short getTargetY() {
-		return pathY[pathY.length - 1];
+		return unpackY(steps[0]);
 	}
 
 	public final int getLength() {
-		return pathX.length;
+		return length;
 	}
 
 	/**
@@ -187,8 +204,10 @@ public class Path implements Serializable {
 	}
 
 	public final ShortPoint2D getTargetPosition() {
-		int lastIdx = pathX.length - 1;
-		return new ShortPoint2D(pathX[lastIdx], pathY[lastIdx]);
+		if (targetPosition == null) {
+			targetPosition = new ShortPoint2D(getTargetX(), getTargetY());
+		}
+		return targetPosition;
 	}
 
 	public int getStep() {
@@ -196,10 +215,38 @@ public class Path implements Serializable {
 	}
 
 	public boolean hasOverNextStep() {
-		return idx + 2 < pathX.length;
+		return idx + 2 < length;
+	}
+
+	public final short getOverNextX() {
+		return getX(idx + 2);
+	}
+
+	public final short getOverNextY() {
+		return getY(idx + 2);
 	}
 
 	public ShortPoint2D getOverNextPos() {
-		return new ShortPoint2D(pathX[idx + 2], pathY[idx + 2]);
+		return new ShortPoint2D(getOverNextX(), getOverNextY());
+	}
+
+	private short getX(int stepIdx) {
+		return unpackX(steps[length - 1 - stepIdx]);
+	}
+
+	private short getY(int stepIdx) {
+		return unpackY(steps[length - 1 - stepIdx]);
+	}
+
+	private static int pack(short x, short y) {
+		return x << 16 | y & 0xFFFF;
+	}
+
+	private static short unpackX(int step) {
+		return (short) (step >> 16);
+	}
+
+	private static short unpackY(int step) {
+		return (short) step;
 	}
 }
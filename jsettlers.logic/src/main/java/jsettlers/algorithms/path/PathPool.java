@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path;
+
+/**
+ * Keeps paths that are no longer used by their owners, so that a path finding algorithm can fill them again instead of allocating new ones.
+ * <p />
+ * A pool belongs to one path finding algorithm and must only be used by the thread using that algorithm.
+ */
+public final class PathPool {
+	private static final int CAPACITY = 32;
+
+	private final Path[] paths = new Path[CAPACITY];
+	private int          size   = 0;
+
+	/**
+	 * @param length
+	 *            length of the path
+	 * @return A recycled or new path of the given length that can be filled with {@link Path#insertAt(int, short, short)}.
+	 */
+	public Path obtain(int length) {
+		if (size == 0) {
+			return new Path(length);
+		}
+
+		Path path = paths[--size];
+		paths[size] = null;
+		path.reset(length);
+		return path;
+	}
+
+	/**
+	 * Adds the given path to the pool. The caller must not use the path afterwards.
+	 *
+	 * @param path
+	 *            A path that isn't referenced anywhere else.
+	 */
+	public void recycle(Path path) {
+		assert !contains(path) : "path has already been recycled";
+
+		if (size < CAPACITY) {
+			paths[size++] = path;
+		}
+	}
+
+	private boolean contains(Path path) {
+		for (int i = 0; i < size; i++) {
+			if (paths[i] == path) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
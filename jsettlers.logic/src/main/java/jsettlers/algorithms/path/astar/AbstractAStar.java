@@ -24,4 +24,24 @@ public abstract class AbstractAStar {
 	public abstract Path findPath(IPathCalculatable aStarPathable, ShortPoint2D targetPos);
 
 	public abstract Path findPath(IPathCalculatable aStarPathable, ShortPoint2D targetPos, ShortPoint2D startPos);
+
+	/**
+	 * Checks the target without searching a path. This is much cheaper than a search, e.g. targets in other partitions of the map are recognized.
+	 *
+	 * @return false if no path from the start to the target can be found.
+	 */
+	public abstract boolean isValidTarget(IPathCalculatable requester, short sx, short sy, short tx, short ty);
+
+	/**
+	 * Finds a path from the start to the nearest of the given targets. Like {@link #findPath(IPathCalculatable, short, short, short, short)}, no path to the start position itself
+	 * and no path to a blocked position is returned.
+	 *
+	 * @return the path or null if none of the targets can be reached.
+	 */
+	public abstract Path findPathToNearest(IPathCalculatable requester, short sx, short sy, ISearchTargets targets);
+
+	/**
+	 * Hands a path that has been returned by this algorithm back to it, so that it can be reused for one of the next results. The caller must not use the path afterwards.
+	 */
+	public abstract void recyclePath(Path path);
 }
@@ -19,6 +19,7 @@ import java.util.BitSet;
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.InvalidStartPositionException;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.PathPool;
 import jsettlers.algorithms.path.astar.queues.bucket.AbstractBucketQueue;
 import jsettlers.algorithms.path.astar.queues.bucket.ListMinBucketQueue;
 import jsettlers.common.movable.EDirection;
@@ -47,8 +48,19 @@ public final class BucketQueueAStar extends AbstractAStar {
 
 	private final AbstractBucketQueue open;
 
+	private final PathPool pathPool;
+
 	public BucketQueueAStar(IAStarPathMap map, short width, short height) {
+		this(map, width, height, new PathPool());
+	}
+
+	/**
+	 * @param pathPool
+	 *            pool the paths are taken from. Every path given to {@link #recyclePath(Path)} is added to it.
+	 */
+	public BucketQueueAStar(IAStarPathMap map, short width, short height, PathPool pathPool) {
 		this.map = map;
+		this.pathPool = pathPool;
 		this.width = width;
 		this.height = height;
 
@@ -76,21 +88,56 @@ public final class BucketQueueAStar extends AbstractAStar {
 	public final Path findPath(IPathCalculatable requester, final short sx, final short sy, final short tx, final short ty) {
 		if (!isInBounds(sx, sy)) {
 			throw new InvalidStartPositionException("Start position is out of bounds!", sx, sy);
-		} else if (!isInBounds(tx, ty) || isBlocked(requester, tx, ty) || !map.isReachable(sx, sy, tx, ty, requester.isShip())) {
+		} else if (!isValidTarget(requester, sx, sy, tx, ty)) {
 			return null; // target can not be reached
-		} else if (sx == tx && sy == ty) {
-			return null;
 		}
-		final boolean startBlocked = isBlocked(requester, sx, sy);
 
-		final int targetFlatIdx = getFlatIdx(tx, ty);
+		int targetFlatIdx = getFlatIdx(tx, ty);
+		if (search(requester, sx, sy, tx, ty, null) == targetFlatIdx) {
+			return createPath(targetFlatIdx);
+		}
+		return null;
+	}
+
+	/**
+	 * Searches the nearest target with a uniform cost search, that is guided by the lower bound of the distance to the targets. If several targets are equally near, the order
+	 * of the search decides deterministically.
+	 */
+	@Override
+	public Path findPathToNearest(IPathCalculatable requester, short sx, short sy, ISearchTargets targets) {
+		if (!isInBounds(sx, sy)) {
+			throw new InvalidStartPositionException("Start position is out of bounds!", sx, sy);
+		}
+
+		int targetFlatIdx = search(requester, sx, sy, -1, -1, targets);
+		return targetFlatIdx >= 0 ? createPath(targetFlatIdx) : null;
+	}
+
+	@Override
+	public void recyclePath(Path path) {
+		pathPool.recycle(path);
+	}
+
+	@Override
+	public boolean isValidTarget(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		return isInBounds(tx, ty) && !isBlocked(requester, tx, ty) && map.isReachable(sx, sy, tx, ty, requester.isShip()) && (sx != tx || sy != ty);
+	}
+
+	/**
+	 * Searches from the start position until the target position or, if targets is not null, one of the targets is closed.
+	 *
+	 * @return the flat index of the reached target or -1 if no target has been reached.
+	 */
+	private int search(IPathCalculatable requester, int sx, int sy, int tx, int ty, ISearchTargets targets) {
+		final boolean startBlocked = isBlocked(requester, sx, sy);
+		final int startFlatIdx = getFlatIdx(sx, sy);
+		final int targetFlatIdx = targets == null ? getFlatIdx(tx, ty) : -1;
 
 		closedBitSet.clear();
 		openBitSet.clear();
 
 		open.clear();
-		boolean found = false;
-		initStartNode(sx, sy, tx, ty);
+		initStartNode(sx, sy, getHeuristicCost(sx, sy, tx, ty, targets));
 
 		while (!open.isEmpty()) {
 			int currFlatIdx = open.deleteMin();
@@ -100,9 +147,9 @@ public final class BucketQueueAStar extends AbstractAStar {
 
 			setClosed(x, y);
 
-			if (targetFlatIdx == currFlatIdx) {
-				found = true;
-				break;
+			if (targetFlatIdx == currFlatIdx
+				|| (targets != null && currFlatIdx != startFlatIdx && targets.isTarget(x, y) && !isBlocked(requester, x, y))) {
+				return currFlatIdx;
 			}
 
 			final float currPositionCosts = costs[currFlatIdx];
@@ -111,7 +158,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 				final int neighborX = x + xDeltaArray[i];
 				final int neighborY = y + yDeltaArray[i];
 
-				if (isValidPosition(requester, x, y, neighborX, neighborY, startBlocked)) {
+				if (isValidPosition(requester, x, y, neighborX, neighborY, startBlocked) && (targets == null || targets.isInSearchArea(neighborX, neighborY))) {
 					final int flatNeighborIdx = getFlatIdx(neighborX, neighborY);
 
 					if (!closedBitSet.get(flatNeighborIdx)) {
@@ -125,7 +172,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 								depthParentHeap[getDepthIdx(flatNeighborIdx)] = depthParentHeap[getDepthIdx(currFlatIdx)] + 1;
 								depthParentHeap[getParentIdx(flatNeighborIdx)] = currFlatIdx;
 
-								int heuristicCosts = getHeuristicCost(neighborX, neighborY, tx, ty);
+								int heuristicCosts = getHeuristicCost(neighborX, neighborY, tx, ty, targets);
 								open.increasedPriority(flatNeighborIdx, oldCosts + heuristicCosts, newCosts + heuristicCosts);
 							}
 
@@ -134,7 +181,7 @@ public final class BucketQueueAStar extends AbstractAStar {
 							depthParentHeap[getDepthIdx(flatNeighborIdx)] = depthParentHeap[getDepthIdx(currFlatIdx)] + 1;
 							depthParentHeap[getParentIdx(flatNeighborIdx)] = currFlatIdx;
 							openBitSet.set(flatNeighborIdx);
-							open.insert(flatNeighborIdx, newCosts + getHeuristicCost(neighborX, neighborY, tx, ty));
+							open.insert(flatNeighborIdx, newCosts + getHeuristicCost(neighborX, neighborY, tx, ty, targets));
 
 							map.markAsOpen(neighborX, neighborY);
 						}
@@ -143,23 +190,23 @@ public final class BucketQueueAStar extends AbstractAStar {
 			}
 		}
 
-		if (found) {
-			int pathlength = depthParentHeap[getDepthIdx(getFlatIdx(tx, ty))];
-			Path path = new Path(pathlength);
+		return -1;
+	}
 
-			int idx = pathlength;
-			int parentFlatIdx = targetFlatIdx;
+	private Path createPath(int targetFlatIdx) {
+		int pathlength = depthParentHeap[getDepthIdx(targetFlatIdx)];
+		Path path = pathPool.obtain(pathlength);
 
-			while (idx > 0) {
-				idx--;
-				path.insertAt(idx, (short) getX(parentFlatIdx), (short) getY(parentFlatIdx));
-				parentFlatIdx = depthParentHeap[getParentIdx(parentFlatIdx)];
-			}
+		int idx = pathlength;
+		int parentFlatIdx = targetFlatIdx;
 
-			return path;
+		while (idx > 0) {
+			idx--;
+			path.insertAt(idx, (short) getX(parentFlatIdx), (short) getY(parentFlatIdx));
+			parentFlatIdx = depthParentHeap[getParentIdx(parentFlatIdx)];
 		}
 
-		return null;
+		return path;
 	}
 
 	private static int getDepthIdx(int flatIdx) {
@@ -175,13 +222,13 @@ public final class BucketQueueAStar extends AbstractAStar {
 		map.markAsClosed(x, y);
 	}
 
-	private void initStartNode(int sx, int sy, int tx, int ty) {
+	private void initStartNode(int sx, int sy, int heuristicCosts) {
 		int flatIdx = getFlatIdx(sx, sy);
 		depthParentHeap[getDepthIdx(flatIdx)] = 0;
 		depthParentHeap[getParentIdx(flatIdx)] = -1;
 		costs[flatIdx] = 0;
 
-		open.insert(flatIdx, getHeuristicCost(sx, sy, tx, ty));
+		open.insert(flatIdx, heuristicCosts);
 		openBitSet.set(flatIdx);
 	}
 
@@ -217,6 +264,10 @@ public final class BucketQueueAStar extends AbstractAStar {
 		return flatIdx / width;
 	}
 
+	private int getHeuristicCost(int x, int y, int tx, int ty, ISearchTargets targets) {
+		return targets == null ? getHeuristicCost(x, y, tx, ty) : targets.getMinDistance(x, y);
+	}
+
 	private int getHeuristicCost(final int sx, final int sy, final int tx, final int ty) {
 		final int dx = (tx - sx);
 		final int dy = (ty - sy);
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+/**
+ * The targets of a search for the path to the nearest of several positions, see {@link AbstractAStar#findPathToNearest(jsettlers.algorithms.path.IPathCalculatable, short, short,
+ * ISearchTargets)}.
+ */
+public interface ISearchTargets {
+
+	/**
+	 * @return true if the search may end at the given position.
+	 */
+	boolean isTarget(int x, int y);
+
+	/**
+	 * @return a lower bound of the number of steps from the given position to the nearest target. It must not decrease by more than one per step.
+	 */
+	int getMinDistance(int x, int y);
+
+	/**
+	 * @return true if paths may lead over the given position. Positions outside of this area are not searched.
+	 */
+	boolean isInSearchArea(int x, int y);
+}
@@ -0,0 +1,516 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.hierarchical;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Abstract graph of the map used for hierarchical path finding (HPA*).
+ * <p />
+ * The map is divided into square clusters of {@link #CLUSTER_SIZE} x {@link #CLUSTER_SIZE} positions. For every maximal run of free position pairs on the border of two neighboring
+ * clusters, one portal is created on each side of the border (in the middle of the run). The portals of a cluster are connected with their walking distance inside of the cluster.
+ * <p />
+ * If the blocking of a position changes, only the cluster of the position is marked as dirty. Dirty clusters are rebuilt before the next search. As a rebuild calculates exactly the
+ * same data as a complete build, the abstraction only depends on the current blocking information and is therefore identical on all clients of a match.
+ */
+public final class ClusterAbstraction {
+	public static final int CLUSTER_SIZE = 16;
+
+	private static final int MAX_PORTALS_PER_SIDE  = CLUSTER_SIZE / 2;
+	private static final int NUMBER_OF_SIDES       = 4;
+	private static final int MAX_NODES_PER_CLUSTER = NUMBER_OF_SIDES * MAX_PORTALS_PER_SIDE;
+
+	private static final int SIDE_TOP    = 0;
+	private static final int SIDE_RIGHT  = 1;
+	private static final int SIDE_BOTTOM = 2;
+	private static final int SIDE_LEFT   = 3;
+
+	private static final short   UNREACHABLE = -1;
+	private static final short[] NO_PORTALS  = new short[0];
+
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	private final IBlockingProvider blockingProvider;
+	private final int               width;
+	private final int               height;
+	private final int               clustersX;
+	private final int               clustersY;
+
+	/**
+	 * Portals between cluster (cx, cy) and (cx + 1, cy). The arrays contain the y coordinates of the portals.
+	 */
+	private final short[][] verticalBorders;
+	/**
+	 * Portals between cluster (cx, cy) and (cx, cy + 1). The arrays contain the x coordinates of the portals.
+	 */
+	private final short[][] horizontalBorders;
+
+	private final byte[]  nodeCounts;
+	private final byte[]  sideOffsets;
+	private final short[] nodesX;
+	private final short[] nodesY;
+	private final short[] intraClusterDistances;
+
+	private final BitSet dirtyClusters;
+	private final BitSet affectedClusters;
+
+	private final short[] portalBuffer = new short[MAX_PORTALS_PER_SIDE];
+	private final int[]   bfsQueue     = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+	private final short[] bfsDistances = new short[CLUSTER_SIZE * CLUSTER_SIZE];
+
+	private final int[]   costs;
+	private final int[]   parents;
+	private final int[]   visitedStamps;
+	private final int[]   closedStamps;
+	private final short[] targetDistances = new short[MAX_NODES_PER_CLUSTER];
+	private       int     stamp           = 0;
+	private       long[]  heap            = new long[256];
+	private       int     heapSize;
+
+	private short[] waypointsX = new short[64];
+	private short[] waypointsY = new short[64];
+
+	public ClusterAbstraction(IBlockingProvider blockingProvider, int width, int height) {
+		this.blockingProvider = blockingProvider;
+		this.width = width;
+		this.height = height;
+		this.clustersX = (width + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+		this.clustersY = (height + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+
+		int numberOfClusters = clustersX * clustersY;
+		this.verticalBorders = new short[numberOfClusters][];
+		this.horizontalBorders = new short[numberOfClusters][];
+		Arrays.fill(verticalBorders, NO_PORTALS);
+		Arrays.fill(horizontalBorders, NO_PORTALS);
+
+		this.nodeCounts = new byte[numberOfClusters];
+		this.sideOffsets = new byte[numberOfClusters * (NUMBER_OF_SIDES + 1)];
+		this.nodesX = new short[numberOfClusters * MAX_NODES_PER_CLUSTER];
+		this.nodesY = new short[numberOfClusters * MAX_NODES_PER_CLUSTER];
+		this.intraClusterDistances = new short[numberOfClusters * MAX_NODES_PER_CLUSTER * MAX_NODES_PER_CLUSTER];
+
+		int numberOfSearchNodes = numberOfClusters * MAX_NODES_PER_CLUSTER + 2;
+		this.costs = new int[numberOfSearchNodes];
+		this.parents = new int[numberOfSearchNodes];
+		this.visitedStamps = new int[numberOfSearchNodes];
+		this.closedStamps = new int[numberOfSearchNodes];
+
+		this.dirtyClusters = new BitSet(numberOfClusters);
+		this.affectedClusters = new BitSet(numberOfClusters);
+		this.dirtyClusters.set(0, numberOfClusters);
+	}
+
+	/**
+	 * Informs the abstraction that the blocking of the given position changed.
+	 *
+	 * @param x
+	 *            x coordinate of the position
+	 * @param y
+	 *            y coordinate of the position
+	 */
+	public void invalidate(int x, int y) {
+		dirtyClusters.set(getCluster(x, y));
+	}
+
+	public int getCluster(int x, int y) {
+		return (y / CLUSTER_SIZE) * clustersX + x / CLUSTER_SIZE;
+	}
+
+	/**
+	 * Searches a path from the start to the target position on the abstract graph.<br>
+	 * The found waypoints can be accessed with {@link #getWaypointX(int)} and {@link #getWaypointY(int)}. The start position is not part of the waypoints, the last waypoint is the
+	 * target position.
+	 * <p />
+	 * NOTE: Start and target position must not be blocked.
+	 *
+	 * @return number of waypoints or -1 if the positions are in the same cluster or no path has been found.
+	 */
+	public int findAbstractPath(int sx, int sy, int tx, int ty) {
+		repair();
+
+		final int startCluster = getCluster(sx, sy);
+		final int targetCluster = getCluster(tx, ty);
+		if (startCluster == targetCluster) {
+			return -1;
+		}
+
+		final int startId = nodesX.length;
+		final int targetId = startId + 1;
+		stamp++;
+		heapSize = 0;
+
+		calculateClusterDistances(targetCluster, tx, ty);
+		final int targetNodes = nodeCounts[targetCluster];
+		final int targetBase = targetCluster * MAX_NODES_PER_CLUSTER;
+		for (int i = 0; i < targetNodes; i++) {
+			targetDistances[i] = getBfsDistance(targetCluster, nodesX[targetBase + i], nodesY[targetBase + i]);
+		}
+
+		calculateClusterDistances(startCluster, sx, sy);
+		costs[startId] = 0;
+		visitedStamps[startId] = stamp;
+		closedStamps[startId] = stamp;
+		final int startBase = startCluster * MAX_NODES_PER_CLUSTER;
+		for (int i = 0; i < nodeCounts[startCluster]; i++) {
+			short distance = getBfsDistance(startCluster, nodesX[startBase + i], nodesY[startBase + i]);
+			if (distance != UNREACHABLE) {
+				relax(startBase + i, distance, startId, tx, ty);
+			}
+		}
+
+		boolean found = false;
+		while (heapSize > 0) {
+			final int id = (int) popMin();
+			if (closedStamps[id] == stamp) {
+				continue;
+			}
+			closedStamps[id] = stamp;
+
+			if (id == targetId) {
+				found = true;
+				break;
+			}
+
+			final int cluster = id / MAX_NODES_PER_CLUSTER;
+			final int local = id % MAX_NODES_PER_CLUSTER;
+			final int base = cluster * MAX_NODES_PER_CLUSTER;
+			final int currentCosts = costs[id];
+
+			if (cluster == targetCluster && targetDistances[local] != UNREACHABLE) {
+				relax(targetId, currentCosts + targetDistances[local], id, tx, ty);
+			}
+
+			int partner = getPartner(cluster, local);
+			if (partner >= 0) {
+				relax(partner, currentCosts + 1, id, tx, ty);
+			}
+
+			final int distancesBase = (base + local) * MAX_NODES_PER_CLUSTER;
+			for (int i = 0; i < nodeCounts[cluster]; i++) {
+				short distance = intraClusterDistances[distancesBase + i];
+				if (i != local && distance != UNREACHABLE) {
+					relax(base + i, currentCosts + distance, id, tx, ty);
+				}
+			}
+		}
+
+		if (!found) {
+			return -1;
+		}
+
+		int length = 0;
+		for (int id = targetId; id != startId; id = parents[id]) {
+			length++;
+		}
+		ensureWaypointCapacity(length);
+
+		int idx = length - 1;
+		waypointsX[idx] = (short) tx;
+		waypointsY[idx] = (short) ty;
+		for (int id = parents[targetId]; id != startId; id = parents[id]) {
+			idx--;
+			waypointsX[idx] = nodesX[id];
+			waypointsY[idx] = nodesY[id];
+		}
+		return length;
+	}
+
+	public short getWaypointX(int index) {
+		return waypointsX[index];
+	}
+
+	public short getWaypointY(int index) {
+		return waypointsY[index];
+	}
+
+	private void relax(int id, int newCosts, int parent, int tx, int ty) {
+		if (closedStamps[id] == stamp || (visitedStamps[id] == stamp && costs[id] <= newCosts)) {
+			return;
+		}
+
+		visitedStamps[id] = stamp;
+		costs[id] = newCosts;
+		parents[id] = parent;
+
+		int heuristic = id < nodesX.length ? ShortPoint2D.getOnGridDist(tx - nodesX[id], ty - nodesY[id]) : 0;
+		push(((long) (newCosts + heuristic) << 32) | id);
+	}
+
+	private int getPartner(int cluster, int local) {
+		final int offsetsBase = cluster * (NUMBER_OF_SIDES + 1);
+		for (int side = 0; side < NUMBER_OF_SIDES; side++) {
+			if (local < sideOffsets[offsetsBase + side + 1]) {
+				int neighbor = getNeighborCluster(cluster, side);
+				int partnerSide = (side + 2) % NUMBER_OF_SIDES;
+				int index = local - sideOffsets[offsetsBase + side];
+				return neighbor * MAX_NODES_PER_CLUSTER + sideOffsets[neighbor * (NUMBER_OF_SIDES + 1) + partnerSide] + index;
+			}
+		}
+		return -1;
+	}
+
+	private int getNeighborCluster(int cluster, int side) {
+		int cx = cluster % clustersX;
+		int cy = cluster / clustersX;
+		switch (side) {
+		case SIDE_TOP:
+			return cy > 0 ? cluster - clustersX : -1;
+		case SIDE_RIGHT:
+			return cx < clustersX - 1 ? cluster + 1 : -1;
+		case SIDE_BOTTOM:
+			return cy < clustersY - 1 ? cluster + clustersX : -1;
+		case SIDE_LEFT:
+			return cx > 0 ? cluster - 1 : -1;
+		default:
+			return -1;
+		}
+	}
+
+	private void repair() {
+		if (dirtyClusters.isEmpty()) {
+			return;
+		}
+
+		affectedClusters.clear();
+		for (int cluster = dirtyClusters.nextSetBit(0); cluster >= 0; cluster = dirtyClusters.nextSetBit(cluster + 1)) {
+			int cx = cluster % clustersX;
+			int cy = cluster / clustersX;
+
+			if (cx < clustersX - 1) {
+				verticalBorders[cluster] = calculateVerticalBorder(cx, cy);
+			}
+			if (cx > 0) {
+				verticalBorders[cluster - 1] = calculateVerticalBorder(cx - 1, cy);
+			}
+			if (cy < clustersY - 1) {
+				horizontalBorders[cluster] = calculateHorizontalBorder(cx, cy);
+			}
+			if (cy > 0) {
+				horizontalBorders[cluster - clustersX] = calculateHorizontalBorder(cx, cy - 1);
+			}
+
+			affectedClusters.set(cluster);
+			for (int side = 0; side < NUMBER_OF_SIDES; side++) {
+				int neighbor = getNeighborCluster(cluster, side);
+				if (neighbor >= 0) {
+					affectedClusters.set(neighbor);
+				}
+			}
+		}
+		dirtyClusters.clear();
+
+		for (int cluster = affectedClusters.nextSetBit(0); cluster >= 0; cluster = affectedClusters.nextSetBit(cluster + 1)) {
+			rebuildCluster(cluster);
+		}
+	}
+
+	private short[] calculateVerticalBorder(int cx, int cy) {
+		final int x = (cx + 1) * CLUSTER_SIZE - 1;
+		final int startY = cy * CLUSTER_SIZE;
+		final int endY = Math.min(startY + CLUSTER_SIZE, height);
+
+		int portals = 0;
+		int runStart = -1;
+		for (int y = startY; y < endY; y++) {
+			boolean free = !blockingProvider.isBlocked(x, y) && !blockingProvider.isBlocked(x + 1, y);
+			if (free && runStart < 0) {
+				runStart = y;
+			} else if (!free && runStart >= 0) {
+				portalBuffer[portals++] = (short) ((runStart + y - 1) / 2);
+				runStart = -1;
+			}
+		}
+		if (runStart >= 0) {
+			portalBuffer[portals++] = (short) ((runStart + endY - 1) / 2);
+		}
+		return portals == 0 ? NO_PORTALS : Arrays.copyOf(portalBuffer, portals);
+	}
+
+	private short[] calculateHorizontalBorder(int cx, int cy) {
+		final int y = (cy + 1) * CLUSTER_SIZE - 1;
+		final int startX = cx * CLUSTER_SIZE;
+		final int endX = Math.min(startX + CLUSTER_SIZE, width);
+
+		int portals = 0;
+		int runStart = -1;
+		for (int x = startX; x < endX; x++) {
+			boolean free = !blockingProvider.isBlocked(x, y) && !blockingProvider.isBlocked(x, y + 1);
+			if (free && runStart < 0) {
+				runStart = x;
+			} else if (!free && runStart >= 0) {
+				portalBuffer[portals++] = (short) ((runStart + x - 1) / 2);
+				runStart = -1;
+			}
+		}
+		if (runStart >= 0) {
+			portalBuffer[portals++] = (short) ((runStart + endX - 1) / 2);
+		}
+		return portals == 0 ? NO_PORTALS : Arrays.copyOf(portalBuffer, portals);
+	}
+
+	private void rebuildCluster(int cluster) {
+		final int cx = cluster % clustersX;
+		final int cy = cluster / clustersX;
+		final int base = cluster * MAX_NODES_PER_CLUSTER;
+		final int offsetsBase = cluster * (NUMBER_OF_SIDES + 1);
+
+		int nodes = 0;
+		for (int side = 0; side < NUMBER_OF_SIDES; side++) {
+			sideOffsets[offsetsBase + side] = (byte) nodes;
+			if (getNeighborCluster(cluster, side) < 0) {
+				continue;
+			}
+
+			switch (side) {
+			case SIDE_TOP:
+				for (short x : horizontalBorders[cluster - clustersX]) {
+					setNode(base + nodes++, x, cy * CLUSTER_SIZE);
+				}
+				break;
+			case SIDE_RIGHT:
+				for (short y : verticalBorders[cluster]) {
+					setNode(base + nodes++, (cx + 1) * CLUSTER_SIZE - 1, y);
+				}
+				break;
+			case SIDE_BOTTOM:
+				for (short x : horizontalBorders[cluster]) {
+					setNode(base + nodes++, x, (cy + 1) * CLUSTER_SIZE - 1);
+				}
+				break;
+			case SIDE_LEFT:
+				for (short y : verticalBorders[cluster - 1]) {
+					setNode(base + nodes++, cx * CLUSTER_SIZE, y);
+				}
+				break;
+			}
+		}
+		sideOffsets[offsetsBase + NUMBER_OF_SIDES] = (byte) nodes;
+		nodeCounts[cluster] = (byte) nodes;
+
+		for (int i = 0; i < nodes; i++) {
+			calculateClusterDistances(cluster, nodesX[base + i], nodesY[base + i]);
+
+			final int distancesBase = (base + i) * MAX_NODES_PER_CLUSTER;
+			for (int j = 0; j < nodes; j++) {
+				intraClusterDistances[distancesBase + j] = getBfsDistance(cluster, nodesX[base + j], nodesY[base + j]);
+			}
+		}
+	}
+
+	private void setNode(int id, int x, int y) {
+		nodesX[id] = (short) x;
+		nodesY[id] = (short) y;
+	}
+
+	/**
+	 * Calculates the walking distances from the given start position to all positions of the cluster without leaving the cluster.
+	 */
+	private void calculateClusterDistances(int cluster, int startX, int startY) {
+		final int minX = (cluster % clustersX) * CLUSTER_SIZE;
+		final int minY = (cluster / clustersX) * CLUSTER_SIZE;
+		final int maxX = Math.min(minX + CLUSTER_SIZE, width);
+		final int maxY = Math.min(minY + CLUSTER_SIZE, height);
+
+		Arrays.fill(bfsDistances, UNREACHABLE);
+
+		int startIdx = (startY - minY) * CLUSTER_SIZE + (startX - minX);
+		bfsDistances[startIdx] = 0;
+		bfsQueue[0] = startIdx;
+		int head = 0;
+		int tail = 1;
+
+		while (head < tail) {
+			final int idx = bfsQueue[head++];
+			final int x = minX + idx % CLUSTER_SIZE;
+			final int y = minY + idx / CLUSTER_SIZE;
+			final short nextDistance = (short) (bfsDistances[idx] + 1);
+
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				final int neighborX = x + xDeltaArray[direction];
+				final int neighborY = y + yDeltaArray[direction];
+
+				if (minX <= neighborX && neighborX < maxX && minY <= neighborY && neighborY < maxY) {
+					final int neighborIdx = (neighborY - minY) * CLUSTER_SIZE + (neighborX - minX);
+					if (bfsDistances[neighborIdx] == UNREACHABLE && !blockingProvider.isBlocked(neighborX, neighborY)) {
+						bfsDistances[neighborIdx] = nextDistance;
+						bfsQueue[tail++] = neighborIdx;
+					}
+				}
+			}
+		}
+	}
+
+	private short getBfsDistance(int cluster, int x, int y) {
+		final int minX = (cluster % clustersX) * CLUSTER_SIZE;
+		final int minY = (cluster / clustersX) * CLUSTER_SIZE;
+		return bfsDistances[(y - minY) * CLUSTER_SIZE + (x - minX)];
+	}
+
+	private void ensureWaypointCapacity(int length) {
+		if (waypointsX.length < length) {
+			int newLength = Math.max(length, 2 * waypointsX.length);
+			waypointsX = Arrays.copyOf(waypointsX, newLength);
+			waypointsY = Arrays.copyOf(waypointsY, newLength);
+		}
+	}
+
+	private void push(long key) {
+		if (heapSize == heap.length) {
+			heap = Arrays.copyOf(heap, 2 * heap.length);
+		}
+
+		int idx = heapSize++;
+		while (idx > 0) {
+			int parent = (idx - 1) / 2;
+			if (heap[parent] <= key) {
+				break;
+			}
+			heap[idx] = heap[parent];
+			idx = parent;
+		}
+		heap[idx] = key;
+	}
+
+	private long popMin() {
+		long min = heap[0];
+		long last = heap[--heapSize];
+
+		int idx = 0;
+		while (true) {
+			int child = 2 * idx + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (heap[child] >= last) {
+				break;
+			}
+			heap[idx] = heap[child];
+			idx = child;
+		}
+		if (heapSize > 0) {
+			heap[idx] = last;
+		}
+		return min;
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.hierarchical;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.PathPool;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.ISearchTargets;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * AStar algorithm using a {@link ClusterAbstraction} for long distance paths.
+ * <p />
+ * If start and target are far away from each other, the path is first searched on the abstract graph. Afterwards the abstract path is refined cluster by cluster with the normal
+ * {@link BucketQueueAStar}, so that every low level search only covers a small area. Short paths, ships and movables that need to stay on their player's ground are handled directly by
+ * the {@link BucketQueueAStar}, as well as all requests the abstraction could not solve.
+ */
+public final class HierarchicalAStar extends AbstractAStar {
+	/**
+	 * Minimum on grid distance between start and target to use the abstract graph.
+	 */
+	public static final int MIN_HIERARCHICAL_DISTANCE = 2 * ClusterAbstraction.CLUSTER_SIZE;
+
+	private final IAStarPathMap      map;
+	private final BucketQueueAStar   aStar;
+	private final ClusterAbstraction abstraction;
+	private final PathPool           pathPool = new PathPool();
+
+	private final short width;
+	private final short height;
+
+	/**
+	 * @param map
+	 *            map used by the low level searches
+	 * @param blockingProvider
+	 *            blocking information for requesters that can walk on every player's ground. Every change of this information must be reported with
+	 *            {@link #blockingChanged(int, int)}.
+	 */
+	public HierarchicalAStar(IAStarPathMap map, IBlockingProvider blockingProvider, short width, short height) {
+		this.map = map;
+		this.width = width;
+		this.height = height;
+
+		this.aStar = new BucketQueueAStar(map, width, height, pathPool);
+		this.abstraction = new ClusterAbstraction(blockingProvider, width, height);
+	}
+
+	public void blockingChanged(int x, int y) {
+		abstraction.invalidate(x, y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target) {
+		ShortPoint2D pos = requester.getPosition();
+		return findPath(requester, pos.x, pos.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target, ShortPoint2D start) {
+		return findPath(requester, start.x, start.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		if (isHierarchicalRequest(requester, sx, sy, tx, ty)) {
+			Path path = findHierarchicalPath(requester, sx, sy, tx, ty);
+			if (path != null) {
+				return path;
+			}
+		}
+		return aStar.findPath(requester, sx, sy, tx, ty);
+	}
+
+	@Override
+	public void recyclePath(Path path) {
+		pathPool.recycle(path);
+	}
+
+	@Override
+	public boolean isValidTarget(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		return aStar.isValidTarget(requester, sx, sy, tx, ty);
+	}
+
+	@Override
+	public Path findPathToNearest(IPathCalculatable requester, short sx, short sy, ISearchTargets targets) {
+		return aStar.findPathToNearest(requester, sx, sy, targets);
+	}
+
+	private boolean isHierarchicalRequest(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		return !requester.isShip()
+			&& !requester.needsPlayersGround()
+			&& ShortPoint2D.getOnGridDist(tx - sx, ty - sy) >= MIN_HIERARCHICAL_DISTANCE
+			&& isInBounds(sx, sy) && isInBounds(tx, ty)
+			&& !map.isBlocked(requester, sx, sy) && !map.isBlocked(requester, tx, ty)
+			&& map.isReachable(sx, sy, tx, ty, false);
+	}
+
+	private Path findHierarchicalPath(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		int waypoints = abstraction.findAbstractPath(sx, sy, tx, ty);
+		if (waypoints < 0) {
+			return null;
+		}
+
+		List<Path> segments = new ArrayList<>();
+		int length = 0;
+		short currX = sx;
+		short currY = sy;
+
+		for (int i = 0; i < waypoints; i++) {
+			short waypointX = abstraction.getWaypointX(i);
+			short waypointY = abstraction.getWaypointY(i);
+
+			boolean isLast = i == waypoints - 1;
+			boolean leavesCluster = !isLast && abstraction.getCluster(waypointX, waypointY) != abstraction.getCluster(abstraction.getWaypointX(i + 1), abstraction.getWaypointY(i + 1));
+			if (!isLast && !leavesCluster || (waypointX == currX && waypointY == currY)) {
+				continue;
+			}
+
+			Path segment = aStar.findPath(requester, currX, currY, waypointX, waypointY);
+			if (segment == null) {
+				segments.forEach(pathPool::recycle);
+				return null;
+			}
+			segments.add(segment);
+			length += segment.getLength();
+			currX = waypointX;
+			currY = waypointY;
+		}
+
+		Path path = pathPool.obtain(length);
+		int idx = 0;
+		for (Path segment : segments) {
+			while (segment.hasNextStep()) {
+				path.insertAt(idx++, segment.nextX(), segment.nextY());
+				segment.goToNextStep();
+			}
+			pathPool.recycle(segment);
+		}
+		return path;
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.async;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.hierarchical.HierarchicalAStar;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+
+/**
+ * Calculates paths of requesters that can wait for them.
+ * <p />
+ * The game time is divided into batches. All requests of a batch are calculated on the same snapshot of the blocking data, which is taken when the first request of the
+ * batch is made, and their paths are delivered at the start of the next batch. This way, neither the paths nor the time they are used at depend on when or on which
+ * thread a calculation actually runs. If {@link Constants#PARALLEL_PATH_REQUESTS} is enabled, the calculations run on the common {@link ForkJoinPool} while the game goes
+ * on.
+ * <p />
+ * All methods must be called by the game thread.
+ */
+public final class AsyncPathfinder {
+	private final IAsyncPathfinderGrid grid;
+	private final short                width;
+	private final short                height;
+	private final int                  batchPeriod;
+
+	private final PathfinderSnapshot snapshot;
+	private final BitSet             changedPositions;
+	private       boolean            snapshotTaken = false;
+	private       int                batch         = -1;
+
+	private final List<PathRequest>                      pendingRequests = new ArrayList<>();
+	private final ConcurrentLinkedQueue<HierarchicalAStar> aStars          = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * @param batchPeriod
+	 *            The length of a batch in milliseconds of game time.
+	 */
+	public AsyncPathfinder(IAsyncPathfinderGrid grid, short width, short height, int batchPeriod) {
+		this.grid = grid;
+		this.width = width;
+		this.height = height;
+		this.batchPeriod = batchPeriod;
+
+		this.snapshot = new PathfinderSnapshot(width, height);
+		this.changedPositions = new BitSet(width * height);
+	}
+
+	/**
+	 * Has to be called whenever the blocking or the player of a position changes.
+	 */
+	public void positionChanged(int x, int y) {
+		if (snapshotTaken) {
+			changedPositions.set(x + y * width);
+		}
+	}
+
+	/**
+	 * Requests the path of the given requester from its current position to the given target.
+	 *
+	 * @param time
+	 *            The current game time.
+	 * @return The request, whose path can be taken at its delivery time.
+	 */
+	public PathRequest request(IPathCalculatable requester, ShortPoint2D target, int time) {
+		startBatch(time / batchPeriod);
+
+		PathRequest request = new PathRequest(requester, target, getDeliveryTime(time));
+		ShortPoint2D start = requester.getPosition();
+		if (target.x < 0 || target.y < 0 || target.x >= width || target.y >= height || !grid.isReachable(start.x, start.y, target.x, target.y)) {
+			return request; // the path stays null
+		}
+
+		request.captureOccupation(grid, width, height);
+		if (Constants.PARALLEL_PATH_REQUESTS) {
+			request.setCalculation(ForkJoinPool.commonPool().submit(() -> calculate(request)));
+			pendingRequests.add(request);
+		} else {
+			request.setPath(calculate(request));
+		}
+		return request;
+	}
+
+	/**
+	 * Delivers a path that has been calculated by the caller at the same time the path of a request made now would be delivered.
+	 *
+	 * @param time
+	 *            The current game time.
+	 */
+	public PathRequest deliver(IPathCalculatable requester, ShortPoint2D target, Path path, int time) {
+		return PathRequest.calculated(requester, target, path, getDeliveryTime(time));
+	}
+
+	private int getDeliveryTime(int time) {
+		return (time / batchPeriod + 1) * batchPeriod;
+	}
+
+	/**
+	 * Waits for the calculations of the previous batches and brings the snapshot up to date, if the given batch hasn't been started yet.
+	 */
+	private void startBatch(int batch) {
+		if (this.batch == batch) {
+			return;
+		}
+		this.batch = batch;
+
+		for (PathRequest request : pendingRequests) {
+			request.await();
+		}
+		pendingRequests.clear();
+
+		if (snapshotTaken) {
+			for (int index = changedPositions.nextSetBit(0); index >= 0; index = changedPositions.nextSetBit(index + 1)) {
+				int x = index % width;
+				int y = index / width;
+				if (snapshot.update(grid, x, y)) {
+					for (HierarchicalAStar aStar : aStars) { // all of them are idle now
+						aStar.blockingChanged(x, y);
+					}
+				}
+			}
+		} else {
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					snapshot.update(grid, x, y);
+				}
+			}
+			snapshotTaken = true;
+		}
+		changedPositions.clear();
+	}
+
+	private Path calculate(PathRequest request) {
+		HierarchicalAStar aStar = aStars.poll();
+		if (aStar == null) {
+			aStar = new HierarchicalAStar(snapshot, snapshot, width, height);
+		}
+
+		try {
+			ShortPoint2D start = request.getPosition();
+			ShortPoint2D target = request.getTarget();
+			return aStar.findPath(request, start.x, start.y, target.x, target.y);
+		} finally {
+			aStars.offer(aStar);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.async;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinTask;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * A path request of an {@link AsyncPathfinder}. The request holds a copy of everything the path finding needs to know about the requester, so that the path can be
+ * calculated on another thread.
+ * <p />
+ * The path is available at the delivery time of the request. When a request is serialized, its calculation is awaited and the path is stored with it.
+ */
+public final class PathRequest implements IPathCalculatable {
+	private static final long serialVersionUID = -3611947102591634812L;
+
+	/**
+	 * Positions within this distance of the start position are checked for movables by the cost function, see {@link #hasMovableAt(int, int)}.
+	 */
+	private static final int OCCUPATION_RADIUS = CommonConstants.MOVABLE_PATH_REPAIR_DISTANCE + 1;
+	private static final int OCCUPATION_SIZE   = 2 * OCCUPATION_RADIUS + 1;
+
+	private final ShortPoint2D start;
+	private final ShortPoint2D target;
+	private final int          deliveryTime;
+	private final boolean      needsPlayersGround;
+	private final boolean      ship;
+
+	private transient IPlayer           player;
+	private transient BitSet            occupation;
+	private transient ForkJoinTask<Path> calculation;
+	private           Path              path;
+
+	PathRequest(IPathCalculatable requester, ShortPoint2D target, int deliveryTime) {
+		this.start = requester.getPosition();
+		this.target = target;
+		this.deliveryTime = deliveryTime;
+		this.needsPlayersGround = requester.needsPlayersGround();
+		this.ship = requester.isShip();
+		this.player = requester.getPlayer();
+	}
+
+	/**
+	 * Creates a request whose path has already been calculated.
+	 *
+	 * @param requester
+	 *            The requester of the path.
+	 * @param target
+	 *            The target of the path.
+	 * @param path
+	 *            The calculated path or null if the target can't be reached.
+	 * @param deliveryTime
+	 *            The game time the path is delivered at.
+	 */
+	public static PathRequest calculated(IPathCalculatable requester, ShortPoint2D target, Path path, int deliveryTime) {
+		PathRequest request = new PathRequest(requester, target, deliveryTime);
+		request.path = path;
+		return request;
+	}
+
+	void captureOccupation(IAsyncPathfinderGrid grid, short width, short height) {
+		occupation = new BitSet(OCCUPATION_SIZE * OCCUPATION_SIZE);
+		for (int dy = -OCCUPATION_RADIUS; dy <= OCCUPATION_RADIUS; dy++) {
+			for (int dx = -OCCUPATION_RADIUS; dx <= OCCUPATION_RADIUS; dx++) {
+				int x = start.x + dx;
+				int y = start.y + dy;
+				if (x >= 0 && y >= 0 && x < width && y < height && ShortPoint2D.getOnGridDist(dx, dy) <= OCCUPATION_RADIUS && !grid.hasNoMovableAt(x, y)) {
+					occupation.set(getOccupationIndex(dx, dy));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if a movable stood at the given position when the request was made. Only the positions that are at most one step further away from the start than
+	 *         {@link CommonConstants#MOVABLE_PATH_REPAIR_DISTANCE} are known, all others are reported as free.
+	 */
+	boolean hasMovableAt(int x, int y) {
+		int dx = x - start.x;
+		int dy = y - start.y;
+		if (occupation == null || Math.abs(dx) > OCCUPATION_RADIUS || Math.abs(dy) > OCCUPATION_RADIUS) {
+			return false;
+		}
+		return occupation.get(getOccupationIndex(dx, dy));
+	}
+
+	private static int getOccupationIndex(int dx, int dy) {
+		return (dy + OCCUPATION_RADIUS) * OCCUPATION_SIZE + dx + OCCUPATION_RADIUS;
+	}
+
+	void setCalculation(ForkJoinTask<Path> calculation) {
+		this.calculation = calculation;
+	}
+
+	void setPath(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Waits until the path of this request has been calculated.
+	 */
+	void await() {
+		if (calculation != null) {
+			path = calculation.join();
+			calculation = null;
+		}
+	}
+
+	/**
+	 * @return The game time the path of this request is delivered at.
+	 */
+	public int getDeliveryTime() {
+		return deliveryTime;
+	}
+
+	/**
+	 * @return true if the path of this request starts at the given position.
+	 */
+	public boolean startsAt(ShortPoint2D position) {
+		return start.equals(position);
+	}
+
+	public ShortPoint2D getTarget() {
+		return target;
+	}
+
+	/**
+	 * Takes the path of this request. The path is only handed out once.
+	 *
+	 * @return The path from the start to the target or null if the target can't be reached.
+	 */
+	public Path takePath() {
+		await();
+		Path path = this.path;
+		this.path = null;
+		return path;
+	}
+
+	@Override
+	public IPlayer getPlayer() {
+		return player;
+	}
+
+	@Override
+	public ShortPoint2D getPosition() {
+		return start;
+	}
+
+	@Override
+	public boolean needsPlayersGround() {
+		return needsPlayersGround;
+	}
+
+	@Override
+	public boolean isShip() {
+		return ship;
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		await();
+		oos.defaultWriteObject();
+	}
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.async;
+
+import java.util.BitSet;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.Color;
+
+/**
+ * A copy of the blocking data of the grid, that path requests are calculated on.
+ * <p />
+ * The snapshot is only changed by the game thread while no calculation is running, so any number of calculations can read it in parallel. The requesters are the
+ * {@link PathRequest}s, which carry the remaining data of the moment the request was made.
+ */
+final class PathfinderSnapshot implements IAStarPathMap, IBlockingProvider {
+	private final short width;
+
+	private final BitSet blocked;
+	private final byte[] playerIds;
+
+	PathfinderSnapshot(short width, short height) {
+		this.width = width;
+		this.blocked = new BitSet(width * height);
+		this.playerIds = new byte[width * height];
+	}
+
+	/**
+	 * @return true if the blocking of the position changed.
+	 */
+	boolean update(IAsyncPathfinderGrid grid, int x, int y) {
+		int index = x + y * width;
+		boolean wasBlocked = blocked.get(index);
+		boolean isBlocked = grid.isBlocked(x, y);
+		blocked.set(index, isBlocked);
+		playerIds[index] = grid.getPlayerIdAt(x, y);
+		return wasBlocked != isBlocked;
+	}
+
+	@Override
+	public boolean isBlocked(int x, int y) {
+		return blocked.get(x + y * width);
+	}
+
+	@Override
+	public boolean isBlocked(IPathCalculatable requester, int x, int y) {
+		int index = x + y * width;
+		return blocked.get(index) || (requester.needsPlayersGround() && requester.getPlayer().getPlayerId() != playerIds[index]);
+	}
+
+	@Override
+	public float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
+		if (requester.getPosition().getOnGridDistTo(sx, sy) <= CommonConstants.MOVABLE_PATH_REPAIR_DISTANCE && ((PathRequest) requester).hasMovableAt(tx, ty)) {
+			return 1.5f;
+		}
+		return 1;
+	}
+
+	@Override
+	public void markAsOpen(int x, int y) {
+	}
+
+	@Override
+	public void markAsClosed(int x, int y) {
+	}
+
+	@Override
+	public void setDebugColor(int x, int y, Color color) {
+	}
+
+	/**
+	 * The reachability is checked on the live grid when a request is made, see {@link AsyncPathfinder#request(IPathCalculatable, jsettlers.common.position.ShortPoint2D, int)}.
+	 */
+	@Override
+	public boolean isReachable(int x1, int y1, int x2, int y2, boolean ship) {
+		return true;
+	}
+}
@@ -22,17 +22,27 @@ import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.InvalidStartPositionException;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.ISearchTargets;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.material.ESearchType;
 import jsettlers.common.position.ShortPoint2D;
 
 /**
- * this class implements a strict dijkstra algorithm
+ * Searches the nearest position fitting an {@link ESearchType} around a center.
+ * <p />
+ * The positions around the center are scanned ring by ring until the first fitting position, that may be reachable by the requester, is found. Afterwards, a single search from the requester finds the path to the
+ * nearest reachable fitting position in this or one of the following rings. Requesters far away from the center instead search a path to every fitting position in the order of
+ * the rings, so that they can use the hierarchical search.
  * 
  * @author Andreas Eberle
  * 
  */
 public final class DijkstraAlgorithm {
+	/**
+	 * Number of steps the single search may leave the searched rings. Requesters farther away use the search per position.
+	 */
+	static final int SEARCH_AREA_MARGIN = 32;
+
 	private static final byte[] directionIncreaseX = { -1, 0, 1, 1, 0, -1 };
 	private static final byte[] directionIncreaseY = { 0, 1, 1, 0, -1, -1 };
 	private static final float MAX_RADIUS_MULTIPLIER = 1f / MapCircle.Y_SCALE;
@@ -40,6 +50,9 @@ public final class DijkstraAlgorithm {
 	private final IDijkstraPathMap map;
 	private final short height, width;
 	private final AbstractAStar aStar;
+	private final TargetArea targetArea = new TargetArea();
+
+	private Path foundPath;
 
 	public DijkstraAlgorithm(IDijkstraPathMap map, AbstractAStar aStar, short width, short height) {
 		this.map = map;
@@ -54,49 +67,175 @@ public final class DijkstraAlgorithm {
 			throw new InvalidStartPositionException("dijkstra center position is not in bounds!", cX, cY);
 		}
 
-		// check center position (special case for minRadius <= 0
-		if (minRadius <= 0) {
-			map.setDijkstraSearched(cX, cY);
-			if (map.fitsSearchType(cX, cY, type, requester)) {
-				Path path = findPathTo(requester, cX, cY);
-				if (path != null)
-					return path;
-			}
+		// the center is the ring with radius 0 and only checked for minRadius <= 0
+		short firstRadius = (short) Math.max(minRadius, 0);
+		short endRadius = (short) Math.max(maxRadius, firstRadius == 0 ? 1 : 0);
+		targetArea.init(requester, cX, cY, null, type, null, endRadius);
+
+		short radius = firstRadius;
+		while (radius < endRadius && !scanRing(radius, false)) {
+			radius++;
+		}
+		if (radius >= endRadius) {
+			return null;
 		}
 
-		for (short radius = minRadius; radius < maxRadius; radius++) {
-			short x = cX, y = (short) (cY - radius);
-			for (byte direction = 0; direction < 6; direction++) {
-				byte dx = directionIncreaseX[direction];
-				byte dy = directionIncreaseY[direction];
-				for (short length = 0; length < radius; length++) {
-					x += dx;
-					y += dy;
-					if (isInBounds(x, y)) {
-						map.setDijkstraSearched(x, y);
-						if (map.fitsSearchType(x, y, type, requester)) {
-							Path path = findPathTo(requester, x, y);
-							if (path != null) {
-								return path;
-							}
-						}
-					}
+		for (short targetRadius = radius; targetRadius < endRadius; targetRadius++) {
+			targetArea.addRing(targetRadius);
+		}
+
+		try {
+			if (targetArea.isRequesterNearCenter()) {
+				return aStar.findPathToNearest(requester, targetArea.sx, targetArea.sy, targetArea);
+			}
+
+			for (; radius < endRadius; radius++) {
+				if (scanRing(radius, true)) {
+					return foundPath;
 				}
 			}
+			return null;
+		} finally {
+			targetArea.clear();
+			foundPath = null;
 		}
+	}
 
-		return null;
+	/**
+	 * Scans the positions of the given ring around the center of the {@link #targetArea}. The ring with radius 0 only contains the center.
+	 *
+	 * @param findPaths
+	 *            if true, a path to every fitting position is searched until one is found and stored in {@link #foundPath}.
+	 * @return true if a fitting position or, if findPaths is true, a path to one has been found.
+	 */
+	private boolean scanRing(short radius, boolean findPaths) {
+		final short cX = targetArea.cX, cY = targetArea.cY;
+		if (radius == 0) {
+			return scanPosition(cX, cY, findPaths);
+		}
+
+		short x = cX, y = (short) (cY - radius);
+		for (byte direction = 0; direction < 6; direction++) {
+			byte dx = directionIncreaseX[direction];
+			byte dy = directionIncreaseY[direction];
+			for (short length = 0; length < radius; length++) {
+				x += dx;
+				y += dy;
+				if (scanPosition(x, y, findPaths)) {
+					return true;
+				}
+			}
+		}
+		return false;
 	}
 
-	private final Path findPathTo(IPathCalculatable requester, short tx, short ty) {
-		ShortPoint2D pos = requester.getPosition();
-		return aStar.findPath(requester, pos.x, pos.y, tx, ty);
+	private boolean scanPosition(short x, short y, boolean findPaths) {
+		if (!targetArea.isInCircle(x, y) || !isInBounds(x, y)) {
+			return false;
+		}
+
+		map.setDijkstraSearched(x, y);
+		if (!targetArea.fitsSearchType(x, y) || !aStar.isValidTarget(targetArea.requester, targetArea.sx, targetArea.sy, x, y)) {
+			return false;
+		} else if (!findPaths) {
+			return true;
+		}
+
+		foundPath = aStar.findPath(targetArea.requester, targetArea.sx, targetArea.sy, x, y);
+		return foundPath != null;
 	}
 
 	private final boolean isInBounds(short x, short y) {
 		return 0 <= x && x < width && 0 <= y && y < height;
 	}
 
+	/**
+	 * The fitting positions in the rings around the center, that are targets of the search.
+	 */
+	private final class TargetArea implements ISearchTargets {
+		private IPathCalculatable requester;
+		private short sx;
+		private short sy;
+		private short cX;
+		private short cY;
+		private MapCircle circle;
+		private ESearchType type;
+		private Set<ESearchType> types;
+
+		private boolean[] targetRings = new boolean[0];
+		private int minTargetRing;
+		private int maxTargetRing;
+
+		void init(IPathCalculatable requester, short cX, short cY, MapCircle circle, ESearchType type, Set<ESearchType> types, int ringsCount) {
+			ShortPoint2D position = requester.getPosition();
+			this.requester = requester;
+			this.sx = position.x;
+			this.sy = position.y;
+			this.cX = cX;
+			this.cY = cY;
+			this.circle = circle;
+			this.type = type;
+			this.types = types;
+			if (targetRings.length < ringsCount) {
+				targetRings = new boolean[ringsCount];
+			}
+			minTargetRing = Integer.MAX_VALUE;
+			maxTargetRing = -1;
+		}
+
+		void addRing(short radius) {
+			targetRings[radius] = true;
+			minTargetRing = Math.min(minTargetRing, radius);
+			maxTargetRing = Math.max(maxTargetRing, radius);
+		}
+
+		void clear() {
+			for (int ring = 0; ring <= maxTargetRing; ring++) {
+				targetRings[ring] = false;
+			}
+			requester = null;
+			circle = null;
+			types = null;
+		}
+
+		boolean isRequesterNearCenter() {
+			return isInSearchArea(sx, sy);
+		}
+
+		boolean isInCircle(int x, int y) {
+			return circle == null || circle.contains(x, y);
+		}
+
+		boolean fitsSearchType(int x, int y) {
+			return types == null ? map.fitsSearchType(x, y, type, requester) : map.fitsSearchType(x, y, types, requester);
+		}
+
+		private int getRing(int x, int y) {
+			return ShortPoint2D.getOnGridDist(x - cX, y - cY);
+		}
+
+		@Override
+		public boolean isTarget(int x, int y) {
+			int ring = getRing(x, y);
+			if (ring > maxTargetRing || !targetRings[ring] || !isInCircle(x, y)) {
+				return false;
+			}
+			map.setDijkstraSearched((short) x, (short) y);
+			return fitsSearchType(x, y);
+		}
+
+		@Override
+		public int getMinDistance(int x, int y) {
+			int ring = getRing(x, y);
+			return Math.max(0, Math.max(ring - maxTargetRing, minTargetRing - ring));
+		}
+
+		@Override
+		public boolean isInSearchArea(int x, int y) {
+			return getRing(x, y) <= maxTargetRing + SEARCH_AREA_MARGIN;
+		}
+	}
+
 	public final static class DijkstraContinuableRequest implements Serializable {
 		private static final long serialVersionUID = -1350601280043056439L;
 
@@ -146,35 +285,55 @@ public final class DijkstraAlgorithm {
 		}
 
 		MapCircle circle = new MapCircle(request.cX, request.cY, request.maxRadius * MAX_RADIUS_MULTIPLIER);
+		targetArea.init(request.requester, request.cX, request.cY, circle, null, request.searchTypes, request.minRadius + request.maxRadius);
 
 		short radiusSteps = request.getRadiusSteps();
 		short radius = 1;
+		short firstDeltaRadius = -1;
 
 		for (short deltaRadius = 0; deltaRadius < radiusSteps; deltaRadius++) {
-			radius = (short) ((deltaRadius + request.radius) % request.maxRadius + request.minRadius);
-			short x = request.cX, y = (short) (request.cY - radius);
-
-			for (byte direction = 0; direction < 6; direction++) {
-				byte dx = directionIncreaseX[direction];
-				byte dy = directionIncreaseY[direction];
-				for (short length = 0; length < radius; length++) {
-					x += dx;
-					y += dy;
-					if (circle.contains(x, y) && isInBounds(x, y)) {
-						map.setDijkstraSearched(x, y);
-						if (map.fitsSearchType(x, y, request.searchTypes, request.requester)) {
-							Path path = findPathTo(request.requester, x, y);
-							if (path != null) {
-								request.setRadius(radius);
-								return path;
-							}
-						}
+			radius = getRadius(request, deltaRadius);
+			if (scanRing(radius, false)) {
+				firstDeltaRadius = deltaRadius;
+				break;
+			}
+		}
+		if (firstDeltaRadius < 0) {
+			request.setRadius(radius);
+			return null;
+		}
+
+		for (short deltaRadius = firstDeltaRadius; deltaRadius < radiusSteps; deltaRadius++) {
+			radius = getRadius(request, deltaRadius);
+			targetArea.addRing(radius);
+		}
+
+		try {
+			Path path = null;
+			if (targetArea.isRequesterNearCenter()) {
+				path = aStar.findPathToNearest(request.requester, targetArea.sx, targetArea.sy, targetArea);
+			} else {
+				for (short deltaRadius = firstDeltaRadius; deltaRadius < radiusSteps && path == null; deltaRadius++) {
+					if (scanRing(getRadius(request, deltaRadius), true)) {
+						path = foundPath;
 					}
 				}
 			}
+
+			if (path != null) { // continue after the ring of the found position next time
+				ShortPoint2D target = path.getTargetPosition();
+				request.setRadius((short) ShortPoint2D.getOnGridDist(target.x - request.cX, target.y - request.cY));
+			} else {
+				request.setRadius(radius);
+			}
+			return path;
+		} finally {
+			targetArea.clear();
+			foundPath = null;
 		}
+	}
 
-		request.setRadius(radius);
-		return null;
+	private static short getRadius(DijkstraContinuableRequest request, short deltaRadius) {
+		return (short) ((deltaRadius + request.radius) % request.maxRadius + request.minRadius);
 	}
 }
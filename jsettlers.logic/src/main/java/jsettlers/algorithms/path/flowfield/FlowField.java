@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.flowfield;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Distances of all positions in a rectangle to the center of a group move order.
+ * <p />
+ * The distances are calculated once with a breadth first search from the center. Every member of the group follows the decreasing distances until it is near its own target and
+ * only searches the last part of its path with the A* algorithm.
+ */
+final class FlowField implements Serializable {
+	private static final long serialVersionUID = -2484637781235719862L;
+
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	private final short centerX;
+	private final short centerY;
+	private final short minX;
+	private final short minY;
+	private final short fieldWidth;
+	private final short fieldHeight;
+	private final short[] distances;
+	private final List<IPathCalculatable> members; // a list keeps the serialized state deterministic
+
+	FlowField(IBlockingProvider blockingProvider, ShortPoint2D center, short minX, short minY, short maxX, short maxY, List<? extends IPathCalculatable> members) {
+		this.centerX = center.x;
+		this.centerY = center.y;
+		this.minX = minX;
+		this.minY = minY;
+		this.fieldWidth = (short) (maxX - minX + 1);
+		this.fieldHeight = (short) (maxY - minY + 1);
+		this.distances = new short[fieldWidth * fieldHeight];
+		this.members = new ArrayList<>(members);
+
+		calculateDistances(blockingProvider);
+	}
+
+	private void calculateDistances(IBlockingProvider blockingProvider) {
+		Arrays.fill(distances, (short) -1);
+
+		int[] queue = new int[distances.length];
+		int head = 0;
+		int tail = 0;
+
+		int centerIdx = getFieldIdx(centerX, centerY);
+		distances[centerIdx] = 0;
+		queue[tail++] = centerIdx;
+
+		while (head < tail) {
+			int idx = queue[head++];
+			int x = minX + idx % fieldWidth;
+			int y = minY + idx / fieldWidth;
+			short neighborDistance = (short) (distances[idx] + 1);
+
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				int neighborX = x + xDeltaArray[direction];
+				int neighborY = y + yDeltaArray[direction];
+
+				if (contains(neighborX, neighborY) && !blockingProvider.isBlocked(neighborX, neighborY)) {
+					int neighborIdx = getFieldIdx(neighborX, neighborY);
+					if (distances[neighborIdx] < 0) {
+						distances[neighborIdx] = neighborDistance;
+						queue[tail++] = neighborIdx;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Builds the path of a group member to the given target. The member follows the flow field until it is as near to the center as the target or nearer than
+	 * {@link FlowFieldCache#LOCAL_SEARCH_DISTANCE} to the target. The rest of the path is searched with the given A* algorithm.
+	 * <p />
+	 * Every member gets its path from the flow field only once. Later requests, e.g. to repair the path, are answered by the A* algorithm.
+	 *
+	 * @return the path or null if the flow field can not provide one.
+	 */
+	Path findPath(IPathCalculatable requester, ShortPoint2D target, AbstractAStar aStar) {
+		ShortPoint2D start = requester.getPosition();
+		if (!removeMember(requester) || !isTargetNear(target) || !contains(start.x, start.y) || distances[getFieldIdx(start.x, start.y)] < 0) {
+			return null;
+		}
+
+		int targetDistance = ShortPoint2D.getOnGridDist(target.x - centerX, target.y - centerY);
+		int steps = 0;
+		int x = start.x;
+		int y = start.y;
+		short[] stepsX = new short[distances[getFieldIdx(x, y)]];
+		short[] stepsY = new short[stepsX.length];
+
+		while (ShortPoint2D.getOnGridDist(target.x - x, target.y - y) > FlowFieldCache.LOCAL_SEARCH_DISTANCE && distances[getFieldIdx(x, y)] > targetDistance) {
+			int nextDistance = distances[getFieldIdx(x, y)] - 1;
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				int neighborX = x + xDeltaArray[direction];
+				int neighborY = y + yDeltaArray[direction];
+				if (contains(neighborX, neighborY) && distances[getFieldIdx(neighborX, neighborY)] == nextDistance) {
+					x = neighborX;
+					y = neighborY;
+					break;
+				}
+			}
+			stepsX[steps] = (short) x;
+			stepsY[steps] = (short) y;
+			steps++;
+		}
+
+		Path rest = null;
+		if (x != target.x || y != target.y) {
+			rest = aStar.findPath(requester, (short) x, (short) y, target.x, target.y);
+			if (rest == null) {
+				return null;
+			}
+		}
+
+		int restLength = rest == null ? 0 : rest.getLength();
+		if (steps + restLength == 0) {
+			return null;
+		}
+
+		Path path = new Path(steps + restLength);
+		for (int i = 0; i < steps; i++) {
+			path.insertAt(i, stepsX[i], stepsY[i]);
+		}
+		for (int i = 0; i < restLength; i++) {
+			path.insertAt(steps + i, rest.nextX(), rest.nextY());
+			rest.goToNextStep();
+		}
+		if (rest != null) {
+			aStar.recyclePath(rest);
+		}
+		return path;
+	}
+
+	boolean serves(IPathCalculatable requester) {
+		return indexOfMember(requester) >= 0;
+	}
+
+	private boolean removeMember(IPathCalculatable requester) {
+		int index = indexOfMember(requester);
+		if (index >= 0) {
+			members.remove(index);
+			return true;
+		}
+		return false;
+	}
+
+	private int indexOfMember(IPathCalculatable requester) {
+		for (int i = 0; i < members.size(); i++) {
+			if (members.get(i) == requester) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private boolean isTargetNear(ShortPoint2D target) {
+		return ShortPoint2D.getOnGridDist(target.x - centerX, target.y - centerY) <= FlowFieldCache.MAX_TARGET_DISTANCE;
+	}
+
+	boolean hasMembers() {
+		return !members.isEmpty();
+	}
+
+	boolean contains(int x, int y) {
+		return minX <= x && x < minX + fieldWidth && minY <= y && y < minY + fieldHeight;
+	}
+
+	private int getFieldIdx(int x, int y) {
+		return (y - minY) * fieldWidth + x - minX;
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.flowfield;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Keeps the {@link FlowField}s of the latest group move orders, so that the members of a group do not need to search their whole paths one by one.
+ * <p />
+ * The flow fields only use the blocking information of the {@link IBlockingProvider}. Therefore they only serve requesters that can walk on every player's ground and are no
+ * ships. A flow field is dropped as soon as the blocking of a position in it changes or all members got their paths. The cache is part of the game state, because the paths of the
+ * members depend on it.
+ */
+public final class FlowFieldCache implements Serializable {
+	private static final long serialVersionUID = -1883018454788458045L;
+
+	/**
+	 * Minimum number of members of a group to create a flow field.
+	 */
+	public static final int MIN_GROUP_SIZE = 8;
+	/**
+	 * Maximum number of flow fields kept at the same time. Adding more fields drops the oldest one.
+	 */
+	static final int MAX_FIELDS = 4;
+	/**
+	 * Margin around the members and the center of a group, that is included in the flow field to allow paths around obstacles.
+	 */
+	static final int MARGIN = 16;
+	/**
+	 * Maximum number of positions of a flow field. No flow field is created for groups spread over a larger area.
+	 */
+	static final int MAX_AREA = 256 * 256;
+	/**
+	 * Targets must be this near to the center of a group to be served by its flow field.
+	 */
+	static final int MAX_TARGET_DISTANCE = 32;
+	/**
+	 * Distance to the target, at which the members leave the flow field and search the rest of their path with the A* algorithm.
+	 */
+	static final int LOCAL_SEARCH_DISTANCE = 4;
+
+	private final short width;
+	private final short height;
+	private final List<FlowField> fields = new ArrayList<>(MAX_FIELDS);
+
+	public FlowFieldCache(short width, short height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * Creates the flow field for a group move order, if the group is large enough and not spread over too large an area.
+	 *
+	 * @param blockingProvider
+	 *            blocking information used by the flow field
+	 * @param center
+	 *            the center of the targets of the group
+	 * @param members
+	 *            the members of the group
+	 */
+	public void addGroup(IBlockingProvider blockingProvider, ShortPoint2D center, List<? extends IPathCalculatable> members) {
+		if (members.size() < MIN_GROUP_SIZE) {
+			return;
+		}
+
+		int minX = center.x, minY = center.y, maxX = center.x, maxY = center.y;
+		for (IPathCalculatable member : members) {
+			ShortPoint2D position = member.getPosition();
+			minX = Math.min(minX, position.x);
+			minY = Math.min(minY, position.y);
+			maxX = Math.max(maxX, position.x);
+			maxY = Math.max(maxY, position.y);
+		}
+		minX = Math.max(0, minX - MARGIN);
+		minY = Math.max(0, minY - MARGIN);
+		maxX = Math.min(width - 1, maxX + MARGIN);
+		maxY = Math.min(height - 1, maxY + MARGIN);
+
+		if ((maxX - minX + 1) * (maxY - minY + 1) > MAX_AREA) {
+			return;
+		}
+
+		List<IPathCalculatable> groundMembers = new ArrayList<>(members.size());
+		for (IPathCalculatable member : members) {
+			if (isServable(member)) {
+				groundMembers.add(member);
+			}
+		}
+		if (groundMembers.size() < MIN_GROUP_SIZE) {
+			return;
+		}
+
+		if (fields.size() >= MAX_FIELDS) {
+			fields.remove(0);
+		}
+		fields.add(new FlowField(blockingProvider, center, (short) minX, (short) minY, (short) maxX, (short) maxY, groundMembers));
+	}
+
+	/**
+	 * @return the path of the requester to the target or null, if no flow field serves this request.
+	 */
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target, AbstractAStar aStar) {
+		for (Iterator<FlowField> iterator = fields.iterator(); iterator.hasNext();) {
+			FlowField field = iterator.next();
+			if (field.serves(requester)) {
+				Path path = field.findPath(requester, target, aStar);
+				if (!field.hasMembers()) {
+					iterator.remove();
+				}
+				return path;
+			}
+		}
+		return null;
+	}
+
+	public void blockingChanged(int x, int y) {
+		fields.removeIf(field -> field.contains(x, y));
+	}
+
+	private static boolean isServable(IPathCalculatable requester) {
+		return !requester.isShip() && !requester.needsPlayersGround();
+	}
+}
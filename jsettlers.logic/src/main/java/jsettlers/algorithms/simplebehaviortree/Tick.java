@@ -16,6 +16,8 @@ public class Tick<T> {
 	private final Set<Node<T>> openNodes = new HashSet<>();
 	private final Map<Integer, Object> properties = new TreeMap<>();
 
+	private int invocationDelay = 0;
+
 	public Tick(T target, Root<T> root) {
 		this.root = root;
 		this.target = target;
@@ -44,6 +46,14 @@ public class Tick<T> {
 		openNodes.remove(node);
 	}
 
+	public void setInvocationDelay(int invocationDelay) {
+		this.invocationDelay = invocationDelay;
+	}
+
+	public int getInvocationDelay() {
+		return invocationDelay;
+	}
+
 	public <I> I getProperty(int id) {
 		return (I) properties.get(id);
 	}
@@ -53,6 +53,7 @@ import jsettlers.input.tasks.SimpleGuiTask;
 import jsettlers.input.tasks.UpgradeSoldiersGuiTask;
 import jsettlers.input.tasks.WorkAreaGuiTask;
 import jsettlers.logic.FerryEntrance;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.IDockBuilding;
 import jsettlers.logic.buildings.military.occupying.OccupyingBuilding;
@@ -75,7 +76,7 @@ import jsettlers.network.synchronic.timer.ITaskExecutor;
  * @author Andreas Eberle
  */
 class GuiTaskExecutor implements ITaskExecutor {
-	private static GuiTaskExecutor           instance = null;
+	private final  GameContext               context  = GameContext.current();
 	private final  IGuiInputGrid             grid;
 	private final  ITaskExecutorGuiInterface guiInterface;
 	private final  byte                      playerId;
@@ -86,12 +87,17 @@ class GuiTaskExecutor implements ITaskExecutor {
 		this.playerId = playerId;
 	}
 
-	public static GuiTaskExecutor get() {
-		return instance;
-	}
-
 	@Override
 	public void executeTask(TaskPacket iTask) {
+		GameContext previous = context.bind();
+		try {
+			executeTaskInContext(iTask);
+		} finally {
+			GameContext.restore(previous);
+		}
+	}
+
+	private void executeTaskInContext(TaskPacket iTask) {
 		if (!(iTask instanceof SimpleGuiTask)) {
 			return;
 		}
@@ -386,6 +392,8 @@ class GuiTaskExecutor implements ITaskExecutor {
 	}
 
 	private void sendManyMovables(ShortPoint2D targetPosition, List<ILogicMovable> movables, EMoveToType moveToType) {
+		grid.prepareGroupMove(targetPosition, movables);
+
 		for (int radius = 0, ringsWithoutSuccessCtr = 0; ringsWithoutSuccessCtr <= Math.max(5, 15 - radius + ringsWithoutSuccessCtr) && !movables.isEmpty(); radius++) {
 			MutableInt numberOfSendMovables = new MutableInt(0);
 
@@ -15,6 +15,7 @@
 package jsettlers.input;
 
 import java.io.IOException;
+import java.util.List;
 
 import jsettlers.algorithms.construction.AbstractConstructionMarkableMap;
 import jsettlers.common.buildings.EBuildingType;
@@ -25,6 +26,7 @@ import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.FerryEntrance;
 import jsettlers.logic.map.grid.partition.manager.settings.MaterialProductionSettings;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.player.Player;
 
 import java.util.Optional;
@@ -125,6 +127,16 @@ public interface IGuiInputGrid {
 
 	boolean isReachable(int x1, int y1, int x2, int y2, boolean ship);
 
+	/**
+	 * Prepares the paths of a group of movables, that will be sent to positions around the given target position.
+	 *
+	 * @param targetPosition
+	 *            The center of the targets of the movables.
+	 * @param movables
+	 *            The movables of the group.
+	 */
+	void prepareGroupMove(ShortPoint2D targetPosition, List<ILogicMovable> movables);
+
 	boolean isBlocked(int x, int y);
 
 	Player getPlayerAt(int x, int y);
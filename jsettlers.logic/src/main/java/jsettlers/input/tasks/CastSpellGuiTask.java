@@ -34,7 +34,7 @@ public class CastSpellGuiTask extends MovableGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, at);
+		serializePosition(dos, at);
 		dos.writeByte(spell.ordinal());
 	}
 
@@ -42,7 +42,7 @@ public class CastSpellGuiTask extends MovableGuiTask {
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
 
-		at = SimpleGuiTask.deserializePosition(dis);
+		at = deserializePosition(dis);
 		spell = ESpellType.values()[dis.readByte()];
 	}
 
@@ -45,7 +45,7 @@ public class ChangeMovableSettingsTask extends SimpleGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, position);
+		serializePosition(dos, position);
 		dos.writeInt(movableType.ordinal());
 		dos.writeBoolean(relative);
 		dos.writeInt(amount);
@@ -54,7 +54,7 @@ public class ChangeMovableSettingsTask extends SimpleGuiTask {
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		position = SimpleGuiTask.deserializePosition(dis);
+		position = deserializePosition(dis);
 		movableType = EMovableType.VALUES[dis.readInt()];
 		relative = dis.readBoolean();
 		amount = dis.readInt();
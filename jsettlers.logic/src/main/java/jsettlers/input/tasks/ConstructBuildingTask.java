@@ -51,14 +51,14 @@ public class ConstructBuildingTask extends SimpleGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, position);
+		serializePosition(dos, position);
 		dos.writeInt(type.ordinal);
 	}
 
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		position = SimpleGuiTask.deserializePosition(dis);
+		position = deserializePosition(dis);
 		type = EBuildingType.VALUES[dis.readInt()];
 	}
 
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.input.tasks;
+
+import java.util.function.Supplier;
+
+import jsettlers.network.client.task.packets.TaskPacket;
+
+/**
+ * The stable type ids of the gui tasks sent over the network and stored in replay logs.
+ * <p />
+ * The ids must never be changed or reused. New tasks get the next free id.
+ */
+public enum EGuiTaskType {
+	SIMPLE(1, SimpleGuiTask.class, SimpleGuiTask::new),
+	SIMPLE_BUILDING(2, SimpleBuildingGuiTask.class, SimpleBuildingGuiTask::new),
+	MOVABLE(3, MovableGuiTask.class, MovableGuiTask::new),
+	MOVE_TO(4, MoveToGuiTask.class, MoveToGuiTask::new),
+	CONSTRUCT_BUILDING(5, ConstructBuildingTask.class, ConstructBuildingTask::new),
+	WORK_AREA(6, WorkAreaGuiTask.class, WorkAreaGuiTask::new),
+	CONVERT(7, ConvertGuiTask.class, ConvertGuiTask::new),
+	CAST_SPELL(8, CastSpellGuiTask.class, CastSpellGuiTask::new),
+	CHANGE_MOVABLE_SETTINGS(9, ChangeMovableSettingsTask.class, ChangeMovableSettingsTask::new),
+	CHANGE_TOWER_SOLDIERS(10, ChangeTowerSoldiersGuiTask.class, ChangeTowerSoldiersGuiTask::new),
+	CHANGE_TRADING_REQUEST(11, ChangeTradingRequestGuiTask.class, ChangeTradingRequestGuiTask::new),
+	ORDER_SHIP(12, OrderShipGuiTask.class, OrderShipGuiTask::new),
+	SET_ACCEPTED_STOCK_MATERIAL(13, SetAcceptedStockMaterialGuiTask.class, SetAcceptedStockMaterialGuiTask::new),
+	SET_BUILDING_PRIORITY(14, SetBuildingPriorityGuiTask.class, SetBuildingPriorityGuiTask::new),
+	SET_DOCK(15, SetDockGuiTask.class, SetDockGuiTask::new),
+	SET_MATERIAL_DISTRIBUTION_SETTINGS(16, SetMaterialDistributionSettingsGuiTask.class, SetMaterialDistributionSettingsGuiTask::new),
+	SET_MATERIAL_PRIORITIES(17, SetMaterialPrioritiesGuiTask.class, SetMaterialPrioritiesGuiTask::new),
+	SET_MATERIAL_PRODUCTION(18, SetMaterialProductionGuiTask.class, SetMaterialProductionGuiTask::new),
+	SET_MOVABLE_LIMIT_TYPE(19, SetMovableLimitTypeTask.class, SetMovableLimitTypeTask::new),
+	SET_TRADING_WAYPOINT(20, SetTradingWaypointGuiTask.class, SetTradingWaypointGuiTask::new),
+	UPGRADE_SOLDIERS(21, UpgradeSoldiersGuiTask.class, UpgradeSoldiersGuiTask::new);
+
+	public static final EGuiTaskType[] VALUES = values();
+
+	private final int typeId;
+	private final Class<? extends TaskPacket> type;
+	private final Supplier<? extends TaskPacket> factory;
+
+	<T extends TaskPacket> EGuiTaskType(int typeId, Class<T> type, Supplier<T> factory) {
+		this.typeId = typeId;
+		this.type = type;
+		this.factory = factory;
+	}
+
+	public int getTypeId() {
+		return typeId;
+	}
+
+	/**
+	 * Registers all gui tasks with {@link TaskPacket#registerType(int, Class, Supplier)}. Calling this more than once has no effect.
+	 */
+	public static void registerAll() {
+		for (EGuiTaskType taskType : VALUES) {
+			taskType.register();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends TaskPacket> void register() {
+		TaskPacket.registerType(typeId, (Class<T>) type, (Supplier<T>) factory);
+	}
+}
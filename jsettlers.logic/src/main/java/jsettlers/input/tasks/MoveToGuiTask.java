@@ -52,14 +52,14 @@ public class MoveToGuiTask extends MovableGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, position);
+		serializePosition(dos, position);
 		dos.writeByte(moveToType.ordinal());
 	}
 
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		position = SimpleGuiTask.deserializePosition(dis);
+		position = deserializePosition(dis);
 		moveToType = EMoveToType.VALUES[dis.readByte()];
 	}
 
@@ -63,7 +63,7 @@ public class SetAcceptedStockMaterialGuiTask extends SimpleGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, position);
+		serializePosition(dos, position);
 		dos.writeByte(materialType.ordinal);
 		dos.writeBoolean(accepted);
 		dos.writeBoolean(local);
@@ -72,7 +72,7 @@ public class SetAcceptedStockMaterialGuiTask extends SimpleGuiTask {
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		position = SimpleGuiTask.deserializePosition(dis);
+		position = deserializePosition(dis);
 		materialType = EMaterialType.VALUES[dis.readByte()];
 		accepted = dis.readBoolean();
 		local = dis.readBoolean();
@@ -39,13 +39,13 @@ public class SetDockGuiTask extends SimpleBuildingGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, requestedDockPosition);
+		serializePosition(dos, requestedDockPosition);
 	}
 
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		requestedDockPosition = SimpleGuiTask.deserializePosition(dis);
+		requestedDockPosition = deserializePosition(dis);
 	}
 
 	public ShortPoint2D getRequestedDockPosition() {
@@ -69,7 +69,7 @@ public class SetMaterialDistributionSettingsGuiTask extends SimpleGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, managerPosition);
+		serializePosition(dos, managerPosition);
 		dos.writeByte(materialType.ordinal);
 		dos.writeByte(buildingType.ordinal);
 		dos.writeFloat(ratio);
@@ -78,7 +78,7 @@ public class SetMaterialDistributionSettingsGuiTask extends SimpleGuiTask {
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		managerPosition = SimpleGuiTask.deserializePosition(dis);
+		managerPosition = deserializePosition(dis);
 		materialType = EMaterialType.VALUES[dis.readByte()];
 		buildingType = EBuildingType.VALUES[dis.readByte()];
 		ratio = dis.readFloat();
@@ -70,7 +70,7 @@ public class SetMaterialPrioritiesGuiTask extends SimpleGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, managerPosition);
+		serializePosition(dos, managerPosition);
 
 		dos.writeInt(materialTypeForPriority.length);
 		for (int i = 0; i < materialTypeForPriority.length; i++) {
@@ -81,7 +81,7 @@ public class SetMaterialPrioritiesGuiTask extends SimpleGuiTask {
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		managerPosition = SimpleGuiTask.deserializePosition(dis);
+		managerPosition = deserializePosition(dis);
 
 		int length = dis.readInt();
 		materialTypeForPriority = new EMaterialType[length];
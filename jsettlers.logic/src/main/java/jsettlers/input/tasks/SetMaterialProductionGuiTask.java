@@ -62,7 +62,7 @@ public class SetMaterialProductionGuiTask extends SimpleGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, position);
+		serializePosition(dos, position);
 		dos.writeInt(materialType.ordinal());
 		dos.writeInt(productionType.ordinal());
 		dos.writeFloat(ratio);
@@ -71,7 +71,7 @@ public class SetMaterialProductionGuiTask extends SimpleGuiTask {
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		position = SimpleGuiTask.deserializePosition(dis);
+		position = deserializePosition(dis);
 		materialType = EMaterialType.VALUES[dis.readInt()];
 		productionType = SetMaterialProductionAction.EMaterialProductionType.VALUES[dis.readInt()];
 		ratio = dis.readFloat();
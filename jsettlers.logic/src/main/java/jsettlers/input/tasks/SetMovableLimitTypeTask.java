@@ -40,7 +40,7 @@ public class SetMovableLimitTypeTask extends SimpleGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, position);
+		serializePosition(dos, position);
 		dos.writeInt(movableType.ordinal());
 		dos.writeBoolean(relative);
 	}
@@ -48,7 +48,7 @@ public class SetMovableLimitTypeTask extends SimpleGuiTask {
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		position = SimpleGuiTask.deserializePosition(dis);
+		position = deserializePosition(dis);
 		movableType = EMovableType.VALUES[dis.readInt()];
 		relative = dis.readBoolean();
 	}
@@ -27,6 +27,10 @@ import jsettlers.network.client.task.packets.TaskPacket;
  * 
  */
 public class SimpleGuiTask extends TaskPacket {
+	static {
+		EGuiTaskType.registerAll();
+	}
+
 	private EGuiAction guiAction;
 	private byte playerId;
 
@@ -48,13 +52,13 @@ public class SimpleGuiTask extends TaskPacket {
 
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
-		dos.writeInt(guiAction.ordinal());
+		writeCompactInt(dos, guiAction.ordinal());
 		dos.writeByte(playerId);
 	}
 
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
-		guiAction = EGuiAction.VALUES[dis.readInt()];
+		guiAction = EGuiAction.VALUES[readCompactInt(dis)];
 		playerId = dis.readByte();
 	}
 
@@ -81,13 +85,15 @@ public class SimpleGuiTask extends TaskPacket {
 		return playerId == other.playerId;
 	}
 
-	public static void serializePosition(DataOutputStream dos, ShortPoint2D position) throws IOException {
-		dos.writeShort(position.x);
-		dos.writeShort(position.y);
+	protected void serializePosition(DataOutputStream dos, ShortPoint2D position) throws IOException {
+		writeCoordinate(dos, position.x);
+		writeCoordinate(dos, position.y);
 	}
 
-	public static ShortPoint2D deserializePosition(DataInputStream dis) throws IOException {
-		return new ShortPoint2D(dis.readShort(), dis.readShort());
+	protected ShortPoint2D deserializePosition(DataInputStream dis) throws IOException {
+		short x = readCoordinate(dis);
+		short y = readCoordinate(dis);
+		return new ShortPoint2D(x, y);
 	}
 
 	@Override
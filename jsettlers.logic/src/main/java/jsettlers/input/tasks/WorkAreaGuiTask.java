@@ -50,13 +50,13 @@ public class WorkAreaGuiTask extends SimpleBuildingGuiTask {
 	@Override
 	protected void serializeTask(DataOutputStream dos) throws IOException {
 		super.serializeTask(dos);
-		SimpleGuiTask.serializePosition(dos, workAreaPosition);
+		serializePosition(dos, workAreaPosition);
 	}
 
 	@Override
 	protected void deserializeTask(DataInputStream dis) throws IOException {
 		super.deserializeTask(dis);
-		workAreaPosition = SimpleGuiTask.deserializePosition(dis);
+		workAreaPosition = deserializePosition(dis);
 	}
 
 	@Override
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic;
+
+import java.util.HashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import jsettlers.algorithms.fogofwar.FogOfWar;
+import jsettlers.logic.buildings.Building;
+import jsettlers.logic.constants.ExtendedRandom;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.network.client.interfaces.IGameClock;
+
+/**
+ * Owns the state of a single match: clock, random number generators, timer, movables, buildings, fog of war and state hash.
+ * <p />
+ * The logic accesses this state through static methods like {@link jsettlers.logic.constants.MatchConstants#clock()} or {@link jsettlers.logic.movable.MovableManager}. They
+ * delegate to the context bound to the current thread, so that several matches can run in one process. A context is inherited by all threads started from a thread it's bound to.
+ * Threads that are not started by a match, like the game clock's thread or thread pools, have to {@link #bind()} the context themselves. Threads without a bound context, e.g. the UI
+ * thread, use the {@link #getDefault() default context}.
+ */
+public final class GameContext {
+	private static final InheritableThreadLocal<GameContext> boundContext   = new InheritableThreadLocal<>();
+	private static volatile GameContext                       defaultContext = new GameContext();
+
+	private IGameClock     clock;
+	private ExtendedRandom random;
+	private ExtendedRandom aiRandom;
+
+	private RescheduleTimer rescheduleTimer;
+
+	private final HashMap<Integer, ILogicMovable>       movablesByID     = new HashMap<>();
+	private final ConcurrentLinkedQueue<ILogicMovable> allMovables      = new ConcurrentLinkedQueue<>();
+	private int                                         nextMovableID    = Integer.MIN_VALUE;
+	private byte                                        movablesFowTeam  = -1;
+	private final Queue<Building>                       allBuildings     = new ConcurrentLinkedQueue<>();
+	private byte                                        buildingsFowTeam = -1;
+
+	private FogOfWar fogOfWar;
+
+	private final StateHash stateHash = new StateHash();
+
+	private volatile String lastSavegameId;
+
+	/**
+	 * @return the context bound to the current thread or the {@link #getDefault() default context}.
+	 */
+	public static GameContext current() {
+		GameContext context = boundContext.get();
+		return context != null ? context : defaultContext;
+	}
+
+	/**
+	 * @return the context used by threads without a bound context. This is the context of the last match that called {@link #makeDefault()}.
+	 */
+	public static GameContext getDefault() {
+		return defaultContext;
+	}
+
+	/**
+	 * Binds this context to the current thread and all threads started by it.
+	 *
+	 * @return the context bound to the current thread before, null if there was none.
+	 */
+	public GameContext bind() {
+		GameContext previous = boundContext.get();
+		boundContext.set(this);
+		return previous;
+	}
+
+	/**
+	 * Restores the binding of the current thread returned by {@link #bind()}.
+	 */
+	public static void restore(GameContext previous) {
+		if (previous != null) {
+			boundContext.set(previous);
+		} else {
+			boundContext.remove();
+		}
+	}
+
+	/**
+	 * Makes this context the one used by threads without a bound context.
+	 */
+	public void makeDefault() {
+		defaultContext = this;
+	}
+
+	public IGameClock getClock() {
+		return clock;
+	}
+
+	public void setClock(IGameClock clock) {
+		this.clock = clock;
+	}
+
+	public ExtendedRandom getRandom() {
+		return random;
+	}
+
+	public void setRandom(ExtendedRandom random) {
+		this.random = random;
+	}
+
+	public ExtendedRandom getAiRandom() {
+		return aiRandom;
+	}
+
+	public void setAiRandom(ExtendedRandom aiRandom) {
+		this.aiRandom = aiRandom;
+	}
+
+	public RescheduleTimer getRescheduleTimer() {
+		return rescheduleTimer;
+	}
+
+	public void setRescheduleTimer(RescheduleTimer rescheduleTimer) {
+		this.rescheduleTimer = rescheduleTimer;
+	}
+
+	public HashMap<Integer, ILogicMovable> getMovablesByID() {
+		return movablesByID;
+	}
+
+	public ConcurrentLinkedQueue<ILogicMovable> getAllMovables() {
+		return allMovables;
+	}
+
+	public int getNextMovableID() {
+		return nextMovableID;
+	}
+
+	public void setNextMovableID(int nextMovableID) {
+		this.nextMovableID = nextMovableID;
+	}
+
+	public byte getMovablesFowTeam() {
+		return movablesFowTeam;
+	}
+
+	public void setMovablesFowTeam(byte movablesFowTeam) {
+		this.movablesFowTeam = movablesFowTeam;
+	}
+
+	public Queue<Building> getAllBuildings() {
+		return allBuildings;
+	}
+
+	public byte getBuildingsFowTeam() {
+		return buildingsFowTeam;
+	}
+
+	public void setBuildingsFowTeam(byte buildingsFowTeam) {
+		this.buildingsFowTeam = buildingsFowTeam;
+	}
+
+	public FogOfWar getFogOfWar() {
+		return fogOfWar;
+	}
+
+	public void setFogOfWar(FogOfWar fogOfWar) {
+		this.fogOfWar = fogOfWar;
+	}
+
+	public StateHash getStateHash() {
+		return stateHash;
+	}
+
+	/**
+	 * @return the hash of the synchronized state of this match including its random, see {@link StateHash}.
+	 */
+	public long computeStateHash() {
+		return stateHash.getHash(random);
+	}
+
+	/**
+	 * @return the map id of the last savegame created by this match, null if it has not been saved yet.
+	 */
+	public String getLastSavegameId() {
+		return lastSavegameId;
+	}
+
+	public void setLastSavegameId(String lastSavegameId) {
+		this.lastSavegameId = lastSavegameId;
+	}
+}
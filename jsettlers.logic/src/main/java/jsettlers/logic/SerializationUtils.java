@@ -1,14 +1,19 @@
 package jsettlers.logic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
 public class SerializationUtils {
+	private static final int MAX_RUN_LENGTH = 128;
+	private static final int MIN_RUN_LENGTH = 3;
 
 	public static <T> void writeSparseArray(ObjectOutputStream oos, T[] data) throws IOException {
 		oos.writeInt(data.length);
@@ -44,4 +49,134 @@ public class SerializationUtils {
 		}
 		return data;
 	}
+
+	/**
+	 * Writes the given array with a PackBits like run length encoding: A control byte from 0 to 127 is followed by 1 to 128 literal values, a control byte from -1 to -127 is followed by
+	 * a single value that's repeated 2 to 128 times. The encoded data is prefixed with its length in bytes, the length of the array is not written.
+	 */
+	public static void writeRunLengthEncoded(DataOutput out, byte[] data) throws IOException {
+		byte[] encoded = new byte[data.length + data.length / MAX_RUN_LENGTH + 1];
+		int length = 0;
+
+		int index = 0;
+		while (index < data.length) {
+			int runLength = getRunLength(data, index);
+
+			if (runLength >= MIN_RUN_LENGTH) {
+				encoded[length++] = (byte) (1 - runLength);
+				encoded[length++] = data[index];
+				index += runLength;
+			} else {
+				int literalEnd = index + 1;
+				while (literalEnd < data.length && literalEnd - index < MAX_RUN_LENGTH && !isRun(data, literalEnd)) {
+					literalEnd++;
+				}
+				encoded[length++] = (byte) (literalEnd - index - 1);
+				System.arraycopy(data, index, encoded, length, literalEnd - index);
+				length += literalEnd - index;
+				index = literalEnd;
+			}
+		}
+
+		out.writeInt(length);
+		out.write(encoded, 0, length);
+	}
+
+	public static void readRunLengthEncoded(DataInput in, byte[] data) throws IOException {
+		byte[] encoded = new byte[in.readInt()];
+		in.readFully(encoded);
+
+		int position = 0;
+		int index = 0;
+		while (index < data.length) {
+			int control = encoded[position++];
+			if (control >= 0) {
+				System.arraycopy(encoded, position, data, index, control + 1);
+				position += control + 1;
+				index += control + 1;
+			} else {
+				int runLength = 1 - control;
+				Arrays.fill(data, index, index + runLength, encoded[position++]);
+				index += runLength;
+			}
+		}
+	}
+
+	/**
+	 * Writes the given array with the run length encoding of {@link #writeRunLengthEncoded(DataOutput, byte[])}. Values are stored big endian.
+	 */
+	public static void writeRunLengthEncoded(DataOutput out, short[] data) throws IOException {
+		byte[] encoded = new byte[2 * data.length + data.length / MAX_RUN_LENGTH + 1];
+		int length = 0;
+
+		int index = 0;
+		while (index < data.length) {
+			int runLength = getRunLength(data, index);
+
+			if (runLength >= MIN_RUN_LENGTH) {
+				encoded[length++] = (byte) (1 - runLength);
+				encoded[length++] = (byte) (data[index] >> 8);
+				encoded[length++] = (byte) data[index];
+				index += runLength;
+			} else {
+				int literalEnd = index + 1;
+				while (literalEnd < data.length && literalEnd - index < MAX_RUN_LENGTH && !isRun(data, literalEnd)) {
+					literalEnd++;
+				}
+				encoded[length++] = (byte) (literalEnd - index - 1);
+				for (; index < literalEnd; index++) {
+					encoded[length++] = (byte) (data[index] >> 8);
+					encoded[length++] = (byte) data[index];
+				}
+			}
+		}
+
+		out.writeInt(length);
+		out.write(encoded, 0, length);
+	}
+
+	public static void readRunLengthEncoded(DataInput in, short[] data) throws IOException {
+		byte[] encoded = new byte[in.readInt()];
+		in.readFully(encoded);
+
+		int position = 0;
+		int index = 0;
+		while (index < data.length) {
+			int control = encoded[position++];
+			if (control >= 0) {
+				for (int end = index + control + 1; index < end; index++, position += 2) {
+					data[index] = (short) (encoded[position] << 8 | encoded[position + 1] & 0xFF);
+				}
+			} else {
+				int runLength = 1 - control;
+				Arrays.fill(data, index, index + runLength, (short) (encoded[position] << 8 | encoded[position + 1] & 0xFF));
+				position += 2;
+				index += runLength;
+			}
+		}
+	}
+
+	private static int getRunLength(byte[] data, int index) {
+		int runLength = 1;
+		while (index + runLength < data.length && runLength < MAX_RUN_LENGTH && data[index + runLength] == data[index]) {
+			runLength++;
+		}
+		return runLength;
+	}
+
+	private static int getRunLength(short[] data, int index) {
+		int runLength = 1;
+		while (index + runLength < data.length && runLength < MAX_RUN_LENGTH && data[index + runLength] == data[index]) {
+			runLength++;
+		}
+		return runLength;
+	}
+
+	private static boolean isRun(byte[] data, int index) {
+		return index + MIN_RUN_LENGTH <= data.length && data[index] == data[index + 1] && data[index] == data[index + 2];
+	}
+
+	private static boolean isRun(short[] data, int index) {
+		return index + MIN_RUN_LENGTH <= data.length && data[index] == data[index + 1] && data[index] == data[index + 2];
+	}
 }
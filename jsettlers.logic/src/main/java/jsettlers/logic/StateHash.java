@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic;
+
+import jsettlers.logic.constants.ExtendedRandom;
+
+/**
+ * Rolling 64-bit hash of the synchronized state of a match, used to detect desyncs between the peers of a multiplayer game.
+ * <p />
+ * Every position (or position and material) contributes a pseudo random key derived from its current value. The hash is the xor of all keys, so the grids only report the old and
+ * the new value when they change one and no scan of the map is ever needed. The hash only depends on the state at the start of the match (or when it was loaded) and the current
+ * state, not on the order of the changes.
+ * <p />
+ * The hash is updated by the game thread only.
+ */
+public final class StateHash {
+	/**
+	 * Value to be passed to {@link #movableChanged(int, long, long)} for a position without movable. It can't collide with an id, as ids are ints.
+	 */
+	public static final long NO_MOVABLE = Long.MIN_VALUE;
+
+	private static final int LANDSCAPE = 1;
+	private static final int HEIGHT    = 2;
+	private static final int OWNER     = 3;
+	private static final int MOVABLE   = 4;
+	private static final int STACK     = 5;
+	private static final int RANDOM    = 6;
+
+	private long hash;
+
+	public void landscapeChanged(int index, int oldLandscape, int newLandscape) {
+		update(LANDSCAPE, index, oldLandscape, newLandscape);
+	}
+
+	public void heightChanged(int index, int oldHeight, int newHeight) {
+		update(HEIGHT, index, oldHeight, newHeight);
+	}
+
+	public void ownerChanged(int index, int oldPlayerId, int newPlayerId) {
+		update(OWNER, index, oldPlayerId, newPlayerId);
+	}
+
+	/**
+	 * @param oldMovableId
+	 *            id of the movable that stood on the position before, {@link #NO_MOVABLE} if there was none.
+	 * @param newMovableId
+	 *            id of the movable that stands on the position now, {@link #NO_MOVABLE} if there is none.
+	 */
+	public void movableChanged(int index, long oldMovableId, long newMovableId) {
+		update(MOVABLE, index, oldMovableId, newMovableId);
+	}
+
+	public void stackChanged(int index, int material, int oldSize, int newSize) {
+		update(STACK, index, ((long) material << 32) | oldSize, ((long) material << 32) | newSize);
+	}
+
+	private void update(int component, int index, long oldValue, long newValue) {
+		if (oldValue != newValue) {
+			long key = mix(((long) component << 56) ^ index);
+			hash ^= mix(key + oldValue) ^ mix(key + newValue);
+		}
+	}
+
+	/**
+	 * @param random
+	 *            the synchronized random of the match; the number of values drawn from it is folded into the hash. May be null.
+	 * @return the current hash.
+	 */
+	public long getHash(ExtendedRandom random) {
+		if (random == null) {
+			return hash;
+		}
+		return hash ^ mix(mix((long) RANDOM << 56) + random.getDrawCount());
+	}
+
+	public void reset() {
+		hash = 0;
+	}
+
+	/**
+	 * Finalizer of the SplitMix64 generator. It maps every input to a different, well distributed output.
+	 */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+		return value ^ (value >>> 31);
+	}
+}
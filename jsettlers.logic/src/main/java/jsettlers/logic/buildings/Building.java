@@ -23,7 +23,6 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.common.buildings.BuildingVariant;
@@ -41,6 +40,7 @@ import jsettlers.common.player.IPlayerable;
 import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.selectable.ESelectionType;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.buildings.military.Barrack;
 import jsettlers.logic.buildings.military.occupying.OccupyingBuilding;
 import jsettlers.logic.buildings.others.DefaultBuilding;
@@ -85,8 +85,6 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	private static final EPriority[] SUPPORTED_PRIORITIES_FOR_CONSTRUCTION = new EPriority[] { EPriority.LOW, EPriority.HIGH, EPriority.STOPPED };
 	private static final EPriority[] SUPPORTED_PRIORITIES_FOR_NON_WORKERS = new EPriority[0];
 
-	private static final Queue<Building> allBuildings = new ConcurrentLinkedQueue<>();
-	private static byte fowTeam = -1;
 	private boolean occupied;
 	private transient boolean fow = false;
 
@@ -112,7 +110,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		this.grid = buildingsGrid;
 		setPlayer(player);
 
-		allBuildings.add(this);
+		GameContext.current().getAllBuildings().add(this);
 		setState(EBuildingState.CREATED);
 	}
 
@@ -145,9 +143,10 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	}
 
 	public static void initFow(byte fow) {
-		fowTeam = fow;
-		for(Building building : allBuildings) {
-			if((building.getPlayer().getTeamId() == fowTeam || MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) && !building.fow) {
+		GameContext context = GameContext.current();
+		context.setBuildingsFowTeam(fow);
+		for(Building building : context.getAllBuildings()) {
+			if((building.getPlayer().getTeamId() == fow || MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) && !building.fow) {
 				building.fow = true;
 				building.queueNewViewDistance((short)0, building.getVD());
 			}
@@ -156,12 +155,13 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		Queue<Building> allBuildings = GameContext.current().getAllBuildings();
 		allBuildings.clear();
 		allBuildings.addAll((Collection<? extends Building>) ois.readObject());
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
-		oos.writeObject(allBuildings);
+		oos.writeObject(GameContext.current().getAllBuildings());
 	}
 
 	@Override
@@ -385,6 +385,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	}
 
 	public void setPlayer(Player newPlayer) {
+		byte fowTeam = GameContext.current().getBuildingsFowTeam();
 		boolean newFow = newPlayer.getTeamId() == fowTeam || (fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR);
 
 		if(fow && !newFow) {
@@ -520,7 +521,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		}
 
 		releaseRequestStacks();
-		allBuildings.remove(this);
+		GameContext.current().getAllBuildings().remove(this);
 		setState(EBuildingState.DESTROYED);
 		this.selected = false;
 	}
@@ -628,12 +629,13 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	}
 
 	public static Queue<Building> getAllBuildings() {
-		return allBuildings;
+		return GameContext.current().getAllBuildings();
 	}
 
 	public static void clearState() {
-		allBuildings.clear();
-		fowTeam = -1;
+		GameContext context = GameContext.current();
+		context.getAllBuildings().clear();
+		context.setBuildingsFowTeam((byte) -1);
 	}
 
 	public final short getVD() {
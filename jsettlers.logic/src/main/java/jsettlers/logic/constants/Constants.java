@@ -28,6 +28,17 @@ public final class Constants {
 
 	public static boolean FOG_OF_WAR_DEFAULT_ENABLED = true;
 
+	/**
+	 * If true, the read-only preparation of {@link jsettlers.logic.timer.IPreparableTimerable}s is done in parallel before a time slot is executed.
+	 */
+	public static boolean PARALLEL_TIMERABLE_PREPARATION = false;
+
+	/**
+	 * If true, the paths requested with {@link jsettlers.logic.movable.interfaces.AbstractMovableGrid#requestPath} are calculated on worker threads. The paths and their
+	 * delivery times are the same either way.
+	 */
+	public static boolean PARALLEL_PATH_REQUESTS = true;
+
 	public static final float COMBAT_STRENGTH_OWN_GROUND = 1;
 
 	/**
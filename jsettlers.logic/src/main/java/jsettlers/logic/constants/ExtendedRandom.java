@@ -25,10 +25,26 @@ import java.util.Random;
 public class ExtendedRandom extends Random {
 	private static final long serialVersionUID = -2814532519838158362L;
 
+	private transient long drawCount;
+
 	public ExtendedRandom(long seed) {
 		super(seed);
 	}
 
+	@Override
+	protected int next(int bits) {
+		drawCount++;
+		return super.next(bits);
+	}
+
+	/**
+	 * @return the number of values drawn from this random since it has been created or loaded. Used for desync detection, as peers that draw a different number of values
+	 *         diverge.
+	 */
+	public long getDrawCount() {
+		return drawCount;
+	}
+
 	/**
 	 * Returns a random number in the interval [min, max].
 	 * 
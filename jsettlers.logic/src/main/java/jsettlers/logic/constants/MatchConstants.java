@@ -18,6 +18,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 
+import jsettlers.logic.GameContext;
+import jsettlers.logic.StateHash;
 import jsettlers.logic.movable.civilian.BuildingWorkerMovable;
 import jsettlers.network.client.interfaces.IGameClock;
 
@@ -51,50 +53,55 @@ public final class MatchConstants {
 	private MatchConstants() {
 	}
 
-	private static IGameClock clock;
-	private static ExtendedRandom gameRandom;
-	private static ExtendedRandom aiRandom;
-
 	public static void init(IGameClock clock, long randomSeed) {
 		clearState();
-		MatchConstants.clock = clock;
-		MatchConstants.gameRandom = new ExtendedRandom(randomSeed);
-		MatchConstants.aiRandom = new ExtendedRandom(randomSeed);
+		GameContext context = GameContext.current();
+		context.setClock(clock);
+		context.setRandom(new ExtendedRandom(randomSeed));
+		context.setAiRandom(new ExtendedRandom(randomSeed));
+		context.getStateHash().reset();
 
 		BuildingWorkerMovable.resetProductionFile();
 	}
 
 	public static void clearState() {
-		if (clock != null) {
-			clock.stopExecution();
+		GameContext context = GameContext.current();
+		if (context.getClock() != null) {
+			context.getClock().stopExecution();
 		}
-		clock = null;
-		gameRandom = null;
-		aiRandom = null;
+		context.setClock(null);
+		context.setRandom(null);
+		context.setAiRandom(null);
 	}
 
 	public static IGameClock clock() {
-		return clock;
+		return GameContext.current().getClock();
 	}
 
 	public static ExtendedRandom random() {
-		return gameRandom;
+		return GameContext.current().getRandom();
 	}
 
 	public static ExtendedRandom aiRandom() {
-		return aiRandom;
+		return GameContext.current().getAiRandom();
+	}
+
+	public static StateHash stateHash() {
+		return GameContext.current().getStateHash();
 	}
 
 	public static void serialize(ObjectOutputStream oos) throws IOException {
-		oos.writeInt(clock.getTime());
-		oos.writeObject(gameRandom);
-		oos.writeObject(aiRandom);
+		GameContext context = GameContext.current();
+		oos.writeInt(context.getClock().getTime());
+		oos.writeObject(context.getRandom());
+		oos.writeObject(context.getAiRandom());
 	}
 
 	public static void deserialize(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		clock.setTime(ois.readInt());
-		gameRandom = (ExtendedRandom) ois.readObject();
-		aiRandom = (ExtendedRandom) ois.readObject();
+		GameContext context = GameContext.current();
+		context.getClock().setTime(ois.readInt());
+		context.setRandom((ExtendedRandom) ois.readObject());
+		context.setAiRandom((ExtendedRandom) ois.readObject());
 	}
 
 }
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+/**
+ * An implementor of this interface can be informed by a grid when the data it stores for a position changed.
+ */
+@FunctionalInterface
+public interface IPositionChangedListener {
+	/**
+	 * This method is called after the data of a position changed.
+	 * 
+	 * @param x
+	 *            x coordinate of the position.
+	 * @param y
+	 *            y coordinate of the position.
+	 */
+	void positionChangedAt(int x, int y);
+
+	/**
+	 * Combines two listeners. Both of them will be informed in the given order.
+	 * 
+	 * @param first
+	 *            The first listener or null.
+	 * @param second
+	 *            The second listener.
+	 * @return A listener informing both given listeners.
+	 */
+	static IPositionChangedListener combine(IPositionChangedListener first, IPositionChangedListener second) {
+		if (first == null) {
+			return second;
+		}
+		return (x, y) -> {
+			first.positionChangedAt(x, y);
+			second.positionChangedAt(x, y);
+		};
+	}
+}
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.util.BitSet;
 import java.util.Date;
 import java.util.Locale;
+import java.util.List;
 import java.util.Set;
 
 import java.util.Optional;
@@ -29,15 +30,19 @@ import jsettlers.algorithms.construction.AbstractConstructionMarkableMap;
 import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.algorithms.landmarks.EnclosedBlockedAreaFinderAlgorithm;
 import jsettlers.algorithms.landmarks.IEnclosedBlockedAreaFinderGrid;
+import jsettlers.algorithms.partitions.WalkableComponents;
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.path.area.IInAreaFinderMap;
 import jsettlers.algorithms.path.area.InAreaFinder;
-import jsettlers.algorithms.path.astar.AbstractAStar;
-import jsettlers.algorithms.path.astar.BucketQueueAStar;
 import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.async.AsyncPathfinder;
+import jsettlers.algorithms.path.async.IAsyncPathfinderGrid;
+import jsettlers.algorithms.path.async.PathRequest;
+import jsettlers.algorithms.path.astar.hierarchical.HierarchicalAStar;
 import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
 import jsettlers.algorithms.path.dijkstra.IDijkstraPathMap;
+import jsettlers.algorithms.path.flowfield.FlowFieldCache;
 import jsettlers.algorithms.previewimage.PreviewImageCreator;
 import jsettlers.algorithms.traversing.area.IAreaVisitor;
 import jsettlers.common.Color;
@@ -80,6 +85,7 @@ import jsettlers.input.IGuiInputGrid;
 import jsettlers.input.PlayerState;
 import jsettlers.logic.DockPosition;
 import jsettlers.logic.FerryEntrance;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.IBuildingsGrid;
 import jsettlers.logic.buildings.military.occupying.IOccupyableBuilding;
@@ -123,6 +129,7 @@ import jsettlers.logic.map.loading.data.objects.StoneMapDataObject;
 import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
+import jsettlers.logic.map.loading.savegame.SavegameSnapshot;
 import jsettlers.logic.movable.Movable;
 import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
 import jsettlers.logic.movable.interfaces.IAttackable;
@@ -134,6 +141,7 @@ import jsettlers.logic.objects.arrow.ArrowObject;
 import jsettlers.logic.objects.stack.StackMapObject;
 import jsettlers.logic.player.Player;
 import jsettlers.logic.player.PlayerSetting;
+import jsettlers.network.NetworkConstants;
 
 /**
  * This is the main grid offering an interface for interacting with the grid.
@@ -355,23 +363,29 @@ public final class MainGrid implements Serializable {
 		}
 	}
 
-	public void save(Byte playerId, UIState uiState) throws IOException {
+	public void save(Byte playerId, UIState uiState) throws IOException, InterruptedException {
 		boolean savedPausingState = MatchConstants.clock().isPausing();
 		MatchConstants.clock().setPausing(true);
-		try {
-			Thread.sleep(300L); // FIXME @Andreas serializer should wait until threads did their work!
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
+		bordersThread.awaitIdle(); // the borders are saved with the flags grid
 
 		PlayerState[] playerStates = calculatePlayerStates(playerId, uiState);
 		MapFileHeader header = generateSaveHeader(playerId);
 		MapList list = MapList.getDefaultList();
 		list.saveMap(playerStates, header, MainGrid.this);
+		GameContext.current().setLastSavegameId(header.getUniqueId());
 
 		MatchConstants.clock().setPausing(savedPausingState);
 	}
 
+	/**
+	 * Captures the game like {@link #save(Byte, UIState)} does, but returns the snapshot instead of passing it to the {@link MapList}. Must be
+	 * called on the game thread between two time slices.
+	 */
+	public SavegameSnapshot captureSnapshot(Byte playerId, UIState uiState) throws IOException, InterruptedException {
+		bordersThread.awaitIdle(); // the borders are saved with the flags grid
+		return SavegameSnapshot.capture(generateSaveHeader(playerId), calculatePlayerStates(playerId, uiState), this);
+	}
+
 	private PlayerState[] calculatePlayerStates(Byte playerId, UIState uiState) {
 		byte numberOfPlayers = partitionsGrid.getNumberOfPlayers();
 		PlayerState[] playerStates = new PlayerState[numberOfPlayers];
@@ -464,6 +478,17 @@ public final class MainGrid implements Serializable {
 		return x >= 0 && x < width && y >= 0 && y < height;
 	}
 
+	/**
+	 * Positions of land movables that are not blocked are compared with the {@link WalkableComponents}, so that no path search is needed to find out that they are not connected.
+	 * Ships and blocked positions, e.g. the door of a building, use the partitions of the landscape.
+	 */
+	private boolean isReachable(int x1, int y1, int x2, int y2, boolean ship) {
+		if (!ship && !flagsGrid.isBlocked(x1, y1) && !flagsGrid.isBlocked(x2, y2)) {
+			return movablePathfinderGrid.walkableComponents.isConnected(x1, y1, x2, y2);
+		}
+		return landscapeGrid.isReachable(x1, y1, x2, y2, ship);
+	}
+
 	/**
 	 * Creates a new building at the given position.
 	 *
@@ -813,7 +838,30 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public boolean isReachable(int x1, int y1, int x2, int y2, boolean ship) {
-			return landscapeGrid.isReachable(x1, y1, x2, y2, ship);
+			return MainGrid.this.isReachable(x1, y1, x2, y2, ship);
+		}
+	}
+
+	final class AsyncPathfinderGrid implements IAsyncPathfinderGrid {
+
+		@Override
+		public boolean isBlocked(int x, int y) {
+			return flagsGrid.isBlocked(x, y);
+		}
+
+		@Override
+		public byte getPlayerIdAt(int x, int y) {
+			return partitionsGrid.getPlayerIdAt(x, y);
+		}
+
+		@Override
+		public boolean hasNoMovableAt(int x, int y) {
+			return movableGrid.hasNoMovableAt(x, y);
+		}
+
+		@Override
+		public boolean isReachable(int x1, int y1, int x2, int y2) {
+			return MainGrid.this.isReachable(x1, y1, x2, y2, false);
 		}
 	}
 
@@ -842,7 +890,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final IMapObject getVisibleMapObjectsAt(int x, int y) {
-			if(fogOfWar.isHidden(x, y)) return fogOfWar.hiddenMapObjects[x][y];
+			if(fogOfWar.isHidden(x, y)) return fogOfWar.getHiddenMapObjectsAt(x, y);
 			return objectsGrid.getObjectsAt(x, y);
 		}
 
@@ -852,7 +900,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final byte getVisibleHeightAt(int x, int y) {
-			if(fogOfWar.isHidden(x, y)) return fogOfWar.hiddenHeight[x][y];
+			if(fogOfWar.isHidden(x, y)) return fogOfWar.getHiddenHeightAt(x, y);
 			return landscapeGrid.getHeightAt(x, y);
 		}
 
@@ -931,7 +979,7 @@ public final class MainGrid implements Serializable {
 		}
 
 		@Override
-		public byte[][] getVisibleStatusArray() {
+		public byte[] getVisibleStatusArray() {
 			return fogOfWar.getVisibleStatusArray();
 		}
 
@@ -987,9 +1035,17 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
+			if (mapObject != null && mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+				movableGrid.attackableChangedAt(x, y, ((IAttackable) mapObject).getPlayer().getTeamId());
+			}
 			return objectsGrid.removeMapObject(x, y, mapObject);
 		}
 
+		@Override
+		public final void mapObjectChangedAt(int x, int y) {
+			objectsGrid.mapObjectChangedAt(x, y);
+		}
+
 		@Override
 		public final AbstractHexMapObject getMapObject(int x, int y, EMapObjectType mapObjectType) {
 			return objectsGrid.getMapObjectAt(x, y, mapObjectType);
@@ -997,6 +1053,9 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final void addMapObject(int x, int y, AbstractHexMapObject mapObject) {
+			if (mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+				movableGrid.attackableChangedAt(x, y, ((IAttackable) mapObject).getPlayer().getTeamId());
+			}
 			objectsGrid.addMapObjectAt(x, y, mapObject);
 		}
 
@@ -1223,10 +1282,13 @@ public final class MainGrid implements Serializable {
 	final class MovablePathfinderGrid extends AbstractMovableGrid {
 		private static final long serialVersionUID = 4006228724969442801L;
 
-		private transient PathfinderGrid    pathfinderGrid;
-		private transient AbstractAStar     aStar;
-		transient         DijkstraAlgorithm dijkstra; // not private, because it's used by BuildingsGrid
-		private transient InAreaFinder      inAreaFinder;
+		private transient PathfinderGrid     pathfinderGrid;
+		private transient HierarchicalAStar  aStar;
+		transient         DijkstraAlgorithm  dijkstra; // not private, because it's used by BuildingsGrid
+		private transient InAreaFinder       inAreaFinder;
+		private           FlowFieldCache     flowFields; // part of the game state, because the paths of group members depend on it
+		private transient WalkableComponents walkableComponents;
+		private transient AsyncPathfinder    asyncPathfinder;
 
 		public MovablePathfinderGrid() {
 			initPathfinders();
@@ -1234,8 +1296,19 @@ public final class MainGrid implements Serializable {
 
 		private void initPathfinders() {
 			pathfinderGrid = new PathfinderGrid();
-
-			aStar = new BucketQueueAStar(pathfinderGrid, width, height);
+			if (flowFields == null) {
+				flowFields = new FlowFieldCache(width, height);
+			}
+
+			aStar = new HierarchicalAStar(pathfinderGrid, flagsGrid, width, height);
+			walkableComponents = new WalkableComponents(flagsGrid, width, height);
+			asyncPathfinder = new AsyncPathfinder(new AsyncPathfinderGrid(), width, height, NetworkConstants.Client.LOCKSTEP_PERIOD);
+			flagsGrid.setBlockedChangedListener((x, y, blocked) -> {
+				aStar.blockingChanged(x, y);
+				walkableComponents.blockingChanged(x, y);
+				flowFields.blockingChanged(x, y);
+				asyncPathfinder.positionChanged(x, y);
+			});
 			dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, width, height);
 			inAreaFinder = new InAreaFinder(pathfinderGrid, width, height);
 		}
@@ -1450,17 +1523,29 @@ public final class MainGrid implements Serializable {
 		@Override
 		public void leavePosition(ShortPoint2D position, ILogicMovable movable) {
 			movableGrid.movableLeft(position, movable);
+			attackableTowerDoorChangedAt(position);
 		}
 
 		@Override
 		public void enterPosition(ShortPoint2D position, ILogicMovable movable, boolean informFullArea) {
 			movableGrid.movableEntered(position, movable);
+			attackableTowerDoorChangedAt(position);
 
 			if(movable instanceof IAttackableMovable) {
 				notifyAttackers(position, (IAttackableMovable)movable, informFullArea);
 			}
 		}
 
+		/**
+		 * A movable standing on the door of a tower hides the tower from enemy searches.
+		 */
+		private void attackableTowerDoorChangedAt(ShortPoint2D position) {
+			IAttackable tower = (IAttackable) objectsGrid.getMapObjectAt(position.x, position.y, EMapObjectType.ATTACKABLE_TOWER);
+			if (tower != null) {
+				movableGrid.attackableChangedAt(position.x, position.y, tower.getPlayer().getTeamId());
+			}
+		}
+
 		public void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea) {
 			if (movable.isAttackable()) {
 				movableGrid.informMovables(movable, position.x, position.y, informFullArea);
@@ -1470,7 +1555,26 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public Path calculatePathTo(IPathCalculatable pathRequester, ShortPoint2D targetPos) {
-			return aStar.findPath(pathRequester, targetPos);
+			Path path = flowFields.findPath(pathRequester, targetPos, aStar);
+			return path != null ? path : aStar.findPath(pathRequester, targetPos);
+		}
+
+		@Override
+		public PathRequest requestPath(IPathCalculatable pathRequester, ShortPoint2D targetPos) {
+			int time = MatchConstants.clock().getTime();
+			if (pathRequester.isShip()) {
+				return asyncPathfinder.deliver(pathRequester, targetPos, aStar.findPath(pathRequester, targetPos), time);
+			}
+
+			Path path = flowFields.findPath(pathRequester, targetPos, aStar);
+			if (path != null) {
+				return asyncPathfinder.deliver(pathRequester, targetPos, path, time);
+			}
+			return asyncPathfinder.request(pathRequester, targetPos, time);
+		}
+
+		void addGroupMoveOrder(ShortPoint2D center, List<? extends IPathCalculatable> members) {
+			flowFields.addGroup(flagsGrid, center, members);
 		}
 
 		@Override
@@ -1478,6 +1582,11 @@ public final class MainGrid implements Serializable {
 			return aStar.findPath(pathRequester, targetPos, startPos);
 		}
 
+		@Override
+		public void recyclePath(Path path) {
+			aStar.recyclePath(path);
+		}
+
 		@Override
 		public Path searchDijkstra(IPathCalculatable pathCalculateable, short centerX, short centerY, short radius, ESearchType searchType) {
 			return dijkstra.find(pathCalculateable, centerX, centerY, (short) 0, radius, searchType);
@@ -1485,7 +1594,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public boolean isReachable(ShortPoint2D pos1, ShortPoint2D pos2, boolean ship) {
-			return landscapeGrid.isReachable(pos1.x, pos1.y, pos2.x, pos2.y, ship);
+			return MainGrid.this.isReachable(pos1.x, pos1.y, pos2.x, pos2.y, ship);
 		}
 
 		@Override
@@ -1561,6 +1670,22 @@ public final class MainGrid implements Serializable {
 			return enemy;
 		}
 
+		@Override
+		public long getAttackablesModificationStamp() {
+			return movableGrid.getModificationStamp();
+		}
+
+		@Override
+		public boolean isEnemyAreaUnchangedSince(long stamp, ShortPoint2D centerPos, int radius, IPlayer searchingPlayer) {
+			return movableGrid.isEnemyAreaUnchangedSince(stamp, centerPos.x, centerPos.y, radius, searchingPlayer.getTeamId());
+		}
+
+		@Override
+		public void attackableChangedAt(IAttackable attackable) {
+			ShortPoint2D position = attackable.getPosition();
+			movableGrid.attackableChangedAt(position.x, position.y, attackable.getPlayer().getTeamId());
+		}
+
 		private IAttackable searchEnemyInArea(final ShortPoint2D position, final IPlayer searchingPlayer, final short minSearchRadius, final short maxSearchRadius, boolean isBowman, boolean includeTowers) {
 			int minDistance = Integer.MAX_VALUE;
 			IAttackable result = null;
@@ -2067,6 +2192,11 @@ public final class MainGrid implements Serializable {
 	}
 
 	final class GuiInputGrid implements IGuiInputGrid {
+		@Override
+		public void prepareGroupMove(ShortPoint2D targetPosition, List<ILogicMovable> movables) {
+			movablePathfinderGrid.addGroupMoveOrder(targetPosition, movables);
+		}
+
 		@Override
 		public final ILogicMovable getMovable(int x, int y) {
 			return movableGrid.getMovableAt(x, y);
@@ -2198,7 +2328,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public boolean isReachable(int x1, int y1, int x2, int y2, boolean ship) {
-			return landscapeGrid.isReachable(x1, y1, x2, y2, ship);
+			return MainGrid.this.isReachable(x1, y1, x2, y2, ship);
 		}
 
 		@Override
@@ -2261,6 +2391,7 @@ public final class MainGrid implements Serializable {
 		public void playerChangedAt(int x, int y, byte newPlayerId) {
 			final ShortPoint2D position = new ShortPoint2D(x, y);
 			bordersThread.checkPosition(position);
+			movablePathfinderGrid.asyncPathfinder.positionChanged(x, y);
 
 			Building building = objectsGrid.getBuildingAt(x, y);
 			if (building != null && building.getPlayer().getPlayerId() != newPlayerId) {
@@ -2280,6 +2411,9 @@ public final class MainGrid implements Serializable {
 		@Override
 		public void backgroundLineChangedAt(int x, int y, int length) {}
 
+		@Override
+		public void backgroundAreaChangedAt(int x, int y, int width, int height) {}
+
 		@Override
 		public void fogOfWarEnabledStatusChanged(boolean enabled) {}
 	}
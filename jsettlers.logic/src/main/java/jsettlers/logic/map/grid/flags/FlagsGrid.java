@@ -18,6 +18,7 @@ import java.io.Serializable;
 import java.util.BitSet;
 
 import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.logic.map.grid.IPositionChangedListener;
 
 /**
  * Grid that's storing the blocked information for fast access.
@@ -35,6 +36,8 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	private final BitSet protectedGrid;
 
 	private IProtectedChangedListener protectedChangedListener = null;
+	private transient IBlockedChangedListener blockedChangedListener = null;
+	private transient IPositionChangedListener positionChangedListener = null;
 
 	public FlagsGrid(final short width, final short height) {
 		this.width = width;
@@ -78,14 +81,21 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	 */
 	public void setBlockedAndProtected(int x, int y, boolean newBlocked, boolean newProtected) {
 		final int idx = x + y * width;
+		boolean oldBlocked = this.blockedGrid.get(idx);
 		boolean oldProtected = this.protectedGrid.get(idx);
 
 		this.blockedGrid.set(idx, newBlocked);
 		this.protectedGrid.set(idx, newProtected);
 
+		if (blockedChangedListener != null && oldBlocked != newBlocked) {
+			this.blockedChangedListener.blockedChanged(x, y, newBlocked);
+		}
 		if (protectedChangedListener != null && oldProtected != newProtected) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		if (positionChangedListener != null && (oldBlocked != newBlocked || oldProtected != newProtected)) {
+			this.positionChangedListener.positionChangedAt(x, y);
+		}
 	}
 
 	public boolean isMarked(int x, int y) {
@@ -107,6 +117,9 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		if (protectedChangedListener != null) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		if (positionChangedListener != null) {
+			this.positionChangedListener.positionChangedAt(x, y);
+		}
 	}
 
 	public boolean isPioneerBlocked(int x, int y) {
@@ -118,4 +131,31 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	public void setProtectedChangedListener(IProtectedChangedListener protectedChangedListener) {
 		this.protectedChangedListener = protectedChangedListener;
 	}
+
+	/**
+	 * Sets the listener informed about changes of the blocked state. The listener is not serialized and needs to be set again after loading.
+	 *
+	 * @param blockedChangedListener
+	 *            listener to be informed or null
+	 */
+	public void setBlockedChangedListener(IBlockedChangedListener blockedChangedListener) {
+		this.blockedChangedListener = blockedChangedListener;
+	}
+
+	/**
+	 * Adds a listener informed about changes of the blocked or protected state. The listeners are not serialized and need to be added again after loading.
+	 *
+	 * @param listener
+	 *            listener to be informed
+	 */
+	public void addPositionChangedListener(IPositionChangedListener listener) {
+		this.positionChangedListener = IPositionChangedListener.combine(positionChangedListener, listener);
+	}
+
+	/**
+	 * Listener for changes of the blocked state of positions.
+	 */
+	public interface IBlockedChangedListener {
+		void blockedChanged(int x, int y, boolean newBlockedState);
+	}
 }
@@ -14,8 +14,12 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.landscape;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -37,11 +41,15 @@ import jsettlers.common.movable.EDirection;
 import jsettlers.common.movable.ESpellType;
 import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.IPositionChangedListener;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.flags.IProtectedProvider;
 import jsettlers.logic.map.grid.flags.IProtectedProvider.IProtectedChangedListener;
+import jsettlers.logic.map.loading.savegame.GameStateInputStream;
+import jsettlers.logic.map.loading.savegame.GameStateOutputStream;
 
 /**
  * This grid stores the height and the {@link ELandscapeType} of every position.
@@ -53,25 +61,43 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 
 	private static final int BLOCKED_PARTITION = 0;
 
-	private final byte[][] heightGrid;
-	private final byte[] landscapeGrid;
-	private final byte[] resourceAmount;
-	private final byte[] temporaryFlatened;
-	private final byte[] resourceType;
-	private final short[] blockedPartitions;
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("heightGrid", byte[][].class),
+			new ObjectStreamField("landscapeGrid", byte[].class),
+			new ObjectStreamField("resourceAmount", byte[].class),
+			new ObjectStreamField("temporaryFlatened", byte[].class),
+			new ObjectStreamField("resourceType", byte[].class),
+			new ObjectStreamField("blockedPartitions", short[].class),
+			new ObjectStreamField("updateBlocked", boolean.class),
+			new ObjectStreamField("realBlockedPartitions", Map.class),
+			new ObjectStreamField("nextLandPartition", short.class),
+			new ObjectStreamField("nextSeaPartition", short.class),
+			new ObjectStreamField("width", short.class),
+			new ObjectStreamField("height", short.class),
+			new ObjectStreamField("protectedProvider", IProtectedProvider.class),
+			new ObjectStreamField("flattenedResetter", FlattenedResetter.class)
+	};
+
+	private byte[][] heightGrid;
+	private byte[] landscapeGrid;
+	private byte[] resourceAmount;
+	private byte[] temporaryFlatened;
+	private byte[] resourceType;
+	private short[] blockedPartitions;
 	private boolean updateBlocked;
-	private final Map<Short, Short> realBlockedPartitions = new TreeMap<>();
+	private Map<Short, Short> realBlockedPartitions = new TreeMap<>();
 	private short nextLandPartition;
 	private short nextSeaPartition;
 
-	private final short width;
-	private final short height;
+	private short width;
+	private short height;
 
-	private final IProtectedProvider protectedProvider;
-	private final FlattenedResetter flattenedResetter;
+	private IProtectedProvider protectedProvider;
+	private FlattenedResetter flattenedResetter;
 
 	private transient int[] debugColors;
 	private transient IGraphicsBackgroundListener backgroundListener;
+	private transient IPositionChangedListener positionChangedListener;
 
 	public LandscapeGrid(short width, short height, IProtectedProvider protectedProvider) {
 		this.width = width;
@@ -93,13 +119,76 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		protectedProvider.setProtectedChangedListener(this);
 	}
 
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("updateBlocked", updateBlocked);
+		fields.put("realBlockedPartitions", realBlockedPartitions);
+		fields.put("nextLandPartition", nextLandPartition);
+		fields.put("nextSeaPartition", nextSeaPartition);
+		fields.put("width", width);
+		fields.put("height", height);
+		fields.put("protectedProvider", protectedProvider);
+		fields.put("flattenedResetter", flattenedResetter);
+		oos.writeFields();
+
+		DataOutput gridData = GameStateOutputStream.getGridData(oos);
+		for (byte[] column : heightGrid) {
+			SerializationUtils.writeRunLengthEncoded(gridData, column);
+		}
+		SerializationUtils.writeRunLengthEncoded(gridData, landscapeGrid);
+		SerializationUtils.writeRunLengthEncoded(gridData, resourceAmount);
+		SerializationUtils.writeRunLengthEncoded(gridData, temporaryFlatened);
+		SerializationUtils.writeRunLengthEncoded(gridData, resourceType);
+		SerializationUtils.writeRunLengthEncoded(gridData, blockedPartitions);
+	}
+
+	@SuppressWarnings("unchecked")
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		ois.defaultReadObject();
+		ObjectInputStream.GetField fields = ois.readFields();
+		updateBlocked = fields.get("updateBlocked", false);
+		realBlockedPartitions = (Map<Short, Short>) fields.get("realBlockedPartitions", null);
+		nextLandPartition = fields.get("nextLandPartition", (short) 0);
+		nextSeaPartition = fields.get("nextSeaPartition", (short) 0);
+		width = fields.get("width", (short) 0);
+		height = fields.get("height", (short) 0);
+		protectedProvider = (IProtectedProvider) fields.get("protectedProvider", null);
+		flattenedResetter = (FlattenedResetter) fields.get("flattenedResetter", null);
+
+		heightGrid = (byte[][]) fields.get("heightGrid", null);
+		if (heightGrid != null) { // savegame written with plain java serialization
+			landscapeGrid = (byte[]) fields.get("landscapeGrid", null);
+			resourceAmount = (byte[]) fields.get("resourceAmount", null);
+			temporaryFlatened = (byte[]) fields.get("temporaryFlatened", null);
+			resourceType = (byte[]) fields.get("resourceType", null);
+			blockedPartitions = (short[]) fields.get("blockedPartitions", null);
+		} else {
+			readGridData(GameStateInputStream.getGridData(ois));
+		}
+
 		setBackgroundListener(null);
 
 		initDebugColors();
 	}
 
+	private void readGridData(DataInput gridData) throws IOException {
+		final int tiles = width * height;
+		heightGrid = new byte[width][height];
+		landscapeGrid = new byte[tiles];
+		resourceAmount = new byte[tiles];
+		temporaryFlatened = new byte[tiles];
+		resourceType = new byte[tiles];
+		blockedPartitions = new short[tiles];
+
+		for (byte[] column : heightGrid) {
+			SerializationUtils.readRunLengthEncoded(gridData, column);
+		}
+		SerializationUtils.readRunLengthEncoded(gridData, landscapeGrid);
+		SerializationUtils.readRunLengthEncoded(gridData, resourceAmount);
+		SerializationUtils.readRunLengthEncoded(gridData, temporaryFlatened);
+		SerializationUtils.readRunLengthEncoded(gridData, resourceType);
+		SerializationUtils.readRunLengthEncoded(gridData, blockedPartitions);
+	}
+
 	private void initDebugColors() {
 		if (MatchConstants.ENABLE_DEBUG_COLORS) {
 			this.debugColors = new int[width * height];
@@ -200,11 +289,13 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 			flattenedResetter.addPosition(x, y);
 		}
 
+		MatchConstants.stateHash().landscapeChanged(x + y * width, landscapeGrid[x + y * width], landscapeType.ordinal);
 		this.landscapeGrid[x + y * width] = landscapeType.ordinal;
 
 		updateBlockedPartition(x, y, landscapeType.blockedType());
 
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		notifyPositionChanged(x, y);
 	}
 
 
@@ -275,6 +366,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	}
 
 	public final void setHeightAt(short x, short y, byte height) {
+		MatchConstants.stateHash().heightChanged(x + y * width, heightGrid[x][y], height);
 		this.heightGrid[x][y] = height;
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
 	}
@@ -282,7 +374,9 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	public void flattenAndChangeHeightTowards(int x, int y, byte targetHeight) {
 		final int index = x + y * width;
 
-		this.heightGrid[x][y] += Math.signum(targetHeight - this.heightGrid[x][y]);
+		byte oldHeight = this.heightGrid[x][y];
+		this.heightGrid[x][y] += Math.signum(targetHeight - oldHeight);
+		MatchConstants.stateHash().heightChanged(index, oldHeight, heightGrid[x][y]);
 		if(canChangeLandscapeTo(x, y, ELandscapeType.FLATTENED)) {
 			setLandscapeTypeAt(x, y, ELandscapeType.FLATTENED, true);
 		} else {
@@ -297,9 +391,27 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		this.backgroundListener = Objects.requireNonNullElseGet(backgroundListener, MainGrid.NullBackgroundListener::new);
 	}
 
+	/**
+	 * Adds a listener informed about changes of the landscape type or the resources of positions. The listeners are not serialized and need to be added
+	 * again after loading.
+	 *
+	 * @param listener
+	 *            listener to be informed
+	 */
+	public final void addPositionChangedListener(IPositionChangedListener listener) {
+		this.positionChangedListener = IPositionChangedListener.combine(positionChangedListener, listener);
+	}
+
+	private void notifyPositionChanged(int x, int y) {
+		if (positionChangedListener != null) {
+			positionChangedListener.positionChangedAt(x, y);
+		}
+	}
+
 	public final void setResourceAt(short x, short y, EResourceType resourceType, byte amount) {
 		this.resourceType[x + y * width] = resourceType.ordinal;
 		this.resourceAmount[x + y * width] = (byte) Math.min(amount, Constants.MAX_RESOURCE_AMOUNT_PER_POSITION);
+		notifyPositionChanged(x, y);
 	}
 
 	/**
@@ -334,6 +446,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		int idx = position.x + position.y * width;
 		if (resourceType[idx] == resource.ordinal && resourceAmount[idx] > 0) {
 			resourceAmount[idx]--;
+			notifyPositionChanged(position.x, position.y);
 			return true;
 		} else {
 			return false;
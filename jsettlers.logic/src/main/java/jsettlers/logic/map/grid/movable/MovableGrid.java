@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 
 import jsettlers.common.map.shapes.HexGridArea;
 import jsettlers.common.movable.EMovableType;
@@ -27,7 +28,10 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableBoolean;
 import jsettlers.logic.SerializationUtils;
+import jsettlers.logic.StateHash;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.IPositionChangedListener;
 import jsettlers.logic.map.grid.landscape.IWalkableGround;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IAttackableMovable;
@@ -41,7 +45,12 @@ import jsettlers.logic.movable.interfaces.ILogicMovable;
 public final class MovableGrid implements Serializable {
 	private static final long serialVersionUID = 7003522358013103962L;
 
+	private static final int STAMP_REGION_BITS = 4;
+
 	private transient ILogicMovable[] movableGrid;
+	private transient long[][]        teamRegionStamps;
+	private transient long            modificationStamp;
+	private transient IPositionChangedListener positionChangedListener;
 	private final IWalkableGround ground;
 	private final short width;
 
@@ -52,6 +61,7 @@ public final class MovableGrid implements Serializable {
 		this.height = height;
 		this.ground = ground;
 		this.movableGrid = new ILogicMovable[width * height];
+		this.teamRegionStamps = new long[0][];
 	}
 
 	private void writeObject(ObjectOutputStream oos) throws IOException {
@@ -62,6 +72,7 @@ public final class MovableGrid implements Serializable {
 	private void readObject(ObjectInputStream ois) throws ClassNotFoundException, IOException {
 		ois.defaultReadObject();
 		movableGrid = SerializationUtils.readSparseArray(ois, ILogicMovable.class);
+		teamRegionStamps = new long[0][];
 	}
 
 	public final ILogicMovable getMovableAt(int x, int y) {
@@ -75,7 +86,9 @@ public final class MovableGrid implements Serializable {
 	public final void movableLeft(ShortPoint2D position, ILogicMovable movable) {
 		int idx = position.x + position.y * width;
 		if (this.movableGrid[idx] == movable) {
+			MatchConstants.stateHash().movableChanged(idx, idOf(movable), StateHash.NO_MOVABLE);
 			this.movableGrid[idx] = null;
+			movableChangedAt(position.x, position.y, movable);
 		}
 	}
 
@@ -91,12 +104,18 @@ public final class MovableGrid implements Serializable {
 		final short x = position.x;
 		final short y = position.y;
 
+		MatchConstants.stateHash().movableChanged(x + y * width, idOf(movableGrid[x + y * width]), idOf(movable));
 		this.movableGrid[x + y * width] = movable;
+		movableChangedAt(x, y, movable);
 		if (movable != null && movable.getMovableType() == EMovableType.BEARER) {
 			ground.walkOn(x, y);
 		}
 	}
 
+	private static long idOf(ILogicMovable movable) {
+		return movable != null ? movable.getID() : StateHash.NO_MOVABLE;
+	}
+
 	/**
 	 * 
 	 * @param movable
@@ -154,4 +173,86 @@ public final class MovableGrid implements Serializable {
 	public boolean hasNoMovableAt(int x, int y) {
 		return getMovableAt(x, y) == null;
 	}
+
+	private void movableChangedAt(int x, int y, ILogicMovable movable) {
+		if (movable instanceof IAttackableMovable) {
+			attackableChangedAt(x, y, movable.getPlayer().getTeamId());
+		}
+		if (positionChangedListener != null) {
+			positionChangedListener.positionChangedAt(x, y);
+		}
+	}
+
+	/**
+	 * Adds a listener informed about movables entering or leaving positions. The listeners are not serialized and need to be added again after loading.
+	 *
+	 * @param listener
+	 *            listener to be informed
+	 */
+	public void addPositionChangedListener(IPositionChangedListener listener) {
+		this.positionChangedListener = IPositionChangedListener.combine(positionChangedListener, listener);
+	}
+
+	/**
+	 * Records that something that can change the result of an enemy search happened at the given position, e.g. an attackable entered or left it or changed its attackable state.
+	 * Movables entering or leaving a position are recorded automatically.
+	 *
+	 * @param x
+	 *            x coordinate of the position.
+	 * @param y
+	 *            y coordinate of the position.
+	 * @param teamId
+	 *            Team of the changed attackable. Only searches of other teams are affected.
+	 */
+	public void attackableChangedAt(int x, int y, byte teamId) {
+		if (teamId >= teamRegionStamps.length) {
+			int regions = ((width >> STAMP_REGION_BITS) + 1) * ((height >> STAMP_REGION_BITS) + 1);
+			int oldTeams = teamRegionStamps.length;
+			teamRegionStamps = Arrays.copyOf(teamRegionStamps, teamId + 1);
+			for (int team = oldTeams; team <= teamId; team++) {
+				teamRegionStamps[team] = new long[regions];
+			}
+		}
+		teamRegionStamps[teamId][getStampRegion(x, y)] = ++modificationStamp;
+	}
+
+	/**
+	 * @return The current modification stamp. It can be used with {@link #isEnemyAreaUnchangedSince(long, int, int, int, byte)} to find out if an area has been changed since this
+	 *         call.
+	 */
+	public long getModificationStamp() {
+		return modificationStamp;
+	}
+
+	/**
+	 * Checks if there has been any call to {@link #attackableChangedAt(int, int, byte)} for a team other than the given one in the square around the given center since the given
+	 * stamp was taken. The check is done with a granularity of regions, so it may report a change that happened close to the square.
+	 */
+	public boolean isEnemyAreaUnchangedSince(long stamp, int centerX, int centerY, int radius, byte teamId) {
+		int minRegionX = Math.max(0, centerX - radius) >> STAMP_REGION_BITS;
+		int maxRegionX = Math.min(width - 1, centerX + radius) >> STAMP_REGION_BITS;
+		int minRegionY = Math.max(0, centerY - radius) >> STAMP_REGION_BITS;
+		int maxRegionY = Math.min(height - 1, centerY + radius) >> STAMP_REGION_BITS;
+		int regionsWidth = (width >> STAMP_REGION_BITS) + 1;
+
+		for (int team = 0; team < teamRegionStamps.length; team++) {
+			if (team == teamId) {
+				continue;
+			}
+
+			long[] regionStamps = teamRegionStamps[team];
+			for (int regionY = minRegionY; regionY <= maxRegionY; regionY++) {
+				for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+					if (regionStamps[regionX + regionY * regionsWidth] > stamp) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private int getStampRegion(int x, int y) {
+		return (x >> STAMP_REGION_BITS) + (y >> STAMP_REGION_BITS) * ((width >> STAMP_REGION_BITS) + 1);
+	}
 }
@@ -96,6 +96,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 				removeMapObject(curr.mapObject.getX(), curr.mapObject.getY(), curr.mapObject);
 			} else {
 				curr.getMapObject().changeState();
+				grid.mapObjectChangedAt(curr.mapObject.getX(), curr.mapObject.getY());
 			}
 
 			curr = timingQueue.peek();
@@ -178,6 +179,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 
 		if (stone != null) {
 			stone.cutOff();
+			grid.mapObjectChangedAt(x, y);
 
 			if (!stone.canBeCut()) {
 				addSelfDeletingMapObject(new ShortPoint2D(x, y), EMapObjectType.CUT_OFF_STONE, Stone.DECOMPOSE_DELAY, null);
@@ -214,6 +216,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject tree = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.TREE_ADULT);
 			if (tree != null && tree.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(tree, Tree.DECOMPOSE_DURATION, true);
 				return true;
 			}
@@ -236,6 +239,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject corn = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.CORN_ADULT);
 			if (corn != null && corn.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(corn, Corn.REMOVE_DURATION, true);
 				return true;
 			}
@@ -258,6 +262,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject wine = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.WINE_HARVESTABLE);
 			if (wine != null && wine.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(wine, Wine.REMOVE_DURATION, true);
 				return true;
 			}
@@ -280,6 +285,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject rice = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.RICE_HARVESTABLE);
 			if (rice != null && rice.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(rice, Rice.REMOVE_DURATION, true);
 				return true;
 			}
@@ -301,6 +307,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (grid.isInBounds(x, y)) {
 			HiveObject hive = (HiveObject) grid.getMapObject(x, y, EMapObjectType.HIVE_HARVESTABLE);
 			if (hive != null && hive.cutOff()) {
+				grid.mapObjectChangedAt(x, y);
 				schedule(hive, hive.getEmptyDuration(), false);
 				schedule(hive, hive.getEmptyDuration() + hive.getGrowingDuration(), false);
 				return true;
@@ -484,12 +491,14 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		if (stackObject == null) {
 			grid.addMapObject(x, y, new StackMapObject(materialType, (byte) 1));
 			grid.setProtected(x, y, true);
+			MatchConstants.stateHash().stackChanged(x + y * grid.getWidth(), materialType.ordinal, 0, 1);
 			return true;
 		} else {
 			if (stackObject.isFull()) {
 				return false;
 			} else {
 				stackObject.increment();
+				MatchConstants.stateHash().stackChanged(x + y * grid.getWidth(), materialType.ordinal, stackObject.getSize() - 1, stackObject.getSize());
 				return true;
 			}
 		}
@@ -556,6 +565,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 				return null;
 			} else {
 				stackObject.decrement();
+				MatchConstants.stateHash().stackChanged(x + y * grid.getWidth(), stackObject.getMaterialType().ordinal, stackObject.getSize() + 1, stackObject.getSize());
 				if (stackObject.isEmpty()) { // remove empty stack object
 					removeStackObject(x, y, stackObject);
 				}
@@ -30,6 +30,7 @@ import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.IPositionChangedListener;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IInformable;
 
@@ -47,6 +48,7 @@ public final class ObjectsGrid implements Serializable {
 
 	private transient AbstractHexMapObject[] objectsGrid;
 	private transient Building[] buildingsGrid;
+	private transient IPositionChangedListener positionChangedListener;
 
 	public ObjectsGrid(short width, short height) {
 		this.width = width;
@@ -129,6 +131,7 @@ public final class ObjectsGrid implements Serializable {
 		if (mapObjectHead != null) {
 			mapObjectHead.removeMapObjectTypes(mapObjectTypes);
 		}
+		mapObjectChangedAt(x, y);
 	}
 
 	public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
@@ -143,6 +146,9 @@ public final class ObjectsGrid implements Serializable {
 				removed = mapObjectHead.removeMapObject(mapObject);
 			}
 
+			if (removed) {
+				mapObjectChangedAt(x, y);
+			}
 			return removed;
 		} else
 			return false;
@@ -158,6 +164,32 @@ public final class ObjectsGrid implements Serializable {
 		} else {
 			mapObjectHead.addMapObject(mapObject);
 		}
+		mapObjectChangedAt(x, y);
+	}
+
+	/**
+	 * Informs the listeners that the state of an object at the given position changed without it being added or removed.
+	 *
+	 * @param x
+	 *            x coordinate of the position.
+	 * @param y
+	 *            y coordinate of the position.
+	 */
+	public final void mapObjectChangedAt(int x, int y) {
+		if (positionChangedListener != null) {
+			positionChangedListener.positionChangedAt(x, y);
+		}
+	}
+
+	/**
+	 * Adds a listener informed about objects that are added, removed or changed their state. The listeners are not serialized and need to be added again
+	 * after loading.
+	 *
+	 * @param listener
+	 *            listener to be informed
+	 */
+	public final void addPositionChangedListener(IPositionChangedListener listener) {
+		this.positionChangedListener = IPositionChangedListener.combine(positionChangedListener, listener);
 	}
 
 	public final boolean hasCuttableObject(int x, int y, EMapObjectType mapObjectType) {
@@ -14,8 +14,12 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.BitSet;
 import java.util.HashMap;
@@ -41,10 +45,15 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.Tuple;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableInt;
+import jsettlers.logic.SerializationUtils;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.IPositionChangedListener;
 import jsettlers.logic.map.grid.partition.manager.settings.MaterialProductionSettings;
 import jsettlers.logic.map.grid.partition.PartitionsListingBorderVisitor.BorderPartitionInfo;
 import jsettlers.logic.map.grid.partition.manager.PartitionManager;
 import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSettings;
+import jsettlers.logic.map.loading.savegame.GameStateInputStream;
+import jsettlers.logic.map.loading.savegame.GameStateOutputStream;
 import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.player.Player;
@@ -69,20 +78,33 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 
 	private static final short NO_PLAYER_PARTITION_ID = 0;
 
-	private final PartitionOccupyingTowerList occupyingTowers = new PartitionOccupyingTowerList();
-
-	final short width;
-	final short height;
-	private final Player[] players;
-	private final IBlockingProvider blockingProvider;
-
-	final short[] partitions;
-	private final byte[] towers;
-
-	private final short[] blockedPartitionsForPlayers;
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("occupyingTowers", PartitionOccupyingTowerList.class),
+			new ObjectStreamField("width", short.class),
+			new ObjectStreamField("height", short.class),
+			new ObjectStreamField("players", Player[].class),
+			new ObjectStreamField("blockingProvider", IBlockingProvider.class),
+			new ObjectStreamField("partitions", short[].class),
+			new ObjectStreamField("towers", byte[].class),
+			new ObjectStreamField("blockedPartitionsForPlayers", short[].class),
+			new ObjectStreamField("partitionObjects", Partition[].class)
+	};
+
+	private PartitionOccupyingTowerList occupyingTowers = new PartitionOccupyingTowerList();
+
+	short width;
+	short height;
+	private Player[] players;
+	private IBlockingProvider blockingProvider;
+
+	short[] partitions;
+	private byte[] towers;
+
+	private short[] blockedPartitionsForPlayers;
 	Partition[] partitionObjects = new Partition[NUMBER_OF_START_PARTITION_OBJECTS];
 
 	private transient IPlayerChangedListener playerChangedListener = IPlayerChangedListener.DEFAULT_IMPLEMENTATION;
+	private transient IPositionChangedListener positionChangedListener;
 
 	public PartitionsGrid(short width, short height, PlayerSetting[] playerSettings, IBlockingProvider blockingProvider) {
 		this.width = width;
@@ -134,7 +156,42 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	private void writeObject(ObjectOutputStream oos) throws IOException {
 		int normalizedPartitions = checkNormalizePartitions(0);
 		System.out.println("Normalized " + normalizedPartitions + " partitions");
-		oos.defaultWriteObject();
+
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("occupyingTowers", occupyingTowers);
+		fields.put("width", width);
+		fields.put("height", height);
+		fields.put("players", players);
+		fields.put("blockingProvider", blockingProvider);
+		fields.put("blockedPartitionsForPlayers", blockedPartitionsForPlayers);
+		fields.put("partitionObjects", partitionObjects);
+		oos.writeFields();
+
+		DataOutput gridData = GameStateOutputStream.getGridData(oos);
+		SerializationUtils.writeRunLengthEncoded(gridData, partitions);
+		SerializationUtils.writeRunLengthEncoded(gridData, towers);
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = ois.readFields();
+		occupyingTowers = (PartitionOccupyingTowerList) fields.get("occupyingTowers", null);
+		width = fields.get("width", (short) 0);
+		height = fields.get("height", (short) 0);
+		players = (Player[]) fields.get("players", null);
+		blockingProvider = (IBlockingProvider) fields.get("blockingProvider", null);
+		blockedPartitionsForPlayers = (short[]) fields.get("blockedPartitionsForPlayers", null);
+		partitionObjects = (Partition[]) fields.get("partitionObjects", null);
+
+		partitions = (short[]) fields.get("partitions", null);
+		if (partitions != null) { // savegame written with plain java serialization
+			towers = (byte[]) fields.get("towers", null);
+		} else {
+			DataInput gridData = GameStateInputStream.getGridData(ois);
+			partitions = new short[width * height];
+			towers = new byte[width * height];
+			SerializationUtils.readRunLengthEncoded(gridData, partitions);
+			SerializationUtils.readRunLengthEncoded(gridData, towers);
+		}
 	}
 
 	public boolean isDefaultPartition(short partitionId) {
@@ -318,6 +375,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		towersInRange.forEach(currTower -> area.stream()
 						.filter(currTower.e2.area::contains)
 						.forEach((x, y) -> towers[x + y * width]++));
+		area.stream().forEach(this::notifyPositionChangedListener);
 	}
 
 	/**
@@ -497,7 +555,10 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	private void changeTowerCounter(final byte playerId, CoordinateStream influencingArea, int delta) {
 		influencingArea
 				.filter((x, y) -> partitionObjects[partitions[x + y * width]].playerId == playerId)
-				.forEach((x, y) -> towers[x + y * width] += delta);
+				.forEach((x, y) -> {
+					towers[x + y * width] += delta;
+					notifyPositionChangedListener(x, y);
+				});
 	}
 
 	/**
@@ -620,9 +681,13 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		Partition newPartitionObject = partitionObjects[newPartition];
 
 		oldPartitionObject.removePositionTo(x, y, newPartitionObject);
+		MatchConstants.stateHash().ownerChanged(idx, oldPartitionObject.playerId, newPartitionObject.playerId);
 		synchronized (this) {
 			partitions[idx] = newPartition;
 		}
+		if (oldPartitionObject.playerId != newPartitionObject.playerId) {
+			notifyPositionChangedListener(x, y);
+		}
 
 		return newPartitionObject.playerId;
 	}
@@ -631,6 +696,12 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		playerChangedListener.playerChangedAt(x, y, newPlayer);
 	}
 
+	private void notifyPositionChangedListener(int x, int y) {
+		if (positionChangedListener != null) {
+			positionChangedListener.positionChangedAt(x, y);
+		}
+	}
+
 	short createNewPartition(byte playerId) { // package private for tests
 		checkNormalizePartitions(NUMBER_OF_START_PARTITION_OBJECTS / 2);
 
@@ -681,6 +752,17 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		}
 	}
 
+	/**
+	 * Adds a listener informed about positions that change their player or the enforcement by towers. The listeners are not serialized and need to be added
+	 * again after loading.
+	 * 
+	 * @param listener
+	 *            listener to be informed
+	 */
+	public void addPositionChangedListener(IPositionChangedListener listener) {
+		this.positionChangedListener = IPositionChangedListener.combine(positionChangedListener, listener);
+	}
+
 	public byte getNumberOfPlayers() {
 		return (byte) players.length;
 	}
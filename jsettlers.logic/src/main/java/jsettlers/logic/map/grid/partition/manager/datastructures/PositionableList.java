@@ -14,11 +14,20 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.datastructures;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
-
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.MathUtils;
@@ -26,6 +35,12 @@ import jsettlers.common.utils.MathUtils;
 /**
  * This is a data structure for storing and retrieving objects at given positions.<br>
  * It is also possible to find the nearest object around a given position.
+ * <p />
+ * The objects are kept in insertion order. As soon as a list contains more than {@link #INDEX_THRESHOLD} objects, the objects are additionally sorted into buckets of
+ * {@link #BUCKET_SIZE} x {@link #BUCKET_SIZE} positions, which are searched ring by ring around the requested position. Objects with the same distance are always resolved in
+ * insertion order, so the results are exactly the ones of a linear search over the list.
+ * <p />
+ * Objects implementing {@link ITrackedLocatable} report their position changes to the list. All other objects must not change their position while they are stored in the list.
  *
  * @param <T>
  * @author Andreas Eberle
@@ -33,27 +48,83 @@ import jsettlers.common.utils.MathUtils;
 public class PositionableList<T extends ILocatable> implements Serializable {
 	private static final long serialVersionUID = 414099060331344505L;
 
-	protected final LinkedList<T> data;
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("data", LinkedList.class)
+	};
+
+	private static final int BUCKET_BITS = 4;
+	static final int BUCKET_SIZE = 1 << BUCKET_BITS;
+
+	/**
+	 * Lists with up to this number of objects are searched linearly.
+	 */
+	static final int INDEX_THRESHOLD = 16;
+
+	/**
+	 * If the occupied buckets cover less than 1 / SPARSE_FACTOR of their bounding box, all buckets are checked instead of searching ring by ring.
+	 */
+	private static final int SPARSE_FACTOR = 4;
+
+	private transient LinkedList<T> serializedData;
+
+	private transient HashMap<T, Entry<T>> entries;
+	private transient Entry<T> first;
+	private transient Entry<T> last;
+	private transient long nextSequence;
+	private transient ArrayList<Entry<T>> unindexedEntries;
+
+	private transient HashMap<Integer, Bucket<T>> buckets;
+	private transient ArrayList<Bucket<T>> occupiedBuckets;
+	private transient boolean bucketBoundsDirty;
+	private transient int minBucketX;
+	private transient int maxBucketX;
+	private transient int minBucketY;
+	private transient int maxBucketY;
+
+	private transient Entry<T> closestEntry;
+	private transient int closestDistance;
 
 	public PositionableList() {
-		data = new LinkedList<>();
+		initTransientFields();
+	}
+
+	private void initTransientFields() {
+		entries = new HashMap<>();
+		first = null;
+		last = null;
+		nextSequence = 0;
+		unindexedEntries = new ArrayList<>();
+		buckets = null;
+		occupiedBuckets = null;
+	}
+
+	private void ensureInitialized() {
+		if (entries == null) { // the objects of a deserialized list may not be completely read before the list is used the first time
+			initTransientFields();
+			if (serializedData != null) {
+				for (T object : serializedData) {
+					if (!entries.containsKey(object)) {
+						append(object);
+					}
+				}
+				serializedData = null;
+			}
+		}
 	}
 
 	public void insert(T object) {
-		if(!data.contains(object)) {
+		ensureInitialized();
+		if (!entries.containsKey(object)) {
 			// TODO fix double inserts from the root
-			data.add(object);
+			append(object);
 		}
 	}
 
 	public T removeObjectAt(ShortPoint2D position) {
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				return curr;
-			}
+		Entry<T> entry = getEntryAt(position);
+		if (entry != null) {
+			unlink(entry);
+			return entry.object;
 		}
 		return null;
 	}
@@ -66,12 +137,8 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns the found object at the given position or null if no object has been found.
 	 */
 	public T getObjectAt(ShortPoint2D position) {
-		for (T curr : data) {
-			if (curr.getPosition().equals(position)) {
-				return curr;
-			}
-		}
-		return null;
+		Entry<T> entry = getEntryAt(position);
+		return entry != null ? entry.object : null;
 	}
 
 	/**
@@ -79,7 +146,8 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns any object in this list or null if this list is empty
 	 */
 	public T getAnyObject() {
-		return data.peekFirst();
+		ensureInitialized();
+		return first != null ? first.object : null;
 	}
 
 	/**
@@ -93,70 +161,539 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 		T currBest = getObjectCloseTo(position);
 
 		if (currBest != null) {
-			data.remove(currBest);
+			remove(currBest);
 		}
 
 		return currBest;
 	}
 
 	protected T getObjectCloseTo(ShortPoint2D position) {
-		int bestDistance = Integer.MAX_VALUE;
-		T currBest = null;
+		return getObjectCloseTo(position, null);
+	}
 
-		for (T currEntry : data) {
-			int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+	/**
+	 * Finds the object that's closest to the given position. If multiple objects have the same distance, the one inserted first is returned.
+	 *
+	 * @param position
+	 * 		position to be used to find the nearest accepted neighbor around it.
+	 * @param acceptor
+	 * 		if acceptor != null => the result is accepted by the acceptor. <br>
+	 * 		if acceptor == null every entry is accepted.
+	 * @return accepted object that's nearest to position or null if there is none.
+	 */
+	protected T getObjectCloseTo(ShortPoint2D position, Predicate<T> acceptor) {
+		ensureInitialized();
+
+		closestEntry = null;
+		closestDistance = Integer.MAX_VALUE;
 
-			if (bestDistance > currDist) {
-				bestDistance = currDist;
-				currBest = currEntry;
+		if (buckets == null) {
+			for (Entry<T> entry = first; entry != null; entry = entry.next) {
+				ShortPoint2D entryPosition = entry.object.getPosition();
+				checkEntry(entry, entryPosition.x, entryPosition.y, position.x, position.y, acceptor);
+			}
+		} else {
+			for (Entry<T> entry : unindexedEntries) {
+				ShortPoint2D entryPosition = entry.object.getPosition();
+				checkEntry(entry, entryPosition.x, entryPosition.y, position.x, position.y, acceptor);
 			}
+			searchBuckets(position.x, position.y, acceptor);
+		}
+
+		T result = closestEntry != null ? closestEntry.object : null;
+		closestEntry = null;
+		return result;
+	}
+
+	private void searchBuckets(int x, int y, Predicate<T> acceptor) {
+		if (occupiedBuckets.isEmpty()) {
+			return;
+		}
+		if (bucketBoundsDirty) {
+			updateBucketBounds();
+		}
+
+		int boundsWidth = maxBucketX - minBucketX + 1;
+		int boundsHeight = maxBucketY - minBucketY + 1;
+
+		if (occupiedBuckets.size() * SPARSE_FACTOR < boundsWidth * boundsHeight) {
+			for (Bucket<T> bucket : occupiedBuckets) {
+				if (closestEntry == null || bucket.getMinSquareDistance(x, y) <= closestDistance) {
+					checkBucket(bucket, x, y, acceptor);
+				}
+			}
+			return;
+		}
+
+		int bucketX = x >> BUCKET_BITS;
+		int bucketY = y >> BUCKET_BITS;
+		int maxRing = Math.max(Math.max(bucketX - minBucketX, maxBucketX - bucketX), Math.max(bucketY - minBucketY, maxBucketY - bucketY));
+
+		for (int ring = 0; ring <= maxRing; ring++) {
+			if (closestEntry != null && ring > 0) {
+				int minRingDistance = BUCKET_SIZE * (ring - 1) + 1;
+				if (minRingDistance * minRingDistance > closestDistance) {
+					return;
+				}
+			}
+			searchRing(bucketX, bucketY, ring, x, y, acceptor);
 		}
-		return currBest;
+	}
+
+	private void searchRing(int centerX, int centerY, int ring, int x, int y, Predicate<T> acceptor) {
+		int startX = Math.max(centerX - ring, minBucketX);
+		int endX = Math.min(centerX + ring, maxBucketX);
+		int startY = Math.max(centerY - ring + 1, minBucketY);
+		int endY = Math.min(centerY + ring - 1, maxBucketY);
+
+		if (centerY - ring >= minBucketY) {
+			for (int bucketX = startX; bucketX <= endX; bucketX++) {
+				checkBucket(bucketX, centerY - ring, x, y, acceptor);
+			}
+		}
+		if (ring > 0 && centerY + ring <= maxBucketY) {
+			for (int bucketX = startX; bucketX <= endX; bucketX++) {
+				checkBucket(bucketX, centerY + ring, x, y, acceptor);
+			}
+		}
+		if (ring > 0 && centerX - ring >= minBucketX) {
+			for (int bucketY = startY; bucketY <= endY; bucketY++) {
+				checkBucket(centerX - ring, bucketY, x, y, acceptor);
+			}
+		}
+		if (ring > 0 && centerX + ring <= maxBucketX) {
+			for (int bucketY = startY; bucketY <= endY; bucketY++) {
+				checkBucket(centerX + ring, bucketY, x, y, acceptor);
+			}
+		}
+	}
+
+	private void checkBucket(int bucketX, int bucketY, int x, int y, Predicate<T> acceptor) {
+		Bucket<T> bucket = buckets.get(getBucketKey(bucketX, bucketY));
+		if (bucket != null) {
+			checkBucket(bucket, x, y, acceptor);
+		}
+	}
+
+	private void checkBucket(Bucket<T> bucket, int x, int y, Predicate<T> acceptor) {
+		for (int i = 0; i < bucket.size; i++) {
+			Entry<T> entry = bucket.entries[i];
+			checkEntry(entry, entry.x, entry.y, x, y, acceptor);
+		}
+	}
+
+	private void checkEntry(Entry<T> entry, int entryX, int entryY, int x, int y, Predicate<T> acceptor) {
+		int distance = MathUtils.squareHypot(entryX - x, entryY - y);
+
+		if (distance < closestDistance || (distance == closestDistance && closestEntry != null && entry.sequence < closestEntry.sequence)) {
+			if (acceptor == null || acceptor.test(entry.object)) {
+				closestDistance = distance;
+				closestEntry = entry;
+			}
+		}
+	}
+
+	/**
+	 * Has to be called by {@link ITrackedLocatable}s tracked by this list after their position or state changed.
+	 *
+	 * @param object
+	 * 		The changed object.
+	 */
+	public void locatableChanged(ILocatable object) {
+		ensureInitialized();
+
+		Entry<T> entry = entries.get(object);
+		if (entry == null) {
+			return;
+		}
+
+		ShortPoint2D position = entry.object.getPosition();
+		if (entry.indexed && position != null && (entry.x != position.x || entry.y != position.y)) {
+			if (buckets != null && getBucketKey(entry.x >> BUCKET_BITS, entry.y >> BUCKET_BITS) != getBucketKey(position.x >> BUCKET_BITS, position.y >> BUCKET_BITS)) {
+				removeFromBucket(entry);
+				entry.x = position.x;
+				entry.y = position.y;
+				addToBucket(entry);
+			} else {
+				entry.x = position.x;
+				entry.y = position.y;
+			}
+		}
+
+		onChanged(entry.object);
+	}
+
+	/**
+	 * Called after the given object has been added to this list.
+	 */
+	protected void onInserted(T object) {
+	}
+
+	/**
+	 * Called after the given object reported a change with {@link #locatableChanged(ILocatable)}.
+	 */
+	protected void onChanged(T object) {
+	}
+
+	/**
+	 * @return true if the given object is stored in this list and reports its changes to this list.
+	 */
+	protected final boolean reportsChanges(T object) {
+		ensureInitialized();
+		Entry<T> entry = entries.get(object);
+		return entry != null && entry.reportsChanges;
+	}
+
+	/**
+	 * @return an iterator over the objects of this list in insertion order, supporting {@link Iterator#remove()}.
+	 */
+	protected Iterator<T> iterator() {
+		ensureInitialized();
+		return new Iterator<T>() {
+			private Entry<T> next = first;
+			private Entry<T> current;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public T next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				current = next;
+				next = next.next;
+				return current.object;
+			}
+
+			@Override
+			public void remove() {
+				if (current == null) {
+					throw new IllegalStateException();
+				}
+				unlink(current);
+				current = null;
+			}
+		};
 	}
 
 	@Override
 	public String toString() {
-		return data.toString();
+		return toLinkedList().toString();
 	}
 
 	public void moveAll(PositionableList<T> otherList) {
-		LinkedList<T> othersData = otherList.data;
-		data.addAll(othersData);
-		othersData.clear();
+		moveAll(otherList, null);
 	}
 
 	public void moveAll(PositionableList<T> otherList, Consumer<T> movedVisitor) {
-		LinkedList<T> othersData = otherList.data;
-		for (T othersDatum : othersData) {
-			movedVisitor.accept(othersDatum);
-			data.add(othersDatum);
+		ensureInitialized();
+		otherList.ensureInitialized();
+
+		for (Entry<T> entry = otherList.first; entry != null; ) {
+			Entry<T> next = entry.next;
+			otherList.unlink(entry);
+
+			if (movedVisitor != null) {
+				movedVisitor.accept(entry.object);
+			}
+			insert(entry.object);
+			entry = next;
 		}
-		othersData.clear();
 	}
 
 	public void remove(T object) {
-		this.data.remove(object);
+		ensureInitialized();
+		Entry<T> entry = entries.get(object);
+		if (entry != null) {
+			unlink(entry);
+		}
+	}
+
+	public boolean contains(T object) {
+		ensureInitialized();
+		return entries.containsKey(object);
 	}
 
 	public boolean isEmpty() {
-		return data.isEmpty();
+		ensureInitialized();
+		return entries.isEmpty();
 	}
 
 	public void moveObjectsAtPositionTo(ShortPoint2D position, PositionableList<T> newList, Consumer<T> movedVisitor) {
-		if(data.isEmpty()) return;
+		if (isEmpty()) return;
 
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				movedVisitor.accept(curr);
-				newList.data.add(curr);
-			}
+		Entry<T> entry;
+		while ((entry = getEntryAt(position)) != null) {
+			unlink(entry);
+			movedVisitor.accept(entry.object);
+			newList.insert(entry.object);
 		}
 	}
 
 	public int size() {
-		return data.size();
+		ensureInitialized();
+		return entries.size();
+	}
+
+	private Entry<T> getEntryAt(ShortPoint2D position) {
+		ensureInitialized();
+
+		if (buckets == null) {
+			for (Entry<T> entry = first; entry != null; entry = entry.next) {
+				if (entry.object.getPosition().equals(position)) {
+					return entry;
+				}
+			}
+			return null;
+		}
+
+		Entry<T> result = null;
+		for (Entry<T> entry : unindexedEntries) {
+			if (entry.object.getPosition().equals(position) && (result == null || entry.sequence < result.sequence)) {
+				result = entry;
+			}
+		}
+
+		Bucket<T> bucket = buckets.get(getBucketKey(position.x >> BUCKET_BITS, position.y >> BUCKET_BITS));
+		if (bucket != null) {
+			for (int i = 0; i < bucket.size; i++) {
+				Entry<T> entry = bucket.entries[i];
+				if (entry.x == position.x && entry.y == position.y && (result == null || entry.sequence < result.sequence)) {
+					result = entry;
+				}
+			}
+		}
+		return result;
+	}
+
+	private void append(T object) {
+		Entry<T> entry = new Entry<>(object, nextSequence++);
+		entries.put(object, entry);
+
+		entry.previous = last;
+		if (last != null) {
+			last.next = entry;
+		} else {
+			first = entry;
+		}
+		last = entry;
+
+		if (object instanceof ITrackedLocatable) {
+			ITrackedLocatable trackedObject = (ITrackedLocatable) object;
+			PositionableList<?> trackingList = trackedObject.getTrackingList();
+			if (trackingList == null || trackingList == this) {
+				trackedObject.setTrackingList(this);
+				entry.reportsChanges = true;
+			}
+		}
+		entry.indexed = entry.reportsChanges || !(object instanceof ITrackedLocatable);
+
+		if (entry.indexed) {
+			ShortPoint2D position = object.getPosition();
+			entry.x = position.x;
+			entry.y = position.y;
+		} else {
+			unindexedEntries.add(entry);
+		}
+
+		if (buckets != null) {
+			if (entry.indexed) {
+				addToBucket(entry);
+			}
+		} else if (entries.size() > INDEX_THRESHOLD) {
+			buildBuckets();
+		}
+
+		onInserted(object);
+	}
+
+	private void unlink(Entry<T> entry) {
+		entries.remove(entry.object);
+
+		if (entry.previous != null) {
+			entry.previous.next = entry.next;
+		} else {
+			first = entry.next;
+		}
+		if (entry.next != null) {
+			entry.next.previous = entry.previous;
+		} else {
+			last = entry.previous;
+		}
+		entry.previous = null;
+		entry.next = null;
+
+		if (!entry.indexed) {
+			unindexedEntries.remove(entry);
+		} else if (buckets != null) {
+			removeFromBucket(entry);
+		}
+
+		if (entry.reportsChanges) {
+			((ITrackedLocatable) entry.object).setTrackingList(null);
+		}
+
+		if (entries.isEmpty()) {
+			buckets = null;
+			occupiedBuckets = null;
+		}
+	}
+
+	private void buildBuckets() {
+		buckets = new HashMap<>();
+		occupiedBuckets = new ArrayList<>();
+		bucketBoundsDirty = true;
+
+		for (Entry<T> entry = first; entry != null; entry = entry.next) {
+			if (entry.indexed) {
+				addToBucket(entry);
+			}
+		}
+	}
+
+	private void addToBucket(Entry<T> entry) {
+		int bucketX = entry.x >> BUCKET_BITS;
+		int bucketY = entry.y >> BUCKET_BITS;
+		Integer key = getBucketKey(bucketX, bucketY);
+
+		Bucket<T> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new Bucket<>(bucketX, bucketY, occupiedBuckets.size());
+			buckets.put(key, bucket);
+			occupiedBuckets.add(bucket);
+
+			if (!bucketBoundsDirty) {
+				minBucketX = Math.min(minBucketX, bucketX);
+				maxBucketX = Math.max(maxBucketX, bucketX);
+				minBucketY = Math.min(minBucketY, bucketY);
+				maxBucketY = Math.max(maxBucketY, bucketY);
+			}
+		}
+		bucket.add(entry);
+	}
+
+	private void removeFromBucket(Entry<T> entry) {
+		Bucket<T> bucket = entry.bucket;
+		bucket.remove(entry);
+
+		if (bucket.size == 0) {
+			buckets.remove(getBucketKey(bucket.x, bucket.y));
+
+			Bucket<T> lastBucket = occupiedBuckets.remove(occupiedBuckets.size() - 1);
+			if (lastBucket != bucket) {
+				occupiedBuckets.set(bucket.index, lastBucket);
+				lastBucket.index = bucket.index;
+			}
+			bucketBoundsDirty = true;
+		}
+	}
+
+	private void updateBucketBounds() {
+		minBucketX = Integer.MAX_VALUE;
+		maxBucketX = Integer.MIN_VALUE;
+		minBucketY = Integer.MAX_VALUE;
+		maxBucketY = Integer.MIN_VALUE;
+
+		for (Bucket<T> bucket : occupiedBuckets) {
+			minBucketX = Math.min(minBucketX, bucket.x);
+			maxBucketX = Math.max(maxBucketX, bucket.x);
+			minBucketY = Math.min(minBucketY, bucket.y);
+			maxBucketY = Math.max(maxBucketY, bucket.y);
+		}
+		bucketBoundsDirty = false;
+	}
+
+	private static int getBucketKey(int bucketX, int bucketY) {
+		return bucketX << 16 | bucketY;
+	}
+
+	private LinkedList<T> toLinkedList() {
+		if (entries == null) {
+			return serializedData;
+		}
+
+		LinkedList<T> data = new LinkedList<>();
+		for (Entry<T> entry = first; entry != null; entry = entry.next) {
+			data.add(entry.object);
+		}
+		return data;
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("data", toLinkedList());
+		oos.writeFields();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = ois.readFields();
+		serializedData = (LinkedList<T>) fields.get("data", null);
+	}
+
+	private static final class Entry<T> {
+		final T    object;
+		final long sequence;
+
+		Entry<T> previous;
+		Entry<T> next;
+
+		boolean reportsChanges;
+		boolean indexed;
+		short   x;
+		short   y;
+
+		Bucket<T> bucket;
+		int       bucketIndex;
+
+		Entry(T object, long sequence) {
+			this.object = object;
+			this.sequence = sequence;
+		}
+	}
+
+	private static final class Bucket<T> {
+		final int x;
+		final int y;
+		int index;
+
+		Entry<T>[] entries;
+		int        size;
+
+		@SuppressWarnings("unchecked")
+		Bucket(int x, int y, int index) {
+			this.x = x;
+			this.y = y;
+			this.index = index;
+			this.entries = new Entry[4];
+		}
+
+		void add(Entry<T> entry) {
+			if (size == entries.length) {
+				entries = Arrays.copyOf(entries, size * 2);
+			}
+			entry.bucket = this;
+			entry.bucketIndex = size;
+			entries[size++] = entry;
+		}
+
+		void remove(Entry<T> entry) {
+			Entry<T> lastEntry = entries[--size];
+			entries[entry.bucketIndex] = lastEntry;
+			lastEntry.bucketIndex = entry.bucketIndex;
+			entries[size] = null;
+			entry.bucket = null;
+		}
+
+		int getMinSquareDistance(int x, int y) {
+			int minX = this.x << BUCKET_BITS;
+			int minY = this.y << BUCKET_BITS;
+			int dx = Math.max(0, Math.max(minX - x, x - (minX + BUCKET_SIZE - 1)));
+			int dy = Math.max(0, Math.max(minY - y, y - (minY + BUCKET_SIZE - 1)));
+			return MathUtils.squareHypot(dx, dy);
+		}
 	}
 }
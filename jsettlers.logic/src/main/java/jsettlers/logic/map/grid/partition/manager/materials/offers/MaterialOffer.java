@@ -17,8 +17,9 @@ package jsettlers.logic.map.grid.partition.manager.materials.offers;
 import java.io.Serializable;
 
 import jsettlers.common.material.EMaterialType;
-import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.map.grid.partition.manager.datastructures.ITrackedLocatable;
+import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
 import jsettlers.logic.map.grid.partition.manager.materials.MaterialsManager;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IMaterialOffer;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.list.IListManageable;
@@ -29,7 +30,7 @@ import jsettlers.logic.map.grid.partition.manager.materials.offers.list.IPriorit
  *
  * @author Andreas Eberle
  */
-public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<EOfferPriority>, IListManageable, IMaterialOffer {
+public class MaterialOffer implements Serializable, ITrackedLocatable, IPrioritizable<EOfferPriority>, IListManageable, IMaterialOffer {
 	private static final long serialVersionUID = -8205797836220090667L;
 	private final ShortPoint2D position;
 	private final EMaterialType materialType;
@@ -39,6 +40,8 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	private byte amount = 0;
 	private byte inDistribution = 0;
 
+	private transient PositionableList<?> trackingList;
+
 	MaterialOffer(ShortPoint2D position, EMaterialType materialType, IOffersCountListener countChangedListener, EOfferPriority priority, byte amount) {
 		this.position = position;
 		this.materialType = materialType;
@@ -63,6 +66,7 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	public void incrementAmount() {
 		++amount;
 		countChangedListener.offersCountChanged(materialType, +1);
+		notifyTrackingList();
 	}
 
 	public byte getAmount() {
@@ -93,6 +97,22 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 		return amount <= 0;
 	}
 
+	@Override
+	public PositionableList<?> getTrackingList() {
+		return trackingList;
+	}
+
+	@Override
+	public void setTrackingList(PositionableList<?> trackingList) {
+		this.trackingList = trackingList;
+	}
+
+	private void notifyTrackingList() {
+		if (trackingList != null) {
+			trackingList.locatableChanged(this);
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "MaterialOffer{" + "position=" + position + ", priority=" + priority + ", amount=" + amount + '}';
@@ -114,6 +134,7 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	public void offerTaken() {
 		inDistribution--;
 		amount--;
+		notifyTrackingList();
 	}
 
 	@Override
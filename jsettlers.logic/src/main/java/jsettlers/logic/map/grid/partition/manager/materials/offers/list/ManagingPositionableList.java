@@ -14,11 +14,11 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.common.utils.MathUtils;
 import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
 
 /**
@@ -32,31 +32,19 @@ public class ManagingPositionableList<T extends ILocatable & IListManageable> ex
 
 	private static final long serialVersionUID = 5373491460834642792L;
 
+	/**
+	 * Objects that may be removable. Objects not reporting their changes to this list stay candidates as long as they are in this list.
+	 */
+	private transient ArrayList<T> removalCandidates;
+
 	@Override
 	protected T getObjectCloseTo(ShortPoint2D position) {
-		int bestDistance = Integer.MAX_VALUE;
-		T currBest = null;
-
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
-			T currEntry = iterator.next();
-
-			if (currEntry.canBeRemoved()) { // remove old entries no longer needed
-				iterator.remove();
-
-			} else if (currEntry.isActive()) { // only use the active ones
-				int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
-
-				if (bestDistance > currDist) {
-					bestDistance = currDist;
-					currBest = currEntry;
-				}
-			}
-		}
-		return currBest;
+		removeRemovableObjects(); // remove old entries no longer needed
+		return getObjectCloseTo(position, currEntry -> currEntry.isActive()); // only use the active ones
 	}
 
 	public boolean hasNoActive() {
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
+		for (Iterator<T> iterator = iterator(); iterator.hasNext(); ) {
 			T datum = iterator.next();
 
 			if (datum.canBeRemoved()) {
@@ -68,4 +56,43 @@ public class ManagingPositionableList<T extends ILocatable & IListManageable> ex
 		}
 		return true;
 	}
+
+	@Override
+	protected void onInserted(T object) {
+		if (!reportsChanges(object) || object.canBeRemoved()) {
+			addRemovalCandidate(object);
+		}
+	}
+
+	@Override
+	protected void onChanged(T object) {
+		if (object.canBeRemoved()) {
+			addRemovalCandidate(object);
+		}
+	}
+
+	private void addRemovalCandidate(T object) {
+		if (removalCandidates == null) {
+			removalCandidates = new ArrayList<>();
+		}
+		removalCandidates.add(object);
+	}
+
+	private void removeRemovableObjects() {
+		if (isEmpty() || removalCandidates == null) {
+			return;
+		}
+
+		int remainingCandidates = 0;
+		for (int i = 0; i < removalCandidates.size(); i++) {
+			T candidate = removalCandidates.get(i);
+
+			if (candidate.canBeRemoved()) {
+				remove(candidate);
+			} else if (contains(candidate) && !reportsChanges(candidate)) {
+				removalCandidates.set(remainingCandidates++, candidate);
+			}
+		}
+		removalCandidates.subList(remainingCandidates, removalCandidates.size()).clear();
+	}
 }
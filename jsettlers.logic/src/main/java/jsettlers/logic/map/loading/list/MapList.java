@@ -17,19 +17,20 @@ package jsettlers.logic.map.loading.list;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import jsettlers.common.CommonConstants;
-import jsettlers.common.logging.MilliStopWatch;
 import jsettlers.common.utils.collections.ChangingList;
 import jsettlers.input.PlayerState;
-import jsettlers.logic.constants.MatchConstants;
-import jsettlers.logic.map.grid.GameSerializer;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.loading.MapLoader;
 import jsettlers.logic.map.loading.data.IMapData;
@@ -38,7 +39,7 @@ import jsettlers.logic.map.loading.newmap.FreshMapSerializer;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
-import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.logic.map.loading.savegame.SavegameSnapshot;
 
 /**
  * This is the main map list.
@@ -73,6 +74,10 @@ public class MapList implements IMapListerCallable {
 
 	private boolean fileListLoaded = false;
 
+	private final ExecutorService    savegameWriter     = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+			runnable -> new Thread(runnable, "SavegameWriter"));
+	private final SavegameStatistics savegameStatistics = new SavegameStatistics();
+
 	public MapList(Collection<IMapLister> mapDirectories, IMapLister saveDirectory) {
 		this.mapDirectories = new ArrayList<>(mapDirectories);
 		this.saveDirectory = saveDirectory;
@@ -156,7 +161,7 @@ public class MapList implements IMapListerCallable {
 
 	}
 
-	private MapLoader getMapByIdNoDownload(String id) {
+	private synchronized MapLoader getMapByIdNoDownload(String id) {
 		ArrayList<MapLoader> maps = new ArrayList<>();
 		maps.addAll(getFreshMaps().getItems());
 		maps.addAll(getSavedMaps().getItems());
@@ -169,7 +174,7 @@ public class MapList implements IMapListerCallable {
 		return null;
 	}
 
-	public MapLoader getMapByName(String mapName) {
+	public synchronized MapLoader getMapByName(String mapName) {
 		ArrayList<MapLoader> maps = new ArrayList<>();
 		maps.addAll(getFreshMaps().getItems());
 		maps.addAll(getSavedMaps().getItems());
@@ -211,28 +216,52 @@ public class MapList implements IMapListerCallable {
 
 	/**
 	 * Saves a map to disk. The map logic should be paused while calling this method.
+	 * <p />
+	 * The game is only captured in a {@link SavegameSnapshot} by this method. The snapshot is written in the background, use {@link #awaitSavedMaps()} to wait for it.
 	 * 
 	 * @param playerStates
 	 * @param grid
 	 * @throws IOException
 	 */
-	public synchronized void saveMap(PlayerState[] playerStates, MapFileHeader header, MainGrid grid) throws IOException {
-		MilliStopWatch watch = new MilliStopWatch();
-		OutputStream outStream = saveDirectory.getOutputStream(header);
+	public void saveMap(PlayerState[] playerStates, MapFileHeader header, MainGrid grid) throws IOException {
+		long start = System.nanoTime();
+		SavegameSnapshot snapshot = SavegameSnapshot.capture(header, playerStates, grid);
+		savegameStatistics.snapshotCaptured(System.nanoTime() - start, snapshot.getSize());
 
-		header.writeTo(outStream);
+		savegameWriter.execute(() -> writeSavegame(snapshot));
+	}
 
-		ObjectOutputStream oos = new ObjectOutputStream(outStream);
-		MatchConstants.serialize(oos);
-		oos.writeObject(playerStates);
-		GameSerializer gameSerializer = new GameSerializer();
-		gameSerializer.save(grid, oos);
-		RescheduleTimer.saveTo(oos);
+	private void writeSavegame(SavegameSnapshot snapshot) {
+		long start = System.nanoTime();
+		try (OutputStream outStream = saveDirectory.getOutputStream(snapshot.getHeader())) {
+			snapshot.writeTo(outStream);
+		} catch (IOException e) {
+			System.err.println("Error writing savegame " + snapshot.getHeader().getName());
+			e.printStackTrace();
+			return;
+		}
+		savegameStatistics.snapshotWritten(System.nanoTime() - start);
+		System.out.println(savegameStatistics);
 
-		oos.close();
-		watch.stop("Writing savegame required");
+		synchronized (this) {
+			loadFileList();
+		}
+	}
 
-		loadFileList();
+	/**
+	 * Blocks until all savegames passed to {@link #saveMap(PlayerState[], MapFileHeader, MainGrid)} have been written.
+	 */
+	public void awaitSavedMaps() throws InterruptedException {
+		try {
+			savegameWriter.submit(() -> {
+			}).get();
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public SavegameStatistics getSavegameStatistics() {
+		return savegameStatistics;
 	}
 
 	public ArrayList<MapLoader> getSavedMultiplayerMaps() {
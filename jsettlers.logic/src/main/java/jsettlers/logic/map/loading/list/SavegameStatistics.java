@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.list;
+
+/**
+ * Metrics of the savegames written by a {@link MapList}. The pause is the time the game had to stand still to capture a savegame, the write time is the time the background writer
+ * needed to compress it and write it to disk.
+ */
+public final class SavegameStatistics {
+	private int  savedGames;
+	private long lastPauseNanos;
+	private long maxPauseNanos;
+	private long totalPauseNanos;
+	private int  lastSize;
+
+	private int  writtenGames;
+	private long lastWriteNanos;
+
+	SavegameStatistics() {
+	}
+
+	synchronized void snapshotCaptured(long pauseNanos, int size) {
+		savedGames++;
+		lastPauseNanos = pauseNanos;
+		maxPauseNanos = Math.max(maxPauseNanos, pauseNanos);
+		totalPauseNanos += pauseNanos;
+		lastSize = size;
+	}
+
+	synchronized void snapshotWritten(long writeNanos) {
+		writtenGames++;
+		lastWriteNanos = writeNanos;
+	}
+
+	public synchronized int getSavedGames() {
+		return savedGames;
+	}
+
+	public synchronized int getWrittenGames() {
+		return writtenGames;
+	}
+
+	/**
+	 * @return nanoseconds the game was paused to capture the last savegame.
+	 */
+	public synchronized long getLastPauseNanos() {
+		return lastPauseNanos;
+	}
+
+	public synchronized long getMaxPauseNanos() {
+		return maxPauseNanos;
+	}
+
+	public synchronized long getTotalPauseNanos() {
+		return totalPauseNanos;
+	}
+
+	/**
+	 * @return uncompressed size of the last savegame in bytes.
+	 */
+	public synchronized int getLastSize() {
+		return lastSize;
+	}
+
+	/**
+	 * @return nanoseconds needed to write the last savegame in the background.
+	 */
+	public synchronized long getLastWriteNanos() {
+		return lastWriteNanos;
+	}
+
+	@Override
+	public synchronized String toString() {
+		float averagePauseMillis = savedGames > 0 ? totalPauseNanos / 1E6f / savedGames : 0;
+		return "SavegameStatistics: saves: " + savedGames + "  last pause: " + lastPauseNanos / 1E6f + "ms  avg pause: " + averagePauseMillis + "ms  max pause: "
+			+ maxPauseNanos / 1E6f + "ms  last size: " + lastSize / 1024 + "KiB  last write: " + lastWriteNanos / 1E6f + "ms";
+	}
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+
+/**
+ * {@link ObjectInputStream} reading the game state written by a {@link GameStateOutputStream}.
+ */
+public class GameStateInputStream extends ObjectInputStream {
+	private final DataInputStream gridData;
+
+	public GameStateInputStream(InputStream in, byte[] gridData) throws IOException {
+		super(in);
+		this.gridData = new DataInputStream(new ByteArrayInputStream(gridData));
+	}
+
+	/**
+	 * @return the grid data stream if the given stream is a {@link GameStateInputStream}, otherwise the given stream itself.
+	 */
+	public static DataInput getGridData(ObjectInputStream ois) {
+		return ois instanceof GameStateInputStream ? ((GameStateInputStream) ois).gridData : ois;
+	}
+}
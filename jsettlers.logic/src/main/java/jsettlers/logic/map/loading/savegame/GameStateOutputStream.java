@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * {@link ObjectOutputStream} writing the game state of a savegame. The large primitive grids write their data to a separate grid data stream, which is stored in the
+ * {@link SavegameFormat#CHUNK_GRIDS} chunk. This keeps the object stream small and lets the grids use explicit encodings for their data.
+ */
+public class GameStateOutputStream extends ObjectOutputStream {
+	private final DataOutputStream gridData;
+
+	public GameStateOutputStream(OutputStream out, OutputStream gridDataOut) throws IOException {
+		super(out);
+		this.gridData = new DataOutputStream(gridDataOut);
+	}
+
+	/**
+	 * @return the grid data stream if the given stream is a {@link GameStateOutputStream}, otherwise the given stream itself.
+	 */
+	public static DataOutput getGridData(ObjectOutputStream oos) {
+		return oos instanceof GameStateOutputStream ? ((GameStateOutputStream) oos).gridData : oos;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		super.flush();
+		gridData.flush();
+	}
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+/**
+ * Constants of the chunked savegame format.
+ * <p />
+ * After the map file header, a savegame starts with {@link #MAGIC} and the format {@link #VERSION}. It is followed by a sequence of chunks. Every chunk consists of its type, the
+ * uncompressed length, the compressed length and the deflated data. The sequence ends with {@link #CHUNK_END}.
+ * <p />
+ * Savegames written with plain java serialization start with the serialization stream magic instead and are still loaded by the {@link SavegameLoader}.
+ */
+public final class SavegameFormat {
+	public static final int   MAGIC   = chunkType("JSSG");
+	public static final short VERSION = 1;
+
+	public static final int CHUNK_END = 0;
+	/**
+	 * Game time and random number generators, see {@link jsettlers.logic.constants.MatchConstants#serialize(java.io.ObjectOutputStream)}.
+	 */
+	public static final int CHUNK_MATCH = chunkType("MTCH");
+	/**
+	 * Data of the large primitive grids written with {@link GameStateOutputStream#getGridData(java.io.ObjectOutputStream)}.
+	 */
+	public static final int CHUNK_GRIDS = chunkType("GRID");
+	/**
+	 * The {@link jsettlers.input.PlayerState}s, the static state, the main grid with all entities and the timer state, written with a {@link GameStateOutputStream}. The player states
+	 * share references with the grid and must therefore be part of the same stream.
+	 */
+	public static final int CHUNK_GAME_STATE = chunkType("GAME");
+
+	private SavegameFormat() {
+	}
+
+	private static int chunkType(String name) {
+		return name.charAt(0) << 24 | name.charAt(1) << 16 | name.charAt(2) << 8 | name.charAt(3);
+	}
+
+	public static String getChunkName(int chunkType) {
+		return new String(new char[] { (char) (chunkType >>> 24), (char) (chunkType >>> 16 & 0xFF), (char) (chunkType >>> 8 & 0xFF), (char) (chunkType & 0xFF) });
+	}
+}
@@ -14,7 +14,10 @@
  *******************************************************************************/
 package jsettlers.logic.map.loading.savegame;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 
 import jsettlers.logic.map.loading.data.IMapData;
@@ -41,24 +44,48 @@ public class SavegameLoader extends RemakeMapLoader {
 		super(file, header);
 	}
 
-		@Override
+	@Override
 	public MainGridWithUiSettings loadMainGrid(PlayerSetting[] playerSettings, EMapStartResources startResources) throws MapLoadException {
-		try (ObjectInputStream ois = new ObjectInputStream(super.getMapDataStream())) {
-			MatchConstants.deserialize(ois);
-			PlayerState[] playerStates = (PlayerState[]) ois.readObject();
-			GameSerializer gameSerializer = new GameSerializer();
-			MainGrid mainGrid = gameSerializer.load(ois);
-			mainGrid.initWithPlayerSettings(playerSettings);
-			RescheduleTimer.loadFrom(ois);
-
-			ois.close();
-
-			return new MainGridWithUiSettings(mainGrid, playerStates);
+		try (InputStream in = new BufferedInputStream(super.getMapDataStream())) {
+			if (SavegameReader.isChunkedSavegame(in)) {
+				return loadChunkedSavegame(new SavegameReader(in), playerSettings);
+			} else {
+				return loadSerializedSavegame(new ObjectInputStream(in), playerSettings);
+			}
 		} catch (IOException | ClassNotFoundException ex) {
 			throw new MapLoadException(ex);
 		}
 	}
 
+	private MainGridWithUiSettings loadChunkedSavegame(SavegameReader reader, PlayerSetting[] playerSettings) throws IOException, ClassNotFoundException, MapLoadException {
+		try (ObjectInputStream ois = reader.getObjectChunk(SavegameFormat.CHUNK_MATCH)) {
+			MatchConstants.deserialize(ois);
+		}
+
+		byte[] gameState = reader.getChunk(SavegameFormat.CHUNK_GAME_STATE);
+		try (ObjectInputStream ois = new GameStateInputStream(new ByteArrayInputStream(gameState), reader.getChunk(SavegameFormat.CHUNK_GRIDS))) {
+			return loadGameState(ois, playerSettings);
+		}
+	}
+
+	/**
+	 * Loads savegames written with plain java serialization before the {@link SavegameFormat} was introduced.
+	 */
+	private MainGridWithUiSettings loadSerializedSavegame(ObjectInputStream ois, PlayerSetting[] playerSettings) throws IOException, ClassNotFoundException, MapLoadException {
+		MatchConstants.deserialize(ois);
+		return loadGameState(ois, playerSettings);
+	}
+
+	private MainGridWithUiSettings loadGameState(ObjectInputStream ois, PlayerSetting[] playerSettings) throws IOException, ClassNotFoundException, MapLoadException {
+		PlayerState[] playerStates = (PlayerState[]) ois.readObject();
+		GameSerializer gameSerializer = new GameSerializer();
+		MainGrid mainGrid = gameSerializer.load(ois);
+		mainGrid.initWithPlayerSettings(playerSettings);
+		RescheduleTimer.loadFrom(ois);
+
+		return new MainGridWithUiSettings(mainGrid, playerStates);
+	}
+
 	@Override
 	public IMapData getMapData() throws MapLoadException {
 		throw new UnsupportedOperationException("A savegame can't supply IMapData");
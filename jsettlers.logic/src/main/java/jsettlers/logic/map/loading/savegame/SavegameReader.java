@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads all chunks of a savegame in the {@link SavegameFormat}.
+ */
+public final class SavegameReader {
+	private final short                version;
+	private final Map<Integer, byte[]> chunks     = new HashMap<>();
+	private final List<Integer>        chunkTypes = new ArrayList<>();
+
+	public SavegameReader(InputStream in) throws IOException {
+		DataInputStream dataIn = new DataInputStream(in);
+		if (dataIn.readInt() != SavegameFormat.MAGIC) {
+			throw new IOException("Stream does not contain a chunked savegame.");
+		}
+
+		version = dataIn.readShort();
+		if (version > SavegameFormat.VERSION) {
+			throw new IOException("Savegame version " + version + " is not supported by this version of the game.");
+		}
+
+		Inflater inflater = new Inflater();
+		try {
+			int chunkType;
+			while ((chunkType = dataIn.readInt()) != SavegameFormat.CHUNK_END) {
+				byte[] data = new byte[dataIn.readInt()];
+				byte[] compressedData = new byte[dataIn.readInt()];
+				dataIn.readFully(compressedData);
+
+				inflater.reset();
+				inflater.setInput(compressedData);
+				int length = 0;
+				while (length < data.length) {
+					int inflated = inflater.inflate(data, length, data.length - length);
+					if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						throw new IOException("Chunk " + SavegameFormat.getChunkName(chunkType) + " is truncated.");
+					}
+					length += inflated;
+				}
+
+				chunks.put(chunkType, data);
+				chunkTypes.add(chunkType);
+			}
+		} catch (DataFormatException e) {
+			throw new IOException(e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Checks if the given stream contains a chunked savegame without consuming any data.
+	 *
+	 * @param in
+	 * 		A stream supporting {@link InputStream#mark(int)}.
+	 * @return true if the stream starts with the {@link SavegameFormat#MAGIC}, false if it contains a savegame written with plain java serialization.
+	 */
+	public static boolean isChunkedSavegame(InputStream in) throws IOException {
+		in.mark(Integer.BYTES);
+		try {
+			return new DataInputStream(in).readInt() == SavegameFormat.MAGIC;
+		} finally {
+			in.reset();
+		}
+	}
+
+	public short getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return the types of all chunks in the order they are stored in the savegame.
+	 */
+	public List<Integer> getChunkTypes() {
+		return chunkTypes;
+	}
+
+	public byte[] getChunk(int chunkType) throws IOException {
+		byte[] data = chunks.get(chunkType);
+		if (data == null) {
+			throw new IOException("Savegame does not contain chunk " + SavegameFormat.getChunkName(chunkType) + ".");
+		}
+		return data;
+	}
+
+	public ObjectInputStream getObjectChunk(int chunkType) throws IOException {
+		return new ObjectInputStream(new ByteArrayInputStream(getChunk(chunkType)));
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import jsettlers.input.PlayerState;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.GameSerializer;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.newmap.MapFileHeader;
+import jsettlers.logic.timer.RescheduleTimer;
+
+/**
+ * Complete state of a game captured in memory.
+ * <p />
+ * Capturing serializes the game into the uncompressed chunks of the {@link SavegameFormat}, the large primitive grids are copied in bulk into the grid data chunk. This is the only
+ * part of saving that needs the game to stand still. Afterwards the snapshot is independent of the running game and can be compressed and written by another thread.
+ */
+public final class SavegameSnapshot {
+	private final MapFileHeader header;
+	private final int[]         chunkTypes;
+	private final byte[][]      chunks;
+
+	private SavegameSnapshot(MapFileHeader header, int[] chunkTypes, byte[][] chunks) {
+		this.header = header;
+		this.chunkTypes = chunkTypes;
+		this.chunks = chunks;
+	}
+
+	/**
+	 * Captures the state of the game. Must be called on the game thread between two time slices.
+	 */
+	public static SavegameSnapshot capture(MapFileHeader header, PlayerState[] playerStates, MainGrid grid) throws IOException {
+		byte[] matchData = SavegameWriter.serialize(MatchConstants::serialize);
+
+		ByteArrayOutputStream gameState = new ByteArrayOutputStream();
+		ByteArrayOutputStream gridData = new ByteArrayOutputStream();
+		try (GameStateOutputStream oos = new GameStateOutputStream(gameState, gridData)) {
+			oos.writeObject(playerStates);
+			GameSerializer gameSerializer = new GameSerializer();
+			gameSerializer.save(grid, oos);
+			RescheduleTimer.saveTo(oos);
+		}
+
+		return new SavegameSnapshot(header,
+				new int[] { SavegameFormat.CHUNK_MATCH, SavegameFormat.CHUNK_GRIDS, SavegameFormat.CHUNK_GAME_STATE },
+				new byte[][] { matchData, gridData.toByteArray(), gameState.toByteArray() });
+	}
+
+	public MapFileHeader getHeader() {
+		return header;
+	}
+
+	/**
+	 * @return the uncompressed size of all chunks in bytes.
+	 */
+	public int getSize() {
+		int size = 0;
+		for (byte[] chunk : chunks) {
+			size += chunk.length;
+		}
+		return size;
+	}
+
+	/**
+	 * Writes the header and the compressed chunks to the given stream. The stream is not closed.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		header.writeTo(out);
+
+		SavegameWriter writer = new SavegameWriter(out);
+		for (int i = 0; i < chunkTypes.length; i++) {
+			writer.writeChunk(chunkTypes[i], chunks[i]);
+		}
+		writer.finish();
+	}
+}
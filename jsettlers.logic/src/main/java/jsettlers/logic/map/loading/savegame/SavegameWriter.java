@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes the chunks of a savegame in the {@link SavegameFormat}.
+ */
+public final class SavegameWriter {
+	private final DataOutputStream      out;
+	private final Deflater              deflater       = new Deflater(Deflater.BEST_SPEED);
+	private final ByteArrayOutputStream compressedData = new ByteArrayOutputStream();
+
+	public SavegameWriter(OutputStream out) throws IOException {
+		this.out = new DataOutputStream(out);
+		this.out.writeInt(SavegameFormat.MAGIC);
+		this.out.writeShort(SavegameFormat.VERSION);
+	}
+
+	public void writeChunk(int chunkType, byte[] data) throws IOException {
+		compressedData.reset();
+		deflater.reset();
+		DeflaterOutputStream deflaterStream = new DeflaterOutputStream(compressedData, deflater);
+		deflaterStream.write(data);
+		deflaterStream.finish();
+
+		out.writeInt(chunkType);
+		out.writeInt(data.length);
+		out.writeInt(compressedData.size());
+		compressedData.writeTo(out);
+	}
+
+	public void writeObjectChunk(int chunkType, IObjectWriter objectWriter) throws IOException {
+		writeChunk(chunkType, serialize(objectWriter));
+	}
+
+	/**
+	 * @return the uncompressed data of an object chunk written by the given writer.
+	 */
+	public static byte[] serialize(IObjectWriter objectWriter) throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(data)) {
+			objectWriter.write(oos);
+		}
+		return data.toByteArray();
+	}
+
+	/**
+	 * Writes the end of the chunk sequence. The underlying stream is flushed but not closed.
+	 */
+	public void finish() throws IOException {
+		out.writeInt(SavegameFormat.CHUNK_END);
+		out.flush();
+		deflater.end();
+	}
+
+	public interface IObjectWriter {
+		void write(ObjectOutputStream oos) throws IOException;
+	}
+}
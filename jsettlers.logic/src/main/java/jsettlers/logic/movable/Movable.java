@@ -16,6 +16,7 @@ package jsettlers.logic.movable;
 
 import jsettlers.algorithms.fogofwar.FoWTask;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.async.PathRequest;
 import jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper;
 import jsettlers.algorithms.simplebehaviortree.IBooleanConditionFunction;
 import jsettlers.algorithms.simplebehaviortree.IEDirectionSupplier;
@@ -40,6 +41,8 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.selectable.ESelectionType;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.partition.manager.datastructures.ITrackedLocatable;
+import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
 import jsettlers.logic.movable.cargo.CargoShipMovable;
 import jsettlers.logic.movable.cargo.DonkeyMovable;
 import jsettlers.logic.movable.civilian.AlchemistMovable;
@@ -65,12 +68,12 @@ import jsettlers.logic.movable.specialist.GeologistMovable;
 import jsettlers.logic.movable.specialist.PioneerMovable;
 import jsettlers.logic.movable.specialist.ThiefMovable;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.IPreparableTimerable;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.EnumMap;
-import java.util.LinkedList;
 import java.util.Map;
 
 import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
@@ -80,7 +83,7 @@ import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
  *
  * @author Andreas Eberle
  */
-public abstract class Movable implements ILogicMovable, FoWTask {
+public abstract class Movable implements ILogicMovable, IPreparableTimerable, FoWTask, ITrackedLocatable {
 	private static final long serialVersionUID = -705947810059935866L;
 
 	private static final int SHIP_PUSH_DISTANCE = 10;
@@ -105,7 +108,8 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 	public transient ShortPoint2D oldFowPosition = null;
 	protected ShortPoint2D position;
 
-	protected Path path;
+	protected Path        path;
+	protected PathRequest pathRequest;
 
 	protected float         health;
 	private boolean       visible           = true;
@@ -123,6 +127,8 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 	private transient Tick<? extends Movable> tick;
 
+	private transient PositionableList<?> trackingList;
+
 	protected Movable(AbstractMovableGrid grid, EMovableType movableType, ShortPoint2D position, Player player, Movable replace) {
 		this.grid = grid;
 		this.position = position;
@@ -358,72 +364,120 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		);
 	}
 
+	protected static <T extends Movable> Node<T> goToPosLater(IShortPoint2DSupplier<T> target) {
+		return goToPosLater(target, mov -> true);
+	}
+
+	/**
+	 * Like {@link #goToPos(IShortPoint2DSupplier, IBooleanConditionFunction)}, but for movables that can wait a moment before they start to walk. The path is requested
+	 * with {@link AbstractMovableGrid#requestPath(jsettlers.algorithms.path.IPathCalculatable, ShortPoint2D)} and the movable sleeps until it is delivered.
+	 */
+	protected static <T extends Movable> Node<T> goToPosLater(IShortPoint2DSupplier<T> target, IBooleanConditionFunction<T> pathStep) {
+		return sequence(
+				action(mov -> {
+					mov.pathRequest = mov.grid.requestPath(mov, target.apply(mov));
+				}),
+				sleep(mov -> mov.pathRequest.getDeliveryTime() - MatchConstants.clock().getTime()),
+				condition(mov -> {
+					PathRequest request = mov.pathRequest;
+					mov.pathRequest = null;
+
+					Path requestedPath = request.takePath();
+					if (request.startsAt(mov.position)) {
+						mov.path = requestedPath;
+					} else { // the movable has been pushed away while it waited
+						if (requestedPath != null) {
+							mov.grid.recyclePath(requestedPath);
+						}
+						mov.path = mov.grid.calculatePathTo(mov, request.getTarget());
+					}
+					return mov.path != null;
+				}),
+				followPath(pathStep)
+		);
+	}
+
 
 	protected void findWayAroundObstacle() {
 		if (!path.hasOverNextStep()) { // if path has no position left
 			return;
 		}
 
-		EDirection direction = EDirection.getApproxDirection(position, path.getOverNextPos());
+		int x = position.x;
+		int y = position.y;
+		int overNextX = path.getOverNextX();
+		int overNextY = path.getOverNextY();
+
+		EDirection direction = EDirection.getApproxDirection(x, y, overNextX, overNextY);
 
 		EDirection rightDir = direction.getNeighbor(-1);
 		EDirection leftDir = direction.getNeighbor(1);
 
-		ShortPoint2D straightPos = direction.getNextHexPoint(position);
-		ShortPoint2D twoStraightPos = direction.getNextHexPoint(position, 2);
-
-		ShortPoint2D rightPos = rightDir.getNextHexPoint(position);
-		ShortPoint2D rightStraightPos = direction.getNextHexPoint(rightPos);
-		ShortPoint2D straightRightPos = rightDir.getNextHexPoint(straightPos);
-
-		ShortPoint2D leftPos = leftDir.getNextHexPoint(position);
-		ShortPoint2D leftStraightPos = direction.getNextHexPoint(leftPos);
-		ShortPoint2D straightLeftPos = leftDir.getNextHexPoint(straightPos);
-
-		ShortPoint2D overNextPos = path.getOverNextPos();
-
-		LinkedList<ShortPoint2D[]> possiblePaths = new LinkedList<>();
-
-		if (twoStraightPos.equals(overNextPos)) {
-			if (grid.isValidPosition(this, rightPos.x, rightPos.y) && grid.isValidPosition(this, rightStraightPos.x, rightStraightPos.y)) {
-				possiblePaths.add(new ShortPoint2D[]{
-						rightPos,
-						rightStraightPos});
-			} else if (grid.isValidPosition(this, leftPos.x, leftPos.y) && grid.isValidPosition(this, leftStraightPos.x, leftStraightPos.y)) {
-				possiblePaths.add(new ShortPoint2D[]{
-						leftPos,
-						leftStraightPos});
+		int straightX = direction.getNextTileX(x);
+		int straightY = direction.getNextTileY(y);
+
+		int rightX = rightDir.getNextTileX(x);
+		int rightY = rightDir.getNextTileY(y);
+		int rightStraightX = direction.getNextTileX(rightX);
+		int rightStraightY = direction.getNextTileY(rightY);
+
+		int leftX = leftDir.getNextTileX(x);
+		int leftY = leftDir.getNextTileY(y);
+		int leftStraightX = direction.getNextTileX(leftX);
+		int leftStraightY = direction.getNextTileY(leftY);
+
+		// the possible ways are checked in order and every way without a movable on its first position is taken.
+		if (direction.getNextTileX(x, 2) == overNextX && direction.getNextTileY(y, 2) == overNextY) {
+			if (grid.isValidPosition(this, rightX, rightY) && grid.isValidPosition(this, rightStraightX, rightStraightY)) {
+				takeWayAroundObstacle(rightX, rightY, rightStraightX, rightStraightY);
+			} else if (grid.isValidPosition(this, leftX, leftY) && grid.isValidPosition(this, leftStraightX, leftStraightY)) {
+				takeWayAroundObstacle(leftX, leftY, leftStraightX, leftStraightY);
 			} else {
 				// TODO @Andreas Eberle maybe calculate a new path
 			}
 		}
 
-		if (rightStraightPos.equals(overNextPos) && grid.isValidPosition(this, rightPos.x, rightPos.y)) {
-			possiblePaths.add(new ShortPoint2D[]{rightPos});
+		if (rightStraightX == overNextX && rightStraightY == overNextY && grid.isValidPosition(this, rightX, rightY)) {
+			takeWayAroundObstacle(rightX, rightY);
 		}
-		if (leftStraightPos.equals(overNextPos) && grid.isValidPosition(this, leftPos.x, leftPos.y)) {
-			possiblePaths.add(new ShortPoint2D[]{leftPos});
+		if (leftStraightX == overNextX && leftStraightY == overNextY && grid.isValidPosition(this, leftX, leftY)) {
+			takeWayAroundObstacle(leftX, leftY);
 		}
 
-		if ((straightRightPos.equals(overNextPos) || straightLeftPos.equals(overNextPos))
-				&& grid.isValidPosition(this, straightPos.x, straightPos.y) && grid.hasNoMovableAt(straightPos.x, straightPos.y)) {
-			possiblePaths.add(new ShortPoint2D[]{straightPos});
+		if ((rightDir.getNextTileX(straightX) == overNextX && rightDir.getNextTileY(straightY) == overNextY
+				|| leftDir.getNextTileX(straightX) == overNextX && leftDir.getNextTileY(straightY) == overNextY)
+				&& grid.isValidPosition(this, straightX, straightY) && grid.hasNoMovableAt(straightX, straightY)) {
+			takeWayAroundObstacle(straightX, straightY);
 
 		} else {
 			// TODO @Andreas Eberle maybe calculate a new path
 		}
+	}
 
-		// try to find a way without a movable or with a pushable movable.
-		for (ShortPoint2D[] pathPrefix : possiblePaths) { // check if any of the paths is free of movables
-			ShortPoint2D firstPosition = pathPrefix[0];
-			ILogicMovable movable = grid.getMovableAt(firstPosition.x, firstPosition.y);
-			if (movable == null) {
-				path.goToNextStep();
-				path = new Path(path, pathPrefix);
-			}
+	private void takeWayAroundObstacle(int x, int y) {
+		if (grid.getMovableAt(x, y) == null) {
+			path.goToNextStep();
+			path.prepend((short) x, (short) y);
+		}
+	}
+
+	private void takeWayAroundObstacle(int firstX, int firstY, int secondX, int secondY) {
+		if (grid.getMovableAt(firstX, firstY) == null) {
+			path.goToNextStep();
+			path.prepend((short) secondX, (short) secondY);
+			path.prepend((short) firstX, (short) firstY);
 		}
 	}
 
+	@Override
+	public int getPreparationRegion() {
+		return NO_PREPARATION;
+	}
+
+	@Override
+	public void prepareTimerEvent() {
+	}
+
 	@Override
 	public int timerEvent() {
 		if (!isAlive()) {
@@ -434,13 +488,13 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 		// continue behaviour if the previous run was successful
 		for(int i = 0; i < BEHAVIOUR_RETRY_COUNT && status == NodeStatus.SUCCESS && state == EMovableState.ACTIVE; i++) {
-			tick.root.setInvocationDelay(0);
+			tick.setInvocationDelay(0);
 			status = tick.tick();
 		}
 
 		leavePosition = false;
 
-		int delay = tick.root.getInvocationDelay();
+		int delay = tick.getInvocationDelay();
 		if(delay < Constants.MOVABLE_INTERRUPT_PERIOD) {
 			return Constants.MOVABLE_INTERRUPT_PERIOD;
 		}
@@ -502,6 +556,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 				mov.grid.enterPosition(targetPosition, mov, false);
 				realMov.position = targetPosition;
 				realMov.isRightstep = !realMov.isRightstep;
+				realMov.notifyTrackingList();
 
 			}),
 			playAction(EMovableAction.WALKING, mov -> mov.getMovableType().getStepDurationMs())
@@ -677,6 +732,23 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		}
 
 		this.position = position;
+		notifyTrackingList();
+	}
+
+	private void notifyTrackingList() {
+		if (trackingList != null) {
+			trackingList.locatableChanged(this);
+		}
+	}
+
+	@Override
+	public PositionableList<?> getTrackingList() {
+		return trackingList;
+	}
+
+	@Override
+	public void setTrackingList(PositionableList<?> trackingList) {
+		this.trackingList = trackingList;
 	}
 
 	public final void setVisible(boolean visible) {
@@ -742,7 +814,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 	private NodeStatus canGoNextStep() {
 		boolean valid = grid.isValidNextPathPosition(this, path.getNextPos(), path.getTargetPosition());
 		if(!valid) {
-			path = grid.calculatePathTo(this, path.getTargetPosition());
+			replacePath(grid.calculatePathTo(this, path.getTargetPosition()));
 
 			valid = (path != null);
 		}
@@ -767,10 +839,11 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 						if (newPrefix != null) {
 							path.goToNextStep(CommonConstants.MOVABLE_PATH_REPAIR_DISTANCE);
-							path = new Path(path, newPrefix);
+							path.prepend(newPrefix);
+							grid.recyclePath(newPrefix);
 						}
 					} else {
-						path = grid.calculatePathTo(this, path.getTargetPosition());
+						replacePath(grid.calculatePathTo(this, path.getTargetPosition()));
 						if(path == null) return NodeStatus.FAILURE;
 					}
 					break;
@@ -786,6 +859,11 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		return NodeStatus.SUCCESS;
 	}
 
+	private void replacePath(Path newPath) {
+		grid.recyclePath(path);
+		path = newPath;
+	}
+
 	private NodeStatus setupNextStep() {
 		NodeStatus pathStatus = canGoNextStep();
 
@@ -804,7 +882,8 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 			if(pushedFrom.equals(path.getTargetPosition())) {
 				path = new Path(pushedFrom);
 			} else {
-				path = new Path(grid.calculatePathTo(this, path.getTargetPosition(), pushedFrom), pushedFrom);
+				path = grid.calculatePathTo(this, path.getTargetPosition(), pushedFrom);
+				path.prepend(pushedFrom.x, pushedFrom.y);
 			}
 			return NodeStatus.SUCCESS;
 		} else {
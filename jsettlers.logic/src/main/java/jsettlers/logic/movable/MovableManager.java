@@ -5,14 +5,12 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
-import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.algorithms.simplebehaviortree.Root;
 import jsettlers.common.movable.EMovableType;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
@@ -21,20 +19,16 @@ import jsettlers.logic.timer.RescheduleTimer;
 
 public final class MovableManager {
 
-	static final HashMap<Integer, ILogicMovable> movablesByID = new HashMap<>();
-	static final ConcurrentLinkedQueue<ILogicMovable> allMovables  = new ConcurrentLinkedQueue<>();
-	static       int                                  nextID       = Integer.MIN_VALUE;
-	static byte fowTeam = -1;
-
 	private static final Map<EMovableType, Root<Movable>> BEHAVIOUR_TREES = new EnumMap<>(EMovableType.class);
 
 	public static void initFow(byte fow) {
-		fowTeam = fow;
-		for(ILogicMovable lm : allMovables) {
+		GameContext context = GameContext.current();
+		context.setMovablesFowTeam(fow);
+		for(ILogicMovable lm : context.getAllMovables()) {
 			if(lm instanceof Movable) {
 				Movable mv = (Movable) lm;
-				if(MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR || lm.getPlayer().getTeamId() == fowTeam) {
-					FogOfWar.instance.refThread.nextTasks.offer(mv);
+				if(MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR || lm.getPlayer().getTeamId() == fow) {
+					context.getFogOfWar().refThread.nextTasks.offer(mv);
 				}
 			}
 		}
@@ -42,17 +36,19 @@ public final class MovableManager {
 
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		nextID = ois.readInt();
-		allMovables.clear();
-		fowTeam = -1;
-		allMovables.addAll((Collection<? extends ILogicMovable>) ois.readObject());
-		movablesByID.putAll(SerializationUtils.readHashMap(ois));
+		GameContext context = GameContext.current();
+		context.setNextMovableID(ois.readInt());
+		context.getAllMovables().clear();
+		context.setMovablesFowTeam((byte) -1);
+		context.getAllMovables().addAll((Collection<? extends ILogicMovable>) ois.readObject());
+		context.getMovablesByID().putAll(SerializationUtils.readHashMap(ois));
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
-		oos.writeInt(nextID);
-		oos.writeObject(allMovables);
-		SerializationUtils.writeHashMap(oos, movablesByID);
+		GameContext context = GameContext.current();
+		oos.writeInt(context.getNextMovableID());
+		oos.writeObject(context.getAllMovables());
+		SerializationUtils.writeHashMap(oos, context.getMovablesByID());
 	}
 
 	/**
@@ -64,18 +60,19 @@ public final class MovableManager {
 	 * or null if the id can not be found
 	 */
 	public static ILogicMovable getMovableByID(int id) {
-		return movablesByID.get(id);
+		return GameContext.current().getMovablesByID().get(id);
 	}
 
 	public static Queue<ILogicMovable> getAllMovables() {
-		return allMovables;
+		return GameContext.current().getAllMovables();
 	}
 
 	public static void resetState() {
-		allMovables.clear();
-		movablesByID.clear();
-		nextID = Integer.MIN_VALUE;
-		fowTeam = -1;
+		GameContext context = GameContext.current();
+		context.getAllMovables().clear();
+		context.getMovablesByID().clear();
+		context.setNextMovableID(Integer.MIN_VALUE);
+		context.setMovablesFowTeam((byte) -1);
 	}
 
 	static int requestId(Movable movable, Movable replace) {
@@ -84,27 +81,30 @@ public final class MovableManager {
 		if(replace != null) {
 			id = replace.getID();
 		} else {
-			id = nextID++;
+			GameContext context = GameContext.current();
+			id = context.getNextMovableID();
+			context.setNextMovableID(id + 1);
 		}
 		return id;
 	}
 
 	static void add(Movable movable) {
+		GameContext context = GameContext.current();
+		context.getMovablesByID().put(movable.getID(), movable);
+		context.getAllMovables().offer(movable);
 
-		movablesByID.put(movable.getID(), movable);
-		allMovables.offer(movable);
-
-
+		byte fowTeam = context.getMovablesFowTeam();
 		if((fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) || fowTeam == movable.player.getTeamId()) {
-			FogOfWar.instance.refThread.nextTasks.offer(movable);
+			context.getFogOfWar().refThread.nextTasks.offer(movable);
 		}
 
 		RescheduleTimer.add(movable, Constants.MOVABLE_INTERRUPT_PERIOD);
 	}
 
 	static void remove(Movable movable) {
-		movablesByID.remove(movable.getID());
-		allMovables.remove(movable);
+		GameContext context = GameContext.current();
+		context.getMovablesByID().remove(movable.getID());
+		context.getAllMovables().remove(movable);
 	}
 
 	public static <T extends Movable> void registerBehaviour(EMovableType type, Root<T> tree) {
@@ -44,7 +44,7 @@ public abstract class CargoMovable extends AttackableMovable implements ITrader
 						mov.request = null;
 					},
 					sequence(
-						goToPos(mov -> mov.request.getStart()),
+						goToPosLater(mov -> mov.request.getStart()),
 						condition(mov -> mov.loadUp(mov.request.getBuilding())),
 						action(mov -> mov.request.receivedGoods()),
 						ignoreFailure(repeat(mov -> mov.request.hasNextWaypoint(),
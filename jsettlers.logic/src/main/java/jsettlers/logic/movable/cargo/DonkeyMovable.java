@@ -50,6 +50,7 @@ public class DonkeyMovable extends CargoMovable {
 		if(loaded) {
 			setMaterial(EMaterialType.BASKET);
 			attackable = true;
+			grid.attackableChangedAt(this);
 		}
 
 		return loaded;
@@ -71,6 +72,7 @@ public class DonkeyMovable extends CargoMovable {
 
 		setMaterial(EMaterialType.NO_MATERIAL);
 		attackable = false;
+		grid.attackableChangedAt(this);
 	}
 
 	@Override
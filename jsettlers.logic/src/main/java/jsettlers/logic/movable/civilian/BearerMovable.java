@@ -97,7 +97,7 @@ public class BearerMovable extends CivilianMovable implements IBearerMovable, IM
 				guard(mov -> mov.barrack != null,
 					selector(
 						sequence(
-							goToPos(mov -> mov.barrack.getDoor()),
+							goToPosLater(mov -> mov.barrack.getDoor()),
 							condition(mov -> {
 								EMovableType soldierType = mov.barrack.popWeaponForBearer();
 								if(soldierType == null) return false;
@@ -140,7 +140,7 @@ public class BearerMovable extends CivilianMovable implements IBearerMovable, IM
 						selector(
 							sequence(
 								handleOffer(),
-								goToPos(mov -> mov.request.getPosition(), mov -> mov.request.isActive()),
+								goToPosLater(mov -> mov.request.getPosition(), mov -> mov.request.isActive()),
 								crouchDown(
 									action(mov -> {
 										EMaterialType takeDropMaterial = mov.getMaterial();
@@ -200,7 +200,7 @@ public class BearerMovable extends CivilianMovable implements IBearerMovable, IM
 
 	private static Node<BearerMovable> handleOffer() {
 		return sequence(
-				goToPos(mov -> mov.offer.getPosition(), mov -> {
+				goToPosLater(mov -> mov.offer.getPosition(), mov -> {
 					EOfferPriority minimumAcceptedPriority = mov.request != null ? mov.request.getMinimumAcceptedOfferPriority() : EOfferPriority.LOWEST;
 					return mov.offer.isStillValid(minimumAcceptedPriority);
 				}),
@@ -16,6 +16,7 @@ package jsettlers.logic.movable.interfaces;
 
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.async.PathRequest;
 import jsettlers.common.mapobject.EMapObjectType;
 import jsettlers.common.material.ESearchType;
 import jsettlers.common.position.ShortPoint2D;
@@ -62,6 +63,22 @@ public abstract class AbstractMovableGrid extends AbstractStrategyGrid {
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos);
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos, ShortPoint2D startPos);
 
+	/**
+	 * Hands a path that is no longer used back to the path finding, so that it can be filled again by one of the next calculations.
+	 *
+	 * @param path
+	 *            A path that isn't referenced anywhere else. It must not be used afterwards.
+	 */
+	public abstract void recyclePath(Path path);
+
+	/**
+	 * Requests a path for a requester that can wait for it. The path is calculated in the background and delivered at a fixed game time, which is the same on all
+	 * clients.
+	 *
+	 * @return The request, whose path can be taken at its delivery time. The path starts at the position the requester had when the request was made.
+	 */
+	public abstract PathRequest requestPath(IPathCalculatable pathCalculatable, ShortPoint2D targetPos);
+
 
 	public abstract boolean isReachable(ShortPoint2D pos1, ShortPoint2D pos2, boolean ship);
 
@@ -226,6 +226,35 @@ public abstract class AbstractStrategyGrid implements Serializable {
 	public abstract IAttackable getEnemyInSearchArea(ShortPoint2D centerPos, IAttackable movable, short minSearchRadius, short maxSearchRadius,
 													 boolean includeTowers);
 
+	/**
+	 * @return A stamp of the current state of all attackables. It can be passed to {@link #isEnemyAreaUnchangedSince(long, ShortPoint2D, int, IPlayer)} later on.
+	 */
+	public abstract long getAttackablesModificationStamp();
+
+	/**
+	 * Checks if the result of {@link #getEnemyInSearchArea(ShortPoint2D, IAttackable, short, short, boolean)} for the given area could have changed since the given stamp was
+	 * taken.
+	 *
+	 * @param stamp
+	 *            Stamp returned by {@link #getAttackablesModificationStamp()}.
+	 * @param centerPos
+	 *            The center position of the search.
+	 * @param radius
+	 *            The maximum radius of the search.
+	 * @param searchingPlayer
+	 *            The player searching for enemies.
+	 * @return true if no enemy attackable in the area has been changed.
+	 */
+	public abstract boolean isEnemyAreaUnchangedSince(long stamp, ShortPoint2D centerPos, int radius, IPlayer searchingPlayer);
+
+	/**
+	 * Needs to be called whenever an attackable changes its state in a way that changes the results of enemy searches without entering or leaving a position.
+	 *
+	 * @param attackable
+	 *            The changed attackable.
+	 */
+	public abstract void attackableChangedAt(IAttackable attackable);
+
 	/**
 	 * Adds an arrow object to the map flying from
 	 *  @param shooterPos
@@ -11,6 +11,7 @@ import jsettlers.common.movable.EMovableType;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.buildings.military.occupying.IOccupyableBuilding;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.IAttackable;
@@ -43,6 +44,14 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 	private IAttackable toCloseEnemy;
 	private ShortPoint2D startPoint;
 
+	private transient boolean      enemySearchPrepared;
+	private transient ShortPoint2D preparedSearchPosition;
+	private transient short        preparedMinSearchDistance;
+	private transient short        preparedMaxSearchDistance;
+	private transient boolean      preparedIncludeTowers;
+	private transient long         preparedSearchStamp;
+	private transient IAttackable  preparedEnemy;
+
 
 	public SoldierMovable(AbstractMovableGrid grid, EMovableType movableType, ShortPoint2D position, Player player, Movable movable) {
 		super(grid, movableType, position, player, movable);
@@ -226,7 +235,7 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 
 	private static Node<SoldierMovable> findEnemy() {
 		return condition(mov -> {
-			mov.enemy = mov.grid.getEnemyInSearchArea(mov.getAttackPosition(), mov, mov.getMinSearchDistance(), mov.getMaxSearchDistance(), !mov.defending);
+			mov.enemy = mov.searchEnemy();
 			return mov.enemy != null;
 		});
 	}
@@ -274,6 +283,63 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 		playerControlled = true;
 	}
 
+	@Override
+	public int getPreparationRegion() {
+		if (!enemyNearby || !isAlive()) {
+			return NO_PREPARATION;
+		}
+
+		ShortPoint2D attackPosition = getAttackPosition();
+		return (attackPosition.x >> 6) | (attackPosition.y >> 6) << 16;
+	}
+
+	/**
+	 * Searches the enemy in advance. The result is only used by {@link #searchEnemy()} if no attackable in the search area has changed in the meantime.
+	 */
+	@Override
+	public void prepareTimerEvent() {
+		ShortPoint2D attackPosition = getAttackPosition();
+		short minSearchDistance = getMinSearchDistance();
+		short maxSearchDistance = getMaxSearchDistance();
+		boolean includeTowers = !defending;
+
+		preparedSearchStamp = grid.getAttackablesModificationStamp();
+		preparedEnemy = grid.getEnemyInSearchArea(attackPosition, this, minSearchDistance, maxSearchDistance, includeTowers);
+		preparedSearchPosition = attackPosition;
+		preparedMinSearchDistance = minSearchDistance;
+		preparedMaxSearchDistance = maxSearchDistance;
+		preparedIncludeTowers = includeTowers;
+		enemySearchPrepared = true;
+	}
+
+	private IAttackable searchEnemy() {
+		ShortPoint2D attackPosition = getAttackPosition();
+		short minSearchDistance = getMinSearchDistance();
+		short maxSearchDistance = getMaxSearchDistance();
+		boolean includeTowers = !defending;
+
+		if (enemySearchPrepared) {
+			IAttackable prepared = preparedEnemy;
+			enemySearchPrepared = false;
+			preparedEnemy = null;
+
+			if (attackPosition.equals(preparedSearchPosition) && minSearchDistance == preparedMinSearchDistance && maxSearchDistance == preparedMaxSearchDistance
+					&& includeTowers == preparedIncludeTowers
+					&& grid.isEnemyAreaUnchangedSince(preparedSearchStamp, attackPosition, getEnemySearchRadius(maxSearchDistance, includeTowers), player)) {
+				return prepared;
+			}
+		}
+
+		return grid.getEnemyInSearchArea(attackPosition, this, minSearchDistance, maxSearchDistance, includeTowers);
+	}
+
+	private int getEnemySearchRadius(short maxSearchDistance, boolean includeTowers) {
+		if (includeTowers && !isBowman()) {
+			return Math.max(maxSearchDistance, Constants.TOWER_ATTACKABLE_SEARCH_RADIUS);
+		}
+		return maxSearchDistance;
+	}
+
 	protected ShortPoint2D getAttackPosition() {
 		return isInTower && !defending && isBowman() ? inTowerAttackPosition : position;
 	}
@@ -76,7 +76,7 @@ public class GeologistMovable extends AttackableHumanMovable {
 
 									sequence(
 										action(mov -> {mov.grid.setMarked(mov.currentTarget, true);}),
-										goToPos(mov -> mov.currentTarget),
+										goToPosLater(mov -> mov.currentTarget),
 										ignoreFailure(workOnPosition())
 									)
 								)
@@ -128,12 +128,14 @@ public class ThiefMovable extends AttackableHumanMovable implements IGraphicsThi
 		super.receiveHit(hitStrength, attackerPos, attackingPlayer);
 
 		uncoveredBy.set(attackingPlayer.getTeamId());
+		grid.attackableChangedAt(this);
 	}
 
 	@Override
 	public void heal() {
 		super.heal();
 		uncoveredBy.clear();
+		grid.attackableChangedAt(this);
 	}
 
 	@Override
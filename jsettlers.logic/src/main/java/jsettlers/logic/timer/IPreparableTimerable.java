@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+/**
+ * An {@link IScheduledTimerable} that can do read-only work before it is executed. If enabled with {@link jsettlers.logic.constants.Constants#PARALLEL_TIMERABLE_PREPARATION},
+ * the {@link RescheduleTimer} prepares all timerables of a time slot in parallel before executing them one after the other.
+ * <p />
+ * The preparation must not change the game state. Its results may only be stored in the timerable itself and must be validated before they are used in {@link #timerEvent()}, so
+ * that the simulation is exactly the same whether the preparation has been run or not.
+ */
+public interface IPreparableTimerable extends IScheduledTimerable {
+	int NO_PREPARATION = -1;
+
+	/**
+	 * @return The map region the preparation works on or {@link #NO_PREPARATION} if there is nothing to prepare. Timerables of the same region are prepared by the same thread.
+	 */
+	int getPreparationRegion();
+
+	/**
+	 * Prepares the next call to {@link #timerEvent()}. This method may be called in parallel to the preparation of other timerables.
+	 */
+	void prepareTimerEvent();
+}
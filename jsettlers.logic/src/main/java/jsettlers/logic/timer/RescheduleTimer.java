@@ -17,41 +17,132 @@ package jsettlers.logic.timer;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import jsettlers.logic.GameContext;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 
+/**
+ * Hierarchical timing wheel executing {@link IScheduledTimerable}s every {@link #TIME_SLICE} milliseconds.
+ * <p />
+ * The innermost wheel has one slot per time slice and covers the next {@value #LEVEL0_SLOTS} slices. Timerables scheduled further into the future are stored in the coarser
+ * outer wheels and are cascaded into the inner wheels when their time comes closer. Delays beyond the horizon of the outermost wheel are parked in its last slot and re-inserted on
+ * every cascade until they fit.
+ * <p />
+ * The entries are stored in primitive arrays and are linked by their indexes, so that scheduling, rescheduling and canceling a timerable does not allocate any objects (besides
+ * growing the entry pool). The timerables of a slot are executed in the order they were scheduled, which keeps the execution deterministic.
+ * <p />
+ * If {@link Constants#PARALLEL_TIMERABLE_PREPARATION} is enabled, the {@link IPreparableTimerable}s of a slot are first prepared in parallel, bucketed by their region. The
+ * timerables themselves are still executed serially afterwards.
+ */
 public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	private static final long serialVersionUID = -1962430988827211391L;
 
-	private static final int FUTURE_TIME = 32000;
+	/**
+	 * Keep the serialized form of the old slot wheel, so that old savegames can still be loaded.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("timerables", ArrayList[].class),
+			new ObjectStreamField("currTimeSlot", int.class)
+	};
+
 	private static final short TIME_SLICE = 25; // ms
-	private static final int TIME_SLOTS = FUTURE_TIME / TIME_SLICE;
 
-	private static RescheduleTimer uniIns;
+	private static final int LEVEL0_BITS  = 11;
+	private static final int LEVEL0_SLOTS = 1 << LEVEL0_BITS;
+	private static final int LEVEL0_MASK  = LEVEL0_SLOTS - 1;
+	private static final int LEVEL_BITS   = 6;
+	private static final int LEVEL_SLOTS  = 1 << LEVEL_BITS;
+	private static final int LEVEL_MASK   = LEVEL_SLOTS - 1;
+	private static final int LEVEL1_SHIFT = LEVEL0_BITS;
+	private static final int LEVEL2_SHIFT = LEVEL0_BITS + LEVEL_BITS;
+	private static final int HORIZON      = 1 << (LEVEL2_SHIFT + LEVEL_BITS); // in time slices
+
+	private static final int LEVEL1_OFFSET = LEVEL0_SLOTS;
+	private static final int LEVEL2_OFFSET = LEVEL1_OFFSET + LEVEL_SLOTS;
+	private static final int NUMBER_OF_SLOTS = LEVEL2_OFFSET + LEVEL_SLOTS;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private static final int MIN_PARALLEL_PREPARATIONS = 16;
+
+	private static final int NONE      = -1;
+	private static final int FREE      = -1;
+	private static final int EXECUTING = -2;
+	private static final int CANCELED  = -3;
+
+	/**
+	 * Context of the match this timer belongs to. It's bound while executing a time slice.
+	 */
+	private transient GameContext context;
+
+	private transient int[] slotHeads;
+	private transient int[] slotTails;
+
+	private transient IScheduledTimerable[] entryTimerables;
+	private transient int[]                 entryNext;
+	private transient int[]                 entryPrev;
+	private transient int[]                 entryDue;
+	private transient int[]                 entrySlot;
+	private transient int[]                 entryGeneration;
+	private transient int                   freeEntries;
+
+	/**
+	 * Time slice executed with the next {@link #timerEvent()}.
+	 */
+	private transient int currentTick;
+
+	private transient RescheduleTimerStatistics statistics;
 
-	@SuppressWarnings("unchecked")
-	private final ArrayList<IScheduledTimerable> timerables[] = new ArrayList[TIME_SLOTS];
-	private int currTimeSlot = 0;
+	private transient IPreparableTimerable[] preparables;
+	private transient long[]                 preparationOrder;
+	private transient int[]                  preparationBuckets;
 
 	protected RescheduleTimer() {
-		for (int i = 0; i < TIME_SLOTS; i++) {
-			timerables[i] = new ArrayList<>();
-		}
+		context = GameContext.current();
+		init(INITIAL_CAPACITY);
+	}
+
+	private void init(int capacity) {
+		slotHeads = new int[NUMBER_OF_SLOTS];
+		slotTails = new int[NUMBER_OF_SLOTS];
+		Arrays.fill(slotHeads, NONE);
+		Arrays.fill(slotTails, NONE);
+
+		entryTimerables = new IScheduledTimerable[0];
+		entryNext = new int[0];
+		entryPrev = new int[0];
+		entryDue = new int[0];
+		entrySlot = new int[0];
+		entryGeneration = new int[0];
+		freeEntries = NONE;
+		growEntries(capacity);
+
+		currentTick = 0;
+		statistics = new RescheduleTimerStatistics(LEVEL0_SLOTS);
+
+		preparables = new IPreparableTimerable[0];
+		preparationOrder = new long[0];
+		preparationBuckets = new int[0];
 	}
 
 	public static synchronized void stopAndClear() {
-		if (uniIns != null) {
-			if (MatchConstants.clock() != null) {
-				MatchConstants.clock().remove(uniIns);
+		GameContext context = GameContext.current();
+		RescheduleTimer timer = context.getRescheduleTimer();
+		if (timer != null) {
+			if (context.getClock() != null) {
+				context.getClock().remove(timer);
 			}
-			uniIns = null;
+			context.setRescheduleTimer(null);
 			try {
 				Thread.sleep(100L); // stopping takes some time
 			} catch (InterruptedException e) {
@@ -64,43 +155,116 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	 * 
 	 * @param t
 	 * @param delay
+	 * @return A handle that can be used to {@link #cancel(long)} the timerable. The handle stays valid as long as the timerable reschedules itself. Handles are not stored in
+	 *         savegames.
+	 */
+	public static long add(IScheduledTimerable t, int delay) {
+		return get().addTimerable(t, delay);
+	}
+
+	/**
+	 * Removes a scheduled timerable from the timer. If the timerable is currently executed, it will not be rescheduled.
+	 * 
+	 * @param handle
+	 *            handle returned by {@link #add(IScheduledTimerable, int)}
+	 * @return true if the timerable has been canceled, false if the handle is outdated.
+	 */
+	public static boolean cancel(long handle) {
+		return get().cancelTimerable(handle);
+	}
+
+	/**
+	 * @return the execution metrics of the current timer.
 	 */
-	public static void add(IScheduledTimerable t, int delay) {
-		get().addTimerable(t, delay);
+	public static RescheduleTimerStatistics getStatistics() {
+		return get().statistics;
 	}
 
-	private void addTimerable(IScheduledTimerable t, int delay) {
+	long addTimerable(IScheduledTimerable t, int delay) {
 		if (delay <= 0) {
-			return; // don't schedule if requested delay is negative or zero
+			return NONE; // don't schedule if requested delay is negative or zero
 		}
 
-		int delaySlots = delay / TIME_SLICE;
-		delaySlots = delaySlots > 0 ? delaySlots : 1; // ensure at least one slot delay
+		int entry = allocateEntry(t);
+		insert(entry, currentTick + toSlices(delay));
+		return ((long) entryGeneration[entry] << 32) | entry;
+	}
+
+	boolean cancelTimerable(long handle) {
+		int entry = (int) handle;
+		int generation = (int) (handle >>> 32);
+
+		if (entry < 0 || entry >= entryGeneration.length || entryGeneration[entry] != generation) {
+			return false;
+		}
 
-		assert delaySlots < TIME_SLOTS : "SCHEDULED TO FAR IN THE FUTURE! " + delay + "ms";
+		int slot = entrySlot[entry];
+		if (slot >= 0) {
+			unlink(entry);
+			freeEntry(entry);
+			return true;
+		} else if (slot == EXECUTING) {
+			entrySlot[entry] = CANCELED;
+			return true;
+		} else {
+			return false;
+		}
+	}
 
-		timerables[(currTimeSlot + delaySlots) % TIME_SLOTS].add(t);
+	private static int toSlices(int delay) {
+		int delaySlices = delay / TIME_SLICE;
+		return delaySlices > 0 ? delaySlices : 1; // ensure at least one slot delay
 	}
 
-	private static synchronized RescheduleTimer get() {
-		if (uniIns == null) {
-			uniIns = new RescheduleTimer();
+	static synchronized RescheduleTimer get() {
+		GameContext context = GameContext.current();
+		if (context.getRescheduleTimer() == null) {
+			context.setRescheduleTimer(new RescheduleTimer());
 		}
-		return uniIns;
+		return context.getRescheduleTimer();
 	}
 
 	@Override
 	public void timerEvent() {
-		ArrayList<IScheduledTimerable> queue = timerables[currTimeSlot];
+		GameContext previous = context.bind();
+		try {
+			executeTimeSlice();
+		} finally {
+			GameContext.restore(previous);
+		}
+	}
 
-		for (IScheduledTimerable curr : queue) {
-			if (uniIns != this) { // fast stop when stopAndClear() is called.
+	private void executeTimeSlice() {
+		if ((currentTick & LEVEL0_MASK) == 0) {
+			if ((currentTick & ((1 << LEVEL2_SHIFT) - 1)) == 0) {
+				cascade(LEVEL2_OFFSET + ((currentTick >>> LEVEL2_SHIFT) & LEVEL_MASK));
+			}
+			cascade(LEVEL1_OFFSET + ((currentTick >>> LEVEL1_SHIFT) & LEVEL_MASK));
+		}
+
+		int slot = currentTick & LEVEL0_MASK;
+		long startTime = System.nanoTime();
+		int executions = 0;
+		boolean collectTypeStatistics = statistics.isCollectingTypeStatistics();
+
+		if (Constants.PARALLEL_TIMERABLE_PREPARATION) {
+			prepareSlot(slot);
+		}
+
+		int entry;
+		while ((entry = slotHeads[slot]) != NONE) {
+			if (context.getRescheduleTimer() != this) { // fast stop when stopAndClear() is called.
 				return;
 			}
 
+			unlink(entry);
+			entrySlot[entry] = EXECUTING;
+
+			IScheduledTimerable curr = entryTimerables[entry];
+			long timerableStartTime = collectTypeStatistics ? System.nanoTime() : 0;
+			int delay;
 			try {
-				int delay = curr.timerEvent();
-				addTimerable(curr, delay);
+				delay = curr.timerEvent();
 			} catch (Throwable t) {
 				System.err.println("RescheduleTimer catched: ");
 				t.printStackTrace();
@@ -110,24 +274,266 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 					System.err.println("RescheduleTimer had trouble killing bad timerable!");
 					t2.printStackTrace();
 				}
+				delay = 0;
+			}
+			if (collectTypeStatistics) {
+				statistics.timerableExecuted(curr.getClass(), System.nanoTime() - timerableStartTime);
+			}
+			executions++;
+
+			if (delay > 0 && entrySlot[entry] == EXECUTING) {
+				insert(entry, currentTick + toSlices(delay));
+			} else {
+				freeEntry(entry);
+			}
+		}
+
+		statistics.slotExecuted(slot, executions, System.nanoTime() - startTime);
+		currentTick++;
+	}
+
+	private void prepareSlot(int slot) {
+		int count = 0;
+		for (int entry = slotHeads[slot]; entry != NONE; entry = entryNext[entry]) {
+			if (entryTimerables[entry] instanceof IPreparableTimerable) {
+				IPreparableTimerable preparable = (IPreparableTimerable) entryTimerables[entry];
+				int region = preparable.getPreparationRegion();
+				if (region == IPreparableTimerable.NO_PREPARATION) {
+					continue;
+				}
+
+				if (count == preparables.length) {
+					int capacity = Math.max(64, count * 2);
+					preparables = Arrays.copyOf(preparables, capacity);
+					preparationOrder = Arrays.copyOf(preparationOrder, capacity);
+					preparationBuckets = Arrays.copyOf(preparationBuckets, capacity + 1);
+				}
+				preparables[count] = preparable;
+				preparationOrder[count] = ((long) region << 32) | count;
+				count++;
+			}
+		}
+
+		if (count >= MIN_PARALLEL_PREPARATIONS) { // otherwise, the timerables will do the work in timerEvent()
+			Arrays.sort(preparationOrder, 0, count);
+
+			int buckets = 0;
+			for (int i = 0; i < count; i++) {
+				if (i == 0 || (preparationOrder[i] >>> 32) != (preparationOrder[i - 1] >>> 32)) {
+					preparationBuckets[buckets++] = i;
+				}
 			}
+			preparationBuckets[buckets] = count;
+
+			ForkJoinPool.commonPool().invoke(new PreparationAction(0, buckets));
 		}
 
-		queue.clear();
-		currTimeSlot = (currTimeSlot + 1) % TIME_SLOTS;
+		Arrays.fill(preparables, 0, count, null);
+	}
+
+	private void prepareBucket(int bucket) {
+		for (int i = preparationBuckets[bucket]; i < preparationBuckets[bucket + 1]; i++) {
+			IPreparableTimerable preparable = preparables[(int) preparationOrder[i]];
+			try {
+				preparable.prepareTimerEvent();
+			} catch (Throwable t) {
+				System.err.println("RescheduleTimer catched during preparation: ");
+				t.printStackTrace();
+			}
+		}
+	}
+
+	private void cascade(int slot) {
+		int entry = slotHeads[slot];
+		slotHeads[slot] = NONE;
+		slotTails[slot] = NONE;
+
+		while (entry != NONE) {
+			int next = entryNext[entry];
+			insert(entry, entryDue[entry]);
+			entry = next;
+		}
+	}
+
+	private void insert(int entry, int due) {
+		int delta = due - currentTick;
+		int slot;
+		if (delta < LEVEL0_SLOTS) {
+			slot = due & LEVEL0_MASK;
+		} else if (delta < 1 << LEVEL2_SHIFT) {
+			slot = LEVEL1_OFFSET + ((due >>> LEVEL1_SHIFT) & LEVEL_MASK);
+		} else if (delta < HORIZON) {
+			slot = LEVEL2_OFFSET + ((due >>> LEVEL2_SHIFT) & LEVEL_MASK);
+		} else { // beyond the horizon: park in the slot cascaded last and re-insert from there
+			slot = LEVEL2_OFFSET + (((currentTick >>> LEVEL2_SHIFT) + LEVEL_MASK) & LEVEL_MASK);
+		}
+		entryDue[entry] = due;
+		append(slot, entry);
+	}
+
+	private void append(int slot, int entry) {
+		int tail = slotTails[slot];
+		entryPrev[entry] = tail;
+		entryNext[entry] = NONE;
+		entrySlot[entry] = slot;
+
+		if (tail == NONE) {
+			slotHeads[slot] = entry;
+		} else {
+			entryNext[tail] = entry;
+		}
+		slotTails[slot] = entry;
+	}
+
+	private void unlink(int entry) {
+		int slot = entrySlot[entry];
+		int prev = entryPrev[entry];
+		int next = entryNext[entry];
+
+		if (prev == NONE) {
+			slotHeads[slot] = next;
+		} else {
+			entryNext[prev] = next;
+		}
+		if (next == NONE) {
+			slotTails[slot] = prev;
+		} else {
+			entryPrev[next] = prev;
+		}
+		entrySlot[entry] = FREE;
+	}
+
+	private int allocateEntry(IScheduledTimerable timerable) {
+		if (freeEntries == NONE) {
+			growEntries(entryTimerables.length * 2);
+		}
+		int entry = freeEntries;
+		freeEntries = entryNext[entry];
+		entryTimerables[entry] = timerable;
+		return entry;
+	}
+
+	private void freeEntry(int entry) {
+		entryTimerables[entry] = null;
+		entrySlot[entry] = FREE;
+		entryGeneration[entry]++;
+		entryNext[entry] = freeEntries;
+		freeEntries = entry;
+	}
+
+	private void growEntries(int capacity) {
+		int oldCapacity = entryTimerables.length;
+
+		entryTimerables = Arrays.copyOf(entryTimerables, capacity);
+		entryNext = Arrays.copyOf(entryNext, capacity);
+		entryPrev = Arrays.copyOf(entryPrev, capacity);
+		entryDue = Arrays.copyOf(entryDue, capacity);
+		entrySlot = Arrays.copyOf(entrySlot, capacity);
+		entryGeneration = Arrays.copyOf(entryGeneration, capacity);
+
+		for (int entry = capacity - 1; entry >= oldCapacity; entry--) {
+			entrySlot[entry] = FREE;
+			entryNext[entry] = freeEntries;
+			freeEntries = entry;
+		}
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		ObjectOutputStream.PutField fields = oos.putFields();
+		fields.put("timerables", null);
+		fields.put("currTimeSlot", 0);
+		oos.writeFields();
+
+		oos.writeInt(currentTick);
+
+		int scheduled = 0;
+		for (int slot = 0; slot < NUMBER_OF_SLOTS; slot++) {
+			for (int entry = slotHeads[slot]; entry != NONE; entry = entryNext[entry]) {
+				scheduled++;
+			}
+		}
+		oos.writeInt(scheduled);
+
+		for (int slot = 0; slot < NUMBER_OF_SLOTS; slot++) {
+			for (int entry = slotHeads[slot]; entry != NONE; entry = entryNext[entry]) {
+				oos.writeObject(entryTimerables[entry]);
+				oos.writeInt(entryDue[entry]);
+				oos.writeShort(slot);
+			}
+		}
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = ois.readFields();
+		ArrayList<?>[] legacyTimerables = (ArrayList<?>[]) fields.get("timerables", null);
+		context = GameContext.current();
+
+		if (legacyTimerables != null) { // savegame of the old single level wheel
+			init(INITIAL_CAPACITY);
+			int legacyTimeSlot = fields.get("currTimeSlot", 0);
+			for (int i = 0; i < legacyTimerables.length; i++) {
+				for (Object timerable : legacyTimerables[(legacyTimeSlot + i) % legacyTimerables.length]) {
+					insert(allocateEntry((IScheduledTimerable) timerable), i);
+				}
+			}
+
+		} else {
+			int tick = ois.readInt();
+			int scheduled = ois.readInt();
+
+			init(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, scheduled)) * 2));
+			currentTick = tick;
+
+			for (int i = 0; i < scheduled; i++) {
+				IScheduledTimerable timerable = (IScheduledTimerable) ois.readObject();
+				int due = ois.readInt();
+				int slot = ois.readShort();
+
+				int entry = allocateEntry(timerable);
+				entryDue[entry] = due;
+				append(slot, entry);
+			}
+		}
+	}
+
+	private final class PreparationAction extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int firstBucket;
+		private final int endBucket;
+
+		PreparationAction(int firstBucket, int endBucket) {
+			this.firstBucket = firstBucket;
+			this.endBucket = endBucket;
+		}
+
+		@Override
+		protected void compute() {
+			GameContext previous = context.bind();
+			try {
+				if (endBucket - firstBucket == 1) {
+					prepareBucket(firstBucket);
+				} else {
+					int middle = (firstBucket + endBucket) >>> 1;
+					invokeAll(new PreparationAction(firstBucket, middle), new PreparationAction(middle, endBucket));
+				}
+			} finally {
+				GameContext.restore(previous);
+			}
+		}
 	}
 
 	public static void loadFrom(ObjectInputStream ois) throws MapLoadException {
 		try {
 			stopAndClear();
-			uniIns = (RescheduleTimer) ois.readObject();
+			GameContext.current().setRescheduleTimer((RescheduleTimer) ois.readObject());
 		} catch (Throwable t) {
 			throw new MapLoadException(t);
 		}
 	}
 
 	public static void saveTo(ObjectOutputStream oos) throws IOException {
-		oos.writeObject(uniIns);
+		oos.writeObject(GameContext.current().getRescheduleTimer());
 		oos.flush();
 	}
 
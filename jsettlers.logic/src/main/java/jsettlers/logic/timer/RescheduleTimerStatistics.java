@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Execution metrics of the {@link RescheduleTimer}. For every slot of the innermost wheel, the number of executed timerables and the time needed for the last execution of the slot
+ * are stored.
+ * <p />
+ * If enabled with {@link #setCollectingTypeStatistics(boolean)}, the executions and the time needed are additionally summed up per class of the executed timerables. This costs two
+ * calls of {@link System#nanoTime()} per execution and is therefore disabled by default.
+ * <p />
+ * The metrics are only collected for diagnostic purposes and are not part of the game state.
+ */
+public final class RescheduleTimerStatistics {
+	private final int[]  slotExecutions;
+	private final long[] slotNanos;
+
+	private final Map<Class<?>, TypeStatistics> typeStatistics = new IdentityHashMap<>();
+	private boolean                              collectingTypeStatistics;
+
+	private long executedSlots;
+	private long executedTimerables;
+	private long totalNanos;
+	private long maxSlotNanos;
+	private int  maxSlotExecutions;
+
+	RescheduleTimerStatistics(int slots) {
+		this.slotExecutions = new int[slots];
+		this.slotNanos = new long[slots];
+	}
+
+	void slotExecuted(int slot, int executions, long nanos) {
+		slotExecutions[slot] = executions;
+		slotNanos[slot] = nanos;
+
+		executedSlots++;
+		executedTimerables += executions;
+		totalNanos += nanos;
+		maxSlotNanos = Math.max(maxSlotNanos, nanos);
+		maxSlotExecutions = Math.max(maxSlotExecutions, executions);
+	}
+
+	void timerableExecuted(Class<?> type, long nanos) {
+		TypeStatistics statistics = typeStatistics.get(type);
+		if (statistics == null) {
+			statistics = new TypeStatistics();
+			typeStatistics.put(type, statistics);
+		}
+		statistics.executions++;
+		statistics.nanos += nanos;
+	}
+
+	public void setCollectingTypeStatistics(boolean collectingTypeStatistics) {
+		this.collectingTypeStatistics = collectingTypeStatistics;
+	}
+
+	public boolean isCollectingTypeStatistics() {
+		return collectingTypeStatistics;
+	}
+
+	/**
+	 * @return the metrics per class of the executed timerables. Empty if they are not {@link #setCollectingTypeStatistics(boolean) collected}.
+	 */
+	public Map<Class<?>, TypeStatistics> getTypeStatistics() {
+		return Collections.unmodifiableMap(typeStatistics);
+	}
+
+	public int getNumberOfSlots() {
+		return slotExecutions.length;
+	}
+
+	/**
+	 * @return number of timerables executed during the last execution of the given slot.
+	 */
+	public int getSlotExecutions(int slot) {
+		return slotExecutions[slot];
+	}
+
+	/**
+	 * @return nanoseconds needed for the last execution of the given slot.
+	 */
+	public long getSlotNanos(int slot) {
+		return slotNanos[slot];
+	}
+
+	public long getExecutedSlots() {
+		return executedSlots;
+	}
+
+	public long getExecutedTimerables() {
+		return executedTimerables;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	public long getMaxSlotNanos() {
+		return maxSlotNanos;
+	}
+
+	public int getMaxSlotExecutions() {
+		return maxSlotExecutions;
+	}
+
+	@Override
+	public String toString() {
+		float averageExecutions = executedSlots > 0 ? (float) executedTimerables / executedSlots : 0;
+		float averageMillis = executedSlots > 0 ? totalNanos / 1E6f / executedSlots : 0;
+		return "RescheduleTimerStatistics: slots: " + executedSlots + "  timerables: " + executedTimerables
+			+ "  avg per slot: " + averageExecutions + " (" + averageMillis + "ms)"
+			+ "  max per slot: " + maxSlotExecutions + " (" + maxSlotNanos / 1E6f + "ms)";
+	}
+
+	/**
+	 * Executions and time needed of all timerables of one class.
+	 */
+	public static final class TypeStatistics {
+		private long executions;
+		private long nanos;
+
+		public long getExecutions() {
+			return executions;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+	}
+}
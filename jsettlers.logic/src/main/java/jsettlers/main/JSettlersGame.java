@@ -15,7 +15,6 @@
 package jsettlers.main;
 
 import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
@@ -44,6 +43,8 @@ import jsettlers.common.statistics.IGameTimeProvider;
 import jsettlers.input.GuiInterface;
 import jsettlers.input.IGameStoppable;
 import jsettlers.input.PlayerState;
+import jsettlers.input.tasks.EGuiTaskType;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.trading.HarborBuilding;
 import jsettlers.logic.buildings.trading.MarketBuilding;
@@ -57,6 +58,8 @@ import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.player.InitialGameState;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.main.replay.ReplayLog;
+import jsettlers.main.replay.ReplayLogWriter;
 import jsettlers.main.replay.ReplayUtils;
 import jsettlers.network.client.OfflineNetworkConnector;
 import jsettlers.network.client.interfaces.INetworkConnector;
@@ -67,6 +70,10 @@ import jsettlers.network.client.interfaces.INetworkConnector;
  * @author Andreas Eberle
  */
 public class JSettlersGame {
+	static {
+		EGuiTaskType.registerAll(); // tasks may be received or read from a replay before any of them has been created locally
+	}
+
 	private static final SimpleDateFormat LOG_DATE_FORMATTER = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss", Locale.US);
 	private final Object stopMutex = new Object();
 
@@ -133,12 +140,27 @@ public class JSettlersGame {
 
 	public static JSettlersGame loadFromReplayFile(ReplayUtils.IReplayStreamProvider loadableReplayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation)
 			throws MapLoadException {
+		return loadFromReplayFile(loadableReplayFile, networkConnector, replayStartInformation, 0);
+	}
+
+	/**
+	 * Loads the game of a replay log. If the log contains a keyframe before the given game time, the game starts at the latest of these keyframes
+	 * instead of the beginning.
+	 */
+	public static JSettlersGame loadFromReplayFile(ReplayUtils.IReplayStreamProvider loadableReplayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation,
+			int seekGameTime) throws MapLoadException {
 		try {
-			DataInputStream replayFileInputStream = new DataInputStream(loadableReplayFile.openStream());
-			replayStartInformation.deserialize(replayFileInputStream);
+			ReplayLog replayLog = ReplayLog.read(loadableReplayFile, replayStartInformation);
 
-			MapLoader mapCreator = loadableReplayFile.getMap(replayStartInformation);
-			return new JSettlersGame(mapCreator, networkConnector, replayStartInformation.getReplayableGameState(), true, false, replayFileInputStream);
+			ReplayLog.Keyframe keyframe = replayLog.getKeyframeBefore(seekGameTime);
+			MapLoader mapCreator;
+			if (keyframe != null) {
+				System.out.println("Starting replay at " + keyframe);
+				mapCreator = replayLog.loadKeyframe(keyframe);
+			} else {
+				mapCreator = loadableReplayFile.getMap(replayStartInformation);
+			}
+			return new JSettlersGame(mapCreator, networkConnector, replayStartInformation.getReplayableGameState(), true, false, replayLog.openTasks());
 		} catch (IOException e) {
 			throw new MapLoadException("Could not deserialize " + loadableReplayFile, e);
 		}
@@ -178,9 +200,14 @@ public class JSettlersGame {
 		private Consumer<IStartedGame> exitListener;
 		private boolean gameRunning;
 		private AiExecutor aiExecutor;
+		private ReplayLogWriter replayLog;
+		private final GameContext gameContext = new GameContext();
 
 		@Override
 		public void run() {
+			gameContext.bind(); // inherited by all threads started by this game
+			gameContext.makeDefault();
+
 			try {
 				if (startingGameListener != null) {
 					startingGameListener.startingLoadingGame();
@@ -190,7 +217,8 @@ public class JSettlersGame {
 				clearState();
 				MatchConstants.init(networkConnector.getGameClock(), initialGameState.getRandomSeed());
 				try {
-					MatchConstants.clock().setReplayLogStream(createReplayFileStream());
+					replayLog = createReplayLog();
+					MatchConstants.clock().setReplayLog(replayLog);
 				} catch (IOException e) {
 					// TODO: log that we do not have write access to resources.
 					System.out.println("Cannot write jsettlers.integration.replay file.");
@@ -231,6 +259,14 @@ public class JSettlersGame {
 				aiExecutor = new AiExecutor(initialGameState.getPlayerSettings(), mainGrid, networkConnector.getTaskScheduler());
 				networkConnector.getGameClock().schedule(aiExecutor, (short) 1000);
 
+				if (replayLog != null && CommonConstants.REPLAY_KEYFRAME_INTERVAL_MINUTES > 0) { // scheduled last to capture complete time slices
+					replayLog.recordKeyframes(mainGrid, initialGameState.getPlayerId(), guiInterface::getUIState, MatchConstants.clock(), CommonConstants.REPLAY_KEYFRAME_INTERVAL_MINUTES * 60 * 1000);
+				}
+
+				if (multiplayer) { // the state hashes are reported to the server to detect desyncs
+					MatchConstants.clock().setStateHasher(gameContext::computeStateHash);
+				}
+
 				MatchConstants.clock().startExecution(); // WARNING: GAME CLOCK IS STARTED!
 				// NO CONFIGURATION AFTER THIS POINT! =================================
 				gameRunning = true;
@@ -269,18 +305,20 @@ public class JSettlersGame {
 			}
 		}
 
+		/**
+		 * @return the context holding the state of this game.
+		 */
+		public GameContext getGameContext() {
+			return gameContext;
+		}
+
 		public AiExecutor getAiExecutor() {
 			return aiExecutor;
 		}
 
-		private DataOutputStream createReplayFileStream() throws IOException {
-			DataOutputStream replayFileStream = new DataOutputStream(createReplayWriteStream());
-
+		private ReplayLogWriter createReplayLog() throws IOException {
 			ReplayStartInformation replayInfo = new ReplayStartInformation(mapCreator.getMapName(), mapCreator.getMapId(), initialGameState);
-			replayInfo.serialize(replayFileStream);
-			replayFileStream.flush();
-
-			return replayFileStream;
+			return new ReplayLogWriter(createReplayWriteStream(), replayInfo);
 		}
 
 		/**
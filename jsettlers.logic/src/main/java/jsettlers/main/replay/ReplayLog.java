@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main.replay;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.IListedMap;
+import jsettlers.main.ReplayStartInformation;
+import jsettlers.main.replay.ReplayUtils.IReplayStreamProvider;
+
+/**
+ * A replay log read from an {@link IReplayStreamProvider}.
+ * <p />
+ * Logs written by the {@link ReplayLogWriter} are read block by block: the task blocks are inflated, the keyframes are only indexed by their game
+ * time and position and loaded on demand. Old logs, that consist of the {@link ReplayStartInformation} followed by the serialized tasks, are read
+ * as well, they don't have keyframes.
+ */
+public final class ReplayLog {
+	private final IReplayStreamProvider replayFile;
+	private final ReplayStartInformation startInformation;
+	private final byte[]                 tasks;
+	private final List<Keyframe>         keyframes;
+
+	private ReplayLog(IReplayStreamProvider replayFile, ReplayStartInformation startInformation, byte[] tasks, List<Keyframe> keyframes) {
+		this.replayFile = replayFile;
+		this.startInformation = startInformation;
+		this.tasks = tasks;
+		this.keyframes = Collections.unmodifiableList(keyframes);
+	}
+
+	/**
+	 * Reads the replay log of the given provider.
+	 * 
+	 * @param replayFile
+	 *            The replay log.
+	 * @param startInformation
+	 *            Receives the {@link ReplayStartInformation} of the log.
+	 */
+	public static ReplayLog read(IReplayStreamProvider replayFile, ReplayStartInformation startInformation) throws IOException {
+		try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(replayFile.openStream()))) {
+			DataInputStream in = new DataInputStream(counter);
+
+			if (!readIndexedLogMarker(in)) {
+				startInformation.deserialize(in);
+				return new ReplayLog(replayFile, startInformation, readAll(in), new ArrayList<>());
+			}
+
+			startInformation.deserialize(in);
+
+			ByteArrayOutputStream tasks = new ByteArrayOutputStream();
+			List<Keyframe> keyframes = new ArrayList<>();
+			try {
+				int type;
+				while ((type = in.read()) != -1) {
+					int gameTime = in.readInt();
+					int length = in.readInt();
+
+					if (type == ReplayLogWriter.BLOCK_TASKS) {
+						byte[] block = new byte[length];
+						in.readFully(block);
+						tasks.write(readAll(new InflaterInputStream(new ByteArrayInputStream(block))));
+					} else if (type == ReplayLogWriter.BLOCK_KEYFRAME) {
+						keyframes.add(new Keyframe(gameTime, counter.getPosition(), length));
+						skipFully(in, length);
+					} else {
+						throw new IOException("Unknown replay log block type: " + type);
+					}
+				}
+			} catch (EOFException e) {
+				System.err.println("Replay log " + replayFile + " ends with an incomplete block, it is ignored.");
+			}
+
+			return new ReplayLog(replayFile, startInformation, tasks.toByteArray(), keyframes);
+		}
+	}
+
+	private static boolean readIndexedLogMarker(DataInputStream in) throws IOException {
+		in.mark(7);
+		if (in.readShort() == 0 && in.readInt() == ReplayLogWriter.MAGIC) {
+			byte version = in.readByte();
+			if (version != ReplayLogWriter.VERSION) {
+				throw new IOException("Unsupported replay log version: " + version);
+			}
+			return true;
+		}
+		in.reset();
+		return false;
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	private static void skipFully(InputStream in, long bytes) throws IOException {
+		while (bytes > 0) {
+			long skipped = in.skip(bytes);
+			if (skipped <= 0) {
+				if (in.read() == -1) {
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			bytes -= skipped;
+		}
+	}
+
+	public ReplayStartInformation getStartInformation() {
+		return startInformation;
+	}
+
+	/**
+	 * @return the keyframes of this replay log ordered by their game time.
+	 */
+	public List<Keyframe> getKeyframes() {
+		return keyframes;
+	}
+
+	/**
+	 * @return the latest keyframe that has been captured before the given game time or <code>null</code> if there is none. Tasks scheduled for
+	 *         the given game time are executed after this keyframe.
+	 */
+	public Keyframe getKeyframeBefore(int gameTime) {
+		Keyframe result = null;
+		for (Keyframe keyframe : keyframes) {
+			if (keyframe.gameTime < gameTime && (result == null || result.gameTime < keyframe.gameTime)) {
+				result = keyframe;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return a loader for the savegame of the given keyframe.
+	 */
+	public MapLoader loadKeyframe(Keyframe keyframe) throws MapLoadException {
+		byte[] savegame = new byte[keyframe.length];
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(replayFile.openStream()))) {
+			skipFully(in, keyframe.position);
+			in.readFully(savegame);
+		} catch (IOException e) {
+			throw new MapLoadException("Could not read keyframe at game time " + keyframe.gameTime + " of " + replayFile, e);
+		}
+		return MapLoader.getLoaderForListedMap(new KeyframeMap(keyframe.gameTime, savegame));
+	}
+
+	/**
+	 * @return a stream of all serialized tasks of the log, as read by {@link jsettlers.network.client.interfaces.IGameClock#loadReplayLogFromStream(DataInputStream)}.
+	 */
+	public DataInputStream openTasks() {
+		return new DataInputStream(new ByteArrayInputStream(tasks));
+	}
+
+	/**
+	 * A savegame embedded into a replay log.
+	 */
+	public static final class Keyframe {
+		private final int  gameTime;
+		private final long position;
+		private final int  length;
+
+		Keyframe(int gameTime, long position, int length) {
+			this.gameTime = gameTime;
+			this.position = position;
+			this.length = length;
+		}
+
+		/**
+		 * @return the game time in milliseconds the keyframe has been captured at.
+		 */
+		public int getGameTime() {
+			return gameTime;
+		}
+
+		@Override
+		public String toString() {
+			return "Keyframe: gameTime: " + gameTime + " position: " + position + " length: " + length;
+		}
+	}
+
+	private static final class KeyframeMap implements IListedMap {
+		private final int    gameTime;
+		private final byte[] savegame;
+
+		KeyframeMap(int gameTime, byte[] savegame) {
+			this.gameTime = gameTime;
+			this.savegame = savegame;
+		}
+
+		@Override
+		public String getFileName() {
+			return "replay-keyframe-" + gameTime + MapLoader.MAP_EXTENSION;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(savegame);
+		}
+
+		@Override
+		public void delete() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isCompressed() {
+			return false;
+		}
+
+		@Override
+		public File getFile() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static final class CountingInputStream extends FilterInputStream {
+		private long position;
+		private long markedPosition;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		long getPosition() {
+			return position;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result = super.read();
+			if (result != -1) {
+				position++;
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int result = super.read(b, off, len);
+			if (result > 0) {
+				position += result;
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long result = super.skip(n);
+			position += result;
+			return result;
+		}
+
+		@Override
+		public synchronized void mark(int readlimit) {
+			super.mark(readlimit);
+			markedPosition = position;
+		}
+
+		@Override
+		public synchronized void reset() throws IOException {
+			super.reset();
+			position = markedPosition;
+		}
+	}
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.DeflaterOutputStream;
+
+import jsettlers.common.menu.UIState;
+import jsettlers.logic.GameContext;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.savegame.SavegameSnapshot;
+import jsettlers.main.ReplayStartInformation;
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.client.interfaces.IGameClock;
+import jsettlers.network.client.interfaces.IReplayLogWriter;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+import jsettlers.network.synchronic.timer.INetworkTimerable;
+
+/**
+ * Writes the replay log of a game in the format read by {@link ReplayLog}.
+ * <p />
+ * The log starts with a marker and the {@link ReplayStartInformation}, followed by blocks. Each block has a type, a game time and the length of
+ * its data:
+ * <ul>
+ * <li>Task blocks contain the deflated {@link SyncTasksPacket}s scheduled after the previous block. Packets are buffered until the block is big
+ * enough or spans a game minute.</li>
+ * <li>Keyframe blocks contain a complete savegame captured at the given game time, see {@link #recordKeyframes(MainGrid, byte, Supplier, IGameClock, int)}.</li>
+ * </ul>
+ * Compressing and writing is done by a background thread.
+ */
+public class ReplayLogWriter implements IReplayLogWriter, INetworkTimerable {
+	static final int  MAGIC          = 0x4A53524C;
+	static final byte VERSION        = 1;
+	static final byte BLOCK_TASKS    = 1;
+	static final byte BLOCK_KEYFRAME = 2;
+
+	private static final int   MAX_TASK_BLOCK_SIZE      = 16 * 1024;
+	private static final int   MAX_TASK_BLOCK_LOCKSTEPS = 60 * 1000 / NetworkConstants.Client.LOCKSTEP_PERIOD;
+	private static final short KEYFRAME_CHECK_PERIOD    = 1000;
+
+	private final DataOutputStream out;
+	private final ExecutorService  blockWriter = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "ReplayLogWriter");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private ByteArrayOutputStream taskBlock;
+	private DataOutputStream      taskBlockStream;
+	private int                   taskBlockLockstep;
+
+	private MainGrid          grid;
+	private byte              playerId;
+	private Supplier<UIState> uiState;
+	private IGameClock        clock;
+	private GameContext       gameContext;
+	private int               keyframeInterval;
+	private int               nextKeyframeTime;
+
+	private volatile boolean closed;
+
+	public ReplayLogWriter(OutputStream out, ReplayStartInformation startInformation) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+
+		this.out.writeShort(0); // the length of the map name in old replay logs
+		this.out.writeInt(MAGIC);
+		this.out.writeByte(VERSION);
+		startInformation.serialize(this.out);
+		this.out.flush();
+	}
+
+	@Override
+	public synchronized void writeTasks(SyncTasksPacket tasksPacket) throws IOException {
+		if (closed) {
+			return;
+		}
+
+		if (taskBlock != null && Math.abs(tasksPacket.getLockstepNumber() - taskBlockLockstep) >= MAX_TASK_BLOCK_LOCKSTEPS) {
+			flushTaskBlock();
+		}
+		if (taskBlock == null) {
+			taskBlock = new ByteArrayOutputStream();
+			taskBlockStream = new DataOutputStream(taskBlock);
+			taskBlockLockstep = tasksPacket.getLockstepNumber();
+		}
+
+		tasksPacket.serialize(taskBlockStream);
+
+		if (taskBlock.size() >= MAX_TASK_BLOCK_SIZE) {
+			flushTaskBlock();
+		}
+	}
+
+	private void flushTaskBlock() {
+		if (taskBlock == null) {
+			return;
+		}
+
+		byte[] tasks = taskBlock.toByteArray();
+		int gameTime = taskBlockLockstep * NetworkConstants.Client.LOCKSTEP_PERIOD;
+		taskBlock = null;
+		taskBlockStream = null;
+
+		blockWriter.execute(() -> writeBlock(BLOCK_TASKS, gameTime, deflate(tasks)));
+	}
+
+	/**
+	 * Starts embedding a savegame of the game into the log every interval milliseconds of game time. The keyframes are captured by a timerable
+	 * scheduled on the given clock, which should therefore be scheduled after all other timerables of the game. Like a quick save, a keyframe
+	 * contains the fog of war and the ui state of the given player, so a game resumed from it continues exactly like the recorded one.
+	 */
+	public synchronized void recordKeyframes(MainGrid grid, byte playerId, Supplier<UIState> uiState, IGameClock clock, int keyframeInterval) {
+		this.grid = grid;
+		this.playerId = playerId;
+		this.uiState = uiState;
+		this.clock = clock;
+		this.gameContext = GameContext.current();
+		this.keyframeInterval = keyframeInterval;
+		this.nextKeyframeTime = (clock.getTime() / keyframeInterval + 1) * keyframeInterval;
+
+		clock.schedule(this, KEYFRAME_CHECK_PERIOD);
+	}
+
+	@Override
+	public void timerEvent() {
+		int gameTime = clock.getTime();
+		if (closed || gameTime < nextKeyframeTime) {
+			return;
+		}
+		nextKeyframeTime = (gameTime / keyframeInterval + 1) * keyframeInterval;
+
+		GameContext previous = gameContext.bind();
+		try {
+			SavegameSnapshot snapshot = grid.captureSnapshot(playerId, uiState.get());
+			synchronized (this) {
+				if (!closed) {
+					flushTaskBlock();
+					blockWriter.execute(() -> writeKeyframe(gameTime, snapshot));
+				}
+			}
+		} catch (IOException | InterruptedException e) {
+			System.err.println("Could not capture replay keyframe at game time " + gameTime);
+			e.printStackTrace();
+		} finally {
+			GameContext.restore(previous);
+		}
+	}
+
+	private void writeKeyframe(int gameTime, SavegameSnapshot snapshot) {
+		ByteArrayOutputStream savegame = new ByteArrayOutputStream(snapshot.getSize() / 4);
+		try {
+			snapshot.writeTo(savegame);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		writeBlock(BLOCK_KEYFRAME, gameTime, savegame.toByteArray());
+	}
+
+	private void writeBlock(byte type, int gameTime, byte[] data) {
+		try {
+			out.writeByte(type);
+			out.writeInt(gameTime);
+			out.writeInt(data.length);
+			out.write(data);
+			out.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static byte[] deflate(byte[] data) {
+		ByteArrayOutputStream deflated = new ByteArrayOutputStream(data.length / 2);
+		try (DeflaterOutputStream deflater = new DeflaterOutputStream(deflated)) {
+			deflater.write(data);
+		} catch (IOException e) {
+			throw new IllegalStateException(e); // cannot happen with in memory streams
+		}
+		return deflated.toByteArray();
+	}
+
+	/**
+	 * Writes the buffered tasks and waits until all blocks have been written, then closes the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			flushTaskBlock();
+		}
+
+		blockWriter.shutdown();
+		try {
+			blockWriter.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		out.close();
+	}
+}
@@ -29,7 +29,7 @@ import jsettlers.common.resources.ResourceManager;
 import jsettlers.common.utils.mutables.MutableInt;
 import jsettlers.input.tasks.EGuiAction;
 import jsettlers.input.tasks.SimpleGuiTask;
-import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.GameContext;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.map.loading.MapLoader;
 import jsettlers.logic.map.loading.list.MapList;
@@ -53,12 +53,26 @@ import static java.util.Arrays.stream;
 public class ReplayUtils {
 
 	public static MapLoader replayAndCreateSavegame(IReplayStreamProvider replayFile, int targetGameTimeMinutes, String newReplayFile) throws MapLoadException, IOException {
+		return replayAndCreateSavegame(replayFile, targetGameTimeMinutes, newReplayFile, false);
+	}
+
+	/**
+	 * Replays the given replay up to the target time and saves the game.
+	 *
+	 * @param seekToKeyframe
+	 *            If true, the replay is started at the latest keyframe before the target time instead of at the beginning. The resulting game is the
+	 *            same, but objects loaded from the keyframe no longer share their identity with static game data. Their savegame therefore differs byte
+	 *            by byte from the one of a game played from the beginning.
+	 */
+	public static MapLoader replayAndCreateSavegame(IReplayStreamProvider replayFile, int targetGameTimeMinutes, String newReplayFile, boolean seekToKeyframe)
+			throws MapLoadException, IOException {
 		OfflineNetworkConnector networkConnector = createPausingOfflineNetworkConnector();
 		ReplayStartInformation replayStartInformation = new ReplayStartInformation();
-		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation);
+		int seekGameTime = seekToKeyframe ? targetGameTimeMinutes * 60 * 1000 : 0;
+		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation, seekGameTime);
 
 		IStartedGame startedGame = startGame(game); // before we can save the clock reference, the game must be started
-		IGameClock gameClock = MatchConstants.clock(); // after the game, the clock cannot be accessed any more => save reference before the game
+		IGameClock gameClock = networkConnector.getGameClock();
 		MapLoader newSavegame = playGameToTargetTimeAndGetSavegames(startedGame, networkConnector, targetGameTimeMinutes)[0];
 
 		// create a jsettlers.integration.replay basing on the savegame and containing the remaining tasks.
@@ -72,7 +86,7 @@ public class ReplayUtils {
 	public static MapLoader[] replayAndCreateSavegames(IReplayStreamProvider replayFile, int[] targetGameTimeMinutes) throws MapLoadException {
 		OfflineNetworkConnector networkConnector = createPausingOfflineNetworkConnector();
 		ReplayStartInformation replayStartInformation = new ReplayStartInformation();
-		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation);
+		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation, 0);
 
 		MapLoader[] newSavegame = playGameToTargetTimeAndGetSavegames(game, networkConnector, targetGameTimeMinutes);
 
@@ -103,8 +117,8 @@ public class ReplayUtils {
 			networkConnector.scheduleTaskAt(targetGameTimeMs / NetworkConstants.Client.LOCKSTEP_PERIOD,
 				new SimpleGuiTask(EGuiAction.QUICK_SAVE, (byte) 0)
 			);
-			MatchConstants.clock().fastForwardTo(targetGameTimeMs + 1000);
-			savegames[i] = getNewestSavegame();
+			networkConnector.getGameClock().fastForwardTo(targetGameTimeMs + 1000);
+			savegames[i] = getSavegame(((GameRunner) startedGame).getGameContext());
 		}
 
 		awaitShutdown(startedGame);
@@ -116,7 +130,23 @@ public class ReplayUtils {
 		return stream(targetGameTimesMinutes).map(minute -> minute * 60 * 1000).sorted().toArray();
 	}
 
+	/**
+	 * @return the last savegame created by the game of the given context.
+	 */
+	public static MapLoader getSavegame(GameContext gameContext) {
+		awaitSavedMaps();
+
+		String savegameId = gameContext.getLastSavegameId();
+		MapLoader savegame = savegameId != null ? MapList.getDefaultList().getMapById(savegameId) : null;
+		if (savegame == null) {
+			throw new RuntimeException("No saved game found.");
+		}
+		return savegame;
+	}
+
 	public static MapLoader getNewestSavegame() {
+		awaitSavedMaps();
+
 		List<? extends MapLoader> savedMaps = MapList.getDefaultList().getSavedMaps().getItems();
 		if (savedMaps.isEmpty()) {
 			throw new RuntimeException("No saved games found.");
@@ -131,6 +161,14 @@ public class ReplayUtils {
 		return newest;
 	}
 
+	private static void awaitSavedMaps() {
+		try {
+			MapList.getDefaultList().awaitSavedMaps();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	public static void awaitShutdown(IStartedGame startedGame) {
 		final MutableInt gameStopped = new MutableInt(0);
 
@@ -164,9 +202,13 @@ public class ReplayUtils {
 		return startingGameListener.waitForGameStartup();
 	}
 
-	private static JSettlersGame loadGameFromReplay(IReplayStreamProvider replayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation) throws MapLoadException {
+	/**
+	 * Loads the game of the replay at the latest keyframe before the given game time.
+	 */
+	private static JSettlersGame loadGameFromReplay(IReplayStreamProvider replayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation,
+			int seekGameTime) throws MapLoadException {
 		System.out.println("Found loadable jsettlers.integration.replay file. Started loading it: " + replayFile);
-		return JSettlersGame.loadFromReplayFile(replayFile, networkConnector, replayStartInformation);
+		return JSettlersGame.loadFromReplayFile(replayFile, networkConnector, replayStartInformation, seekGameTime);
 	}
 
 	private static void createReplayOfRemainingTasks(MapLoader newSavegame, ReplayStartInformation replayStartInformation, String newReplayFile, IGameClock gameClock) throws IOException {
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.ai.highlevel.AiPositions.AiPositionFilter;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares the nearest point search with the bucket index to the linear search on positions of the validation maps.
+ */
+public class AiPositionsSpeedTest {
+	private static final int QUERIES = 20000;
+
+	private interface NearestPointSearch {
+		ShortPoint2D getNearestPoint(ShortPoint2D center, int maxDistance, AiPositionFilter filter);
+	}
+
+	@Test
+	public void testSpeed() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		for (MapLoader map : new MapLoader[] { MapUtils.getMountainlake(), MapUtils.getSpezialSumpf() }) {
+			MainGridDataAccessor gridAccessor = new MainGridDataAccessor(map.loadMainGrid(null).getMainGrid());
+			FlagsGrid flagsGrid = gridAccessor.getFlagsGrid();
+			LandscapeGrid landscapeGrid = gridAccessor.getLandscapeGrid();
+			short width = gridAccessor.getWidth();
+			short height = gridAccessor.getHeight();
+
+			AiPositions land = new AiPositions();
+			AiPositions resources = new AiPositions();
+			for (int x = 0; x < width; x++) {
+				for (int y = 0; y < height; y++) {
+					if (!flagsGrid.isBlocked(x, y)) {
+						land.addNoCollission(x, y);
+					}
+					if (landscapeGrid.getResourceAmountAt(x, y) > 0) {
+						resources.addNoCollission(x, y);
+					}
+				}
+			}
+
+			for (int run = 0; run < 3; run++) {
+				measure(map.getMapName() + " land (" + land.size() + ")", land, width, height);
+				measure(map.getMapName() + " resources (" + resources.size() + ")", resources, width, height);
+			}
+		}
+	}
+
+	private static void measure(String name, AiPositions positions, int width, int height) {
+		AiPositionFilter westFilter = (x, y) -> x < width / 4;
+		measure(name + " linear search", positions::getNearestPointLinear, width, height, Integer.MAX_VALUE, null);
+		measure(name + " bucket search", positions::getNearestPoint, width, height, Integer.MAX_VALUE, null);
+		measure(name + " linear search in radius 30", positions::getNearestPointLinear, width, height, 30, null);
+		measure(name + " bucket search in radius 30", positions::getNearestPoint, width, height, 30, null);
+		measure(name + " linear search with filter", positions::getNearestPointLinear, width, height, Integer.MAX_VALUE, westFilter);
+		measure(name + " bucket search with filter", positions::getNearestPoint, width, height, Integer.MAX_VALUE, westFilter);
+	}
+
+	private static void measure(String name, NearestPointSearch search, int width, int height, int maxDistance, AiPositionFilter filter) {
+		Random random = new Random(1);
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int i = 0; i < QUERIES; i++) {
+			search.getNearestPoint(new ShortPoint2D(random.nextInt(width), random.nextInt(height)), maxDistance, filter);
+		}
+		watch.stop(name + ": " + QUERIES + " queries needed");
+	}
+}
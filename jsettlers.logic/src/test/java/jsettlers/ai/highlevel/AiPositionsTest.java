@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.ai.highlevel.AiPositions.AiPositionFilter;
+import jsettlers.common.position.ShortPoint2D;
+
+public class AiPositionsTest {
+	private static final int QUERIES = 2000;
+
+	@Test
+	public void testEmptyPositions() {
+		assertNull(new AiPositions().getNearestPoint(new ShortPoint2D(10, 10), Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testNearestPointOfSparsePositions() {
+		assertBucketSearchEqualsLinearSearch(new Random(1), 400, 500, 300);
+	}
+
+	@Test
+	public void testNearestPointOfDensePositions() {
+		// many points share the same distance, so the order of the linear search decides
+		assertBucketSearchEqualsLinearSearch(new Random(2), 3000, 60, 70);
+	}
+
+	@Test
+	public void testNearestPointAfterAddingAndRemoving() {
+		Random random = new Random(3);
+		AiPositions positions = createRandomPositions(random, 1000, 200, 200);
+		positions.getNearestPoint(new ShortPoint2D(0, 0), Integer.MAX_VALUE);
+
+		for (int i = 0; i < 500; i++) {
+			positions.remove(random.nextInt(200), random.nextInt(200));
+			positions.add(random.nextInt(200), random.nextInt(200));
+		}
+		positions.add(250, 260); // outside of the initial buckets
+		assertBucketSearchEqualsLinearSearch(random, positions, 300, 300);
+
+		ShortPoint2D nearest = positions.getNearestPoint(new ShortPoint2D(250, 261), Integer.MAX_VALUE);
+		assertEquals(new ShortPoint2D(250, 260), nearest);
+		positions.remove(250, 260);
+		assertBucketSearchEqualsLinearSearch(random, positions, 300, 300);
+	}
+
+	private static void assertBucketSearchEqualsLinearSearch(Random random, int numberOfPoints, int width, int height) {
+		assertBucketSearchEqualsLinearSearch(random, createRandomPositions(random, numberOfPoints, width, height), width, height);
+	}
+
+	private static void assertBucketSearchEqualsLinearSearch(Random random, AiPositions positions, int width, int height) {
+		for (int i = 0; i < QUERIES; i++) {
+			ShortPoint2D center = new ShortPoint2D(random.nextInt(width + 20), random.nextInt(height + 20));
+			int maxDistance = random.nextBoolean() ? Integer.MAX_VALUE : random.nextInt(40);
+			int filterModulo = 1 + random.nextInt(5);
+			AiPositionFilter filter = random.nextBoolean() ? null : (x, y) -> (x * 7 + y * 3) % filterModulo == 0;
+
+			assertEquals(center + " " + maxDistance, positions.getNearestPointLinear(center, maxDistance, filter),
+					positions.getNearestPoint(center, maxDistance, filter));
+		}
+	}
+
+	private static AiPositions createRandomPositions(Random random, int numberOfPoints, int width, int height) {
+		AiPositions positions = new AiPositions();
+		for (int i = 0; i < numberOfPoints; i++) {
+			positions.add(random.nextInt(width), random.nextInt(height));
+		}
+		return positions;
+	}
+}
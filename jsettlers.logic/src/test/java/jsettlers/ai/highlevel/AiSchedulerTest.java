@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.common.logging.StatisticsStopWatch;
+
+public class AiSchedulerTest {
+	private final AiScheduler scheduler = new AiScheduler();
+	private final List<String> appliedSteps = new ArrayList<>();
+
+	private class RecordingAi implements IWhatToDoAi {
+		private final String name;
+		private final boolean alive;
+
+		RecordingAi(String name, boolean alive) {
+			this.name = name;
+			this.alive = alive;
+		}
+
+		@Override
+		public void applyLightRules() {
+		}
+
+		@Override
+		public boolean applyHeavyRuleStep(EHeavyRuleStep step) {
+			appliedSteps.add(name + ":" + step);
+			return alive;
+		}
+	}
+
+	@Test
+	public void testAllStepsOfOnePlayerAreAppliedInOrder() {
+		scheduler.addAi(new RecordingAi("a", true), new StatisticsStopWatch());
+
+		int tick = 0;
+		while (appliedSteps.size() < EHeavyRuleStep.VALUES.length) {
+			assertTrue(tick < AiScheduler.HEAVY_RULES_INTERVAL);
+			scheduler.applyHeavyRules(tick++);
+		}
+
+		List<String> expectedSteps = new ArrayList<>();
+		for (EHeavyRuleStep step : EHeavyRuleStep.VALUES) {
+			expectedSteps.add("a:" + step);
+		}
+		assertEquals(expectedSteps, appliedSteps);
+
+		appliedSteps.clear();
+		for (; tick < AiScheduler.HEAVY_RULES_INTERVAL; tick++) {
+			assertFalse(scheduler.applyHeavyRules(tick));
+		}
+		assertTrue(appliedSteps.isEmpty());
+
+		scheduler.applyHeavyRules(AiScheduler.HEAVY_RULES_INTERVAL);
+		assertEquals("a:" + EHeavyRuleStep.UPDATE_ECONOMY, appliedSteps.get(0));
+	}
+
+	@Test
+	public void testPlayersAreStaggered() {
+		scheduler.addAi(new RecordingAi("a", true), new StatisticsStopWatch());
+		scheduler.addAi(new RecordingAi("b", true), new StatisticsStopWatch());
+
+		for (int tick = 0; tick < AiScheduler.HEAVY_RULES_INTERVAL / 2; tick++) {
+			scheduler.applyHeavyRules(tick);
+		}
+		assertTrue(appliedSteps.stream().allMatch(step -> step.startsWith("a:")));
+
+		appliedSteps.clear();
+		scheduler.applyHeavyRules(AiScheduler.HEAVY_RULES_INTERVAL / 2);
+		assertEquals("b:" + EHeavyRuleStep.UPDATE_ECONOMY, appliedSteps.get(0));
+	}
+
+	@Test
+	public void testWorkUnitsPerTickAreNotExceeded() {
+		for (int i = 0; i < 20; i++) {
+			scheduler.addAi(new RecordingAi("p" + i, true), new StatisticsStopWatch());
+		}
+
+		for (int tick = 0; tick < 10 * AiScheduler.HEAVY_RULES_INTERVAL; tick++) {
+			appliedSteps.clear();
+			scheduler.applyHeavyRules(tick);
+
+			int workUnits = 0;
+			for (String step : appliedSteps) {
+				workUnits += EHeavyRuleStep.valueOf(step.substring(step.indexOf(':') + 1)).workUnits;
+			}
+			assertTrue(workUnits <= AiScheduler.WORK_UNITS_PER_TICK);
+			assertFalse(appliedSteps.isEmpty());
+		}
+	}
+
+	@Test
+	public void testCycleIsStoppedWhenPlayerIsDead() {
+		scheduler.addAi(new RecordingAi("dead", false), new StatisticsStopWatch());
+
+		for (int tick = 0; tick < AiScheduler.HEAVY_RULES_INTERVAL; tick++) {
+			scheduler.applyHeavyRules(tick);
+		}
+		assertEquals(Arrays.asList("dead:" + EHeavyRuleStep.UPDATE_ECONOMY), appliedSteps);
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.GameContext;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Measures the heap footprint of a {@link FogOfWar} of a large map after a lot of view circles have been added.
+ */
+public class FogOfWarMemorySpeedTest {
+	private static final int VIEW_CIRCLES = 20000;
+
+	@Test
+	public void testMemoryFootprint() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		MainGrid grid = MapUtils.getMountainlake().loadMainGrid(null).getMainGrid();
+		short width = grid.getWidth();
+		short height = grid.getHeight();
+
+		long usedBefore = getUsedMemory();
+		MilliStopWatch watch = new MilliStopWatch();
+
+		FogOfWar fogOfWar = new FogOfWar(grid, (byte) 0);
+		GameContext.current().setFogOfWar(fogOfWar);
+
+		Random random = new Random(42);
+		for (int i = 0; i < VIEW_CIRCLES; i++) {
+			ShortPoint2D position = new ShortPoint2D(random.nextInt(width), random.nextInt(height));
+			fogOfWar.circleDrawer.drawCircleToBuffer(position, 5 + random.nextInt(20), FogOfWar.CIRCLE_ADD, null);
+		}
+
+		watch.stop("creating the fog of war and drawing " + VIEW_CIRCLES + " view circles needed:");
+		long usedAfter = getUsedMemory();
+
+		System.out.println("fog of war of a " + width + "x" + height + " map uses " + (usedAfter - usedBefore) / 1024 + " KiB");
+		assertNotNull(fogOfWar.getVisibleStatusArray());
+	}
+
+	private static long getUsedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
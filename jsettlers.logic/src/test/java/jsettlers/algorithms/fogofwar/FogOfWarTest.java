@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.map.IGraphicsBackgroundListener;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FogOfWarTest {
+	private static final short WIDTH  = 100;
+	private static final short HEIGHT = 80;
+
+	private final FogOfWar fogOfWar = new FogOfWar(WIDTH, HEIGHT, (byte) 0, null, null);
+
+	@Test
+	public void testReferencesOfOverlappingCircles() {
+		ShortPoint2D center = new ShortPoint2D(50, 40);
+		int circles = 3 * FogOfWar.REF_OVERFLOW;
+
+		for (int i = 0; i < circles; i++) {
+			fogOfWar.circleDrawer.drawCircleToBuffer(center, 10, FogOfWar.CIRCLE_ADD, null);
+		}
+
+		assertEquals(circles, fogOfWar.getRefCount(getRefIndex(50, 40, 0)));
+		assertEquals(CommonConstants.FOG_OF_WAR_VISIBLE, fogOfWar.refSight(50, 40));
+		assertEquals(0, fogOfWar.refSight(5, 5));
+
+		for (int i = 0; i < circles; i++) {
+			fogOfWar.circleDrawer.drawCircleToBuffer(center, 10, FogOfWar.CIRCLE_REMOVE, null);
+		}
+
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				assertEquals(0, fogOfWar.maxIndex(x, y));
+				assertEquals(0, fogOfWar.refSight(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testRefSightDependsOnNearestReference() {
+		fogOfWar.circleDrawer.drawCircleToBuffer(new ShortPoint2D(50, 40), 5, FogOfWar.CIRCLE_ADD, null);
+
+		int maxIndex = 0;
+		for (int x = 50; x < WIDTH; x++) {
+			int refSight = fogOfWar.refSight(x, 40);
+			maxIndex = Math.max(maxIndex, fogOfWar.maxIndex(x, 40));
+			if (refSight == 0) {
+				break;
+			}
+			assertEquals(CommonConstants.FOG_OF_WAR_VISIBLE - 10 * (fogOfWar.maxIndex(x, 40) - 1), refSight);
+		}
+		assertEquals(FogOfWar.REF_INDEXES, maxIndex);
+	}
+
+	@Test
+	public void testDimmingReportsChangesAndSettles() {
+		RecordingBackgroundListener listener = new RecordingBackgroundListener();
+		fogOfWar.setBackgroundListener(listener);
+		fogOfWar.circleDrawer.drawCircleToBuffer(new ShortPoint2D(37, 21), 12, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM, null);
+		fogOfWar.circleDrawer.drawCircleToBuffer(new ShortPoint2D(90, 70), 8, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM, null);
+
+		byte[] sight = fogOfWar.getVisibleStatusArray();
+		int steps = 0;
+		do {
+			byte[] sightBefore = sight.clone();
+			listener.changed.clear();
+
+			fogOfWar.dimThread.dimStep((byte) 7);
+			steps++;
+
+			for (int i = 0; i < sight.length; i++) {
+				if (sight[i] != sightBefore[i]) {
+					assertTrue(listener.changed.get(i));
+				}
+			}
+		} while (fogOfWar.dimThread.getDimmingBlocksCount() > 0 && steps < 100);
+
+		assertEquals(0, fogOfWar.dimThread.getDimmingBlocksCount());
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				assertEquals(fogOfWar.refSight(x, y), sight[x + y * WIDTH]);
+			}
+		}
+	}
+
+	private static class RecordingBackgroundListener implements IGraphicsBackgroundListener {
+		private final BitSet changed = new BitSet();
+
+		@Override
+		public void backgroundLineChangedAt(int x, int y, int length) {
+			backgroundAreaChangedAt(x, y, length, 1);
+		}
+
+		@Override
+		public void backgroundAreaChangedAt(int x, int y, int width, int height) {
+			for (int line = y; line < y + height; line++) {
+				changed.set(x + line * WIDTH, x + width + line * WIDTH);
+			}
+		}
+
+		@Override
+		public void fogOfWarEnabledStatusChanged(boolean enabled) {
+		}
+	}
+
+	private static int getRefIndex(int x, int y, int index) {
+		return (x + y * WIDTH) * FogOfWar.REF_INDEXES + index;
+	}
+}
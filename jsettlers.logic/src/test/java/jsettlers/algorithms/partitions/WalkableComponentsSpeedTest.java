@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.partitions;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Measures the initial calculation and the updates of the {@link WalkableComponents} on the validation maps.
+ */
+public class WalkableComponentsSpeedTest {
+	private static final int CHANGES = 100000;
+
+	@Test
+	public void testSpeed() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		for (MapLoader map : new MapLoader[] { MapUtils.getMountainlake(), MapUtils.getSpezialSumpf() }) {
+			MainGrid grid = map.loadMainGrid(null).getMainGrid();
+			MainGridDataAccessor gridAccessor = new MainGridDataAccessor(grid);
+			FlagsGrid flagsGrid = gridAccessor.getFlagsGrid();
+			short width = gridAccessor.getWidth();
+			short height = gridAccessor.getHeight();
+
+			for (int run = 0; run < 3; run++) {
+				MilliStopWatch watch = new MilliStopWatch();
+				WalkableComponents components = new WalkableComponents(flagsGrid, width, height);
+				components.isConnected(0, 0, 0, 0);
+				watch.stop(map.getMapName() + " initial calculation needed");
+
+				Random random = new Random(run);
+				watch.restart();
+				for (int i = 0; i < CHANGES; i++) { // block a random position and free it again, like a tree that grows and is cut
+					int x = random.nextInt(width);
+					int y = random.nextInt(height);
+					if (!flagsGrid.isBlocked(x, y)) {
+						flagsGrid.setBlockedAndProtected(x, y, true);
+						components.blockingChanged(x, y);
+						flagsGrid.setBlockedAndProtected(x, y, false);
+						components.blockingChanged(x, y);
+					}
+				}
+				watch.stop(map.getMapName() + " " + CHANGES + " changes needed");
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.partitions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class WalkableComponentsTest {
+	private static final short WIDTH  = 60;
+	private static final short HEIGHT = 50;
+
+	private final boolean[][]        blocked    = new boolean[WIDTH][HEIGHT];
+	private final IBlockingProvider  blocking   = (x, y) -> blocked[x][y];
+	private final WalkableComponents components = new WalkableComponents(blocking, WIDTH, HEIGHT);
+
+	@Test
+	public void testClosingAndOpeningWall() {
+		for (int y = 0; y < HEIGHT; y++) {
+			if (y != 20) {
+				blocked[30][y] = true;
+			}
+		}
+		assertTrue(components.isConnected(10, 10, 50, 40));
+
+		setBlocked(30, 20, true);
+		assertFalse(components.isConnected(10, 10, 50, 40));
+		assertTrue(components.isConnected(10, 10, 29, 20));
+		assertTrue(components.isConnected(50, 40, 31, 20));
+
+		setBlocked(30, 20, false);
+		assertTrue(components.isConnected(10, 10, 50, 40));
+	}
+
+	@Test
+	public void testBlockedPositionsAreNotConnected() {
+		setBlocked(5, 5, true);
+
+		assertFalse(components.isConnected(5, 5, 5, 5));
+		assertFalse(components.isConnected(5, 6, 5, 5));
+	}
+
+	@Test
+	public void testChangesBeforeFirstRequestAreIncluded() {
+		for (int y = 0; y < HEIGHT; y++) {
+			setBlocked(30, y, true);
+		}
+
+		assertFalse(components.isConnected(10, 10, 50, 40));
+	}
+
+	@Test
+	public void testRandomChangesEqualFullCalculation() {
+		Random random = new Random(1);
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				blocked[x][y] = random.nextInt(100) < 35;
+			}
+		}
+		components.isConnected(0, 0, 0, 0);
+
+		for (int change = 0; change < 3000; change++) {
+			int x = random.nextInt(WIDTH);
+			int y = random.nextInt(HEIGHT);
+			setBlocked(x, y, !blocked[x][y]);
+
+			if (change % 10 == 0) {
+				WalkableComponents expected = new WalkableComponents(blocking, WIDTH, HEIGHT);
+				for (int i = 0; i < 300; i++) {
+					int x1 = random.nextInt(WIDTH), y1 = random.nextInt(HEIGHT);
+					int x2 = Math.floorMod(x1 + random.nextInt(21) - 10, WIDTH), y2 = Math.floorMod(y1 + random.nextInt(21) - 10, HEIGHT); // near pairs are more often connected
+					assertEquals(expected.isConnected(x1, y1, x2, y2), components.isConnected(x1, y1, x2, y2));
+				}
+			}
+		}
+	}
+
+	private void setBlocked(int x, int y, boolean newBlocked) {
+		blocked[x][y] = newBlocked;
+		components.blockingChanged(x, y);
+	}
+}
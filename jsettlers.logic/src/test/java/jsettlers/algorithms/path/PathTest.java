@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PathTest {
+
+	@Test
+	public void testStepsInOrder() {
+		Path path = createPath(0, 10);
+
+		assertEquals(10, path.getLength());
+		assertEquals(new ShortPoint2D(0, 0), path.getFirstPos());
+		assertEquals(new ShortPoint2D(9, 0), path.getTargetPosition());
+		assertSteps(path, 0, 10);
+	}
+
+	@Test
+	public void testPrependPathReplacesGoneSteps() {
+		Path path = createPath(0, 10);
+		path.goToNextStep(4);
+
+		Path prefix = createPath(100, 3);
+		prefix.goToNextStep();
+		path.prepend(prefix);
+
+		assertEquals(8, path.getLength());
+		assertEquals(new ShortPoint2D(9, 0), path.getTargetPosition());
+		assertSteps(path, 101, 2);
+		assertSteps(path, 4, 6);
+		assertFalse(path.hasNextStep());
+
+		assertEquals(2, prefix.getRemainingSteps());
+	}
+
+	@Test
+	public void testPrependPathLongerThanGoneSteps() {
+		Path path = createPath(0, 10);
+		path.goToNextStep();
+
+		path.prepend(createPath(100, 30));
+
+		assertEquals(39, path.getLength());
+		assertSteps(path, 100, 30);
+		assertSteps(path, 1, 9);
+		assertFalse(path.hasNextStep());
+	}
+
+	@Test
+	public void testPrependSteps() {
+		Path path = createPath(0, 5);
+		path.goToNextStep();
+
+		for (int i = 0; i < 10; i++) {
+			path.prepend((short) (100 - i), (short) 0);
+		}
+
+		assertEquals(14, path.getLength());
+		assertSteps(path, 91, 10);
+		assertSteps(path, 1, 4);
+		assertFalse(path.hasNextStep());
+	}
+
+	@Test
+	public void testPrependToFinishedPathChangesTarget() {
+		Path path = createPath(0, 2);
+		assertEquals(new ShortPoint2D(1, 0), path.getTargetPosition());
+		path.goToNextStep(2);
+
+		path.prepend((short) 7, (short) 0);
+
+		assertEquals(new ShortPoint2D(7, 0), path.getTargetPosition());
+		assertSteps(path, 7, 1);
+	}
+
+	@Test
+	public void testPoolReusesRecycledPaths() {
+		PathPool pool = new PathPool();
+		Path path = pool.obtain(3);
+		fill(path, 0, 3);
+		path.goToNextStep();
+		path.getTargetPosition();
+		pool.recycle(path);
+
+		Path reused = pool.obtain(20);
+		fill(reused, 50, 20);
+
+		assertSame(path, reused);
+		assertEquals(20, reused.getLength());
+		assertEquals(new ShortPoint2D(69, 0), reused.getTargetPosition());
+		assertSteps(reused, 50, 20);
+
+		assertTrue(pool.obtain(3) != reused);
+	}
+
+	private static Path createPath(int startX, int length) {
+		Path path = new Path(length);
+		fill(path, startX, length);
+		return path;
+	}
+
+	private static void fill(Path path, int startX, int length) {
+		for (int i = 0; i < length; i++) {
+			path.insertAt(i, (short) (startX + i), (short) 0);
+		}
+	}
+
+	private static void assertSteps(Path path, int startX, int steps) {
+		for (int i = 0; i < steps; i++) {
+			assertTrue(path.hasNextStep());
+			assertEquals(startX + i, path.nextX());
+			assertEquals(0, path.nextY());
+			path.goToNextStep();
+		}
+	}
+}
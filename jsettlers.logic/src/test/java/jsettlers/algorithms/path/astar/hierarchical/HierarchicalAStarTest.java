@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.hierarchical;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class HierarchicalAStarTest {
+
+	private static final short WIDTH  = 150;
+	private static final short HEIGHT = 130;
+
+	private final DummyEmptyAStarMap map              = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+	private final IBlockingProvider  blockingProvider = (x, y) -> map.isBlocked(null, x, y);
+
+	@Test
+	public void testFindsPathWheneverAStarFindsOne() {
+		Random random = new Random(42);
+		addRandomWalls(random, 60);
+
+		HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(map, blockingProvider, WIDTH, HEIGHT);
+		BucketQueueAStar aStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+
+		for (int i = 0; i < 300; i++) {
+			ShortPoint2D start = getRandomFreePosition(random);
+			ShortPoint2D target = getRandomFreePosition(random);
+
+			Path expected = aStar.findPath(getPathable(start), target);
+			Path actual = hierarchicalAStar.findPath(getPathable(start), target);
+
+			if (expected == null) {
+				assertEquals(null, actual);
+			} else {
+				assertValidPath(start, target, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testIncrementalRepairEqualsCompleteBuild() {
+		Random random = new Random(17);
+		addRandomWalls(random, 40);
+
+		ClusterAbstraction incremental = new ClusterAbstraction(blockingProvider, WIDTH, HEIGHT);
+
+		for (int round = 0; round < 20; round++) {
+			for (int i = 0; i < 50; i++) {
+				int x = random.nextInt(WIDTH);
+				int y = random.nextInt(HEIGHT);
+				map.setBlocked(x, y, random.nextBoolean());
+				incremental.invalidate(x, y);
+			}
+
+			ClusterAbstraction complete = new ClusterAbstraction(blockingProvider, WIDTH, HEIGHT);
+
+			for (int i = 0; i < 30; i++) {
+				ShortPoint2D start = getRandomFreePosition(random);
+				ShortPoint2D target = getRandomFreePosition(random);
+
+				int expectedWaypoints = complete.findAbstractPath(start.x, start.y, target.x, target.y);
+				int actualWaypoints = incremental.findAbstractPath(start.x, start.y, target.x, target.y);
+
+				assertEquals(expectedWaypoints, actualWaypoints);
+				for (int waypoint = 0; waypoint < expectedWaypoints; waypoint++) {
+					assertEquals(complete.getWaypointX(waypoint), incremental.getWaypointX(waypoint));
+					assertEquals(complete.getWaypointY(waypoint), incremental.getWaypointY(waypoint));
+				}
+			}
+		}
+	}
+
+	private void assertValidPath(ShortPoint2D start, ShortPoint2D target, Path path) {
+		assertNotNull(path);
+
+		int x = start.x;
+		int y = start.y;
+		while (path.hasNextStep()) {
+			assertNotNull(EDirection.getDirection(path.nextX() - x, path.nextY() - y));
+			assertFalse(map.isBlocked(null, path.nextX(), path.nextY()));
+
+			x = path.nextX();
+			y = path.nextY();
+			path.goToNextStep();
+		}
+
+		assertEquals(target.x, x);
+		assertEquals(target.y, y);
+	}
+
+	private void addRandomWalls(Random random, int numberOfWalls) {
+		for (int i = 0; i < numberOfWalls; i++) {
+			EDirection direction = EDirection.VALUES[random.nextInt(EDirection.NUMBER_OF_DIRECTIONS)];
+			int x = random.nextInt(WIDTH);
+			int y = random.nextInt(HEIGHT);
+			int length = 10 + random.nextInt(40);
+
+			for (int step = 0; step < length && 0 <= x && x < WIDTH && 0 <= y && y < HEIGHT; step++) {
+				map.setBlocked(x, y, true);
+				x = direction.getNextTileX(x);
+				y = direction.getNextTileY(y);
+			}
+		}
+	}
+
+	private ShortPoint2D getRandomFreePosition(Random random) {
+		while (true) {
+			short x = (short) random.nextInt(WIDTH);
+			short y = (short) random.nextInt(HEIGHT);
+			if (!map.isBlocked(null, x, y)) {
+				return new ShortPoint2D(x, y);
+			}
+		}
+	}
+
+	private IPathCalculatable getPathable(ShortPoint2D position) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return position;
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncPathfinderTest {
+	private static final short WIDTH        = 100;
+	private static final short HEIGHT       = 100;
+	private static final int   BATCH_PERIOD = 100;
+
+	private static final IPathCalculatable REQUESTER = getPathable(10, 50);
+	private static final ShortPoint2D      TARGET    = new ShortPoint2D(90, 50);
+
+	private final boolean[][] blocked   = new boolean[WIDTH][HEIGHT];
+	private       boolean     reachable = true;
+
+	private final IAsyncPathfinderGrid grid = new IAsyncPathfinderGrid() {
+		@Override
+		public boolean isBlocked(int x, int y) {
+			return blocked[x][y];
+		}
+
+		@Override
+		public byte getPlayerIdAt(int x, int y) {
+			return 0;
+		}
+
+		@Override
+		public boolean hasNoMovableAt(int x, int y) {
+			return true;
+		}
+
+		@Override
+		public boolean isReachable(int x1, int y1, int x2, int y2) {
+			return reachable;
+		}
+	};
+
+	private final AsyncPathfinder pathfinder = new AsyncPathfinder(grid, WIDTH, HEIGHT, BATCH_PERIOD);
+
+	private final boolean parallel = Constants.PARALLEL_PATH_REQUESTS;
+
+	@After
+	public void tearDown() {
+		Constants.PARALLEL_PATH_REQUESTS = parallel;
+	}
+
+	@Test
+	public void testPathIsDeliveredAtTheNextBatch() {
+		PathRequest request = pathfinder.request(REQUESTER, TARGET, 130);
+
+		assertEquals(200, request.getDeliveryTime());
+		assertTrue(request.startsAt(REQUESTER.getPosition()));
+		assertValidPath(REQUESTER.getPosition(), TARGET, request.takePath());
+		assertNull(request.takePath());
+	}
+
+	@Test
+	public void testParallelAndSequentialPathsAreEqual() {
+		Constants.PARALLEL_PATH_REQUESTS = true;
+		List<Path> parallelPaths = requestPaths(new AsyncPathfinder(grid, WIDTH, HEIGHT, BATCH_PERIOD));
+
+		Constants.PARALLEL_PATH_REQUESTS = false;
+		List<Path> sequentialPaths = requestPaths(new AsyncPathfinder(grid, WIDTH, HEIGHT, BATCH_PERIOD));
+
+		assertEquals(sequentialPaths.size(), parallelPaths.size());
+		for (int i = 0; i < sequentialPaths.size(); i++) {
+			assertEquals(toString(sequentialPaths.get(i)), toString(parallelPaths.get(i)));
+		}
+	}
+
+	@Test
+	public void testChangesAreSeenByTheNextBatch() {
+		int straightLength = pathfinder.request(REQUESTER, TARGET, 0).takePath().getLength();
+
+		for (int y = 20; y < 80; y++) {
+			blocked[50][y] = true;
+			pathfinder.positionChanged(50, y);
+		}
+
+		Path sameBatchPath = pathfinder.request(REQUESTER, TARGET, 99).takePath();
+		assertEquals(straightLength, sameBatchPath.getLength());
+
+		Path nextBatchPath = pathfinder.request(REQUESTER, TARGET, 100).takePath();
+		assertValidPath(REQUESTER.getPosition(), TARGET, nextBatchPath);
+		assertTrue(nextBatchPath.getLength() > straightLength);
+	}
+
+	@Test
+	public void testUnreachableTargetsGetNoPath() {
+		assertNull(pathfinder.request(REQUESTER, new ShortPoint2D(WIDTH, 50), 0).takePath());
+
+		blocked[TARGET.x][TARGET.y] = true;
+		pathfinder.positionChanged(TARGET.x, TARGET.y);
+		assertNull(pathfinder.request(REQUESTER, TARGET, 100).takePath());
+
+		blocked[TARGET.x][TARGET.y] = false;
+		pathfinder.positionChanged(TARGET.x, TARGET.y);
+		reachable = false;
+		assertNull(pathfinder.request(REQUESTER, TARGET, 200).takePath());
+	}
+
+	@Test
+	public void testSerializedRequestKeepsItsPath() throws IOException, ClassNotFoundException {
+		Constants.PARALLEL_PATH_REQUESTS = true;
+		PathRequest request = pathfinder.request(REQUESTER, TARGET, 0);
+
+		PathRequest deserialized = serializeAndDeserialize(request);
+
+		assertEquals(request.getDeliveryTime(), deserialized.getDeliveryTime());
+		assertEquals(toString(request.takePath()), toString(deserialized.takePath()));
+	}
+
+	private List<Path> requestPaths(AsyncPathfinder pathfinder) {
+		List<PathRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			requests.add(pathfinder.request(getPathable(5 + i, 10 + 4 * i), new ShortPoint2D(95 - 3 * i, 90 - i), 10 * i));
+		}
+
+		List<Path> paths = new ArrayList<>();
+		for (PathRequest request : requests) {
+			paths.add(request.takePath());
+		}
+		return paths;
+	}
+
+	private void assertValidPath(ShortPoint2D start, ShortPoint2D target, Path path) {
+		assertNotNull(path);
+		assertEquals(target, path.getTargetPosition());
+
+		ShortPoint2D previous = start;
+		while (path.hasNextStep()) {
+			ShortPoint2D position = path.getNextPos();
+			assertEquals(1, previous.getOnGridDistTo(position));
+			assertFalse(blocked[position.x][position.y]);
+			previous = position;
+			path.goToNextStep();
+		}
+	}
+
+	private static String toString(Path path) {
+		StringBuilder steps = new StringBuilder();
+		while (path.hasNextStep()) {
+			steps.append(path.getNextPos()).append(' ');
+			path.goToNextStep();
+		}
+		return steps.toString();
+	}
+
+	private static PathRequest serializeAndDeserialize(PathRequest request) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(request);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (PathRequest) ois.readObject();
+		}
+	}
+
+	private static IPathCalculatable getPathable(final int x, final int y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
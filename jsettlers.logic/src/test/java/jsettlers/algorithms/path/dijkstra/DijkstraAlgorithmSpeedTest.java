@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.hierarchical.HierarchicalAStar;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares the {@link DijkstraAlgorithm} with a single search for the nearest target to the former search of a path to one target after the other on the validation maps.
+ */
+public class DijkstraAlgorithmSpeedTest {
+	private static final int SEARCHES = 3000;
+
+	private static final ESearchType[] SEARCH_TYPES = { ESearchType.VALID_FREE_POSITION, ESearchType.NON_BLOCKED_OR_PROTECTED, ESearchType.RESOURCE_SIGNABLE,
+			ESearchType.UNENFORCED_FOREIGN_GROUND };
+	private static final short[]       RADIUS       = { 10, 50, 30, 30 };
+
+	private static final int[] DIRECTION_X = { -1, 0, 1, 1, 0, -1 };
+	private static final int[] DIRECTION_Y = { 0, 1, 1, 0, -1, -1 };
+
+	@Test
+	public void testSpeed() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		for (MapLoader map : new MapLoader[] { MapUtils.getMountainlake(), MapUtils.getSpezialSumpf() }) {
+			MainGrid grid = map.loadMainGrid(null).getMainGrid();
+			MainGridDataAccessor gridAccessor = new MainGridDataAccessor(grid);
+
+			DijkstraAlgorithm dijkstra = gridAccessor.getDijkstra();
+			ISearch singleSearch = dijkstra::find;
+			ISearch searchPerTarget = createSearchPerTarget(gridAccessor);
+
+			for (int run = 0; run < 3; run++) {
+				System.out.println(map.getMapName() + " run " + run);
+				for (int type = 0; type < SEARCH_TYPES.length; type++) {
+					run(gridAccessor, searchPerTarget, SEARCH_TYPES[type], RADIUS[type], "search per target");
+					run(gridAccessor, singleSearch, SEARCH_TYPES[type], RADIUS[type], "single search    ");
+				}
+			}
+		}
+	}
+
+	private void run(MainGridDataAccessor gridAccessor, ISearch search, ESearchType searchType, short radius, String name) {
+		IAStarPathMap map = gridAccessor.getAStarPathMap();
+		Random random = new Random(42);
+		int found = 0;
+		long pathLengths = 0;
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int i = 0; i < SEARCHES; i++) {
+			IPathCalculatable requester = getFreePathable(map, random, gridAccessor.getWidth(), gridAccessor.getHeight());
+			ShortPoint2D position = requester.getPosition();
+			short centerX = (short) Math.max(0, Math.min(gridAccessor.getWidth() - 1, position.x + random.nextInt(11) - 5));
+			short centerY = (short) Math.max(0, Math.min(gridAccessor.getHeight() - 1, position.y + random.nextInt(11) - 5));
+
+			Path path = search.find(requester, centerX, centerY, (short) 0, radius, searchType);
+			if (path != null) {
+				found++;
+				pathLengths += path.getLength();
+			}
+		}
+		watch.stop(name + " " + searchType + ": found " + found + " of " + SEARCHES + ", average path length " + (found > 0 ? pathLengths / found : 0) + ", needed:");
+	}
+
+	/**
+	 * The former search, that scans the rings around the center and searches a path to every fitting position until one is found.
+	 */
+	private static ISearch createSearchPerTarget(MainGridDataAccessor gridAccessor) {
+		IDijkstraPathMap map = gridAccessor.getDijkstraPathMap();
+		HierarchicalAStar aStar = new HierarchicalAStar(gridAccessor.getAStarPathMap(), gridAccessor.getFlagsGrid(), gridAccessor.getWidth(), gridAccessor.getHeight());
+		short width = gridAccessor.getWidth();
+		short height = gridAccessor.getHeight();
+
+		return (requester, cX, cY, minRadius, maxRadius, type) -> {
+			if (minRadius <= 0 && map.fitsSearchType(cX, cY, type, requester)) {
+				Path path = aStar.findPath(requester, new ShortPoint2D(cX, cY));
+				if (path != null) {
+					return path;
+				}
+			}
+			for (short radius = minRadius; radius < maxRadius; radius++) {
+				int x = cX, y = cY - radius;
+				for (int direction = 0; direction < 6; direction++) {
+					for (int length = 0; length < radius; length++) {
+						x += DIRECTION_X[direction];
+						y += DIRECTION_Y[direction];
+						if (x >= 0 && x < width && y >= 0 && y < height && map.fitsSearchType(x, y, type, requester)) {
+							Path path = aStar.findPath(requester, new ShortPoint2D(x, y));
+							if (path != null) {
+								return path;
+							}
+						}
+					}
+				}
+			}
+			return null;
+		};
+	}
+
+	private interface ISearch {
+		Path find(IPathCalculatable requester, short cX, short cY, short minRadius, short maxRadius, ESearchType type);
+	}
+
+	private static IPathCalculatable getFreePathable(IAStarPathMap map, Random random, short width, short height) {
+		while (true) {
+			IPathCalculatable pathable = getPathable((short) random.nextInt(width), (short) random.nextInt(height));
+			ShortPoint2D position = pathable.getPosition();
+			if (!map.isBlocked(pathable, position.x, position.y)) {
+				return pathable;
+			}
+		}
+	}
+
+	private static IPathCalculatable getPathable(final short x, final short y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm.DijkstraContinuableRequest;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DijkstraAlgorithmTest {
+	private static final short WIDTH  = 120;
+	private static final short HEIGHT = 120;
+
+	private final DummyEmptyAStarMap aStarMap  = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+	private final BucketQueueAStar   aStar     = new BucketQueueAStar(aStarMap, WIDTH, HEIGHT);
+	private final TargetsMap         targetMap = new TargetsMap();
+	private final DijkstraAlgorithm  dijkstra  = new DijkstraAlgorithm(targetMap, aStar, WIDTH, HEIGHT);
+
+	@Test
+	public void testFindsTargetNearestToRequester() {
+		targetMap.targets[46][50] = true; // nearer to the center
+		targetMap.targets[55][50] = true; // nearer to the requester
+
+		Path path = dijkstra.find(getPathable(56, 50), (short) 50, (short) 50, (short) 0, (short) 10, ESearchType.VALID_FREE_POSITION);
+
+		assertEquals(new ShortPoint2D(55, 50), path.getTargetPosition());
+		assertEquals(1, path.getLength());
+	}
+
+	@Test
+	public void testSkipsUnreachableTargets() {
+		targetMap.targets[52][50] = true;
+		for (int dx = -1; dx <= 1; dx++) {
+			for (int dy = -1; dy <= 1; dy++) {
+				if (dx != 0 || dy != 0) {
+					aStarMap.setBlocked(52 + dx, 50 + dy, true);
+				}
+			}
+		}
+		targetMap.targets[58][50] = true;
+
+		Path path = dijkstra.find(getPathable(50, 50), (short) 50, (short) 50, (short) 0, (short) 10, ESearchType.VALID_FREE_POSITION);
+
+		assertEquals(new ShortPoint2D(58, 50), path.getTargetPosition());
+	}
+
+	@Test
+	public void testRequesterPositionIsNoTarget() {
+		targetMap.targets[50][50] = true;
+
+		assertNull(dijkstra.find(getPathable(50, 50), (short) 50, (short) 50, (short) 0, (short) 10, ESearchType.VALID_FREE_POSITION));
+	}
+
+	@Test
+	public void testTargetsOutsideOfRadiusAreIgnored() {
+		targetMap.targets[60][50] = true;
+
+		assertNull(dijkstra.find(getPathable(50, 50), (short) 50, (short) 50, (short) 0, (short) 10, ESearchType.VALID_FREE_POSITION));
+		assertEquals(new ShortPoint2D(60, 50), dijkstra.find(getPathable(50, 50), (short) 50, (short) 50, (short) 0, (short) 11, ESearchType.VALID_FREE_POSITION)
+				.getTargetPosition());
+	}
+
+	@Test
+	public void testFindsShortestPathToAnyTarget() {
+		Random random = new Random(7);
+		for (int i = 0; i < 1500; i++) {
+			aStarMap.setBlocked(random.nextInt(WIDTH), random.nextInt(HEIGHT), true);
+		}
+		for (int i = 0; i < 150; i++) {
+			targetMap.targets[random.nextInt(WIDTH)][random.nextInt(HEIGHT)] = true;
+		}
+
+		for (int i = 0; i < 300; i++) {
+			short x = (short) (10 + random.nextInt(WIDTH - 20));
+			short y = (short) (10 + random.nextInt(HEIGHT - 20));
+			IPathCalculatable requester = getPathable(x + random.nextInt(7) - 3, y + random.nextInt(7) - 3);
+
+			Path shortest = null;
+			for (int tx = x - 10; tx <= x + 10; tx++) {
+				for (int ty = y - 10; ty <= y + 10; ty++) {
+					if (targetMap.targets[tx][ty] && ShortPoint2D.getOnGridDist(tx - x, ty - y) < 10) {
+						Path path = aStar.findPath(requester, new ShortPoint2D(tx, ty));
+						if (path != null && (shortest == null || path.getLength() < shortest.getLength())) {
+							shortest = path;
+						}
+					}
+				}
+			}
+
+			Path actual = dijkstra.find(requester, x, y, (short) 0, (short) 10, ESearchType.VALID_FREE_POSITION);
+
+			if (shortest == null) {
+				assertNull(actual);
+			} else {
+				ShortPoint2D target = actual.getTargetPosition();
+				assertTrue(targetMap.targets[target.x][target.y]);
+				assertEquals(shortest.getLength(), actual.getLength());
+			}
+		}
+	}
+
+	@Test
+	public void testFarRequesterSearchesTargetsInRingOrder() {
+		targetMap.targets[100][50] = true;
+		targetMap.targets[95][50] = true;
+
+		Path path = dijkstra.find(getPathable(5, 50), (short) 100, (short) 50, (short) 0, (short) 10, ESearchType.VALID_FREE_POSITION);
+
+		assertEquals(new ShortPoint2D(100, 50), path.getTargetPosition());
+	}
+
+	@Test
+	public void testContinuableRequestContinuesAfterFoundRing() {
+		targetMap.targets[53][50] = true;
+		targetMap.targets[45][50] = true;
+		DijkstraContinuableRequest request = new DijkstraContinuableRequest(getPathable(50, 50), (short) 50, (short) 50, (short) 1, (short) 20);
+		request.setSearchTypes(EnumSet.of(ESearchType.VALID_FREE_POSITION));
+
+		Path first = dijkstra.find(request);
+		assertEquals(new ShortPoint2D(53, 50), first.getTargetPosition());
+
+		targetMap.targets[53][50] = false;
+		targetMap.targets[52][50] = true; // in a ring that has already been searched
+
+		assertEquals(new ShortPoint2D(45, 50), dijkstra.find(request).getTargetPosition());
+	}
+
+	private static IPathCalculatable getPathable(final int x, final int y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+
+	private static class TargetsMap implements IDijkstraPathMap {
+		private final boolean[][] targets = new boolean[WIDTH][HEIGHT];
+
+		@Override
+		public boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester) {
+			return targets[x][y];
+		}
+
+		@Override
+		public boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester) {
+			return targets[x][y];
+		}
+
+		@Override
+		public void setDijkstraSearched(int x, int y) {
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.flowfield;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.astar.hierarchical.HierarchicalAStar;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares the paths of group move orders searched one by one with the paths provided by the {@link FlowFieldCache} on the validation maps.
+ */
+public class FlowFieldCacheSpeedTest {
+	private static final int ORDERS     = 100;
+	private static final int GROUP_SIZE = 200;
+	private static final int MAX_ORDER_DISTANCE = 100;
+
+	@Test
+	public void testSpeed() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+
+		for (MapLoader map : new MapLoader[] { MapUtils.getMountainlake(), MapUtils.getSpezialSumpf() }) {
+			MainGrid grid = map.loadMainGrid(null).getMainGrid();
+			MainGridDataAccessor gridAccessor = new MainGridDataAccessor(grid);
+			HierarchicalAStar aStar = new HierarchicalAStar(gridAccessor.getAStarPathMap(), gridAccessor.getFlagsGrid(), gridAccessor.getWidth(), gridAccessor.getHeight());
+
+			for (int run = 0; run < 3; run++) {
+				System.out.println(map.getMapName() + " run " + run);
+				run(gridAccessor, aStar, false);
+				run(gridAccessor, aStar, true);
+			}
+		}
+	}
+
+	private void run(MainGridDataAccessor gridAccessor, HierarchicalAStar aStar, boolean useFlowFields) {
+		IBlockingProvider map = gridAccessor.getFlagsGrid();
+		short width = gridAccessor.getWidth();
+		short height = gridAccessor.getHeight();
+		Random random = new Random(42);
+		int found = 0;
+		long pathLengths = 0;
+		long maxOrderNanos = 0;
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int order = 0; order < ORDERS; order++) {
+			ShortPoint2D groupCenter = getFreePosition(map, random, new ShortPoint2D(width / 2, height / 2), Math.max(width, height), width, height);
+			ShortPoint2D target = getFreePosition(map, random, groupCenter, MAX_ORDER_DISTANCE, width, height);
+
+			List<IPathCalculatable> group = new ArrayList<>();
+			while (group.size() < GROUP_SIZE) {
+				int x = groupCenter.x + random.nextInt(31) - 15;
+				int y = groupCenter.y + random.nextInt(31) - 15;
+				if (0 <= x && x < width && 0 <= y && y < height && !map.isBlocked(x, y)) {
+					group.add(getPathable(x, y));
+				}
+			}
+
+			long start = System.nanoTime();
+			FlowFieldCache cache = new FlowFieldCache(width, height);
+			if (useFlowFields) {
+				cache.addGroup(gridAccessor.getFlagsGrid(), target, group);
+			}
+			for (int i = 0; i < group.size(); i++) {
+				IPathCalculatable member = group.get(i);
+				ShortPoint2D memberTarget = new ShortPoint2D(Math.max(0, Math.min(width - 1, target.x + i % 15 - 7)), Math.max(0, Math.min(height - 1, target.y + i / 15 - 7)));
+				Path path = cache.findPath(member, memberTarget, aStar);
+				if (path == null) {
+					path = aStar.findPath(member, memberTarget);
+				}
+				if (path != null) {
+					found++;
+					pathLengths += path.getLength();
+				}
+			}
+			maxOrderNanos = Math.max(maxOrderNanos, System.nanoTime() - start);
+		}
+		watch.stop((useFlowFields ? "flow fields " : "one by one  ") + ": found " + found + ", average path length " + (found > 0 ? pathLengths / found : 0) + ", slowest order "
+				+ maxOrderNanos / 1000000 + " ms, needed:");
+	}
+
+	private static ShortPoint2D getFreePosition(IBlockingProvider map, Random random, ShortPoint2D center, int maxDistance, short width, short height) {
+		while (true) {
+			int x = center.x + random.nextInt(2 * maxDistance + 1) - maxDistance;
+			int y = center.y + random.nextInt(2 * maxDistance + 1) - maxDistance;
+			if (0 <= x && x < width && 0 <= y && y < height && !map.isBlocked(x, y)) {
+				return new ShortPoint2D(x, y);
+			}
+		}
+	}
+
+	private static IPathCalculatable getPathable(final int x, final int y) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.flowfield;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FlowFieldCacheTest {
+	private static final short WIDTH  = 150;
+	private static final short HEIGHT = 150;
+
+	private static final ShortPoint2D CENTER = new ShortPoint2D(100, 100);
+
+	private final boolean[][]        blocked  = new boolean[WIDTH][HEIGHT];
+	private final IBlockingProvider  blocking = (x, y) -> blocked[x][y];
+	private final DummyEmptyAStarMap aStarMap = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+	private final BucketQueueAStar   aStar    = new BucketQueueAStar(aStarMap, WIDTH, HEIGHT);
+	private final FlowFieldCache     cache    = new FlowFieldCache(WIDTH, HEIGHT);
+
+	private List<IPathCalculatable> group;
+
+	@Before
+	public void setUp() {
+		for (int y = 60; y < 110; y++) { // a wall between the group and the center, that ends inside of the margin of the flow field
+			setBlocked(80, y);
+		}
+
+		group = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			group.add(getPathable(30 + i % 5, 90 + i / 5 * 3, false));
+		}
+	}
+
+	@Test
+	public void testMembersGetValidPathsToTheirTargets() {
+		cache.addGroup(blocking, CENTER, group);
+
+		for (int i = 0; i < group.size(); i++) {
+			IPathCalculatable member = group.get(i);
+			ShortPoint2D target = new ShortPoint2D(CENTER.x + i % 7 - 3, CENTER.y + i / 7 * 2 - 2);
+
+			Path path = cache.findPath(member, target, aStar);
+			Path shortest = aStar.findPath(member, target);
+
+			assertNotNull(path);
+			assertEquals(target, path.getTargetPosition());
+			assertValidPath(member.getPosition(), path);
+			assertTrue(path.getLength() <= shortest.getLength() + 2 * FlowFieldCache.LOCAL_SEARCH_DISTANCE);
+		}
+	}
+
+	@Test
+	public void testEveryMemberIsServedOnce() {
+		cache.addGroup(blocking, CENTER, group);
+		IPathCalculatable member = group.get(0);
+
+		assertNotNull(cache.findPath(member, CENTER, aStar));
+		assertNull(cache.findPath(member, CENTER, aStar));
+	}
+
+	@Test
+	public void testOthersAreNotServed() {
+		cache.addGroup(blocking, CENTER, group);
+
+		assertNull(cache.findPath(getPathable(30, 90, false), CENTER, aStar));
+	}
+
+	@Test
+	public void testFarTargetsAreNotServed() {
+		cache.addGroup(blocking, CENTER, group);
+
+		assertNull(cache.findPath(group.get(0), new ShortPoint2D(CENTER.x, CENTER.y - FlowFieldCache.MAX_TARGET_DISTANCE - 1), aStar));
+	}
+
+	@Test
+	public void testSmallGroupsAndShipsGetNoFlowField() {
+		cache.addGroup(blocking, CENTER, group.subList(0, FlowFieldCache.MIN_GROUP_SIZE - 1));
+		assertNull(cache.findPath(group.get(0), CENTER, aStar));
+
+		List<IPathCalculatable> ships = new ArrayList<>();
+		for (int i = 0; i < FlowFieldCache.MIN_GROUP_SIZE; i++) {
+			ships.add(getPathable(30 + i, 90, true));
+		}
+		cache.addGroup(blocking, CENTER, ships);
+		assertNull(cache.findPath(ships.get(0), CENTER, aStar));
+	}
+
+	@Test
+	public void testBlockingChangeDropsFlowField() {
+		cache.addGroup(blocking, CENTER, group);
+		cache.blockingChanged(5, 5); // outside of the flow field
+		assertNotNull(cache.findPath(group.get(0), CENTER, aStar));
+
+		cache.blockingChanged(90, 100);
+		assertNull(cache.findPath(group.get(1), CENTER, aStar));
+	}
+
+	private void assertValidPath(ShortPoint2D start, Path path) {
+		ShortPoint2D previous = start;
+		while (path.hasNextStep()) {
+			ShortPoint2D position = path.getNextPos();
+			assertEquals(1, previous.getOnGridDistTo(position));
+			assertFalse(blocked[position.x][position.y]);
+			previous = position;
+			path.goToNextStep();
+		}
+	}
+
+	private void setBlocked(int x, int y) {
+		blocked[x][y] = true;
+		aStarMap.setBlocked(x, y, true);
+	}
+
+	private static IPathCalculatable getPathable(final int x, final int y, final boolean ship) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return ship;
+			}
+		};
+	}
+}
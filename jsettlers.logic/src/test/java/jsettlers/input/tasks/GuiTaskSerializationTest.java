@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.input.tasks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.common.action.EMoveToType;
+import jsettlers.common.buildings.EBuildingType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.network.client.task.packets.TaskPacket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the compact serialization of the gui tasks and that tasks of old replay logs can still be read.
+ */
+public class GuiTaskSerializationTest {
+	private static final List<Integer> SELECTION = createSelection();
+
+	private static List<Integer> createSelection() {
+		List<Integer> selection = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			selection.add(10000 + i * 3);
+		}
+		selection.add(17);
+		selection.add(Integer.MAX_VALUE);
+		return selection;
+	}
+
+	@Test
+	public void testCompactRoundTrip() throws IOException {
+		assertRoundTrip(new SimpleGuiTask(EGuiAction.QUICK_SAVE, (byte) 3));
+		assertRoundTrip(new MoveToGuiTask((byte) 2, new ShortPoint2D(1023, 5), SELECTION, EMoveToType.FORCED));
+		assertRoundTrip(new ConstructBuildingTask(EGuiAction.BUILD, (byte) 1, new ShortPoint2D(400, 1999), EBuildingType.LUMBERJACK));
+		assertRoundTrip(new MovableGuiTask(EGuiAction.DESTROY_MOVABLES, (byte) 0, new ArrayList<>()));
+	}
+
+	@Test
+	public void testCompactFormatIsSmaller() throws IOException {
+		MoveToGuiTask task = new MoveToGuiTask((byte) 2, new ShortPoint2D(100, 120), SELECTION, EMoveToType.DEFAULT);
+
+		int compactSize = serialize(task).length;
+		int legacySize = serializeLegacyMoveTo(task).length;
+
+		assertTrue("compact: " + compactSize + " legacy: " + legacySize, compactSize * 3 < legacySize);
+	}
+
+	@Test
+	public void testReadLegacyFormat() throws IOException {
+		MoveToGuiTask task = new MoveToGuiTask((byte) 2, new ShortPoint2D(1023, 5), SELECTION, EMoveToType.FORCED);
+
+		assertEquals(task, deserialize(serializeLegacyMoveTo(task)));
+	}
+
+	@Test
+	public void testLegacyTaskIsWrittenCompactAgain() throws IOException {
+		MoveToGuiTask task = new MoveToGuiTask((byte) 2, new ShortPoint2D(1023, 5), SELECTION, EMoveToType.FORCED);
+		TaskPacket legacyTask = deserialize(serializeLegacyMoveTo(task));
+
+		byte[] data = serialize(legacyTask);
+
+		assertEquals(serialize(task).length, data.length);
+		assertEquals(task, deserialize(data));
+	}
+
+	@Test
+	public void testVarInt() throws IOException {
+		int[] values = { 0, 1, 127, 128, 16383, 16384, Short.MAX_VALUE, Integer.MAX_VALUE, -1, Integer.MIN_VALUE };
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(out);
+		for (int value : values) {
+			TaskPacket.writeVarInt(dos, value);
+		}
+
+		DataInputStream dis = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+		for (int value : values) {
+			assertEquals(value, TaskPacket.readVarInt(dis));
+		}
+		assertEquals(0, dis.available());
+	}
+
+	private static void assertRoundTrip(TaskPacket task) throws IOException {
+		assertEquals(task, deserialize(serialize(task)));
+	}
+
+	private static byte[] serialize(TaskPacket task) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(out);
+		task.serialize(dos);
+		dos.flush();
+		return out.toByteArray();
+	}
+
+	private static TaskPacket deserialize(byte[] data) throws IOException {
+		DataInputStream dis = new DataInputStream(new ByteArrayInputStream(data));
+		TaskPacket task = TaskPacket.DEFAULT_DESERIALIZER.deserialize(null, dis);
+		assertEquals(0, dis.available());
+		return task;
+	}
+
+	/**
+	 * Writes the task like it has been written before the task type ids were introduced.
+	 */
+	private static byte[] serializeLegacyMoveTo(MoveToGuiTask task) throws IOException {
+		ByteArrayOutputStream taskOut = new ByteArrayOutputStream();
+		DataOutputStream taskDos = new DataOutputStream(taskOut);
+		taskDos.writeUTF(MoveToGuiTask.class.getName());
+		taskDos.writeInt(task.getGuiAction().ordinal());
+		taskDos.writeByte(task.getPlayerId());
+		taskDos.writeInt(task.getSelection().size());
+		for (Integer id : task.getSelection()) {
+			taskDos.writeInt(id);
+		}
+		taskDos.writeShort(task.getPosition().x);
+		taskDos.writeShort(task.getPosition().y);
+		taskDos.writeByte(task.getMoveToType().ordinal());
+		taskDos.flush();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(out);
+		dos.writeInt(taskOut.size());
+		taskOut.writeTo(dos);
+		dos.flush();
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jsettlers.ai.highlevel.AiPositions;
+import jsettlers.ai.highlevel.AiStatistics;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.landscape.EResourceType;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+import org.junit.Test;
+
+import static jsettlers.integration.ai.AiTestUtils.MINUTES;
+import static jsettlers.integration.ai.AiTestUtils.createStartingGame;
+import static jsettlers.integration.ai.AiTestUtils.getDefaultPlayerSettings;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the incrementally updated {@link AiStatistics} equal statistics calculated by a full scan of the map during long AI games.
+ */
+public class AiStatisticsIT {
+
+	static {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+
+		TestUtils.setupTempResourceManager();
+	}
+
+	private static final int UPDATE_PERIOD = 10 * 1000;
+	private static final int COMPARE_PERIOD = 5 * MINUTES;
+	private static final int GAME_DURATION = 75 * MINUTES;
+	private static final int SAMPLE_DISTANCE = 32;
+
+	@Test
+	public void incrementalStatisticsShouldEqualFullScanDuringBattle() throws MapLoadException {
+		PlayerSetting[] playerSettings = getDefaultPlayerSettings(12);
+		playerSettings[9] = new PlayerSetting(EPlayerType.AI_VERY_HARD, ECivilisation.ROMAN, (byte) 0);
+		playerSettings[7] = new PlayerSetting(EPlayerType.AI_HARD, ECivilisation.AMAZON, (byte) 1);
+
+		JSettlersGame.GameRunner startingGame = createStartingGame(playerSettings, MapUtils.getSpezialSumpf());
+		IStartedGame startedGame = ReplayUtils.waitForGameStartup(startingGame);
+		MainGrid mainGrid = startingGame.getMainGrid();
+		AiStatistics incrementalStatistics = new AiStatistics(mainGrid);
+
+		for (int gameTime = UPDATE_PERIOD; gameTime <= GAME_DURATION; gameTime += UPDATE_PERIOD) {
+			MatchConstants.clock().fastForwardTo(gameTime);
+			incrementalStatistics.updateStatistics();
+
+			if (gameTime % COMPARE_PERIOD == 0) {
+				AiStatistics fullScanStatistics = new AiStatistics(mainGrid);
+				fullScanStatistics.updateStatistics();
+				assertEqualStatistics(mainGrid, fullScanStatistics, incrementalStatistics, "after " + gameTime / MINUTES + " minutes");
+			}
+		}
+
+		ReplayUtils.awaitShutdown(startedGame);
+	}
+
+	private static void assertEqualStatistics(MainGrid mainGrid, AiStatistics expected, AiStatistics actual, String time) {
+		for (EResourceType resourceType : EResourceType.VALUES) {
+			assertEquals(resourceType + " in default partition " + time, expected.resourceCountInDefaultPartition(resourceType), actual.resourceCountInDefaultPartition(resourceType));
+		}
+
+		for (byte playerId = 0; playerId < mainGrid.getPartitionsGrid().getNumberOfPlayers(); playerId++) {
+			String player = " of player " + playerId + " " + time;
+			assertEquals("land" + player, toList(expected.getLandForPlayer(playerId)), toList(actual.getLandForPlayer(playerId)));
+			assertEquals("stones" + player, toList(expected.getStonesForPlayer(playerId)), toList(actual.getStonesForPlayer(playerId)));
+			assertEquals("stones near by" + player, toList(expected.getStonesNearBy(playerId)), toList(actual.getStonesNearBy(playerId)));
+			assertEquals("trees" + player, toList(expected.getTreesForPlayer(playerId)), toList(actual.getTreesForPlayer(playerId)));
+			assertEquals("rivers" + player, toList(expected.getRiversForPlayer(playerId)), toList(actual.getRiversForPlayer(playerId)));
+			assertEquals("enemies in town" + player, toList(expected.getEnemiesInTownOf(playerId)), toList(actual.getEnemiesInTownOf(playerId)));
+			assertEquals("pioneer border" + player, toList(expected.getBorderIngestibleByPioneersOf(playerId)), toList(actual.getBorderIngestibleByPioneersOf(playerId)));
+			assertEquals("other partition border" + player, toList(expected.getOtherPartitionBorderOf(playerId)), toList(actual.getOtherPartitionBorderOf(playerId)));
+			assertEquals("grass" + player, expected.getGrassTilesOf(playerId), actual.getGrassTilesOf(playerId));
+			assertEquals("wine" + player, expected.getTotalWineCountForPlayer(playerId), actual.getTotalWineCountForPlayer(playerId));
+			assertEquals("jobless bearers" + player, expected.getPositionsOfJoblessBearersForPlayer(playerId), actual.getPositionsOfJoblessBearersForPlayer(playerId));
+			for (EResourceType resourceType : EResourceType.VALUES) {
+				assertEquals(resourceType + player, expected.resourceCountOfPlayer(resourceType, playerId), actual.resourceCountOfPlayer(resourceType, playerId));
+			}
+			for (EMovableType movableType : EMovableType.VALUES) {
+				assertEquals(movableType + player, expected.getPositionsOfMovablesWithTypeForPlayer(playerId, movableType),
+						actual.getPositionsOfMovablesWithTypeForPlayer(playerId, movableType));
+			}
+		}
+
+		for (int x = 0; x < mainGrid.getWidth(); x += SAMPLE_DISTANCE) {
+			for (int y = 0; y < mainGrid.getHeight(); y += SAMPLE_DISTANCE) {
+				ShortPoint2D point = new ShortPoint2D(x, y);
+				String position = " near " + point + " " + time;
+				for (EResourceType resourceType : EResourceType.VALUES) {
+					assertEquals(resourceType + position, expected.getNearestResourcePointInDefaultPartitionFor(point, resourceType, Short.MAX_VALUE, (px, py) -> true),
+							actual.getNearestResourcePointInDefaultPartitionFor(point, resourceType, Short.MAX_VALUE, (px, py) -> true));
+				}
+				for (EMapObjectType objectType : new EMapObjectType[] { EMapObjectType.TREE_ADULT, EMapObjectType.STONE }) {
+					assertEquals(objectType + position, expected.getNearestCuttableObjectPointInDefaultPartitionFor(point, objectType, Short.MAX_VALUE, (px, py) -> true),
+							actual.getNearestCuttableObjectPointInDefaultPartitionFor(point, objectType, Short.MAX_VALUE, (px, py) -> true));
+				}
+				assertEquals("river" + position, expected.getNearestRiverPointInDefaultPartitionFor(point, Short.MAX_VALUE, (px, py) -> true),
+						actual.getNearestRiverPointInDefaultPartitionFor(point, Short.MAX_VALUE, (px, py) -> true));
+			}
+		}
+	}
+
+	private static List<ShortPoint2D> toList(AiPositions positions) {
+		List<ShortPoint2D> list = new ArrayList<>();
+		positions.forEach(list::add);
+		return list;
+	}
+}
@@ -2,7 +2,6 @@ package jsettlers.integration.ai;
 
 import java.util.Arrays;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 import jsettlers.ai.highlevel.AiStatistics;
 import jsettlers.common.ai.EPlayerType;
 import jsettlers.common.logging.StatisticsStopWatch;
@@ -34,7 +33,7 @@ public class AiTestUtils {
 
 		JSettlersGame.GameRunner startingGame = createStartingGame(playerSettings, map);
 		IStartedGame startedGame = ReplayUtils.waitForGameStartup(startingGame);
-		AiStatistics aiStatistics = new AiStatistics(startingGame.getMainGrid(), Executors.newWorkStealingPool());
+		AiStatistics aiStatistics = new AiStatistics(startingGame.getMainGrid());
 
 		int targetGameTime = 0;
 		do {
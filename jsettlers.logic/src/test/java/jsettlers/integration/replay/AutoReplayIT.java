@@ -44,8 +44,6 @@ public class AutoReplayIT {
 		TestUtils.setupTempResourceManager();
 	}
 
-	private static final Object ONLY_ONE_TEST_AT_A_TIME_LOCK = new Object();
-
 	@Parameters(name = "{index}: {0}")
 	public static Collection<Object[]> replaySets() {
 		return AutoReplaySetting.getDefaultSettings().stream().map(s -> new Object[] { s }).collect(Collectors.toList());
@@ -59,9 +57,7 @@ public class AutoReplayIT {
 
 	@Test
 	public void testReplay() throws IOException, MapLoadException, ClassNotFoundException {
-		synchronized (ONLY_ONE_TEST_AT_A_TIME_LOCK) {
-			MapLoader[] actualSaveGames = ReplayUtils.replayAndCreateSavegames(setting.getReplayFile(), setting.getTimeMinutes());
-			setting.compareSaveGamesAndDelete(actualSaveGames);
-		}
+		MapLoader[] actualSaveGames = ReplayUtils.replayAndCreateSavegames(setting.getReplayFile(), setting.getTimeMinutes());
+		setting.compareSaveGamesAndDelete(actualSaveGames);
 	}
 }
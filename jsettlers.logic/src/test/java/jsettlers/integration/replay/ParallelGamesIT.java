@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.replay;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Checks that several games running at the same time in one process don't influence each other.
+ */
+public class ParallelGamesIT {
+	private static final int NUMBER_OF_GAMES     = 3;
+	private static final int TARGET_TIME_MINUTES = 30;
+
+	@BeforeClass
+	public static void loadSettings() {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		CommonConstants.CONTROL_ALL = true;
+		CommonConstants.USE_SAVEGAME_COMPRESSION = false;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+
+		TestUtils.setupTempResourceManager();
+	}
+
+	@Test
+	public void testParallelReplaysAreEqualToSerialPlay() throws Exception {
+		ReplayUtils.PlayMapResult serialPlay = ReplayUtils.playMapToTargetTimes(MapUtils.getMountainlake(), (byte) 0, TARGET_TIME_MINUTES);
+		assertEquals(1, serialPlay.getSavegames().length);
+
+		ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_GAMES);
+		try {
+			List<Future<MapLoader[]>> replays = new ArrayList<>();
+			for (int i = 0; i < NUMBER_OF_GAMES; i++) {
+				replays.add(executor.submit(() -> ReplayUtils.replayAndCreateSavegames(serialPlay, new int[] { TARGET_TIME_MINUTES })));
+			}
+
+			for (Future<MapLoader[]> replay : replays) {
+				MapUtils.compareMapFiles(serialPlay.getSavegames()[0], replay.get()[0]);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
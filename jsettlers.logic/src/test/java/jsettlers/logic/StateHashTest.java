@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic;
+
+import org.junit.Test;
+
+import jsettlers.logic.constants.ExtendedRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class StateHashTest {
+
+	@Test
+	public void testRevertedChangesCancelOut() {
+		StateHash hash = new StateHash();
+		hash.landscapeChanged(12, 3, 5);
+		hash.heightChanged(12, 10, 11);
+		assertNotEquals(0, hash.getHash(null));
+
+		hash.heightChanged(12, 11, 10);
+		hash.landscapeChanged(12, 5, 3);
+		assertEquals(0, hash.getHash(null));
+	}
+
+	@Test
+	public void testHashOnlyDependsOnTheResultingState() {
+		StateHash first = new StateHash();
+		first.movableChanged(7, StateHash.NO_MOVABLE, 42);
+		first.movableChanged(7, 42, StateHash.NO_MOVABLE);
+		first.movableChanged(8, StateHash.NO_MOVABLE, 42);
+		first.stackChanged(100, 4, 0, 1);
+		first.stackChanged(100, 4, 1, 2);
+		first.ownerChanged(3, -1, 0);
+
+		StateHash second = new StateHash();
+		second.ownerChanged(3, -1, 0);
+		second.stackChanged(100, 4, 0, 2);
+		second.movableChanged(8, StateHash.NO_MOVABLE, 42);
+
+		assertEquals(first.getHash(null), second.getHash(null));
+	}
+
+	@Test
+	public void testDifferentStatesHaveDifferentHashes() {
+		StateHash first = new StateHash();
+		first.stackChanged(100, 4, 0, 1);
+
+		StateHash otherMaterial = new StateHash();
+		otherMaterial.stackChanged(100, 5, 0, 1);
+
+		StateHash otherPosition = new StateHash();
+		otherPosition.stackChanged(101, 4, 0, 1);
+
+		StateHash otherComponent = new StateHash();
+		otherComponent.landscapeChanged(100, 0, 1);
+
+		assertNotEquals(first.getHash(null), otherMaterial.getHash(null));
+		assertNotEquals(first.getHash(null), otherPosition.getHash(null));
+		assertNotEquals(first.getHash(null), otherComponent.getHash(null));
+	}
+
+	@Test
+	public void testRandomDrawsAreHashed() {
+		StateHash hash = new StateHash();
+		ExtendedRandom random = new ExtendedRandom(123);
+		ExtendedRandom otherRandom = new ExtendedRandom(123);
+		assertEquals(hash.getHash(random), hash.getHash(otherRandom));
+
+		random.nextInt(10);
+		assertEquals(1, random.getDrawCount());
+		assertNotEquals(hash.getHash(random), hash.getHash(otherRandom));
+
+		otherRandom.nextInt(20);
+		assertEquals(hash.getHash(random), hash.getHash(otherRandom));
+	}
+
+	@Test
+	public void testReset() {
+		StateHash hash = new StateHash();
+		hash.ownerChanged(3, -1, 0);
+		hash.reset();
+		assertEquals(0, hash.getHash(null));
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.util.LinkedList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.MathUtils;
+import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableListTest.TestLocatable;
+
+/**
+ * Compares the {@link PositionableList} with a linear search over a {@link LinkedList} when jobs are distributed to a big number of jobless movables.
+ */
+public class PositionableListSpeedTest {
+	private static final int MAP_SIZE = 400;
+	private static final int JOBLESS  = 2000;
+	private static final int JOBS     = 200000;
+
+	@Test
+	public void testSpeed() {
+		for (int run = 0; run < 3; run++) {
+			System.out.println("run " + run);
+			runLinkedList();
+			runPositionableList();
+		}
+	}
+
+	private void runLinkedList() {
+		Random random = new Random(42);
+		LinkedList<TestLocatable> list = new LinkedList<>();
+		for (int i = 0; i < JOBLESS; i++) {
+			list.add(new TestLocatable(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)));
+		}
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int i = 0; i < JOBS; i++) {
+			ShortPoint2D position = new ShortPoint2D(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE));
+
+			TestLocatable closest = null;
+			int bestDistance = Integer.MAX_VALUE;
+			for (TestLocatable curr : list) {
+				int distance = MathUtils.squareHypot(position, curr.getPosition());
+				if (distance < bestDistance) {
+					bestDistance = distance;
+					closest = curr;
+				}
+			}
+			list.remove(closest);
+
+			closest.moveTo(new ShortPoint2D(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)));
+			if (!list.contains(closest)) {
+				list.add(closest);
+			}
+		}
+		watch.stop("linked list with " + JOBLESS + " jobless needed for " + JOBS + " jobs:");
+	}
+
+	private void runPositionableList() {
+		Random random = new Random(42);
+		PositionableList<TestLocatable> list = new PositionableList<>();
+		for (int i = 0; i < JOBLESS; i++) {
+			list.insert(new TestLocatable(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)));
+		}
+
+		MilliStopWatch watch = new MilliStopWatch();
+		for (int i = 0; i < JOBS; i++) {
+			ShortPoint2D position = new ShortPoint2D(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE));
+
+			TestLocatable closest = list.removeObjectNextTo(position);
+
+			closest.moveTo(new ShortPoint2D(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)));
+			list.insert(closest);
+		}
+		watch.stop("positionable list with " + JOBLESS + " jobless needed for " + JOBS + " jobs:");
+	}
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.MathUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PositionableListTest {
+	private static final int MAP_SIZE = 300;
+
+	@Test
+	public void testTiesAreResolvedInInsertionOrder() {
+		PositionableList<TestLocatable> list = new PositionableList<>();
+		List<TestLocatable> objects = new ArrayList<>();
+		for (int i = 0; i < 3 * PositionableList.INDEX_THRESHOLD; i++) {
+			TestLocatable object = new TestLocatable(100 + (i % 2 == 0 ? 1 : -1) * (i % 5), 100);
+			objects.add(object);
+			list.insert(object);
+		}
+
+		ShortPoint2D center = new ShortPoint2D(100, 100);
+		while (!list.isEmpty()) {
+			TestLocatable expected = getClosest(objects, center, null);
+			assertSame(expected, list.removeObjectNextTo(center));
+			objects.remove(expected);
+		}
+		assertNull(list.removeObjectNextTo(center));
+	}
+
+	@Test
+	public void testEqualsLinearSearch() {
+		Random random = new Random(42);
+		PredicatedPositionableList<TestLocatable> list = new PredicatedPositionableList<>();
+		List<TestLocatable> reference = new ArrayList<>();
+
+		for (int step = 0; step < 20000; step++) {
+			int operation = random.nextInt(10);
+			ShortPoint2D position = randomPosition(random);
+
+			if (operation < 4 || reference.isEmpty()) {
+				TestLocatable object = new TestLocatable(position.x, position.y);
+				list.insert(object);
+				reference.add(object);
+
+			} else if (operation < 6) {
+				TestLocatable object = reference.get(random.nextInt(reference.size()));
+				object.moveTo(randomPosition(random));
+
+			} else if (operation == 6) {
+				Predicate<TestLocatable> predicate = object -> object.getPosition().x % 3 != 0;
+				TestLocatable expected = getClosest(reference, position, predicate);
+				assertSame(expected, list.removeObjectNextTo(position, predicate));
+				reference.remove(expected);
+
+			} else if (operation == 7) {
+				TestLocatable expected = getClosest(reference, position, null);
+				assertSame(expected, list.removeObjectNextTo(position));
+				reference.remove(expected);
+
+			} else if (operation == 8) {
+				ShortPoint2D existingPosition = reference.get(random.nextInt(reference.size())).getPosition();
+				TestLocatable expected = getFirstAt(reference, existingPosition);
+				assertSame(expected, list.removeObjectAt(existingPosition));
+				reference.remove(expected);
+
+			} else {
+				TestLocatable object = reference.get(random.nextInt(reference.size()));
+				list.remove(object);
+				reference.remove(object);
+			}
+
+			assertEquals(reference.size(), list.size());
+			assertSame(reference.isEmpty() ? null : reference.get(0), list.getAnyObject());
+		}
+	}
+
+	@Test
+	public void testMoveKeepsOrderAndTracking() {
+		PositionableList<TestLocatable> source = new PositionableList<>();
+		PositionableList<TestLocatable> target = new PositionableList<>();
+		List<TestLocatable> reference = new ArrayList<>();
+
+		for (int i = 0; i < 50; i++) {
+			TestLocatable object = new TestLocatable(i % 7, 3);
+			if (i % 2 == 0) {
+				source.insert(object);
+			} else {
+				target.insert(object);
+				reference.add(object);
+			}
+		}
+		for (Iterator<TestLocatable> iterator = source.iterator(); iterator.hasNext(); ) {
+			reference.add(iterator.next());
+		}
+
+		target.moveAll(source);
+		assertTrue(source.isEmpty());
+		assertEquals(reference.size(), target.size());
+
+		for (TestLocatable object : reference) {
+			assertSame(target, object.getTrackingList());
+		}
+
+		reference.get(10).moveTo(new ShortPoint2D(200, 200));
+		assertSame(reference.get(10), target.getObjectAt(new ShortPoint2D(200, 200)));
+
+		PositionableList<TestLocatable> other = new PositionableList<>();
+		ShortPoint2D position = new ShortPoint2D(2, 3);
+		target.moveObjectsAtPositionTo(position, other, object -> {});
+		assertNull(target.getObjectAt(position));
+		assertEquals(getFirstAt(reference, position), other.getAnyObject());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		PositionableList<TestLocatable> list = new PositionableList<>();
+		for (int i = 0; i < 40; i++) {
+			list.insert(new TestLocatable(i * 7 % 50, i * 3 % 50));
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(list);
+		}
+		@SuppressWarnings("unchecked")
+		PositionableList<TestLocatable> readList = (PositionableList<TestLocatable>) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertEquals(list.toString(), readList.toString());
+
+		ShortPoint2D position = new ShortPoint2D(20, 20);
+		while (!list.isEmpty()) {
+			assertEquals(list.removeObjectNextTo(position).toString(), readList.removeObjectNextTo(position).toString());
+		}
+		assertTrue(readList.isEmpty());
+	}
+
+	private static TestLocatable getClosest(List<TestLocatable> objects, ShortPoint2D position, Predicate<TestLocatable> predicate) {
+		int bestDistance = Integer.MAX_VALUE;
+		TestLocatable best = null;
+		for (TestLocatable object : objects) {
+			int distance = MathUtils.squareHypot(position, object.getPosition());
+			if ((predicate == null || predicate.test(object)) && distance < bestDistance) {
+				bestDistance = distance;
+				best = object;
+			}
+		}
+		return best;
+	}
+
+	private static TestLocatable getFirstAt(List<TestLocatable> objects, ShortPoint2D position) {
+		for (TestLocatable object : objects) {
+			if (object.getPosition().equals(position)) {
+				return object;
+			}
+		}
+		return null;
+	}
+
+	private static ShortPoint2D randomPosition(Random random) {
+		return new ShortPoint2D(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE));
+	}
+
+	static class TestLocatable implements ITrackedLocatable, Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private ShortPoint2D position;
+		private transient PositionableList<?> trackingList;
+
+		TestLocatable(int x, int y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		void moveTo(ShortPoint2D position) {
+			this.position = position;
+			if (trackingList != null) {
+				trackingList.locatableChanged(this);
+			}
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public PositionableList<?> getTrackingList() {
+			return trackingList;
+		}
+
+		@Override
+		public void setTrackingList(PositionableList<?> trackingList) {
+			this.trackingList = trackingList;
+		}
+
+		@Override
+		public String toString() {
+			return "TestLocatable" + position;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.logic.SerializationUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SavegameFormatTest {
+
+	@Test
+	public void testRunLengthEncodingRoundTrip() throws IOException {
+		Random random = new Random(42);
+		for (int length : new int[] { 0, 1, 2, 3, 127, 128, 129, 300, 10000 }) {
+			for (int maxRun : new int[] { 1, 4, 200 }) {
+				byte[] bytes = new byte[length];
+				short[] shorts = new short[length];
+				for (int i = 0; i < length;) {
+					int run = 1 + random.nextInt(maxRun);
+					byte byteValue = (byte) random.nextInt(4);
+					short shortValue = (short) (random.nextInt(4) - 2);
+					for (; run > 0 && i < length; run--, i++) {
+						bytes[i] = byteValue;
+						shorts[i] = shortValue;
+					}
+				}
+
+				ByteArrayOutputStream data = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(data);
+				SerializationUtils.writeRunLengthEncoded(out, bytes);
+				SerializationUtils.writeRunLengthEncoded(out, shorts);
+				out.writeInt(0xCAFE);
+
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(data.toByteArray()));
+				byte[] readBytes = new byte[length];
+				short[] readShorts = new short[length];
+				SerializationUtils.readRunLengthEncoded(in, readBytes);
+				SerializationUtils.readRunLengthEncoded(in, readShorts);
+
+				assertArrayEquals(bytes, readBytes);
+				assertArrayEquals(shorts, readShorts);
+				assertEquals(0xCAFE, in.readInt());
+			}
+		}
+	}
+
+	@Test
+	public void testRunLengthEncodingCompressesConstantGrid() throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		SerializationUtils.writeRunLengthEncoded(new DataOutputStream(data), new byte[600 * 600]);
+
+		assertTrue(data.size() < 600 * 600 / 50);
+	}
+
+	@Test
+	public void testChunksRoundTrip() throws IOException, ClassNotFoundException {
+		byte[] grids = new byte[5000];
+		Arrays.fill(grids, 1000, 3000, (byte) 7);
+
+		ByteArrayOutputStream savegame = new ByteArrayOutputStream();
+		SavegameWriter writer = new SavegameWriter(savegame);
+		writer.writeObjectChunk(SavegameFormat.CHUNK_MATCH, oos -> oos.writeObject("match"));
+		writer.writeChunk(SavegameFormat.CHUNK_GRIDS, grids);
+		writer.writeChunk(SavegameFormat.CHUNK_GAME_STATE, new byte[0]);
+		writer.finish();
+
+		BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(savegame.toByteArray()));
+		assertTrue(SavegameReader.isChunkedSavegame(in));
+
+		SavegameReader reader = new SavegameReader(in);
+		assertEquals(SavegameFormat.VERSION, reader.getVersion());
+		assertEquals(Arrays.asList(SavegameFormat.CHUNK_MATCH, SavegameFormat.CHUNK_GRIDS, SavegameFormat.CHUNK_GAME_STATE), reader.getChunkTypes());
+		assertEquals("match", reader.getObjectChunk(SavegameFormat.CHUNK_MATCH).readObject());
+		assertArrayEquals(grids, reader.getChunk(SavegameFormat.CHUNK_GRIDS));
+		assertEquals(0, reader.getChunk(SavegameFormat.CHUNK_GAME_STATE).length);
+		assertEquals(-1, in.read());
+	}
+
+	@Test(expected = IOException.class)
+	public void testMissingChunk() throws IOException {
+		ByteArrayOutputStream savegame = new ByteArrayOutputStream();
+		new SavegameWriter(savegame).finish();
+
+		new SavegameReader(new ByteArrayInputStream(savegame.toByteArray())).getChunk(SavegameFormat.CHUNK_GAME_STATE);
+	}
+
+	@Test
+	public void testDetectsSerializedSavegame() throws IOException {
+		ByteArrayOutputStream savegame = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(savegame)) {
+			oos.writeInt(42);
+		}
+
+		BufferedInputStream in = new BufferedInputStream(new ByteArrayInputStream(savegame.toByteArray()));
+		assertFalse(SavegameReader.isChunkedSavegame(in));
+		assertEquals(42, new ObjectInputStream(in).readInt());
+	}
+
+	@Test
+	public void testGridDataIsWrittenToSeparateStream() throws IOException, ClassNotFoundException {
+		GridObject grid = new GridObject(new short[] { 1, 1, 1, 1, 5, -3, 0, 0, 0 });
+
+		ByteArrayOutputStream gameState = new ByteArrayOutputStream();
+		ByteArrayOutputStream gridData = new ByteArrayOutputStream();
+		try (GameStateOutputStream oos = new GameStateOutputStream(gameState, gridData)) {
+			oos.writeObject(grid);
+			oos.writeObject(grid);
+		}
+		assertTrue(gridData.size() > 0);
+
+		try (GameStateInputStream ois = new GameStateInputStream(new ByteArrayInputStream(gameState.toByteArray()), gridData.toByteArray())) {
+			GridObject first = (GridObject) ois.readObject();
+			assertArrayEquals(grid.values, first.values);
+			assertTrue(first == ois.readObject());
+		}
+
+		ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(plain)) {
+			oos.writeObject(grid);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(plain.toByteArray()))) {
+			assertArrayEquals(grid.values, ((GridObject) ois.readObject()).values);
+		}
+	}
+
+	private static class GridObject implements Serializable {
+		private transient short[] values;
+
+		GridObject(short[] values) {
+			this.values = values;
+		}
+
+		private void writeObject(ObjectOutputStream oos) throws IOException {
+			oos.defaultWriteObject();
+			oos.writeInt(values.length);
+			SerializationUtils.writeRunLengthEncoded(GameStateOutputStream.getGridData(oos), values);
+		}
+
+		private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+			ois.defaultReadObject();
+			values = new short[ois.readInt()];
+			SerializationUtils.readRunLengthEncoded(GameStateInputStream.getGridData(ois), values);
+		}
+	}
+}
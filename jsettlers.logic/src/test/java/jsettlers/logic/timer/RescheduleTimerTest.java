@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.logic.map.loading.MapLoadException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RescheduleTimerTest {
+	private static final int TIME_SLICE = 25;
+
+	private static final List<String> executions = new ArrayList<>();
+
+	private static int tick;
+
+	@Before
+	public void setUp() {
+		RescheduleTimer.stopAndClear();
+		executions.clear();
+		tick = 0;
+	}
+
+	@After
+	public void tearDown() {
+		RescheduleTimer.stopAndClear();
+	}
+
+	@Test
+	public void testExecutionOrderOfSameSlotIsScheduleOrder() {
+		RescheduleTimer.add(new RecordingTimerable("a", 0), 3 * TIME_SLICE);
+		RescheduleTimer.add(new RecordingTimerable("b", 0), 1 * TIME_SLICE);
+		RescheduleTimer.add(new RecordingTimerable("c", 0), 3 * TIME_SLICE + 10);
+		RescheduleTimer.add(new RecordingTimerable("d", 0), 1);
+
+		runTicks(5);
+
+		assertExecutions("b@1", "d@1", "a@3", "c@3");
+	}
+
+	@Test
+	public void testRescheduling() {
+		RescheduleTimer.add(new RecordingTimerable("a", 2 * TIME_SLICE), TIME_SLICE);
+		RescheduleTimer.add(new RecordingTimerable("b", 3 * TIME_SLICE), TIME_SLICE);
+
+		runTicks(8);
+
+		assertExecutions("a@1", "b@1", "a@3", "b@4", "a@5", "b@7", "a@7");
+	}
+
+	@Test
+	public void testDelaysBeyondTheInnerWheel() {
+		int[] delays = { 31999, 32000, 60000, 3600000, 150 * 3600000, 51200, 3276800 };
+		for (int i = 0; i < delays.length; i++) {
+			RescheduleTimer.add(new RecordingTimerable("t" + i, 0), delays[i]);
+		}
+
+		runTicks(150 * 3600000 / TIME_SLICE + 1);
+
+		assertExecutions("t0@1279", "t1@1280", "t5@2048", "t2@2400", "t6@131072", "t3@144000", "t4@21600000");
+	}
+
+	@Test
+	public void testCancel() {
+		long a = RescheduleTimer.add(new RecordingTimerable("a", TIME_SLICE), TIME_SLICE);
+		long b = RescheduleTimer.add(new RecordingTimerable("b", TIME_SLICE), TIME_SLICE);
+		long c = RescheduleTimer.add(new RecordingTimerable("c", 0), 40000);
+
+		runTicks(3);
+		assertTrue(RescheduleTimer.cancel(a));
+		assertFalse(RescheduleTimer.cancel(a));
+		assertTrue(RescheduleTimer.cancel(c));
+		runTicks(2000);
+
+		assertEquals(2004, executions.size());
+		assertFalse(executions.contains("a@3"));
+		assertTrue(RescheduleTimer.cancel(b));
+	}
+
+	@Test
+	public void testCancelWhileExecuting() {
+		CancelingTimerable timerable = new CancelingTimerable();
+		timerable.handle = RescheduleTimer.add(timerable, TIME_SLICE);
+
+		runTicks(5);
+
+		assertExecutions("cancel@1");
+		assertFalse(RescheduleTimer.cancel(timerable.handle));
+	}
+
+	@Test
+	public void testHandlesAreGenerationSafe() {
+		long a = RescheduleTimer.add(new RecordingTimerable("a", 0), TIME_SLICE);
+		runTicks(2);
+		long b = RescheduleTimer.add(new RecordingTimerable("b", 0), TIME_SLICE);
+
+		assertFalse(RescheduleTimer.cancel(a));
+		assertTrue(RescheduleTimer.cancel(b));
+		runTicks(2);
+
+		assertExecutions("a@1");
+	}
+
+	@Test
+	public void testSaveAndLoadKeepsExecutionOrder() throws IOException, MapLoadException {
+		scheduleMixedTimerables();
+		runTicks(3000);
+		List<String> expected = new ArrayList<>(executions);
+		runTicks(200000);
+		expected.addAll(executions.subList(expected.size(), executions.size()));
+
+		RescheduleTimer.stopAndClear();
+		executions.clear();
+		tick = 0;
+
+		scheduleMixedTimerables();
+		runTicks(3000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			RescheduleTimer.saveTo(oos);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			RescheduleTimer.loadFrom(ois);
+		}
+		runTicks(200000);
+
+		assertEquals(expected, executions);
+	}
+
+	@Test
+	public void testStatistics() {
+		RescheduleTimer.add(new RecordingTimerable("a", 0), TIME_SLICE);
+		RescheduleTimer.add(new RecordingTimerable("b", 0), TIME_SLICE);
+
+		runTicks(3);
+
+		RescheduleTimerStatistics statistics = RescheduleTimer.getStatistics();
+		assertEquals(3, statistics.getExecutedSlots());
+		assertEquals(2, statistics.getExecutedTimerables());
+		assertEquals(2, statistics.getSlotExecutions(1));
+		assertEquals(0, statistics.getSlotExecutions(2));
+		assertEquals(2, statistics.getMaxSlotExecutions());
+	}
+
+	private void scheduleMixedTimerables() {
+		for (int i = 0; i < 50; i++) {
+			RescheduleTimer.add(new RecordingTimerable("p" + i, (i * 7919) % 90000 + 1), (i * 104729) % 120000 + 1);
+		}
+	}
+
+	private void runTicks(int ticks) {
+		for (int i = 0; i < ticks; i++) {
+			RescheduleTimer.get().timerEvent();
+			tick++;
+		}
+	}
+
+	private void assertExecutions(String... expected) {
+		List<String> expectedList = new ArrayList<>();
+		for (String execution : expected) {
+			expectedList.add(execution);
+		}
+		assertEquals(expectedList, executions);
+	}
+
+	private static class RecordingTimerable implements IScheduledTimerable {
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+		private final int    period;
+
+		RecordingTimerable(String name, int period) {
+			this.name = name;
+			this.period = period;
+		}
+
+		@Override
+		public int timerEvent() {
+			executions.add(name + "@" + tick);
+			return period;
+		}
+
+		@Override
+		public void kill() {
+		}
+	}
+
+	private static class CancelingTimerable implements IScheduledTimerable {
+		private static final long serialVersionUID = 1L;
+
+		private long handle;
+
+		@Override
+		public int timerEvent() {
+			executions.add("cancel@" + tick);
+			assertTrue(RescheduleTimer.cancel(handle));
+			return TIME_SLICE;
+		}
+
+		@Override
+		public void kill() {
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.input.tasks.EGuiAction;
+import jsettlers.input.tasks.SimpleGuiTask;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.player.InitialGameState;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.ReplayStartInformation;
+import jsettlers.main.replay.ReplayUtils.IReplayStreamProvider;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ReplayLogWriter} and {@link ReplayLog} classes.
+ */
+public class ReplayLogTest {
+	private static final ReplayStartInformation START_INFORMATION = new ReplayStartInformation("test map", "test-map-id",
+			new InitialGameState((byte) 1, PlayerSetting.createDefaultSettings((byte) 1, (byte) 3), 4711L));
+
+	@Test
+	public void testTasksAreReadBack() throws IOException {
+		List<SyncTasksPacket> packets = createPackets(2000);
+
+		ReplayStartInformation startInformation = new ReplayStartInformation();
+		ReplayLog replayLog = ReplayLog.read(provider(write(packets)), startInformation);
+
+		assertEquals(START_INFORMATION.getMapId(), startInformation.getMapId());
+		assertEquals(START_INFORMATION.getInitialGameState().getRandomSeed(), startInformation.getInitialGameState().getRandomSeed());
+		assertEquals(packets, readPackets(replayLog.openTasks()));
+		assertTrue(replayLog.getKeyframes().isEmpty());
+		assertNull(replayLog.getKeyframeBefore(Integer.MAX_VALUE));
+	}
+
+	@Test
+	public void testTaskBlocksAreCompressed() throws IOException {
+		List<SyncTasksPacket> packets = createPackets(2000);
+
+		ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(uncompressed);
+		for (SyncTasksPacket packet : packets) {
+			packet.serialize(dos);
+		}
+
+		assertTrue(write(packets).length * 2 < uncompressed.size());
+	}
+
+	@Test
+	public void testOldReplayLogIsRead() throws IOException {
+		List<SyncTasksPacket> packets = createPackets(100);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(out);
+		START_INFORMATION.serialize(dos);
+		for (SyncTasksPacket packet : packets) {
+			packet.serialize(dos);
+		}
+
+		ReplayStartInformation startInformation = new ReplayStartInformation();
+		ReplayLog replayLog = ReplayLog.read(provider(out.toByteArray()), startInformation);
+
+		assertEquals(START_INFORMATION.getMapName(), startInformation.getMapName());
+		assertEquals(packets, readPackets(replayLog.openTasks()));
+		assertTrue(replayLog.getKeyframes().isEmpty());
+	}
+
+	@Test
+	public void testIncompleteBlockIsIgnored() throws IOException {
+		List<SyncTasksPacket> packets = createPackets(2000);
+		byte[] data = write(packets);
+
+		ReplayLog replayLog = ReplayLog.read(provider(Arrays.copyOf(data, data.length - 10)), new ReplayStartInformation());
+
+		List<SyncTasksPacket> readPackets = readPackets(replayLog.openTasks());
+		assertTrue(readPackets.size() < packets.size());
+		assertEquals(packets.subList(0, readPackets.size()), readPackets);
+	}
+
+	private static List<SyncTasksPacket> createPackets(int count) {
+		List<SyncTasksPacket> packets = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			packets.add(new SyncTasksPacket(i * 7, Arrays.asList(new SimpleGuiTask(EGuiAction.VALUES[i % EGuiAction.VALUES.length], (byte) (i % 3)))));
+		}
+		return packets;
+	}
+
+	private static byte[] write(List<SyncTasksPacket> packets) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ReplayLogWriter writer = new ReplayLogWriter(out, START_INFORMATION)) {
+			for (SyncTasksPacket packet : packets) {
+				writer.writeTasks(packet);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static List<SyncTasksPacket> readPackets(DataInputStream in) throws IOException {
+		List<SyncTasksPacket> packets = new ArrayList<>();
+		while (in.available() > 0) {
+			SyncTasksPacket packet = new SyncTasksPacket();
+			packet.deserialize(in);
+			packets.add(packet);
+		}
+		return packets;
+	}
+
+	private static IReplayStreamProvider provider(byte[] data) {
+		return new IReplayStreamProvider() {
+			@Override
+			public InputStream openStream() {
+				return new ByteArrayInputStream(data);
+			}
+
+			@Override
+			public MapLoader getMap(ReplayStartInformation replayStartInformation) {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
@@ -45,7 +45,7 @@ public class ReplayToolApp {
 			throw new FileNotFoundException("Found replayFile parameter, but file can not be found: " + replayFile);
 		}
 
-		ReplayUtils.replayAndCreateSavegame(new ReplayUtils.ReplayFile(replayFile), targetGameTimeMinutes, "replayForSavegame.log");
+		ReplayUtils.replayAndCreateSavegame(new ReplayUtils.ReplayFile(replayFile), targetGameTimeMinutes, "replayForSavegame.log", true);
 
 		Thread.sleep(2000L);
 		System.exit(0);
@@ -68,6 +68,11 @@ public final class NetworkConstants {
 		}
 
 		public static final long OPEN_MATCHES_SEND_INTERVAL_MS = 5 * 1000;
+
+		/**
+		 * Number of threads serving the sockets of all clients.
+		 */
+		public static final int SELECTOR_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
 	}
 
 	public final static class Client {
@@ -171,6 +176,8 @@ public final class NetworkConstants {
 		CHANGE_PLAYER_TYPE,
 		CHANGE_POSITION,
 		CHANGE_PLAYER_COUNT,
+
+		DESYNC_DETECTED,
 		;
 
 		private static final ENetworkKey[] values = ENetworkKey.values();
@@ -274,6 +274,9 @@ public class NetworkClient implements ITaskScheduler, INetworkConnector, INetwor
 		channel.registerListener(new TimeSynchronizationListener(channel, clock));
 		TimeSyncSenderTimerTask timeSyncSender = new TimeSyncSenderTimerTask(channel, clock);
 		timer.schedule(timeSyncSender, 0, NetworkConstants.Client.TIME_SYNC_SEND_INTERVALL);
+
+		channel.registerListener(generateDefaultListener(ENetworkKey.DESYNC_DETECTED, IntegerMessagePacket.class,
+				packet -> System.err.println("DESYNC: the game states of the players diverged at lockstep " + packet.getValue())));
 	}
 
 	void matchInfoUpdated(MatchInfoUpdatePacket matchInfoUpdate) {
@@ -56,11 +56,18 @@ public interface IGameClock extends IPausingSupplier {
 	void stopExecution();
 
 	/**
-	 * Sets the stream to be used to log the actions of the users.
+	 * Sets the replay log used to log the actions of the users. The log is closed when the execution is stopped.
 	 * 
-	 * @param replayFileStream
+	 * @param replayLog
 	 */
-	void setReplayLogStream(DataOutputStream replayFileStream);
+	void setReplayLog(IReplayLogWriter replayLog);
+
+	/**
+	 * Sets the hasher used to record the hash of the game state after every lockstep. The hashes are reported to the server for desync detection.
+	 * 
+	 * @param stateHasher
+	 */
+	void setStateHasher(IStateHasher stateHasher);
 
 	/**
 	 * Saves the remaining tasks to the given stream.
@@ -69,6 +76,12 @@ public interface IGameClock extends IPausingSupplier {
 	 */
 	void saveRemainingTasks(DataOutputStream dos) throws IOException;
 
+	/**
+	 * Schedules the tasks read from the given stream. Tasks of locksteps that have already been executed, e.g. because the game has been loaded from
+	 * a savegame, are skipped.
+	 * 
+	 * @param dataInputStream
+	 */
 	void loadReplayLogFromStream(DataInputStream dataInputStream);
 
 	/**
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.client.interfaces;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+
+/**
+ * Receives the {@link SyncTasksPacket}s scheduled on an {@link IGameClock} to store them in a replay log.
+ */
+public interface IReplayLogWriter extends Closeable {
+
+	/**
+	 * Logs the given packet. Packets are logged in the order they are scheduled, which is not necessarily the order of their locksteps.
+	 * 
+	 * @param tasksPacket
+	 *            The scheduled packet.
+	 * @throws IOException
+	 *             If an I/O error occurs.
+	 */
+	void writeTasks(SyncTasksPacket tasksPacket) throws IOException;
+}
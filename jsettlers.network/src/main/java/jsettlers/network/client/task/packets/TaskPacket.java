@@ -14,40 +14,135 @@
  *******************************************************************************/
 package jsettlers.network.client.task.packets;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import jsettlers.network.infrastructure.channel.IDeserializingable;
 import jsettlers.network.infrastructure.channel.packet.Packet;
 
 /**
+ * Base class of all tasks that are synchronously executed by the clients of a game.
+ * <p />
+ * Task types registered with {@link #registerType(int, Class, Supplier)} are written with a compact numeric type id and may use varint encoded
+ * fields (see {@link #writeCompactInt(DataOutputStream, int)} and friends). Unregistered tasks are written with their class name and the plain
+ * field encoding, which is also the format of old replay logs.
  * 
  * @author Andreas Eberle
  * 
  */
 public abstract class TaskPacket extends Packet {
+	/**
+	 * Written instead of the length of the class name's UTF string. As a class name can never be empty, this marks the compact format.
+	 */
+	private static final int COMPACT_FORMAT_MARKER = 0;
+
+	private static final Map<Integer, Supplier<? extends TaskPacket>> factoriesByTypeId = new ConcurrentHashMap<>();
+	private static final Map<Class<? extends TaskPacket>, Integer> typeIdsByClass = new ConcurrentHashMap<>();
+	private static final Map<String, Supplier<? extends TaskPacket>> factoriesByClassName = new ConcurrentHashMap<>();
+
 	public static final IDeserializingable<TaskPacket> DEFAULT_DESERIALIZER = (key, dis) -> {
+		dis.readInt(); // read the length in bytes from the stream. We don't need it here, only the server needs it.
+
+		int classNameLength = dis.readUnsignedShort();
+		TaskPacket packet;
+		if (classNameLength == COMPACT_FORMAT_MARKER) {
+			int typeId = readVarInt(dis);
+			Supplier<? extends TaskPacket> factory = factoriesByTypeId.get(typeId);
+			if (factory == null) {
+				throw new IOException("Unknown task type id: " + typeId);
+			}
+			packet = factory.get();
+		} else {
+			packet = createTask(readClassName(dis, classNameLength));
+			packet.legacyEncoding = true;
+		}
+
+		packet.deserializeTask(dis);
+		return packet;
+	};
+
+	private boolean legacyEncoding;
+
+	/**
+	 * Registers a task type under the given id. The id is sent over the network and stored in replay logs, therefore it must never change once
+	 * it has been used. Registering the same type with the same id again has no effect.
+	 * 
+	 * @param typeId
+	 *            The non negative id of the task type.
+	 * @param type
+	 *            The class of the task.
+	 * @param factory
+	 *            Creates empty instances of the task that are then deserialized.
+	 * @throws IllegalArgumentException
+	 *             If the id or the type has already been registered differently.
+	 */
+	public static synchronized <T extends TaskPacket> void registerType(int typeId, Class<T> type, Supplier<T> factory) {
+		if (typeId < 0) {
+			throw new IllegalArgumentException("Task type ids must not be negative: " + typeId);
+		}
+
+		Integer registeredId = typeIdsByClass.get(type);
+		if (registeredId != null) {
+			if (registeredId != typeId) {
+				throw new IllegalArgumentException(type.getName() + " is already registered with type id " + registeredId);
+			}
+			return;
+		}
+		if (factoriesByTypeId.containsKey(typeId)) {
+			throw new IllegalArgumentException("Task type id " + typeId + " is already in use.");
+		}
+
+		factoriesByTypeId.put(typeId, factory);
+		factoriesByClassName.put(type.getName(), factory);
+		typeIdsByClass.put(type, typeId);
+	}
+
+	private static TaskPacket createTask(String className) throws IOException {
+		Supplier<? extends TaskPacket> factory = factoriesByClassName.get(className);
+		if (factory != null) {
+			return factory.get();
+		}
+
 		try {
-			dis.readInt(); // read the length in bytes from the stream. We don't need it here, only the server needs it.
-			String className = dis.readUTF();
 			@SuppressWarnings("unchecked")
 			Class<? extends TaskPacket> taskClass = (Class<? extends TaskPacket>) Class.forName(className);
-			TaskPacket packet = taskClass.newInstance();
-			packet.deserializeTask(dis);
-			return packet;
+			return taskClass.newInstance();
 		} catch (Exception e) {
 			throw new IOException(e);
 		}
-	};
+	}
+
+	private static String readClassName(DataInputStream dis, int utfLength) throws IOException {
+		byte[] utf = new byte[utfLength + 2];
+		utf[0] = (byte) (utfLength >>> 8);
+		utf[1] = (byte) utfLength;
+		dis.readFully(utf, 2, utfLength);
+		return new DataInputStream(new ByteArrayInputStream(utf)).readUTF();
+	}
 
 	@Override
 	public final void serialize(DataOutputStream dos) throws IOException {
 		ByteArrayOutputStream bufferOutStream = new ByteArrayOutputStream();
 		DataOutputStream bufferDataOutStream = new DataOutputStream(bufferOutStream);
 
-		bufferDataOutStream.writeUTF(this.getClass().getName());
+		Integer typeId = typeIdsByClass.get(getClass());
+		legacyEncoding = typeId == null;
+		if (legacyEncoding) {
+			bufferDataOutStream.writeUTF(this.getClass().getName());
+		} else {
+			bufferDataOutStream.writeShort(COMPACT_FORMAT_MARKER);
+			writeVarInt(bufferDataOutStream, typeId);
+		}
 		serializeTask(bufferDataOutStream);
 		bufferDataOutStream.flush();
 
@@ -62,4 +157,94 @@ public abstract class TaskPacket extends Packet {
 	}
 
 	protected abstract void deserializeTask(DataInputStream dis) throws IOException;
+
+	/**
+	 * Writes an int that is usually small and non negative. In the compact format this is a varint, otherwise a plain int.
+	 */
+	protected final void writeCompactInt(DataOutputStream dos, int value) throws IOException {
+		if (legacyEncoding) {
+			dos.writeInt(value);
+		} else {
+			writeVarInt(dos, value);
+		}
+	}
+
+	protected final int readCompactInt(DataInputStream dis) throws IOException {
+		return legacyEncoding ? dis.readInt() : readVarInt(dis);
+	}
+
+	/**
+	 * Writes a map coordinate. In the compact format this is a varint, otherwise a plain short.
+	 */
+	protected final void writeCoordinate(DataOutputStream dos, short coordinate) throws IOException {
+		if (legacyEncoding) {
+			dos.writeShort(coordinate);
+		} else {
+			writeVarInt(dos, coordinate);
+		}
+	}
+
+	protected final short readCoordinate(DataInputStream dis) throws IOException {
+		return legacyEncoding ? dis.readShort() : (short) readVarInt(dis);
+	}
+
+	/**
+	 * Writes a list of ids. In the compact format the ids are written as zigzag encoded varint deltas to their predecessor, which keeps the
+	 * usually clustered ids of a selection at one or two bytes each.
+	 */
+	protected final void writeCompactIntList(DataOutputStream dos, List<Integer> values) throws IOException {
+		if (legacyEncoding) {
+			dos.writeInt(values.size());
+			for (Integer curr : values) {
+				dos.writeInt(curr);
+			}
+		} else {
+			writeVarInt(dos, values.size());
+			int previous = 0;
+			for (Integer curr : values) {
+				int delta = curr - previous;
+				writeVarInt(dos, (delta << 1) ^ (delta >> 31));
+				previous = curr;
+			}
+		}
+	}
+
+	protected final List<Integer> readCompactIntList(DataInputStream dis) throws IOException {
+		int numberOfElements = readCompactInt(dis);
+		List<Integer> values = new ArrayList<>(numberOfElements);
+		int previous = 0;
+		for (int i = 0; i < numberOfElements; i++) {
+			if (legacyEncoding) {
+				values.add(dis.readInt());
+			} else {
+				int zigzag = readVarInt(dis);
+				previous += (zigzag >>> 1) ^ -(zigzag & 1);
+				values.add(previous);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Writes the given value as unsigned LEB128 varint. Negative values take five bytes.
+	 */
+	public static void writeVarInt(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	public static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int curr = in.readUnsignedByte();
+			value |= (curr & 0x7F) << shift;
+			if ((curr & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint.");
+	}
 }
@@ -35,4 +35,11 @@ public interface ISynchronizableClock {
 	 */
 	void pauseClockFor(int timeDelta);
 
+	/**
+	 * Returns the state hashes recorded since the last call and forgets them.
+	 * 
+	 * @return the recorded hashes or null if no hash has been recorded.
+	 */
+	LockstepStateHashes pollStateHashes();
+
 }
@@ -40,7 +40,15 @@ public class TimeSyncSenderTimerTask extends TimerTask {
 		int localTime = clock.getTime();
 		int expectedTimeAtServer = localTime + channel.getRoundTripTime().getRtt() / 2;
 
-		channel.sendPacketAsync(NetworkConstants.ENetworkKey.TIME_SYNC, new TimeSyncPacket(expectedTimeAtServer));
+		LockstepStateHashes stateHashes = clock.pollStateHashes();
+		TimeSyncPacket packet;
+		if (stateHashes != null) {
+			packet = new TimeSyncPacket(expectedTimeAtServer, stateHashes.getFirstLockstep(), stateHashes.getHashes());
+		} else {
+			packet = new TimeSyncPacket(expectedTimeAtServer);
+		}
+
+		channel.sendPacketAsync(NetworkConstants.ENetworkKey.TIME_SYNC, packet);
 	}
 
 }
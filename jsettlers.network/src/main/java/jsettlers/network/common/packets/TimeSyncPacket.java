@@ -17,12 +17,17 @@ package jsettlers.network.common.packets;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
 import jsettlers.network.infrastructure.channel.packet.Packet;
 
 public class TimeSyncPacket extends Packet {
 
-	private int time;
+	private static final long[] NO_STATE_HASHES = new long[0];
+
+	private int    time;
+	private int    firstHashedLockstep;
+	private long[] stateHashes = NO_STATE_HASHES;
 
 	public TimeSyncPacket() {
 	}
@@ -31,14 +36,38 @@ public class TimeSyncPacket extends Packet {
 		this.time = time;
 	}
 
+	/**
+	 * @param time
+	 *            The time of the sender.
+	 * @param firstHashedLockstep
+	 *            The lockstep of the first state hash.
+	 * @param stateHashes
+	 *            The state hashes of the sender after consecutive locksteps, starting with firstHashedLockstep.
+	 */
+	public TimeSyncPacket(int time, int firstHashedLockstep, long[] stateHashes) {
+		this.time = time;
+		this.firstHashedLockstep = firstHashedLockstep;
+		this.stateHashes = stateHashes;
+	}
+
 	@Override
 	public void serialize(DataOutputStream dos) throws IOException {
 		dos.writeInt(time);
+		dos.writeInt(firstHashedLockstep);
+		dos.writeShort(stateHashes.length);
+		for (long stateHash : stateHashes) {
+			dos.writeLong(stateHash);
+		}
 	}
 
 	@Override
 	public void deserialize(DataInputStream dis) throws IOException {
 		time = dis.readInt();
+		firstHashedLockstep = dis.readInt();
+		stateHashes = new long[dis.readUnsignedShort()];
+		for (int i = 0; i < stateHashes.length; i++) {
+			stateHashes[i] = dis.readLong();
+		}
 	}
 
 	/*
@@ -51,6 +80,8 @@ public class TimeSyncPacket extends Packet {
 		final int prime = 31;
 		int result = 1;
 		result = prime * result + time;
+		result = prime * result + firstHashedLockstep;
+		result = prime * result + Arrays.hashCode(stateHashes);
 		return result;
 	}
 
@@ -68,10 +99,18 @@ public class TimeSyncPacket extends Packet {
 		if (getClass() != obj.getClass())
 			return false;
 		TimeSyncPacket other = (TimeSyncPacket) obj;
-		return time == other.time;
+		return time == other.time && firstHashedLockstep == other.firstHashedLockstep && Arrays.equals(stateHashes, other.stateHashes);
 	}
 
 	public int getTime() {
 		return time;
 	}
+
+	public int getFirstHashedLockstep() {
+		return firstHashedLockstep;
+	}
+
+	public long[] getStateHashes() {
+		return stateHashes;
+	}
 }
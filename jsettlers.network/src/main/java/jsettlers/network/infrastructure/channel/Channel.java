@@ -25,6 +25,7 @@ import java.util.HashMap;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.packet.EncodedPacket;
 import jsettlers.network.infrastructure.channel.packet.Packet;
 import jsettlers.network.infrastructure.channel.ping.IPingUpdateListener;
 import jsettlers.network.infrastructure.channel.ping.IRoundTripTimeSupplier;
@@ -92,6 +93,26 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 		thread = new Thread(this, "ChannelForSocket_" + socket);
 	}
 
+	/**
+	 * Creates a channel that is not based on an {@link ISocket}. Subclasses using this constructor must override {@link #startReceiving()},
+	 * {@link #sendPacket(ENetworkKey, Packet)}, {@link #sendPacket(EncodedPacket)}, {@link #close()} and {@link #isClosed()} and pass received packets to
+	 * {@link #receivePacket(ENetworkKey, int, DataInputStream)}.
+	 * 
+	 * @param logger
+	 *            The logger of this channel.
+	 */
+	protected Channel(Logger logger) {
+		this.logger = new SwitchableLogger(logger);
+		this.socket = null;
+		this.outStream = null;
+		this.inStream = null;
+
+		pingPacketListener = new PingPacketListener(this.logger, this);
+		registerListener(pingPacketListener);
+
+		thread = null;
+	}
+
 	/**
 	 * Starts the message receiving of this {@link Channel}.
 	 * <p />
@@ -104,6 +125,10 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 	 */
 	public void start() {
 		started = true;
+		startReceiving();
+	}
+
+	protected void startReceiving() {
 		thread.start();
 	}
 
@@ -117,6 +142,23 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 		}
 	}
 
+	/**
+	 * Sends a packet that has already been serialized. This allows to send the same packet to multiple channels while serializing it only once.
+	 * 
+	 * @param packet
+	 *            The packet to be sent.
+	 */
+	public synchronized void sendPacket(EncodedPacket packet) {
+		if (socket.isClosed())
+			return;
+
+		try {
+			packet.writeTo(outStream);
+			outStream.flush();
+		} catch (IOException e) {
+		}
+	}
+
 	private void sendPacketData(ENetworkKey key, Packet packet) throws IOException {
 		bufferDataOutStream.flush();
 		byteBufferOutStream.reset();
@@ -158,26 +200,7 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 
 				DataInputStream bufferIn = readBytesToBuffer(inStream, length);
 
-				IChannelListener listener = listenerRegistry.get(key);
-
-				if (listener != null) {
-					try {
-						listener.receive(key, length, bufferIn);
-						if (bufferIn.available() > 0) {
-							logger.warn("Deserialization did not read all bytes of input: " + key + " " + length + " " + bufferIn.available());
-						}
-					} catch (Exception e) { // ignore exceptions thrown in receive
-						e.printStackTrace();
-					}
-				} else {
-					logger.warn("NO LISTENER FOUND for key: " + key + "   (" + socket + ")");
-
-					if (key != NetworkConstants.ENetworkKey.REJECT_PACKET) { // prevent endless loop
-						sendPacket(NetworkConstants.ENetworkKey.REJECT_PACKET,
-								new RejectPacket(NetworkConstants.ENetworkMessage.NO_LISTENER_FOUND, key));
-					}
-				}
-
+				receivePacket(key, length, bufferIn);
 			} catch (Exception e) {
 				try {
 					socket.close();
@@ -188,10 +211,52 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 
 		close(); // release the resources
 
+		notifyChannelClosed();
+		logger.info("Channel listener shut down: " + socket);
+	}
+
+	/**
+	 * Passes a received packet to the listener registered for its key.
+	 * 
+	 * @param key
+	 *            The key of the packet.
+	 * @param length
+	 *            The length of the packet's data.
+	 * @param bufferIn
+	 *            A stream containing exactly the data of the packet.
+	 * @throws IOException
+	 *             If an I/O error occurs while checking the stream.
+	 */
+	protected void receivePacket(ENetworkKey key, int length, DataInputStream bufferIn) throws IOException {
+		IChannelListener listener = listenerRegistry.get(key);
+
+		if (listener != null) {
+			try {
+				listener.receive(key, length, bufferIn);
+				if (bufferIn.available() > 0) {
+					logger.warn("Deserialization did not read all bytes of input: " + key + " " + length + " " + bufferIn.available());
+				}
+			} catch (Exception e) { // ignore exceptions thrown in receive
+				e.printStackTrace();
+			}
+		} else {
+			logger.warn("NO LISTENER FOUND for key: " + key + "   (" + this + ")");
+
+			if (key != NetworkConstants.ENetworkKey.REJECT_PACKET) { // prevent endless loop
+				sendPacket(NetworkConstants.ENetworkKey.REJECT_PACKET,
+						new RejectPacket(NetworkConstants.ENetworkMessage.NO_LISTENER_FOUND, key));
+			}
+		}
+	}
+
+	protected void notifyChannelClosed() {
 		if (channelClosedListener != null) {
 			channelClosedListener.channelClosed();
 		}
-		logger.info("Channel listener shut down: " + socket);
+	}
+
+	protected Logger getLogger() {
+		return logger;
 	}
 
 	private DataInputStream readBytesToBuffer(DataInputStream inStream, int length) throws IOException {
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.nio;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.packet.EncodedPacket;
+import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.infrastructure.log.Logger;
+
+/**
+ * A {@link Channel} on a non-blocking {@link SocketChannel}. Instead of owning a reader thread, the channel is served by a {@link SelectorThread} that reads the
+ * packets in the format written by {@link Channel} (key, length and data) and passes them to the registered listeners.
+ * <p />
+ * Sending never blocks: the packet is written directly as far as the socket accepts it and the rest is queued and written by the {@link SelectorThread} as soon
+ * as the socket is writable again.
+ */
+public class NioChannel extends Channel {
+	private static final int HEADER_LENGTH            = 5; // key (byte) and length (int)
+	private static final int INITIAL_READ_BUFFER_SIZE = 8 * 1024;
+
+	private final SocketChannel         socketChannel;
+	private final SelectorThread        selectorThread;
+	private final String                name;
+	private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>();
+	private final AtomicBoolean         closed     = new AtomicBoolean(false);
+
+	private ByteBuffer   readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+	private SelectionKey selectionKey;
+
+	public NioChannel(Logger logger, SocketChannel socketChannel, SelectorThread selectorThread) throws IOException {
+		super(logger);
+		this.socketChannel = socketChannel;
+		this.selectorThread = selectorThread;
+		this.name = "NioChannel(" + socketChannel.getRemoteAddress() + ")";
+
+		socketChannel.configureBlocking(false);
+		socketChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+	}
+
+	@Override
+	protected void startReceiving() {
+		selectorThread.execute(this::register);
+	}
+
+	private void register() {
+		if (isClosed()) {
+			return;
+		}
+
+		try {
+			synchronized (writeQueue) {
+				selectionKey = selectorThread.register(socketChannel, this, getInterestOps());
+			}
+		} catch (ClosedChannelException e) {
+			close();
+		}
+	}
+
+	private int getInterestOps() {
+		return writeQueue.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+	}
+
+	@Override
+	public void sendPacket(ENetworkKey key, Packet packet) {
+		if (isClosed()) {
+			return;
+		}
+
+		try {
+			sendPacket(EncodedPacket.encode(key, packet));
+		} catch (IOException e) {
+		}
+	}
+
+	/**
+	 * Queues the bytes of the given packet without copying them.
+	 */
+	@Override
+	public void sendPacket(EncodedPacket packet) {
+		if (isClosed()) {
+			return;
+		}
+
+		ByteBuffer frame = packet.asByteBuffer();
+		synchronized (writeQueue) {
+			boolean writing = !writeQueue.isEmpty(); // the selector thread already waits for the socket to become writable
+			writeQueue.add(frame);
+			if (!writing && !flushWriteQueue()) {
+				selectorThread.execute(this::updateInterestOps);
+			}
+		}
+	}
+
+	/**
+	 * Writes as much of the queued data as the socket accepts. Must be called while holding the lock of the {@link #writeQueue}.
+	 * 
+	 * @return true if the queue has been written completely.
+	 */
+	private boolean flushWriteQueue() {
+		try {
+			while (!writeQueue.isEmpty()) {
+				ByteBuffer frame = writeQueue.peek();
+				socketChannel.write(frame);
+				if (frame.hasRemaining()) {
+					return false;
+				}
+				writeQueue.poll();
+			}
+		} catch (IOException e) {
+			writeQueue.clear();
+			close();
+		}
+		return true;
+	}
+
+	private void updateInterestOps() {
+		synchronized (writeQueue) {
+			if (selectionKey != null && selectionKey.isValid()) {
+				selectionKey.interestOps(getInterestOps());
+			}
+		}
+	}
+
+	void handleWritable() {
+		synchronized (writeQueue) {
+			flushWriteQueue();
+		}
+		updateInterestOps();
+	}
+
+	void handleReadable() {
+		try {
+			if (socketChannel.read(readBuffer) < 0) {
+				close();
+				return;
+			}
+
+			readBuffer.flip();
+			int requiredCapacity = readFrames();
+			readBuffer.compact();
+
+			if (requiredCapacity > readBuffer.capacity()) {
+				ByteBuffer largerBuffer = ByteBuffer.allocate(requiredCapacity);
+				readBuffer.flip();
+				largerBuffer.put(readBuffer);
+				readBuffer = largerBuffer;
+			}
+		} catch (IOException e) {
+			close();
+		}
+	}
+
+	/**
+	 * Passes all complete frames in the {@link #readBuffer} to the listeners.
+	 * 
+	 * @return The capacity needed to read the next, incomplete frame.
+	 */
+	private int readFrames() throws IOException {
+		while (readBuffer.remaining() >= HEADER_LENGTH && !isClosed()) {
+			int length = readBuffer.getInt(readBuffer.position() + 1);
+			if (length < 0) {
+				throw new IOException("Invalid packet length: " + length);
+			}
+			if (readBuffer.remaining() < HEADER_LENGTH + length) {
+				return HEADER_LENGTH + length;
+			}
+
+			byte[] frame = new byte[HEADER_LENGTH + length];
+			readBuffer.get(frame);
+
+			DataInputStream frameStream = new DataInputStream(new ByteArrayInputStream(frame));
+			ENetworkKey key = ENetworkKey.readFrom(frameStream);
+			frameStream.readInt();
+			receivePacket(key, length, frameStream);
+		}
+		return HEADER_LENGTH;
+	}
+
+	@Override
+	public void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			socketChannel.close();
+		} catch (IOException e) {
+		}
+
+		Runnable closedNotification = () -> {
+			notifyChannelClosed();
+			getLogger().info("Channel listener shut down: " + name);
+		};
+		if (selectorThread.isAlive()) { // the listeners are informed on the thread that served the channel, like with a Channel's own thread
+			selectorThread.execute(closedNotification);
+		} else {
+			closedNotification.run();
+		}
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed.get();
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
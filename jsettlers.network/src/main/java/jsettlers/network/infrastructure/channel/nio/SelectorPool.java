@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.nio;
+
+import java.io.IOException;
+
+/**
+ * A fixed number of {@link SelectorThread}s the {@link NioChannel}s are distributed to in a round robin fashion.
+ */
+public final class SelectorPool {
+	private final SelectorThread[] threads;
+
+	private int next = 0;
+
+	public SelectorPool(String name, int numberOfThreads) throws IOException {
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("A selector pool needs at least one thread.");
+		}
+
+		threads = new SelectorThread[numberOfThreads];
+		for (int i = 0; i < numberOfThreads; i++) {
+			threads[i] = new SelectorThread(name + "-" + i);
+		}
+	}
+
+	/**
+	 * @return The thread the next channel shall be registered to.
+	 */
+	public synchronized SelectorThread nextThread() {
+		SelectorThread thread = threads[next];
+		next = (next + 1) % threads.length;
+		return thread;
+	}
+
+	public void start() {
+		for (SelectorThread thread : threads) {
+			thread.start();
+		}
+	}
+
+	public void shutdown() {
+		for (SelectorThread thread : threads) {
+			thread.shutdown();
+		}
+	}
+
+	public boolean isAlive() {
+		for (SelectorThread thread : threads) {
+			if (thread.isAlive()) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.nio;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A thread owning a {@link Selector} that performs the non-blocking reads and writes of all {@link NioChannel}s registered to it.
+ * <p />
+ * All methods of the channels that touch their {@link SelectionKey} are executed by this thread. Other threads hand over such work with {@link #execute(Runnable)}.
+ */
+public final class SelectorThread extends Thread {
+	private final Selector                        selector;
+	private final ConcurrentLinkedQueue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+
+	private volatile boolean canceled = false;
+
+	public SelectorThread(String name) throws IOException {
+		super(name);
+		this.selector = Selector.open();
+		setDaemon(true);
+	}
+
+	/**
+	 * Executes the given task on this thread before the next selection.
+	 * 
+	 * @param task
+	 *            The task to be executed.
+	 */
+	public void execute(Runnable task) {
+		pendingTasks.add(task);
+		selector.wakeup();
+	}
+
+	SelectionKey register(SocketChannel socketChannel, NioChannel channel, int interestOps) throws ClosedChannelException {
+		return socketChannel.register(selector, interestOps, channel);
+	}
+
+	@Override
+	public void run() {
+		while (!canceled) {
+			try {
+				selector.select();
+			} catch (IOException e) {
+				e.printStackTrace();
+				break;
+			}
+
+			runPendingTasks();
+
+			Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+			while (selectedKeys.hasNext()) {
+				SelectionKey key = selectedKeys.next();
+				selectedKeys.remove();
+
+				NioChannel channel = (NioChannel) key.attachment();
+				if (!key.isValid()) {
+					channel.close();
+					continue;
+				}
+
+				try {
+					if (key.isReadable()) {
+						channel.handleReadable();
+					}
+					if (key.isValid() && key.isWritable()) {
+						channel.handleWritable();
+					}
+				} catch (RuntimeException e) { // a failing channel must not stop the other channels
+					e.printStackTrace();
+					channel.close();
+				}
+			}
+		}
+
+		for (SelectionKey key : selector.keys()) {
+			((NioChannel) key.attachment()).close();
+		}
+		runPendingTasks();
+
+		try {
+			selector.close();
+		} catch (IOException e) {
+		}
+	}
+
+	private void runPendingTasks() {
+		Runnable task;
+		while ((task = pendingTasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Stops this thread and closes all channels registered to it.
+	 */
+	public void shutdown() {
+		canceled = true;
+		selector.wakeup();
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.packet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.Channel;
+
+/**
+ * A {@link Packet} serialized together with its key and length in the format sent by a {@link Channel}. The encoded bytes are never changed, so one
+ * instance can be sent to any number of channels without serializing the packet again.
+ */
+public final class EncodedPacket {
+	private static final int HEADER_LENGTH = 5; // key (byte) and length (int)
+
+	private final ENetworkKey key;
+	private final byte[]      frame;
+
+	private EncodedPacket(ENetworkKey key, byte[] frame) {
+		this.key = key;
+		this.frame = frame;
+	}
+
+	public static EncodedPacket encode(ENetworkKey key, Packet packet) throws IOException {
+		ByteArrayOutputStream frameBytes = new ByteArrayOutputStream();
+		DataOutputStream frameStream = new DataOutputStream(frameBytes);
+		key.writeTo(frameStream);
+		frameStream.writeInt(0); // placeholder for the length
+		packet.serialize(frameStream);
+		frameStream.flush();
+
+		byte[] frame = frameBytes.toByteArray();
+		ByteBuffer.wrap(frame).putInt(1, frame.length - HEADER_LENGTH);
+		return new EncodedPacket(key, frame);
+	}
+
+	public ENetworkKey getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The length of the packet's data without key and length.
+	 */
+	public int getLength() {
+		return frame.length - HEADER_LENGTH;
+	}
+
+	public void writeTo(OutputStream outStream) throws IOException {
+		outStream.write(frame);
+	}
+
+	/**
+	 * @return A new read only buffer on the encoded bytes. The bytes are not copied.
+	 */
+	public ByteBuffer asByteBuffer() {
+		return ByteBuffer.wrap(frame).asReadOnlyBuffer();
+	}
+}
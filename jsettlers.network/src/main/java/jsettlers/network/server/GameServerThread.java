@@ -16,13 +16,16 @@ package jsettlers.network.server;
 
 import java.io.IOException;
 import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.infrastructure.channel.Channel;
-import jsettlers.network.infrastructure.channel.socket.ISocketFactory;
+import jsettlers.network.infrastructure.channel.nio.NioChannel;
+import jsettlers.network.infrastructure.channel.nio.SelectorPool;
 import jsettlers.network.infrastructure.log.Logger;
 import jsettlers.network.infrastructure.log.LoggerManager;
 import jsettlers.network.server.db.IDBFacade;
@@ -32,13 +35,16 @@ import jsettlers.network.server.lan.LanServerBroadcastThread;
 import jsettlers.network.server.lan.SingleLanServerAddressListener;
 
 /**
+ * Accepts the connections of the clients. The accepted sockets are served by a {@link SelectorPool} with a fixed number of threads instead of a thread per
+ * client.
  * 
  * @author Andreas Eberle
  * 
  */
 public final class GameServerThread extends Thread {
 
-	private final ServerSocket serverSocket;
+	private final ServerSocketChannel serverSocket;
+	private final SelectorPool selectorPool;
 	private final ServerManager manager;
 	private final LanServerBroadcastThread lanBroadcastThread;
 	private final Logger logger;
@@ -53,7 +59,10 @@ public final class GameServerThread extends Thread {
 	public GameServerThread(boolean lan, Logger logger) throws IOException {
 		super("GameServer");
 		this.logger = logger;
-		this.serverSocket = new ServerSocket(NetworkConstants.Server.SERVER_PORT);
+		this.serverSocket = ServerSocketChannel.open();
+		this.serverSocket.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		this.serverSocket.bind(new InetSocketAddress(NetworkConstants.Server.SERVER_PORT));
+		this.selectorPool = new SelectorPool("GameServerSelector", NetworkConstants.Server.SELECTOR_THREADS);
 		this.manager = new ServerManager(new InMemoryDB());
 
 		this.setDaemon(true);
@@ -71,14 +80,14 @@ public final class GameServerThread extends Thread {
 		System.out.println("Server up and running!");
 		while (!canceled) {
 			try {
-				Socket clientSocket = serverSocket.accept();
+				SocketChannel clientSocket = serverSocket.accept();
 
-				Channel clientChannel = new Channel(logger, ISocketFactory.DEFAULT_FACTORY.generateSocket(clientSocket));
+				Channel clientChannel = new NioChannel(logger, clientSocket, selectorPool.nextThread());
 				manager.identifyNewChannel(clientChannel);
 				clientChannel.start();
 
-				logger.log("accepted new client (" + ++counter + "): " + clientSocket);
-			} catch (SocketException e) {
+				logger.log("accepted new client (" + ++counter + "): " + clientChannel);
+			} catch (ClosedChannelException e) {
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -119,6 +128,7 @@ public final class GameServerThread extends Thread {
 
 	@Override
 	public synchronized void start() {
+		selectorPool.start();
 		super.start();
 		manager.start();
 		if(lanBroadcastThread != null) {
@@ -137,6 +147,7 @@ public final class GameServerThread extends Thread {
 			lanBroadcastThread.shutdown();
 		}
 
+		selectorPool.shutdown();
 		manager.shutdown();
 	}
 
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package jsettlers.network.server.match;
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.Timer;
@@ -29,6 +30,7 @@ import jsettlers.network.common.packets.MatchStartPacket;
 import jsettlers.network.common.packets.PlayerInfoPacket;
 import jsettlers.network.common.packets.SlotInfoPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
+import jsettlers.network.infrastructure.channel.packet.EncodedPacket;
 import jsettlers.network.infrastructure.channel.packet.Packet;
 import jsettlers.network.infrastructure.log.Logger;
 import jsettlers.network.infrastructure.log.LoggerManager;
@@ -176,6 +178,7 @@ public class Match {
 	}
 
 	/**
+	 * Sends the given packet to the players of this match. The packet is serialized only once for all players.
 	 * 
 	 * @param sendingPlayer
 	 *            The sending player will not receive the message. If the message shall be send to all players in the match, <code>null</code> can be
@@ -184,10 +187,18 @@ public class Match {
 	 * @param packet
 	 */
 	public void sendMessage(Player sendingPlayer, ENetworkKey key, Packet packet) {
+		EncodedPacket encodedPacket;
+		try {
+			encodedPacket = EncodedPacket.encode(key, packet);
+		} catch (IOException e) {
+			logger.error(e);
+			return;
+		}
+
 		synchronized (players) {
 			for (Player curr : players) {
 				if (sendingPlayer == null || !curr.getId().equals(sendingPlayer.getId())) {
-					curr.sendPacket(key, packet);
+					curr.sendPacket(encodedPacket);
 				}
 			}
 		}
@@ -264,7 +275,8 @@ public class Match {
 
 	public void distributeTimeSync(Player player, TimeSyncPacket packet) {
 		sendMessage(player, NetworkConstants.ENetworkKey.TIME_SYNC, packet);
-		taskSendingTimerTask.receivedLockstepAcknowledge(packet.getTime() / NetworkConstants.Client.LOCKSTEP_PERIOD);
+		taskSendingTimerTask.receivedLockstepAcknowledge(packet.getTime() / NetworkConstants.Client.LOCKSTEP_PERIOD, player.getId(), packet.getFirstHashedLockstep(),
+				packet.getStateHashes());
 	}
 
 	public Logger getMatchLogger() {
@@ -23,6 +23,7 @@ import jsettlers.network.common.packets.ChatMessagePacket;
 import jsettlers.network.common.packets.PlayerInfoPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
 import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.packet.EncodedPacket;
 import jsettlers.network.infrastructure.channel.packet.Packet;
 import jsettlers.network.infrastructure.log.LoggerManager;
 import jsettlers.network.server.exceptions.NotAllPlayersReadyException;
@@ -81,6 +82,10 @@ public class Player {
 		channel.sendPacket(key, packet);
 	}
 
+	public void sendPacket(EncodedPacket packet) {
+		channel.sendPacket(packet);
+	}
+
 	public synchronized boolean isInMatch() {
 		return state == EPlayerState.IN_MATCH || state == EPlayerState.IN_RUNNING_MATCH;
 	}
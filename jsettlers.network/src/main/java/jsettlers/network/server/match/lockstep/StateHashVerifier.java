@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.match.lockstep;
+
+import java.util.Arrays;
+
+/**
+ * Compares the state hashes the players of a match report for their locksteps. The first hash reported for a lockstep is taken as reference, every other player has to report the
+ * same hash for it. Otherwise the game states of the players diverged.
+ * <p />
+ * Only the hashes of the last {@value #WINDOW_LOCKSTEPS} locksteps are kept. Reports of players lagging further behind are not checked.
+ */
+public class StateHashVerifier {
+	static final int WINDOW_LOCKSTEPS = 600; // one minute of game time
+
+	private final int[]  locksteps = new int[WINDOW_LOCKSTEPS];
+	private final long[] hashes    = new long[WINDOW_LOCKSTEPS];
+
+	private int firstDivergingLockstep = Integer.MAX_VALUE;
+
+	public StateHashVerifier() {
+		Arrays.fill(locksteps, -1);
+	}
+
+	/**
+	 * Checks the hashes reported by a player.
+	 * 
+	 * @param firstLockstep
+	 *            The lockstep of the first hash.
+	 * @param stateHashes
+	 *            The hashes of consecutive locksteps starting with firstLockstep.
+	 * @return the lockstep at which the reported hashes diverge, if it is earlier than all diverging locksteps found before.<br>
+	 *         -1 otherwise.
+	 */
+	public synchronized int verify(int firstLockstep, long[] stateHashes) {
+		for (int i = 0; i < stateHashes.length; i++) {
+			int lockstep = firstLockstep + i;
+			if (lockstep < 0) {
+				continue;
+			}
+
+			int slot = lockstep % WINDOW_LOCKSTEPS;
+			if (locksteps[slot] < lockstep) { // first report of this lockstep
+				locksteps[slot] = lockstep;
+				hashes[slot] = stateHashes[i];
+			} else if (locksteps[slot] == lockstep && hashes[slot] != stateHashes[i] && lockstep < firstDivergingLockstep) {
+				firstDivergingLockstep = lockstep;
+				return lockstep;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the first lockstep at which the states of the players diverged or -1 if no divergence has been detected.
+	 */
+	public synchronized int getFirstDivergingLockstep() {
+		return firstDivergingLockstep == Integer.MAX_VALUE ? -1 : firstDivergingLockstep;
+	}
+}
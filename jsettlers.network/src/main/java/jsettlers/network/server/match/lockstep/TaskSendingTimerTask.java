@@ -19,6 +19,7 @@ import java.util.Locale;
 import java.util.TimerTask;
 
 import jsettlers.network.NetworkConstants;
+import jsettlers.network.common.packets.IntegerMessagePacket;
 import jsettlers.network.infrastructure.channel.ping.IPingUpdateListener;
 import jsettlers.network.infrastructure.log.Logger;
 import jsettlers.network.infrastructure.utils.MaximumSlotBuffer;
@@ -35,6 +36,7 @@ public class TaskSendingTimerTask extends TimerTask {
 	private final Logger logger;
 	private final TaskCollectingListener taskCollectingListener;
 	private final Match match;
+	private final StateHashVerifier stateHashVerifier = new StateHashVerifier();
 
 	private int lockstepCounter = 0;
 	private int currentLockstepMax = NetworkConstants.Client.LOCKSTEP_DEFAULT_LEAD_STEPS;
@@ -59,9 +61,27 @@ public class TaskSendingTimerTask extends TimerTask {
 		match.broadcastMessage(NetworkConstants.ENetworkKey.SYNCHRONOUS_TASK, syncTasksPacket);
 	}
 
-	public void receivedLockstepAcknowledge(int acknowledgedLockstep) {
+	/**
+	 * Called when a player acknowledges a lockstep.
+	 * 
+	 * @param acknowledgedLockstep
+	 *            The lockstep reached by the player.
+	 * @param playerId
+	 *            The id of the player.
+	 * @param firstHashedLockstep
+	 *            The lockstep of the first state hash.
+	 * @param stateHashes
+	 *            The state hashes the player computed after consecutive locksteps, starting with firstHashedLockstep. They are checked for desyncs.
+	 */
+	public void receivedLockstepAcknowledge(int acknowledgedLockstep, String playerId, int firstHashedLockstep, long[] stateHashes) {
 		currentLockstepMax = Math.max(currentLockstepMax, acknowledgedLockstep + leadSteps);
 		// logger.info("lead steps: " + leadSteps);
+
+		int divergingLockstep = stateHashVerifier.verify(firstHashedLockstep, stateHashes);
+		if (divergingLockstep >= 0) {
+			logger.warn("DESYNC: game state of player " + playerId + " diverges from the other players at lockstep " + divergingLockstep);
+			match.broadcastMessage(NetworkConstants.ENetworkKey.DESYNC_DETECTED, new IntegerMessagePacket(divergingLockstep));
+		}
 	}
 
 	final void pingUpdated(int rtt, int jitter) {
@@ -18,6 +18,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -29,8 +30,11 @@ import java.util.TimerTask;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.client.INetworkClientClock;
+import jsettlers.network.client.interfaces.IReplayLogWriter;
+import jsettlers.network.client.interfaces.IStateHasher;
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.client.time.LockstepStateHashes;
 
 /**
  * This is a basic game timer. All synchronous actions must be based on this clock. The {@link NetworkTimer} also triggers the execution of synchronous tasks in the network game.
@@ -40,6 +44,7 @@ import jsettlers.network.client.task.packets.TaskPacket;
  */
 public final class NetworkTimer extends TimerTask implements INetworkClientClock {
 	public static final short TIME_SLICE = 50;
+	private static final int  MAX_PENDING_STATE_HASHES = 64;
 	private static final Comparator<SyncTasksPacket> tasksByTimeComparator = Comparator.comparingInt(SyncTasksPacket::getLockstepNumber);
 
 	private final Timer timer;
@@ -62,7 +67,12 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	private boolean scheduled = false;
 
 	private ITaskExecutor taskExecutor;
-	private DataOutputStream replayLogStream;
+	private IReplayLogWriter replayLog;
+
+	private IStateHasher stateHasher;
+	private final long[] pendingStateHashes = new long[MAX_PENDING_STATE_HASHES];
+	private int          pendingStateHashesCount;
+	private int          firstPendingStateHashLockstep;
 
 	public NetworkTimer() {
 		this.timer = new Timer("NetworkTimer");
@@ -89,7 +99,7 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 		setPausing(true);
 		timer.cancel();
 
-		closeReplayLogStreamIfNeeded();
+		closeReplayLogIfNeeded();
 	}
 
 	@Override
@@ -150,12 +160,42 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 			for (ScheduledTimerable curr : timerables) {
 				curr.checkExecution(TIME_SLICE);
 			}
+
+			if (stateHasher != null && (time + TIME_SLICE) % NetworkConstants.Client.LOCKSTEP_PERIOD == 0) { // last time slice of this lockstep
+				recordStateHash(lockstep, stateHasher.getStateHash());
+			}
 		} catch (Throwable t) {
 			System.err.println("WARNING: Networking Timer catched Throwable!!!");
 			t.printStackTrace();
 		}
 	}
 
+	private void recordStateHash(int lockstep, long stateHash) {
+		synchronized (pendingStateHashes) {
+			if (pendingStateHashesCount == 0 || lockstep != firstPendingStateHashLockstep + pendingStateHashesCount) {
+				pendingStateHashesCount = 0; // only consecutive locksteps are reported
+				firstPendingStateHashLockstep = lockstep;
+			} else if (pendingStateHashesCount == MAX_PENDING_STATE_HASHES) { // drop the oldest hash
+				System.arraycopy(pendingStateHashes, 1, pendingStateHashes, 0, MAX_PENDING_STATE_HASHES - 1);
+				pendingStateHashesCount--;
+				firstPendingStateHashLockstep++;
+			}
+			pendingStateHashes[pendingStateHashesCount++] = stateHash;
+		}
+	}
+
+	@Override
+	public LockstepStateHashes pollStateHashes() {
+		synchronized (pendingStateHashes) {
+			if (pendingStateHashesCount == 0) {
+				return null;
+			}
+			LockstepStateHashes hashes = new LockstepStateHashes(firstPendingStateHashLockstep, Arrays.copyOf(pendingStateHashes, pendingStateHashesCount));
+			pendingStateHashesCount = 0;
+			return hashes;
+		}
+	}
+
 	private void executeTasksPacket(SyncTasksPacket tasksPacket) {
 		if (taskExecutor != null) {
 			for (TaskPacket currTask : tasksPacket.getTasks()) {
@@ -307,10 +347,9 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	}
 
 	private void saveReplayIfNeeded(SyncTasksPacket tasksPacket) {
-		if (replayLogStream != null) {
+		if (replayLog != null) {
 			try {
-				tasksPacket.serialize(replayLogStream);
-				replayLogStream.flush();
+				replayLog.writeTasks(tasksPacket);
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -328,16 +367,17 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	}
 
 	@Override
-	public void setReplayLogStream(DataOutputStream replayFileStream) {
-		if (this.replayLogStream != null) {
-			throw new IllegalStateException("Replay log stream cannot be set twice!");
+	public void setReplayLog(IReplayLogWriter replayLog) {
+		if (this.replayLog != null) {
+			throw new IllegalStateException("Replay log cannot be set twice!");
 		}
 
-		if (replayFileStream != null) {
-			replayLogStream = replayFileStream;
-		} else {
-			closeReplayLogStreamIfNeeded();
-		}
+		this.replayLog = replayLog;
+	}
+
+	@Override
+	public void setStateHasher(IStateHasher stateHasher) {
+		this.stateHasher = stateHasher;
 	}
 
 	@Override
@@ -348,15 +388,14 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 		dos.flush();
 	}
 
-	private void closeReplayLogStreamIfNeeded() {
-		if (replayLogStream != null) {
+	private void closeReplayLogIfNeeded() {
+		if (replayLog != null) {
 			try {
-				replayLogStream.flush();
-				replayLogStream.close();
+				replayLog.close();
 			} catch (IOException e) {
 				e.printStackTrace();
 			} finally {
-				replayLogStream = null;
+				replayLog = null;
 			}
 		}
 	}
@@ -367,7 +406,9 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 			while (true) {
 				SyncTasksPacket currPacket = new SyncTasksPacket();
 				currPacket.deserialize(dataInputStream);
-				scheduleSyncTasksPacket(currPacket);
+				if (currPacket.getLockstepNumber() > time / NetworkConstants.Client.LOCKSTEP_PERIOD) {
+					scheduleSyncTasksPacket(currPacket);
+				}
 			}
 		} catch (IOException e1) { // something went wrong, or the stream was empty
 			try {
@@ -19,8 +19,11 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.LinkedList;
 
+import jsettlers.network.client.interfaces.IReplayLogWriter;
+import jsettlers.network.client.interfaces.IStateHasher;
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.client.time.LockstepStateHashes;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 import jsettlers.network.synchronic.timer.ITaskExecutor;
 
@@ -143,7 +146,16 @@ public class NetworkClientClockMock implements INetworkClientClock {
 	}
 
 	@Override
-	public void setReplayLogStream(DataOutputStream replayFileStream) {
+	public void setReplayLog(IReplayLogWriter replayLog) {
+	}
+
+	@Override
+	public void setStateHasher(IStateHasher stateHasher) {
+	}
+
+	@Override
+	public LockstepStateHashes pollStateHashes() {
+		return null;
 	}
 
 	@Override
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.common.packets.ChatMessagePacket;
+import jsettlers.network.common.packets.IdPacket;
+import jsettlers.network.common.packets.MapInfoPacket;
+import jsettlers.network.common.packets.OpenNewMatchPacket;
+import jsettlers.network.common.packets.PlayerInfoPacket;
+import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.IChannelListener;
+import jsettlers.network.server.db.IDBFacade;
+import jsettlers.network.server.match.EPlayerState;
+import jsettlers.network.server.match.Match;
+
+/**
+ * Load test of the dedicated server: many fake clients log in, meet in matches and chat with each other. The server has to serve all of them with its
+ * fixed number of selector threads.
+ */
+public class DedicatedServerLoadIT {
+	private static final int  NUMBER_OF_CLIENTS        = 200;
+	private static final int  PLAYERS_PER_MATCH        = 4;
+	private static final int  CHAT_MESSAGES_PER_CLIENT = 20;
+	private static final long TIMEOUT_MS               = 60 * 1000;
+
+	private final List<FakeClient> clients = new ArrayList<>();
+	private GameServerThread gameServer;
+
+	@Before
+	public void setUp() throws IOException {
+		gameServer = new GameServerThread(false);
+		gameServer.start();
+	}
+
+	@After
+	public void tearDown() {
+		for (FakeClient client : clients) {
+			client.close();
+		}
+		gameServer.shutdown();
+	}
+
+	@Test
+	public void testManyClientsInManyMatches() throws IOException, InterruptedException {
+		IDBFacade database = gameServer.getDatabase();
+		long startTime = System.currentTimeMillis();
+
+		for (int i = 0; i < NUMBER_OF_CLIENTS; i++) {
+			FakeClient client = new FakeClient("player-" + i);
+			clients.add(client);
+			client.logIn();
+		}
+		awaitCondition("all clients logged in", () -> database.getPlayers(EPlayerState.LOGGED_IN).size() == NUMBER_OF_CLIENTS);
+		long loggedInTime = System.currentTimeMillis();
+
+		for (int host = 0; host < NUMBER_OF_CLIENTS; host += PLAYERS_PER_MATCH) {
+			clients.get(host).openMatch();
+		}
+		awaitCondition("all matches opened", () -> database.getMatches().size() == NUMBER_OF_CLIENTS / PLAYERS_PER_MATCH);
+
+		for (Match match : database.getMatches()) {
+			int host = clients.indexOf(getClient(match.getHost().getId()));
+			for (int i = 1; i < PLAYERS_PER_MATCH; i++) {
+				clients.get(host + i).joinMatch(match.getId());
+			}
+		}
+		awaitCondition("all clients joined a match", () -> database.getPlayers(EPlayerState.IN_MATCH).size() == NUMBER_OF_CLIENTS);
+		long joinedTime = System.currentTimeMillis();
+
+		for (int message = 0; message < CHAT_MESSAGES_PER_CLIENT; message++) {
+			for (FakeClient client : clients) {
+				client.sendChatMessage("message " + message);
+			}
+		}
+		awaitCondition("all chat messages received", () -> clients.stream().allMatch(client -> client.receivedChatMessages.get() == PLAYERS_PER_MATCH
+				* CHAT_MESSAGES_PER_CLIENT));
+		long chattedTime = System.currentTimeMillis();
+
+		assertEquals(NetworkConstants.Server.SELECTOR_THREADS, countThreads("GameServerSelector-"));
+		assertEquals(NUMBER_OF_CLIENTS, countThreads("ChannelForSocket_")); // only the fake clients use a thread per socket
+
+		System.out.println(NUMBER_OF_CLIENTS + " clients: log in " + (loggedInTime - startTime) + " ms, join " + (joinedTime - loggedInTime) + " ms, "
+				+ NUMBER_OF_CLIENTS * PLAYERS_PER_MATCH * CHAT_MESSAGES_PER_CLIENT + " chat messages " + (chattedTime - joinedTime) + " ms");
+
+		for (FakeClient client : clients) {
+			client.close();
+		}
+		awaitCondition("all players removed", () -> database.getPlayers(EPlayerState.values()).isEmpty());
+	}
+
+	private FakeClient getClient(String playerId) {
+		for (FakeClient client : clients) {
+			if (client.playerId.equals(playerId)) {
+				return client;
+			}
+		}
+		throw new IllegalArgumentException(playerId);
+	}
+
+	private static int countThreads(String namePrefix) {
+		int count = 0;
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.isAlive() && thread.getName().startsWith(namePrefix)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static void awaitCondition(String description, BooleanSupplier condition) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + TIMEOUT_MS;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > timeout) {
+				fail("Timeout waiting for " + description);
+			}
+			Thread.sleep(10L);
+		}
+	}
+
+	/**
+	 * A client only speaking the protocol needed for this test. It ignores all packets except the chat messages, which it counts.
+	 */
+	private static class FakeClient implements IChannelListener {
+		private final String        playerId;
+		private final Channel       channel;
+		private final AtomicInteger receivedChatMessages = new AtomicInteger();
+
+		FakeClient(String playerId) throws IOException {
+			this.playerId = playerId;
+			this.channel = new Channel("localhost", NetworkConstants.Server.SERVER_PORT);
+			channel.registerListener(this);
+			channel.start();
+		}
+
+		void logIn() {
+			channel.sendPacket(ENetworkKey.IDENTIFY_USER, new PlayerInfoPacket(playerId, playerId, false));
+		}
+
+		void openMatch() {
+			MapInfoPacket mapInfo = new MapInfoPacket("map-" + playerId, "map of " + playerId, "author", "author", PLAYERS_PER_MATCH);
+			channel.sendPacket(ENetworkKey.REQUEST_OPEN_NEW_MATCH, new OpenNewMatchPacket("match of " + playerId, PLAYERS_PER_MATCH, mapInfo, 0L));
+		}
+
+		void joinMatch(String matchId) {
+			channel.sendPacket(ENetworkKey.REQUEST_JOIN_MATCH, new IdPacket(matchId));
+		}
+
+		void sendChatMessage(String message) {
+			channel.sendPacket(ENetworkKey.CHAT_MESSAGE, new ChatMessagePacket(playerId, message));
+		}
+
+		void close() {
+			channel.close();
+		}
+
+		@Override
+		public ENetworkKey[] getKeys() {
+			return new ENetworkKey[] { ENetworkKey.IDENTIFY_USER, ENetworkKey.ARRAY_OF_MATCHES, ENetworkKey.MATCH_INFO_UPDATE, ENetworkKey.CHAT_MESSAGE,
+					ENetworkKey.REJECT_PACKET };
+		}
+
+		@Override
+		public void receive(ENetworkKey key, int length, DataInputStream stream) throws IOException {
+			stream.skipBytes(length);
+			if (key == ENetworkKey.CHAT_MESSAGE) {
+				receivedChatMessages.incrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.match;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.common.packets.MapInfoPacket;
+import jsettlers.network.common.packets.PlayerInfoPacket;
+import jsettlers.network.infrastructure.channel.nio.NioChannel;
+import jsettlers.network.infrastructure.channel.nio.SelectorPool;
+import jsettlers.network.infrastructure.log.LoggerManager;
+import jsettlers.network.server.packets.ServersideSyncTasksPacket;
+import jsettlers.network.server.packets.ServersideTaskPacket;
+
+/**
+ * Measures the server CPU time needed per lockstep to send the {@link ServersideSyncTasksPacket} to all players of a match with 8 players. Serializing
+ * the packet for every player is compared with {@link Match#broadcastMessage(ENetworkKey, jsettlers.network.infrastructure.channel.packet.Packet)}, which
+ * serializes it once.
+ */
+public class MatchBroadcastSpeedTest {
+	private static final int PLAYERS            = 8;
+	private static final int TASKS_PER_LOCKSTEP = 8;
+	private static final int LOCKSTEPS          = 20000;
+
+	private final List<Socket> clientSockets = new ArrayList<>();
+	private final List<Player> players       = new ArrayList<>();
+
+	private SelectorPool        selectorPool;
+	private ServerSocketChannel serverSocket;
+	private Match               match;
+
+	@Before
+	public void setUp() throws IOException {
+		selectorPool = new SelectorPool("MatchBroadcastSpeedTest", 1);
+		selectorPool.start();
+		serverSocket = ServerSocketChannel.open();
+		serverSocket.bind(new InetSocketAddress("localhost", 0));
+
+		for (int i = 0; i < PLAYERS; i++) {
+			Socket clientSocket = new Socket("localhost", serverSocket.socket().getLocalPort());
+			clientSockets.add(clientSocket);
+			startDraining(clientSocket.getInputStream());
+
+			NioChannel channel = new NioChannel(LoggerManager.ROOT_LOGGER, serverSocket.accept(), selectorPool.nextThread());
+			channel.start();
+			players.add(new Player(new PlayerInfoPacket("player-" + i, "player " + i, true), channel));
+		}
+
+		match = new Match("speed test", PLAYERS, new MapInfoPacket("map", "map", "author", "author", PLAYERS), players.get(0), 0L);
+		for (Player player : players) {
+			player.joinMatch(match);
+		}
+	}
+
+	private static void startDraining(InputStream inputStream) {
+		Thread drainingThread = new Thread(() -> {
+			byte[] buffer = new byte[64 * 1024];
+			try {
+				while (inputStream.read(buffer) >= 0) {
+				}
+			} catch (IOException e) {
+			}
+		}, "MatchBroadcastSpeedTest-client");
+		drainingThread.setDaemon(true);
+		drainingThread.start();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		for (Player player : players) {
+			player.getChannel().close();
+		}
+		for (Socket clientSocket : clientSockets) {
+			clientSocket.close();
+		}
+		serverSocket.close();
+		selectorPool.shutdown();
+	}
+
+	@Test
+	public void testSpeed() {
+		ServersideSyncTasksPacket[] packets = createLockstepPackets();
+
+		for (int run = 0; run < 3; run++) {
+			System.out.println("run " + run);
+			runSerializingPerPlayer(packets);
+			runBroadcast(packets);
+		}
+	}
+
+	private void runSerializingPerPlayer(ServersideSyncTasksPacket[] packets) {
+		long startCpuTime = getCpuTime();
+		for (ServersideSyncTasksPacket packet : packets) {
+			for (Player player : players) {
+				player.sendPacket(ENetworkKey.SYNCHRONOUS_TASK, packet);
+			}
+		}
+		printCpuTimePerLockstep("serializing per player", startCpuTime);
+	}
+
+	private void runBroadcast(ServersideSyncTasksPacket[] packets) {
+		long startCpuTime = getCpuTime();
+		for (ServersideSyncTasksPacket packet : packets) {
+			match.broadcastMessage(ENetworkKey.SYNCHRONOUS_TASK, packet);
+		}
+		printCpuTimePerLockstep("serializing once", startCpuTime);
+	}
+
+	private static ServersideSyncTasksPacket[] createLockstepPackets() {
+		Random random = new Random(42);
+		ServersideSyncTasksPacket[] packets = new ServersideSyncTasksPacket[LOCKSTEPS];
+		for (int lockstep = 0; lockstep < LOCKSTEPS; lockstep++) {
+			List<ServersideTaskPacket> tasks = new ArrayList<>();
+			for (int i = 0; i < TASKS_PER_LOCKSTEP; i++) {
+				byte[] data = new byte[50 + random.nextInt(400)]; // movement tasks with selections of up to 100 movables
+				random.nextBytes(data);
+				tasks.add(new ServersideTaskPacket(data));
+			}
+			packets[lockstep] = new ServersideSyncTasksPacket(lockstep, tasks);
+		}
+		return packets;
+	}
+
+	private static long getCpuTime() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+
+	private static void printCpuTimePerLockstep(String description, long startCpuTime) {
+		long nanos = getCpuTime() - startCpuTime;
+		System.out.println(description + ": " + nanos / LOCKSTEPS / 1000f + " us cpu time per lockstep with " + PLAYERS + " players");
+	}
+}
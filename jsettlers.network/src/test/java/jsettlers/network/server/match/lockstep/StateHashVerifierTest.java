@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.match.lockstep;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class StateHashVerifierTest {
+
+	private final StateHashVerifier verifier = new StateHashVerifier();
+
+	@Test
+	public void testEqualHashes() {
+		assertEquals(-1, verifier.verify(0, new long[] { 1, 2, 3 }));
+		assertEquals(-1, verifier.verify(1, new long[] { 2, 3, 4 }));
+		assertEquals(-1, verifier.verify(0, new long[] { 1, 2, 3, 4, 5 }));
+		assertEquals(-1, verifier.getFirstDivergingLockstep());
+	}
+
+	@Test
+	public void testFirstDivergingLockstepIsReported() {
+		assertEquals(-1, verifier.verify(10, new long[] { 1, 2, 3, 4 }));
+		assertEquals(12, verifier.verify(10, new long[] { 1, 2, 7, 8 }));
+		assertEquals(12, verifier.getFirstDivergingLockstep());
+
+		assertEquals(-1, verifier.verify(13, new long[] { 9 })); // a later divergence is not reported again
+		assertEquals(11, verifier.verify(11, new long[] { 5 }));
+		assertEquals(11, verifier.getFirstDivergingLockstep());
+	}
+
+	@Test
+	public void testLockstepsOutsideOfTheWindowAreNotChecked() {
+		assertEquals(-1, verifier.verify(0, new long[] { 1 }));
+		assertEquals(-1, verifier.verify(StateHashVerifier.WINDOW_LOCKSTEPS, new long[] { 2 }));
+		assertEquals(-1, verifier.verify(0, new long[] { 3 }));
+		assertEquals(StateHashVerifier.WINDOW_LOCKSTEPS, verifier.verify(StateHashVerifier.WINDOW_LOCKSTEPS, new long[] { 4 }));
+	}
+}
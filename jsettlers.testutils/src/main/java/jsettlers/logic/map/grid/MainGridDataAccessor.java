@@ -14,6 +14,9 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid;
 
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
+import jsettlers.algorithms.path.dijkstra.IDijkstraPathMap;
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 import jsettlers.logic.map.grid.partition.PartitionsGrid;
@@ -44,4 +47,16 @@ public class MainGridDataAccessor {
 	public PartitionsGrid getPartitionsGrid() {
 		return grid.partitionsGrid;
 	}
+
+	public DijkstraAlgorithm getDijkstra() {
+		return grid.movablePathfinderGrid.dijkstra;
+	}
+
+	public IAStarPathMap getAStarPathMap() {
+		return grid.new PathfinderGrid();
+	}
+
+	public IDijkstraPathMap getDijkstraPathMap() {
+		return grid.new PathfinderGrid();
+	}
 }
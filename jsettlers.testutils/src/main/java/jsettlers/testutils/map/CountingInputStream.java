@@ -22,6 +22,7 @@ public class CountingInputStream extends InputStream {
 	private final InputStream in;
 
 	private int byteCounter = 0;
+	private int markedByteCounter = 0;
 
 	public CountingInputStream(InputStream in) {
 		super();
@@ -34,6 +35,23 @@ public class CountingInputStream extends InputStream {
 		return in.read();
 	}
 
+	@Override
+	public boolean markSupported() {
+		return in.markSupported();
+	}
+
+	@Override
+	public synchronized void mark(int readlimit) {
+		in.mark(readlimit);
+		markedByteCounter = byteCounter;
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		in.reset();
+		byteCounter = markedByteCounter;
+	}
+
 	@Override
 	public void close() throws IOException {
 		super.close();
@@ -17,6 +17,7 @@ package jsettlers.testutils.map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
@@ -30,6 +31,8 @@ import jsettlers.logic.map.loading.MapLoader;
 import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
+import jsettlers.logic.map.loading.savegame.SavegameReader;
 import jsettlers.main.ReplayStartInformation;
 import jsettlers.main.replay.ReplayUtils;
 import jsettlers.network.synchronic.timer.NetworkTimer;
@@ -48,27 +51,18 @@ public final class MapUtils {
 			throws IOException, MapLoadException, ClassNotFoundException {
 		System.out.println("Comparing expected '" + expectedSavegame + "' with actual '" + actualSavegame + "' (uncompressed!)");
 
-		try (InputStream expectedStream = RemakeMapLoader.getMapInputStream(expectedSavegame.getListedMap());
-				CountingInputStream actualStream = new CountingInputStream(RemakeMapLoader.getMapInputStream(actualSavegame.getListedMap()))) {
+		try (InputStream expectedStream = new BufferedInputStream(RemakeMapLoader.getMapInputStream(expectedSavegame.getListedMap()));
+				CountingInputStream actualStream = new CountingInputStream(new BufferedInputStream(RemakeMapLoader.getMapInputStream(actualSavegame.getListedMap())))) {
 			MapFileHeader expectedHeader = MapFileHeader.readFromStream(expectedStream);
-			MatchConstants.init(new NetworkTimer(true), 0L);
-			MatchConstants.deserialize(new ObjectInputStream(expectedStream));
-			int expectedTime = MatchConstants.clock().getTime();
-			ExtendedRandom expectedRandom = MatchConstants.random();
-			MatchConstants.clearState();
-
 			MapFileHeader actualHeader = MapFileHeader.readFromStream(actualStream);
-			MatchConstants.init(new NetworkTimer(true), 1L);
-			MatchConstants.deserialize(new ObjectInputStream(actualStream));
-			int actualTime = MatchConstants.clock().getTime();
-			ExtendedRandom actualRandom = MatchConstants.random();
-			MatchConstants.clearState();
-
 			assertEquals("Map ID", expectedHeader.getBaseMapId(), actualHeader.getBaseMapId());
-			assertEquals("Map time", expectedTime, actualTime);
-			// Test the random behavior a bit to have a high probability of equality. An equals method does not exist for Random.
-			assertEquals("Random number state", expectedRandom.nextLong(), actualRandom.nextLong());
-			assertEquals("Random number state", expectedRandom.nextLong(), actualRandom.nextLong());
+
+			if (SavegameReader.isChunkedSavegame(expectedStream) && SavegameReader.isChunkedSavegame(actualStream)) {
+				compareChunkedSavegames(new SavegameReader(expectedStream), new SavegameReader(actualStream));
+				return;
+			}
+
+			compareMatchConstants(new ObjectInputStream(expectedStream), new ObjectInputStream(actualStream));
 
 			int e, a;
 			while (((e = expectedStream.read()) != -1) & ((a = actualStream.read()) != -1)) {
@@ -78,12 +72,50 @@ public final class MapUtils {
 		}
 	}
 
+	private static void compareChunkedSavegames(SavegameReader expected, SavegameReader actual) throws IOException, ClassNotFoundException {
+		compareMatchConstants(expected.getObjectChunk(SavegameFormat.CHUNK_MATCH), actual.getObjectChunk(SavegameFormat.CHUNK_MATCH));
+
+		assertEquals("Savegame chunks", expected.getChunkTypes(), actual.getChunkTypes());
+		for (int chunkType : expected.getChunkTypes()) {
+			if (chunkType == SavegameFormat.CHUNK_MATCH) {
+				continue;
+			}
+
+			String chunkName = SavegameFormat.getChunkName(chunkType);
+			byte[] expectedChunk = expected.getChunk(chunkType);
+			byte[] actualChunk = actual.getChunk(chunkType);
+			for (int i = 0; i < Math.min(expectedChunk.length, actualChunk.length); i++) {
+				assertEquals("difference in chunk " + chunkName + " at (uncompressed) byte " + i, expectedChunk[i], actualChunk[i]);
+			}
+			assertEquals("chunk " + chunkName + " has different lengths (uncompressed)", expectedChunk.length, actualChunk.length);
+		}
+	}
+
+	private static void compareMatchConstants(ObjectInputStream expectedStream, ObjectInputStream actualStream) throws IOException, ClassNotFoundException {
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		MatchConstants.deserialize(expectedStream);
+		int expectedTime = MatchConstants.clock().getTime();
+		ExtendedRandom expectedRandom = MatchConstants.random();
+		MatchConstants.clearState();
+
+		MatchConstants.init(new NetworkTimer(true), 1L);
+		MatchConstants.deserialize(actualStream);
+		int actualTime = MatchConstants.clock().getTime();
+		ExtendedRandom actualRandom = MatchConstants.random();
+		MatchConstants.clearState();
+
+		assertEquals("Map time", expectedTime, actualTime);
+		// Test the random behavior a bit to have a high probability of equality. An equals method does not exist for Random.
+		assertEquals("Random number state", expectedRandom.nextLong(), actualRandom.nextLong());
+		assertEquals("Random number state", expectedRandom.nextLong(), actualRandom.nextLong());
+	}
+
 	public static MapLoader saveMainGrid(MainGrid mainGrid, Byte playerId, UIState uiState) {
 		try {
 			System.out.println("Writing savegame with final state of failed test.");
 			mainGrid.save(playerId, uiState);
 			return ReplayUtils.getNewestSavegame();
-		} catch (IOException e) {
+		} catch (IOException | InterruptedException e) {
 			System.err.println("Tried to create a savegame but failed:");
 			e.printStackTrace();
 			return null;
@@ -2,6 +2,7 @@ package jsettlers;
 
 import jsettlers.buildingcreator.editor.BuildingCreatorApp;
 import jsettlers.graphics.debug.DatFileViewer;
+import jsettlers.integration.simulation.SimulationBenchmark;
 import jsettlers.logic.movable.MovableModelWindow;
 
 import javax.swing.JOptionPane;
@@ -19,6 +20,7 @@ public class ToolsMain {
 		DAT_FILE_VIEWER(DatFileViewer::main),
 		MOVABLE_MODEL_WINDOW(MovableModelWindow::main),
 		BUILDING_CREATOR(BuildingCreatorApp::main),
+		SIMULATION_BENCHMARK(SimulationBenchmark::main),
 		;
 
 
@@ -0,0 +1,425 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.simulation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import jsettlers.ai.highlevel.AiExecutor;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.logging.StatisticsStopWatch;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.logic.GameContext;
+import jsettlers.logic.buildings.Building;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.logic.map.grid.partition.manager.PartitionManager;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.DirectoryMapLister;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.player.InitialGameState;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.logic.timer.RescheduleTimerStatistics;
+import jsettlers.logic.timer.RescheduleTimerStatistics.TypeStatistics;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.JSettlersGame.GameRunner;
+import jsettlers.main.ReplayStartInformation;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.client.OfflineNetworkConnector;
+import jsettlers.network.client.interfaces.IGameClock;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Runs a map with AI players or a replay headless and as fast as possible and reports the simulation throughput as JSON.
+ * <p />
+ * The game is fast forwarded on the calling thread, so the wall time only contains the simulation. The report contains the game time reached, the wall time, the time spent in
+ * the movables, partitions, buildings and other timerables of the {@link RescheduleTimer}, in the AI and in the fog of war threads as well as the peak heap usage and the time
+ * spent in garbage collection during the simulation.
+ * <p />
+ * Usage: {@code SimulationBenchmark (--map <map file or test map> | --replay <replay file> [--map ...]) [--minutes 30] [--ai AI_VERY_HARD] [--civilisation ROMAN] [--players
+ * <number>] [--seed 0] [--fow] [--output <report file>]}
+ */
+public class SimulationBenchmark {
+
+	private static final String USAGE = "Usage: SimulationBenchmark (--map <map file or test map> | --replay <replay file> [--map ...]) [--minutes 30] [--ai AI_VERY_HARD] "
+			+ "[--civilisation ROMAN] [--players <number>] [--seed 0] [--fow] [--output <report file>]";
+
+	private static final String FOG_OF_WAR_THREAD_PREFIX = "FOW-";
+
+	public static void main(String[] args) throws IOException, MapLoadException {
+		PrintStream console = System.out; // the game redirects System.out into its log file
+		Options options = Options.parse(args);
+
+		CommonConstants.ENABLE_CONSOLE_LOGGING = false;
+		CommonConstants.CONTROL_ALL = true;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = options.fogOfWar;
+		TestUtils.setupTempResourceManager();
+
+		Map<String, Object> report = run(options);
+
+		String json = toJson(report);
+		if (options.output != null) {
+			try (PrintStream out = new PrintStream(new FileOutputStream(options.output), false, "UTF-8")) {
+				out.println(json);
+			}
+		} else {
+			console.println(json);
+		}
+	}
+
+	private static Map<String, Object> run(Options options) throws MapLoadException {
+		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+		networkConnector.getGameClock().setPausing(true);
+
+		MapLoader map = options.map != null ? loadMap(options.map) : null;
+		JSettlersGame game;
+		if (options.replay != null) {
+			game = JSettlersGame.loadFromReplayFile(createReplayStreamProvider(options.replay, map), networkConnector, new ReplayStartInformation());
+		} else {
+			PlayerSetting[] playerSettings = createPlayerSettings(map, options);
+			game = new JSettlersGame(map, networkConnector, new InitialGameState((byte) 0, playerSettings, options.seed));
+		}
+
+		GameRunner gameRunner = (GameRunner) game.start();
+		IStartedGame startedGame = ReplayUtils.waitForGameStartup(gameRunner);
+
+		GameContext previousContext = gameRunner.getGameContext().bind();
+		try {
+			return simulate(options, networkConnector.getGameClock(), gameRunner);
+		} finally {
+			ReplayUtils.awaitShutdown(startedGame);
+			GameContext.restore(previousContext);
+		}
+	}
+
+	private static Map<String, Object> simulate(Options options, IGameClock gameClock, GameRunner gameRunner) {
+		RescheduleTimerStatistics timerStatistics = RescheduleTimer.getStatistics();
+		timerStatistics.setCollectingTypeStatistics(true);
+		long startSlots = timerStatistics.getExecutedSlots();
+		long startTimerables = timerStatistics.getExecutedTimerables();
+		long startTimerNanos = timerStatistics.getTotalNanos();
+
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			memoryPool.resetPeakUsage();
+		}
+		long startGcCount = getGcCount();
+		long startGcMillis = getGcMillis();
+		long startFogOfWarNanos = getFogOfWarCpuNanos();
+
+		int startGameTime = gameClock.getTime();
+		long startWallNanos = System.nanoTime();
+		gameClock.fastForwardTo(startGameTime + options.minutes * 60 * 1000);
+		long wallNanos = System.nanoTime() - startWallNanos;
+		int gameTime = gameClock.getTime();
+
+		long fogOfWarNanos = getFogOfWarCpuNanos() - startFogOfWarNanos;
+		long slots = timerStatistics.getExecutedSlots() - startSlots;
+		double wallSeconds = wallNanos / 1e9;
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("map", options.map);
+		report.put("replay", options.replay);
+		report.put("fogOfWar", options.fogOfWar);
+		report.put("gameTimeMs", gameTime);
+		report.put("simulatedGameTimeMs", gameTime - startGameTime);
+		report.put("wallTimeMs", millis(wallNanos));
+		report.put("gameSecondsPerWallSecond", (gameTime - startGameTime) / 1000d / wallSeconds);
+		report.put("ticks", slots);
+		report.put("ticksPerSecond", slots / wallSeconds);
+
+		Map<String, Object> timer = new LinkedHashMap<>();
+		timer.put("executedTimerables", timerStatistics.getExecutedTimerables() - startTimerables);
+		timer.put("totalMs", millis(timerStatistics.getTotalNanos() - startTimerNanos));
+		timer.put("maxSlotMs", millis(timerStatistics.getMaxSlotNanos()));
+		timer.put("maxSlotExecutions", timerStatistics.getMaxSlotExecutions());
+		report.put("timerSlots", timer);
+
+		AiExecutor aiExecutor = gameRunner.getAiExecutor();
+		Map<String, Object> ai = new LinkedHashMap<>();
+		long aiMillis = 0;
+		if (aiExecutor != null) {
+			aiMillis += putStopWatch(ai, "updateStatistics", aiExecutor.getUpdateStatisticsStopWatch());
+			aiMillis += putStopWatch(ai, "applyLightRules", aiExecutor.getApplyLightRulesStopWatch());
+			aiMillis += putStopWatch(ai, "applyHeavyRules", aiExecutor.getApplyHeavyRulesStopWatch());
+
+			Map<String, Object> players = new LinkedHashMap<>();
+			for (Entry<Byte, StatisticsStopWatch> player : aiExecutor.getPlayerStopWatches().entrySet()) {
+				putStopWatch(players, "player" + player.getKey(), player.getValue());
+			}
+			ai.put("players", players);
+		}
+
+		Map<String, Object> subsystems = new LinkedHashMap<>();
+		long movablesNanos = 0;
+		long partitionsNanos = 0;
+		long buildingsNanos = 0;
+		long otherNanos = 0;
+		Map<String, Object> timerables = new TreeMap<>();
+		for (Entry<Class<?>, TypeStatistics> entry : timerStatistics.getTypeStatistics().entrySet()) {
+			Class<?> type = entry.getKey();
+			long nanos = entry.getValue().getNanos();
+			if (ILogicMovable.class.isAssignableFrom(type)) {
+				movablesNanos += nanos;
+			} else if (PartitionManager.class.isAssignableFrom(type) || PartitionsGrid.class.isAssignableFrom(type)) {
+				partitionsNanos += nanos;
+			} else if (Building.class.isAssignableFrom(type)) {
+				buildingsNanos += nanos;
+			} else {
+				otherNanos += nanos;
+			}
+
+			Map<String, Object> timerable = new LinkedHashMap<>();
+			timerable.put("executions", entry.getValue().getExecutions());
+			timerable.put("ms", millis(nanos));
+			timerables.put(type.getName(), timerable);
+		}
+		subsystems.put("movablesMs", millis(movablesNanos));
+		subsystems.put("partitionsMs", millis(partitionsNanos));
+		subsystems.put("buildingsMs", millis(buildingsNanos));
+		subsystems.put("otherTimerablesMs", millis(otherNanos));
+		subsystems.put("aiMs", aiMillis);
+		subsystems.put("fogOfWarCpuMs", millis(fogOfWarNanos));
+		report.put("subsystems", subsystems);
+		report.put("ai", ai);
+		report.put("timerables", timerables);
+
+		report.put("peakHeapBytes", getPeakHeapBytes());
+		report.put("gcCount", getGcCount() - startGcCount);
+		report.put("gcTimeMs", getGcMillis() - startGcMillis);
+		return report;
+	}
+
+	private static long putStopWatch(Map<String, Object> report, String name, StatisticsStopWatch stopWatch) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		values.put("executions", stopWatch.getNumberOfMeasurements());
+		values.put("totalMs", stopWatch.getTotal());
+		values.put("maxMs", stopWatch.getNumberOfMeasurements() > 0 ? stopWatch.getMax() : 0);
+		report.put(name, values);
+		return stopWatch.getTotal();
+	}
+
+	private static MapLoader loadMap(String map) throws MapLoadException {
+		File mapFile = new File(map);
+		if (mapFile.isFile()) {
+			return MapLoader.getLoaderForListedMap(new DirectoryMapLister.ListedMapFile(mapFile));
+		} else {
+			return MapUtils.getMap(MapUtils.class, map);
+		}
+	}
+
+	private static ReplayUtils.IReplayStreamProvider createReplayStreamProvider(String replay, MapLoader map) {
+		ReplayUtils.ReplayFile replayFile = new ReplayUtils.ReplayFile(new File(replay));
+		if (map == null) {
+			return replayFile;
+		}
+
+		return new ReplayUtils.IReplayStreamProvider() {
+			@Override
+			public InputStream openStream() throws IOException {
+				return replayFile.openStream();
+			}
+
+			@Override
+			public MapLoader getMap(ReplayStartInformation replayStartInformation) {
+				return map;
+			}
+		};
+	}
+
+	private static PlayerSetting[] createPlayerSettings(MapLoader map, Options options) {
+		int maxPlayers = map.getMaxPlayers();
+		int players = options.players > 0 ? Math.min(options.players, maxPlayers) : maxPlayers;
+
+		PlayerSetting[] playerSettings = new PlayerSetting[maxPlayers];
+		for (int i = 0; i < maxPlayers; i++) {
+			playerSettings[i] = i < players ? new PlayerSetting(options.aiType, options.civilisation, (byte) i) : new PlayerSetting();
+		}
+		return playerSettings;
+	}
+
+	private static long getFogOfWarCpuNanos() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!threadBean.isThreadCpuTimeSupported()) {
+			return 0;
+		}
+
+		long nanos = 0;
+		for (ThreadInfo thread : threadBean.getThreadInfo(threadBean.getAllThreadIds())) {
+			if (thread != null && thread.getThreadName().startsWith(FOG_OF_WAR_THREAD_PREFIX)) {
+				nanos += Math.max(0, threadBean.getThreadCpuTime(thread.getThreadId()));
+			}
+		}
+		return nanos;
+	}
+
+	private static long getPeakHeapBytes() {
+		long peak = 0;
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (memoryPool.getType() == MemoryType.HEAP) {
+				peak += memoryPool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	private static long getGcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, collector.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static long getGcMillis() {
+		long millis = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, collector.getCollectionTime());
+		}
+		return millis;
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	static String toJson(Object value) {
+		StringBuilder json = new StringBuilder();
+		appendJson(json, value, "");
+		return json.toString();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void appendJson(StringBuilder json, Object value, String indent) {
+		if (value instanceof Map) {
+			String innerIndent = indent + "  ";
+			json.append('{');
+			boolean first = true;
+			for (Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+				json.append(first ? "\n" : ",\n").append(innerIndent);
+				appendString(json, entry.getKey());
+				json.append(": ");
+				appendJson(json, entry.getValue(), innerIndent);
+				first = false;
+			}
+			json.append(first ? "}" : "\n" + indent + "}");
+		} else if (value instanceof Double) {
+			double number = (Double) value;
+			json.append(Double.isFinite(number) ? String.format(Locale.ENGLISH, "%.3f", number) : "null");
+		} else if (value instanceof Number || value instanceof Boolean) {
+			json.append(value);
+		} else if (value == null) {
+			json.append("null");
+		} else {
+			appendString(json, value.toString());
+		}
+	}
+
+	private static void appendString(StringBuilder json, String string) {
+		json.append('"');
+		for (char c : string.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < ' ') {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	private static class Options {
+		private String        map;
+		private String        replay;
+		private int           minutes      = 30;
+		private EPlayerType   aiType       = EPlayerType.AI_VERY_HARD;
+		private ECivilisation civilisation = ECivilisation.ROMAN;
+		private int           players;
+		private long          seed;
+		private boolean       fogOfWar;
+		private String        output;
+
+		static Options parse(String[] args) {
+			Options options = new Options();
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "--map":
+					options.map = getValue(args, ++i);
+					break;
+				case "--replay":
+					options.replay = getValue(args, ++i);
+					break;
+				case "--minutes":
+					options.minutes = Integer.parseInt(getValue(args, ++i));
+					break;
+				case "--ai":
+					options.aiType = EPlayerType.valueOf(getValue(args, ++i));
+					break;
+				case "--civilisation":
+					options.civilisation = ECivilisation.valueOf(getValue(args, ++i));
+					break;
+				case "--players":
+					options.players = Integer.parseInt(getValue(args, ++i));
+					break;
+				case "--seed":
+					options.seed = Long.parseLong(getValue(args, ++i));
+					break;
+				case "--fow":
+					options.fogOfWar = true;
+					break;
+				case "--output":
+					options.output = getValue(args, ++i);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown argument: " + args[i] + "\n" + USAGE);
+				}
+			}
+
+			if (options.map == null && options.replay == null) {
+				throw new IllegalArgumentException("A map or a replay is required.\n" + USAGE);
+			}
+			if (options.minutes <= 0) {
+				throw new IllegalArgumentException("The number of minutes must be positive.\n" + USAGE);
+			}
+			return options;
+		}
+
+		private static String getValue(String[] args, int index) {
+			if (index >= args.length) {
+				throw new IllegalArgumentException("Missing value for " + args[index - 1] + "\n" + USAGE);
+			}
+			return args[index];
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import jsettlers.common.action.EMoveToType;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.movable.testmap.MovableTestsMap;
+import jsettlers.logic.player.Player;
+import jsettlers.logic.player.Team;
+import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Lets two crowds of movables on a {@link MovableTestsMap} walk through each other and back again and reports the time and the memory allocated by the simulation.
+ * <p />
+ * The movables constantly block each others paths, so this mainly measures the path following and obstacle avoidance of the movables. The game is fast forwarded on the
+ * calling thread, so the allocation counter of this thread contains the whole simulation.
+ * <p />
+ * Usage: {@code MovableCrowdBenchmark [rounds] [crowd size]}
+ */
+public class MovableCrowdBenchmark {
+	private static final Player PLAYER_0 = new Player((byte) 0, new Team((byte) 0), (byte) 1, EPlayerType.HUMAN, ECivilisation.ROMAN);
+
+	private static final int MAP_SIZE = 100;
+	private static final int ROUND_TIME = 60 * 1000;
+
+	public static void main(String[] args) {
+		int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int crowdSize = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		MatchConstants.init(new NetworkTimer(true), 0);
+		RescheduleTimer.schedule(MatchConstants.clock());
+
+		MovableTestsMap grid = new MovableTestsMap(MAP_SIZE, MAP_SIZE, PLAYER_0);
+		int leftX = 10;
+		int rightX = MAP_SIZE - 10 - crowdSize;
+		List<ILogicMovable> leftCrowd = createCrowd(grid, leftX, crowdSize);
+		List<ILogicMovable> rightCrowd = createCrowd(grid, rightX, crowdSize);
+
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		long startAllocatedBytes = threadBean.getThreadAllocatedBytes(threadId);
+		long startNanos = System.nanoTime();
+
+		for (int round = 0; round < rounds; round++) {
+			boolean swapped = round % 2 == 0;
+			moveCrowd(leftCrowd, swapped ? rightX : leftX, crowdSize);
+			moveCrowd(rightCrowd, swapped ? leftX : rightX, crowdSize);
+			MatchConstants.clock().fastForwardTo(MatchConstants.clock().getTime() + ROUND_TIME);
+		}
+
+		long wallNanos = System.nanoTime() - startNanos;
+		long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - startAllocatedBytes;
+		MatchConstants.clock().stopExecution();
+
+		int gameSeconds = rounds * ROUND_TIME / 1000;
+
+		System.out.println("movables: " + (leftCrowd.size() + rightCrowd.size()) + ", game time: " + gameSeconds + " s");
+		System.out.println("wall time: " + wallNanos / 1000000 + " ms");
+		System.out.println("allocated: " + allocatedBytes / (1024 * 1024) + " MB, " + allocatedBytes / gameSeconds / 1024 + " KB per game second");
+	}
+
+	private static List<ILogicMovable> createCrowd(MovableTestsMap grid, int startX, int crowdSize) {
+		List<ILogicMovable> crowd = new ArrayList<>();
+		for (int i = 0; i < crowdSize * crowdSize; i++) {
+			crowd.add(Movable.createMovable(EMovableType.PIONEER, PLAYER_0, getCrowdPosition(startX, crowdSize, i), grid.getMovableGrid()));
+		}
+		return crowd;
+	}
+
+	private static void moveCrowd(List<ILogicMovable> crowd, int startX, int crowdSize) {
+		for (int i = 0; i < crowd.size(); i++) {
+			crowd.get(i).moveTo(getCrowdPosition(startX, crowdSize, i), EMoveToType.DEFAULT);
+		}
+	}
+
+	private static ShortPoint2D getCrowdPosition(int startX, int crowdSize, int index) {
+		return new ShortPoint2D(startX + index / crowdSize, (MAP_SIZE - crowdSize) / 2 + index % crowdSize);
+	}
+}
@@ -20,6 +20,7 @@ import java.util.Objects;
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.async.PathRequest;
 import jsettlers.algorithms.path.astar.IAStarPathMap;
 import jsettlers.common.Color;
 import jsettlers.common.CommonConstants;
@@ -168,6 +169,16 @@ public class MovableTestsMap implements IGraphicsGrid, IAStarPathMap {
 			return aStar.findPath(pathCalculatable, targetPos, startPos);
 		}
 
+		@Override
+		public void recyclePath(Path path) {
+			aStar.recyclePath(path);
+		}
+
+		@Override
+		public PathRequest requestPath(IPathCalculatable pathCalculatable, ShortPoint2D targetPos) {
+			return PathRequest.calculated(pathCalculatable, targetPos, aStar.findPath(pathCalculatable, targetPos), MatchConstants.clock().getTime());
+		}
+
 		@Override
 		public boolean isReachable(ShortPoint2D pos1, ShortPoint2D pos2, boolean ship) {
 			return !ship;
@@ -430,6 +441,20 @@ public class MovableTestsMap implements IGraphicsGrid, IAStarPathMap {
 		public void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea) {
 		}
 
+		@Override
+		public long getAttackablesModificationStamp() {
+			return 0;
+		}
+
+		@Override
+		public boolean isEnemyAreaUnchangedSince(long stamp, ShortPoint2D centerPos, int radius, IPlayer searchingPlayer) {
+			return false;
+		}
+
+		@Override
+		public void attackableChangedAt(IAttackable attackable) {
+		}
+
 		@Override
 		public void addSelfDeletingMapObject(ShortPoint2D position, EMapObjectType mapObjectType, float duration, Player player) {
 		}